@@ -0,0 +1,80 @@
+package so.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import so.gestordeprocesos.BCP;
+import so.gestordeprocesos.EstadoProceso;
+import so.instrucciones.InstruccionParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización del BCP en celdas de memoria. El motor reconstruye el BCP
+ * en cada obtenerBCP y lo vuelve a escribir en cada actualizarBCP, así que
+ * este par se paga varias veces por instrucción ejecutada.
+ *
+ * @author dylan
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BCPBenchmark {
+
+    private static final int INDICE = 10;
+
+    private Object[] memoria;
+    private BCP bcp;
+
+    @Setup
+    public void preparar() {
+        memoria = new Object[64];
+        bcp = new BCP(7, "bench.asm", 1000, 40);
+        bcp.setEstado(EstadoProceso.EJECUCION);
+        bcp.setPC(12);
+        bcp.setAX(3);
+        bcp.setBX(-4);
+        bcp.setCX(40);
+        bcp.setDX(9);
+        bcp.setIR(InstruccionParser.parse("CMP AX, BX"));
+        bcp.setTiempoInicio(System.currentTimeMillis());
+        List<String> archivos = new ArrayList<>();
+        archivos.add("datos.txt");
+        bcp.setArchivosAbiertos(archivos);
+        bcp.guardarEnMemoria(memoria, INDICE);
+    }
+
+    @Benchmark
+    public Object[] guardarEnMemoria() {
+        bcp.guardarEnMemoria(memoria, INDICE);
+        return memoria;
+    }
+
+    @Benchmark
+    public BCP cargarDesdeMemoria() {
+        return BCP.cargarDesdeMemoria(memoria, INDICE);
+    }
+
+    /**
+     * Lo que hace el motor por cada lectura-modificación-escritura del BCP
+     */
+    @Benchmark
+    public BCP cargarModificarGuardar() {
+        BCP copia = BCP.cargarDesdeMemoria(memoria, INDICE);
+        copia.setPC(copia.getPC() + 1);
+        copia.guardarEnMemoria(memoria, INDICE);
+        return copia;
+    }
+}
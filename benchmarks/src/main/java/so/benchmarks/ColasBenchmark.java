@@ -0,0 +1,71 @@
+package so.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import so.memoria.MemoriaPrincipalV2;
+import so.memoria.estrategias.EstrategiaParticionamientoDinamico;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Colas de trabajos y de listos de MemoriaPrincipalV2. Viven en celdas del
+ * área del SO y desencolar desplaza todos los elementos, así que el costo
+ * crece con la cantidad de procesos en la cola.
+ *
+ * Cada operación se mide como un par que deja la cola con el mismo tamaño.
+ *
+ * @author dylan
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColasBenchmark {
+
+    /** Procesos en la cola antes de cada par (como máximo getMaxProcesos() - 1) */
+    @Param({"0", "4", "12", "24"})
+    public int tamanoCola;
+
+    private MemoriaPrincipalV2 memoria;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        memoria = Silencio.crearMemoria(new EstrategiaParticionamientoDinamico(), 16384);
+        if (tamanoCola >= memoria.getMaxProcesos()) {
+            throw new IllegalArgumentException("La cola admite a lo sumo " + memoria.getMaxProcesos() + " procesos");
+        }
+        for (int i = 0; i < tamanoCola; i++) {
+            memoria.encolarListo(i);
+            memoria.encolarTrabajo(i);
+        }
+    }
+
+    @Benchmark
+    public int encolarDesencolarListo() {
+        memoria.encolarListo(tamanoCola);
+        return memoria.desencolarListo();
+    }
+
+    @Benchmark
+    public int encolarDesencolarTrabajo() {
+        memoria.encolarTrabajo(tamanoCola);
+        return memoria.desencolarTrabajo();
+    }
+
+    @Benchmark
+    public int[] obtenerColaListos() {
+        return memoria.obtenerColaListos();
+    }
+}
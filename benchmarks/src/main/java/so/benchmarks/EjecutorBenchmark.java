@@ -0,0 +1,84 @@
+package so.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import so.cpu.ContadoresInstrucciones;
+import so.gestordeprocesos.BCP;
+import so.gestordeprocesos.Despachador;
+import so.gestordeprocesos.EstadoProceso;
+import so.instrucciones.EjecutorInstrucciones;
+import so.instrucciones.Instruccion;
+import so.instrucciones.InstruccionParser;
+import so.memoria.MemoriaPrincipalV2;
+import so.memoria.estrategias.EstrategiaParticionamientoDinamico;
+import so.memoria.estrategias.IEstrategiaParticionamiento.InfoAsignacion;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EjecutorInstrucciones.ejecutarSiguiente: un ciclo fetch-decode-execute
+ * completo, incluida la carga y el guardado del BCP en memoria.
+ *
+ * El programa es un ciclo sin fin (termina en JMP) para que cada llamada
+ * ejecute una instrucción sin que el proceso llegue a finalizar.
+ *
+ * @author dylan
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EjecutorBenchmark {
+
+    private static final String[] PROGRAMA = {
+        "MOV AX, 0",
+        "MOV BX, 7",
+        "INC AX",
+        "MOV DX, AX",
+        "CMP AX, BX",
+        "JE 2",
+        "SWAP CX, DX",
+        "JMP -5"
+    };
+
+    private EjecutorInstrucciones ejecutor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        MemoriaPrincipalV2 memoria = Silencio.crearMemoria(new EstrategiaParticionamientoDinamico(), 16384);
+
+        Instruccion[] instrucciones = new Instruccion[PROGRAMA.length];
+        for (int i = 0; i < PROGRAMA.length; i++) {
+            instrucciones[i] = InstruccionParser.parse(PROGRAMA[i]);
+        }
+        InfoAsignacion info = memoria.cargarInstrucciones(instrucciones);
+        BCP bcp = new BCP(memoria.generarNuevoIDProceso(), "bench.asm", info.direccionBase, instrucciones.length);
+        int numeroBCP = memoria.crearBCP(bcp);
+        memoria.asociarAsignacionAProceso(bcp, info, numeroBCP);
+        bcp.setEstado(EstadoProceso.EJECUCION);
+        memoria.actualizarBCP(numeroBCP, bcp);
+        memoria.setBCPEnEjecucion(numeroBCP);
+
+        Despachador despachador = new Despachador(memoria);
+        despachador.setSalidaLog(Silencio.SALIDA);
+        ejecutor = new EjecutorInstrucciones(memoria, despachador);
+        ejecutor.setSalidaLog(Silencio.SALIDA);
+        ejecutor.setContadoresProceso(new ContadoresInstrucciones());
+    }
+
+    @Benchmark
+    public boolean ejecutarSiguiente() {
+        return ejecutor.ejecutarSiguiente();
+    }
+}
@@ -0,0 +1,104 @@
+package so.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import so.gestordeprocesos.BCP;
+import so.instrucciones.Instruccion;
+import so.instrucciones.InstruccionParser;
+import so.memoria.estrategias.EstrategiaParticionamientoDinamico;
+import so.memoria.estrategias.EstrategiaParticionamientoFijo;
+import so.memoria.estrategias.IEstrategiaParticionamiento;
+import so.memoria.estrategias.IEstrategiaParticionamiento.InfoAsignacion;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asignación y liberación de memoria de usuario: cargarInstrucciones,
+ * asociarAsignacionAProceso y liberarEspacio, con la memoria vacía o con
+ * procesos residentes que obligan a buscar (particiones fijas) o a dividir
+ * y fusionar bloques (buddy system).
+ *
+ * @author dylan
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EstrategiaMemoriaBenchmark {
+
+    @Param({"FIJO_IGUAL", "FIJO_DESIGUAL", "DINAMICO"})
+    public String estrategia;
+
+    /** Procesos que quedan cargados durante toda la medición */
+    @Param({"0", "16"})
+    public int residentes;
+
+    /** Instrucciones del programa que se asigna y libera */
+    @Param({"8", "40"})
+    public int tamanoPrograma;
+
+    private IEstrategiaParticionamiento particionamiento;
+    private Instruccion[] programa;
+    private BCP bcp;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        particionamiento = crearEstrategia(estrategia);
+        // El constructor inicializa la estrategia sobre el área de usuario
+        Silencio.crearMemoria(particionamiento, 16384);
+
+        programa = crearPrograma(tamanoPrograma);
+        Instruccion[] pequeno = crearPrograma(6);
+        for (int i = 0; i < residentes; i++) {
+            InfoAsignacion info = particionamiento.cargarInstrucciones(pequeno);
+            if (info == null) {
+                throw new IllegalStateException(estrategia + " no tiene espacio para " + residentes + " residentes");
+            }
+            BCP residente = new BCP(1000 + i, "residente" + i + ".asm", info.direccionBase, pequeno.length);
+            particionamiento.asociarAsignacionAProceso(residente, info);
+        }
+        bcp = new BCP(1, "bench.asm", 0, programa.length);
+    }
+
+    private static IEstrategiaParticionamiento crearEstrategia(String nombre) {
+        return switch (nombre) {
+            case "FIJO_IGUAL" -> new EstrategiaParticionamientoFijo(64);
+            case "FIJO_DESIGUAL" -> new EstrategiaParticionamientoFijo(EstrategiaParticionamientoFijo.TipoParticionamiento.DESIGUAL);
+            case "DINAMICO" -> new EstrategiaParticionamientoDinamico();
+            default -> throw new IllegalArgumentException("Estrategia desconocida: " + nombre);
+        };
+    }
+
+    private static Instruccion[] crearPrograma(int tamano) {
+        Instruccion[] instrucciones = new Instruccion[tamano];
+        for (int i = 0; i < tamano - 1; i++) {
+            instrucciones[i] = InstruccionParser.parse(i % 2 == 0 ? "INC AX" : "MOV BX, AX");
+        }
+        instrucciones[tamano - 1] = InstruccionParser.parse("INT 20H");
+        return instrucciones;
+    }
+
+    @Benchmark
+    public InfoAsignacion asignarLiberar() {
+        InfoAsignacion info = particionamiento.cargarInstrucciones(programa);
+        if (info == null) {
+            throw new IllegalStateException(estrategia + " no pudo asignar " + programa.length + " instrucciones");
+        }
+        bcp.setDireccionBase(info.direccionBase);
+        particionamiento.asociarAsignacionAProceso(bcp, info);
+        particionamiento.liberarEspacio(bcp);
+        return info;
+    }
+}
@@ -0,0 +1,69 @@
+package so.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import so.instrucciones.InstruccionParser;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InstruccionParser.parse sobre las formas de línea que aparecen en los
+ * programas: instrucciones con 0, 1 y 2 operandos, saltos, interrupciones,
+ * comentarios y etiquetas (estas dos devuelven null).
+ *
+ * @author dylan
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    private static final String[] LINEAS = {
+        "MOV AX, 5",
+        "MOV BX, AX",
+        "ADD BX",
+        "INC",
+        "DEC CX",
+        "CMP AX, BX",
+        "JNE -3",
+        "PARAM 1, 2, 3",
+        "PUSH AX",
+        "INT 10H",
+        "; comentario",
+        "bucle:"
+    };
+
+    private int siguiente;
+
+    /**
+     * Una línea por llamada, rotando por todas las formas
+     */
+    @Benchmark
+    public Object parseLinea() {
+        String linea = LINEAS[siguiente];
+        siguiente = (siguiente + 1) % LINEAS.length;
+        return InstruccionParser.parse(linea);
+    }
+
+    /**
+     * Un programa completo (lo que hace el sistema al cargar un archivo)
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void parsePrograma(Blackhole bh) {
+        for (String linea : LINEAS) {
+            bh.consume(InstruccionParser.parse(linea));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package so.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import so.gestordeprocesos.BCP;
+import so.gestordeprocesos.EstadoProceso;
+import so.memoria.MemoriaPrincipalV2;
+import so.memoria.estrategias.EstrategiaParticionamientoDinamico;
+import so.planificacion.IPlanificador;
+import so.planificacion.PlanificadorFIFO;
+import so.planificacion.PlanificadorHRRN;
+import so.planificacion.PlanificadorRR;
+import so.planificacion.PlanificadorSJF;
+import so.planificacion.PlanificadorSRT;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IPlanificador.seleccionarSiguiente con la cola de listos llena hasta
+ * distintos tamaños. Los BCPs tienen ráfagas restantes distintas para que
+ * SJF, SRT y HRRN recorran la cola completa comparando.
+ *
+ * No hay proceso en ejecución, así que es el caso de un CPU libre que pide
+ * el siguiente proceso. El elegido vuelve al final de la cola para que el
+ * tamaño no cambie entre llamadas.
+ *
+ * @author dylan
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlanificadorBenchmark {
+
+    @Param({"FIFO", "SJF", "SRT", "HRRN", "RR"})
+    public String algoritmo;
+
+    @Param({"1", "5", "25"})
+    public int tamanoCola;
+
+    private MemoriaPrincipalV2 memoria;
+    private IPlanificador planificador;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        memoria = Silencio.crearMemoria(new EstrategiaParticionamientoDinamico(), 16384);
+        if (tamanoCola > memoria.getMaxProcesos()) {
+            throw new IllegalArgumentException("La cola admite a lo sumo " + memoria.getMaxProcesos() + " procesos");
+        }
+        planificador = crearPlanificador(algoritmo);
+        planificador.setSalidaLog(Silencio.SALIDA);
+
+        long ahora = System.currentTimeMillis();
+        for (int i = 0; i < tamanoCola; i++) {
+            // Ráfagas restantes distintas y sin orden (37 es coprimo con 25)
+            int tamano = 10 + (i * 37) % 50;
+            BCP bcp = new BCP(memoria.generarNuevoIDProceso(), "p" + i + ".asm", 1000 + i * 64, tamano);
+            bcp.setPC(i % 5);
+            bcp.setTiempoInicio(ahora - i * 10L);
+            bcp.setTimestampListo(ahora - i * 10L);
+            int numeroBCP = memoria.crearBCP(bcp);
+            planificador.onProcesoAgregado(bcp);
+            bcp.setEstado(EstadoProceso.LISTO);
+            memoria.actualizarBCP(numeroBCP, bcp);
+            memoria.encolarListo(numeroBCP);
+        }
+    }
+
+    private static IPlanificador crearPlanificador(String algoritmo) {
+        return switch (algoritmo) {
+            case "FIFO" -> new PlanificadorFIFO();
+            case "SJF" -> new PlanificadorSJF();
+            case "SRT" -> new PlanificadorSRT();
+            case "HRRN" -> new PlanificadorHRRN();
+            case "RR" -> new PlanificadorRR(2);
+            default -> throw new IllegalArgumentException("Algoritmo desconocido: " + algoritmo);
+        };
+    }
+
+    @Benchmark
+    public int seleccionarSiguiente() {
+        int seleccionado = planificador.seleccionarSiguiente(memoria);
+        if (seleccionado < 0) {
+            throw new IllegalStateException(algoritmo + " no seleccionó ningún proceso");
+        }
+        memoria.encolarListo(seleccionado);
+        return seleccionado;
+    }
+}
@@ -0,0 +1,34 @@
+package so.benchmarks;
+
+import so.memoria.MemoriaPrincipalV2;
+import so.memoria.estrategias.IEstrategiaParticionamiento;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Salida descartada para los logs de los componentes que se miden. El motor
+ * imprime en casi cada operación y escribir en la consola dominaría las
+ * mediciones; con la salida descartada sigue midiéndose el costo de armar
+ * los mensajes, que es parte del camino real.
+ *
+ * Se le pasa a cada componente con setSalidaLog (o al construir la memoria),
+ * sin tocar System.out.
+ *
+ * @author dylan
+ */
+final class Silencio {
+
+    static final PrintStream SALIDA = new PrintStream(OutputStream.nullOutputStream());
+
+    private Silencio() {
+    }
+
+    /**
+     * Memoria principal con la estrategia dada, ambas escribiendo sus logs en SALIDA
+     */
+    static MemoriaPrincipalV2 crearMemoria(IEstrategiaParticionamiento estrategia, int tamanoUsuario) {
+        estrategia.setSalidaLog(SALIDA);
+        return new MemoriaPrincipalV2(estrategia, tamanoUsuario, SALIDA);
+    }
+}
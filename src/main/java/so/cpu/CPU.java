@@ -2,6 +2,14 @@ package so.cpu;
 
 import so.instrucciones.Instruccion;
 import so.gestordeprocesos.BCP;
+import so.monitoreo.jfr.EventoCambioContexto;
+import so.persistencia.EntradaPuntoControl;
+import so.persistencia.IPersistible;
+import so.persistencia.SalidaPuntoControl;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Simula el CPU del sistema operativo.
@@ -18,7 +26,7 @@ import so.gestordeprocesos.BCP;
  * 
  * @author dylan
  */
-public class CPU {
+public class CPU implements IPersistible {
     
     // ========== REGISTROS DEL CPU ==========
     
@@ -58,14 +66,22 @@ public class CPU {
     
     /**
      * Número de ciclos de reloj ejecutados
-     * Útil para estadísticas y debugging
+     * Útil para estadísticas y debugging (atómico para leerlo desde JMX)
      */
-    private long ciclosReloj;
+    private final AtomicLong ciclosReloj = new AtomicLong();
     
     /**
      * Número de instrucciones ejecutadas
      */
-    private long instruccionesEjecutadas;
+    private final AtomicLong instruccionesEjecutadas = new AtomicLong();
+    
+    /**
+     * Instrucciones y ciclos por código de operación
+     */
+    private final ContadoresInstrucciones contadoresInstrucciones = new ContadoresInstrucciones();
+
+    /** Destino de los logs (null: la salida estándar del proceso) */
+    private PrintStream salidaLog;
     
     /**
      * Constructor del CPU
@@ -87,8 +103,9 @@ public class CPU {
         this.CX = 0;
         this.DX = 0;
         this.flagComparacion = 0;
-        this.ciclosReloj = 0;
-        this.instruccionesEjecutadas = 0;
+        this.ciclosReloj.set(0);
+        this.instruccionesEjecutadas.set(0);
+        this.contadoresInstrucciones.limpiar();
     }
     
     // ========== FETCH-DECODE (CICLO DE CPU) ==========
@@ -108,7 +125,7 @@ public class CPU {
         this.IR = bcp.getIR();
         this.PC = bcp.getPC();
         
-        ciclosReloj++;
+        ciclosReloj.incrementAndGet();
     }
     
     /**
@@ -119,16 +136,16 @@ public class CPU {
      */
     public boolean decode() {
         if (IR == null) {
-            System.err.println("[CPU] Error: No hay instrucción en IR");
+            err().println("[CPU] Error: No hay instrucción en IR");
             return false;
         }
         
         if (IR.getCodigoOperacion() == null) {
-            System.err.println("[CPU] Error: Instrucción inválida");
+            err().println("[CPU] Error: Instrucción inválida");
             return false;
         }
         
-        ciclosReloj++;
+        ciclosReloj.incrementAndGet();
         return true;
     }
     
@@ -136,14 +153,14 @@ public class CPU {
      * Incrementa el contador de instrucciones ejecutadas
      */
     public void incrementarInstrucciones() {
-        instruccionesEjecutadas++;
+        instruccionesEjecutadas.incrementAndGet();
     }
     
     /**
      * Incrementa el contador de ciclos de reloj
      */
     public void incrementarCiclos(int cantidad) {
-        ciclosReloj += cantidad;
+        ciclosReloj.addAndGet(cantidad);
     }
     
     // ========== GESTIÓN DE REGISTROS ==========
@@ -191,6 +208,8 @@ public class CPU {
     public void guardarContexto(BCP bcp) {
         if (bcp == null) return;
         
+        EventoCambioContexto evento = new EventoCambioContexto();
+        evento.begin();
         bcp.setAC(AC);
         bcp.setAX(AX);
         bcp.setBX(BX);
@@ -199,6 +218,13 @@ public class CPU {
         bcp.setPC(PC);
         bcp.setIR(IR);
         bcp.setFlagComparacion(flagComparacion);
+        
+        if (evento.shouldCommit()) {
+            evento.operacion = EventoCambioContexto.GUARDAR;
+            evento.idProceso = bcp.getIdProceso();
+            evento.pc = PC;
+            evento.commit();
+        }
     }
     
     /**
@@ -210,6 +236,8 @@ public class CPU {
     public void cargarContexto(BCP bcp) {
         if (bcp == null) return;
         
+        EventoCambioContexto evento = new EventoCambioContexto();
+        evento.begin();
         AC = bcp.getAC();
         AX = bcp.getAX();
         BX = bcp.getBX();
@@ -218,6 +246,13 @@ public class CPU {
         PC = bcp.getPC();
         IR = bcp.getIR();
         flagComparacion = bcp.getFlagComparacion();
+        
+        if (evento.shouldCommit()) {
+            evento.operacion = EventoCambioContexto.CARGAR;
+            evento.idProceso = bcp.getIdProceso();
+            evento.pc = PC;
+            evento.commit();
+        }
     }
     
     // ========== OPERACIONES ARITMÉTICAS ==========
@@ -322,7 +357,7 @@ public class CPU {
             "  Instrucciones: %d",
             PC, AC, AX, BX, CX, DX, flagComparacion,
             (IR != null ? IR.toString() : "null"),
-            ciclosReloj, instruccionesEjecutadas
+            ciclosReloj.get(), instruccionesEjecutadas.get()
         );
     }
     
@@ -344,8 +379,10 @@ public class CPU {
         sb.append(String.format("\nFlag de Comparación: %d (%s)\n", 
                  flagComparacion,
                  getFlagComparacionTexto()));
-        sb.append(String.format("Ciclos de Reloj: %d\n", ciclosReloj));
-        sb.append(String.format("Instrucciones Ejecutadas: %d\n", instruccionesEjecutadas));
+        sb.append(String.format("Ciclos de Reloj: %d\n", ciclosReloj.get()));
+        sb.append(String.format("Instrucciones Ejecutadas: %d\n", instruccionesEjecutadas.get()));
+        sb.append("\nMezcla de instrucciones:\n");
+        sb.append(contadoresInstrucciones.generarReporte());
         sb.append("====================================\n");
         
         return sb.toString();
@@ -363,6 +400,38 @@ public class CPU {
         };
     }
     
+    // ========== PUNTO DE CONTROL ==========
+
+    @Override
+    public void guardarEstado(SalidaPuntoControl salida) throws IOException {
+        salida.escribirInstruccionOpcional(IR);
+        salida.writeInt(PC);
+        salida.writeInt(AC);
+        salida.writeInt(AX);
+        salida.writeInt(BX);
+        salida.writeInt(CX);
+        salida.writeInt(DX);
+        salida.writeInt(flagComparacion);
+        salida.writeLong(ciclosReloj.get());
+        salida.writeLong(instruccionesEjecutadas.get());
+        contadoresInstrucciones.guardarEstado(salida);
+    }
+
+    @Override
+    public void restaurarEstado(EntradaPuntoControl entrada) throws IOException {
+        IR = entrada.leerInstruccionOpcional();
+        PC = entrada.readInt();
+        AC = entrada.readInt();
+        AX = entrada.readInt();
+        BX = entrada.readInt();
+        CX = entrada.readInt();
+        DX = entrada.readInt();
+        flagComparacion = entrada.readInt();
+        ciclosReloj.set(entrada.readLong());
+        instruccionesEjecutadas.set(entrada.readLong());
+        contadoresInstrucciones.restaurarEstado(entrada);
+    }
+
     // ========== GETTERS Y SETTERS ==========
     
     public Instruccion getIR() {
@@ -430,11 +499,15 @@ public class CPU {
     }
 
     public long getCiclosReloj() {
-        return ciclosReloj;
+        return ciclosReloj.get();
     }
 
     public long getInstruccionesEjecutadas() {
-        return instruccionesEjecutadas;
+        return instruccionesEjecutadas.get();
+    }
+    
+    public ContadoresInstrucciones getContadoresInstrucciones() {
+        return contadoresInstrucciones;
     }
     
     @Override
@@ -442,4 +515,17 @@ public class CPU {
         return String.format("CPU[PC=%d, AC=%d, AX=%d, BX=%d, CX=%d, DX=%d, Flag=%d]",
                            PC, AC, AX, BX, CX, DX, flagComparacion);
     }
+
+    // ========== LOGS ==========
+
+    /**
+     * Indica dónde escribir los logs (null para la salida estándar)
+     */
+    public void setSalidaLog(PrintStream salidaLog) {
+        this.salidaLog = salidaLog;
+    }
+
+    private PrintStream err() {
+        return salidaLog != null ? salidaLog : System.err;
+    }
 }
\ No newline at end of file
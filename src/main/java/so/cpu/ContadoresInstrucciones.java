@@ -0,0 +1,178 @@
+package so.cpu;
+
+import so.instrucciones.CodigoOperacion;
+import so.persistencia.EntradaPuntoControl;
+import so.persistencia.IPersistible;
+import so.persistencia.SalidaPuntoControl;
+
+import java.io.IOException;
+
+/**
+ * Mezcla de instrucciones ejecutadas: cantidad y ciclos por código de
+ * operación, y saltos tomados / no tomados de los saltos condicionales
+ * (JE, JNE).
+ *
+ * Los contadores son arreglos primitivos indexados por el ordinal de
+ * CodigoOperacion; registrar() no crea objetos. Hay uno por CPU y uno por
+ * proceso. Los escribe solo el hilo de simulación; un lector de otro hilo
+ * puede ver los valores con algunos registros de atraso.
+ *
+ * @author dylan
+ */
+public class ContadoresInstrucciones implements IPersistible {
+
+    private static final CodigoOperacion[] CODIGOS = CodigoOperacion.values();
+
+    private final long[] instrucciones = new long[CODIGOS.length];
+    private final long[] ciclos = new long[CODIGOS.length];
+    private final long[] saltosTomados = new long[CODIGOS.length];
+    private final long[] saltosNoTomados = new long[CODIGOS.length];
+
+    // ========== ESCRITURA ==========
+
+    /**
+     * Registra una instrucción ejecutada
+     *
+     * @param codigo código de operación
+     * @param ciclos ciclos de reloj que consumió (fetch y decode incluidos)
+     */
+    public void registrar(CodigoOperacion codigo, long ciclos) {
+        int i = codigo.ordinal();
+        instrucciones[i]++;
+        this.ciclos[i] += ciclos;
+    }
+
+    /**
+     * Registra el resultado de un salto condicional
+     */
+    public void registrarSalto(CodigoOperacion codigo, boolean tomado) {
+        if (tomado) {
+            saltosTomados[codigo.ordinal()]++;
+        } else {
+            saltosNoTomados[codigo.ordinal()]++;
+        }
+    }
+
+    /**
+     * Suma los contadores de otro (para totales de varios CPUs o procesos)
+     */
+    public void acumular(ContadoresInstrucciones otros) {
+        for (int i = 0; i < CODIGOS.length; i++) {
+            instrucciones[i] += otros.instrucciones[i];
+            ciclos[i] += otros.ciclos[i];
+            saltosTomados[i] += otros.saltosTomados[i];
+            saltosNoTomados[i] += otros.saltosNoTomados[i];
+        }
+    }
+
+    public void limpiar() {
+        for (int i = 0; i < CODIGOS.length; i++) {
+            instrucciones[i] = 0;
+            ciclos[i] = 0;
+            saltosTomados[i] = 0;
+            saltosNoTomados[i] = 0;
+        }
+    }
+
+    // ========== CONSULTAS ==========
+
+    public long getInstrucciones(CodigoOperacion codigo) {
+        return instrucciones[codigo.ordinal()];
+    }
+
+    public long getCiclos(CodigoOperacion codigo) {
+        return ciclos[codigo.ordinal()];
+    }
+
+    public long getSaltosTomados(CodigoOperacion codigo) {
+        return saltosTomados[codigo.ordinal()];
+    }
+
+    public long getSaltosNoTomados(CodigoOperacion codigo) {
+        return saltosNoTomados[codigo.ordinal()];
+    }
+
+    public long getTotalInstrucciones() {
+        long total = 0;
+        for (long cantidad : instrucciones) {
+            total += cantidad;
+        }
+        return total;
+    }
+
+    public long getTotalCiclos() {
+        long total = 0;
+        for (long cantidad : ciclos) {
+            total += cantidad;
+        }
+        return total;
+    }
+
+    /**
+     * Ciclos promedio por instrucción (CPI) de todo el conjunto
+     */
+    public double getCiclosPorInstruccion() {
+        long total = getTotalInstrucciones();
+        return total == 0 ? 0 : (double) getTotalCiclos() / total;
+    }
+
+    /**
+     * Tabla con una fila por código de operación ejecutado al menos una vez
+     */
+    public String generarReporte() {
+        long totalInstrucciones = getTotalInstrucciones();
+        long totalCiclos = getTotalCiclos();
+        if (totalInstrucciones == 0) {
+            return "  (sin instrucciones ejecutadas)\n";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("  %-6s %10s %7s %10s %7s %5s %s\n",
+                "Op", "Instr", "%", "Ciclos", "%", "CPI", "Saltos tomados/no tomados"));
+        for (int i = 0; i < CODIGOS.length; i++) {
+            if (instrucciones[i] == 0) {
+                continue;
+            }
+            sb.append(String.format("  %-6s %10d %6.1f%% %10d %6.1f%% %5.2f",
+                    CODIGOS[i], instrucciones[i], 100.0 * instrucciones[i] / totalInstrucciones,
+                    ciclos[i], totalCiclos == 0 ? 0 : 100.0 * ciclos[i] / totalCiclos,
+                    (double) ciclos[i] / instrucciones[i]));
+            long saltos = saltosTomados[i] + saltosNoTomados[i];
+            if (saltos > 0) {
+                sb.append(String.format(" %d/%d (%.1f%% tomados)",
+                        saltosTomados[i], saltosNoTomados[i], 100.0 * saltosTomados[i] / saltos));
+            }
+            sb.append('\n');
+        }
+        sb.append(String.format("  %-6s %10d %7s %10d %7s %5.2f\n",
+                "Total", totalInstrucciones, "", totalCiclos, "", getCiclosPorInstruccion()));
+        return sb.toString();
+    }
+
+    // ========== PUNTO DE CONTROL ==========
+
+    @Override
+    public void guardarEstado(SalidaPuntoControl salida) throws IOException {
+        salida.writeInt(CODIGOS.length);
+        for (int i = 0; i < CODIGOS.length; i++) {
+            salida.writeLong(instrucciones[i]);
+            salida.writeLong(ciclos[i]);
+            salida.writeLong(saltosTomados[i]);
+            salida.writeLong(saltosNoTomados[i]);
+        }
+    }
+
+    @Override
+    public void restaurarEstado(EntradaPuntoControl entrada) throws IOException {
+        int codigos = entrada.readInt();
+        if (codigos != CODIGOS.length) {
+            throw new IOException("El punto de control tiene " + codigos
+                    + " códigos de operación y esta versión " + CODIGOS.length);
+        }
+        for (int i = 0; i < CODIGOS.length; i++) {
+            instrucciones[i] = entrada.readLong();
+            ciclos[i] = entrada.readLong();
+            saltosTomados[i] = entrada.readLong();
+            saltosNoTomados[i] = entrada.readLong();
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package so.estadisticas;
+
+import so.eventos.IObservadorMotor;
+import so.gestordeprocesos.BCP;
+import so.instrucciones.Instruccion;
+import so.persistencia.EntradaPuntoControl;
+import so.persistencia.IPersistible;
+import so.persistencia.SalidaPuntoControl;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Métricas de planificación calculadas en línea a partir de los eventos del
+ * motor, medidas en ticks lógicos:
+ * - Retorno (turnaround): finalización - admisión
+ * - Respuesta: primer despacho - admisión
+ * - Espera: retorno - ticks en CPU
+ * - Utilización de cada CPU: ticks ocupados / ticks transcurridos
+ * - Rendimiento (throughput): procesos finalizados por ventana de ticks
+ *
+ * El estado por proceso se guarda en arreglos indexados por número de BCP
+ * (las posiciones se reutilizan al finalizar), de modo que cada evento es
+ * O(1) y no crea objetos: el agregador puede quedar activo en corridas de
+ * millones de procesos con memoria constante.
+ *
+ * Igual que el resto de observadores, se escribe solo desde el hilo de
+ * simulación; las lecturas desde la interfaz pueden ir un evento atrasadas.
+ *
+ * @author dylan
+ */
+public class AgregadorMetricas implements IObservadorMotor, IPersistible {
+
+    private static final int TICKS_POR_VENTANA_DEFECTO = 100;
+    private static final int CANTIDAD_VENTANAS = 64;
+
+    private final int cantidadCPUs;
+
+    // ========== ESTADO POR PROCESO (ÍNDICE = NÚMERO DE BCP) ==========
+    private long[] tickAdmision;
+    private long[] tickPrimerDespacho;
+    private long[] ticksEnCPU;
+
+    // ========== DISTRIBUCIONES ==========
+    private final HistogramaLog retorno;
+    private final HistogramaLog respuesta;
+    private final HistogramaLog espera;
+
+    // ========== CPUs ==========
+    private final AtomicLongArray ticksOcupados;
+    private volatile long tickBase;
+    private volatile long ultimoTick;
+
+    // ========== RENDIMIENTO POR VENTANA ==========
+    private final int ticksPorVentana;
+    private final AtomicLongArray finalizadosPorVentana;
+    private long ventanaActual;
+    private volatile long totalFinalizados;
+    private volatile long totalAdmitidos;
+
+    public AgregadorMetricas(int cantidadCPUs, int capacidadProcesos) {
+        this(cantidadCPUs, capacidadProcesos, TICKS_POR_VENTANA_DEFECTO);
+    }
+
+    /**
+     * @param cantidadCPUs cantidad de CPUs del sistema
+     * @param capacidadProcesos cantidad de BCPs (crece si hace falta)
+     * @param ticksPorVentana ancho de las ventanas de rendimiento
+     */
+    public AgregadorMetricas(int cantidadCPUs, int capacidadProcesos, int ticksPorVentana) {
+        if (cantidadCPUs <= 0 || ticksPorVentana <= 0) {
+            throw new IllegalArgumentException("Cantidad de CPUs y ancho de ventana deben ser positivos");
+        }
+        this.cantidadCPUs = cantidadCPUs;
+        this.ticksPorVentana = ticksPorVentana;
+        int capacidad = Math.max(1, capacidadProcesos);
+        this.tickAdmision = new long[capacidad];
+        this.tickPrimerDespacho = new long[capacidad];
+        this.ticksEnCPU = new long[capacidad];
+        Arrays.fill(tickAdmision, -1);
+        Arrays.fill(tickPrimerDespacho, -1);
+
+        this.retorno = new HistogramaLog();
+        this.respuesta = new HistogramaLog();
+        this.espera = new HistogramaLog();
+        this.ticksOcupados = new AtomicLongArray(cantidadCPUs);
+        this.finalizadosPorVentana = new AtomicLongArray(CANTIDAD_VENTANAS);
+    }
+
+    // ========== OBSERVADOR DEL MOTOR ==========
+
+    @Override
+    public void onAdmision(long tick, int cpu, int numeroBCP, BCP bcp) {
+        asegurarCapacidad(numeroBCP);
+        tickAdmision[numeroBCP] = tick;
+        tickPrimerDespacho[numeroBCP] = -1;
+        ticksEnCPU[numeroBCP] = 0;
+        totalAdmitidos++;
+        avanzar(tick);
+    }
+
+    @Override
+    public void onDespacho(long tick, int cpu, int numeroBCP, BCP bcp) {
+        asegurarCapacidad(numeroBCP);
+        if (tickPrimerDespacho[numeroBCP] < 0 && tickAdmision[numeroBCP] >= 0) {
+            tickPrimerDespacho[numeroBCP] = tick;
+            respuesta.registrar(tick - tickAdmision[numeroBCP]);
+        }
+        avanzar(tick);
+    }
+
+    @Override
+    public void onInstruccionRetirada(long tick, int cpu, int numeroBCP, BCP bcp, int pc, Instruccion instruccion) {
+        if (numeroBCP < ticksEnCPU.length) {
+            ticksEnCPU[numeroBCP]++;
+        }
+        if (cpu >= 0 && cpu < cantidadCPUs) {
+            ticksOcupados.lazySet(cpu, ticksOcupados.get(cpu) + 1);
+        }
+        avanzar(tick);
+    }
+
+    @Override
+    public void onFinalizacion(long tick, int cpu, int numeroBCP, BCP bcp) {
+        avanzar(tick);
+        totalFinalizados++;
+        int ranura = (int) (ventanaActual % CANTIDAD_VENTANAS);
+        finalizadosPorVentana.lazySet(ranura, finalizadosPorVentana.get(ranura) + 1);
+
+        // Procesos admitidos antes de crear o limpiar el agregador no tienen admisión
+        if (numeroBCP >= tickAdmision.length || tickAdmision[numeroBCP] < 0) {
+            return;
+        }
+        // La instrucción de este tick cuenta dentro del proceso
+        long tiempoRetorno = tick + 1 - tickAdmision[numeroBCP];
+        retorno.registrar(tiempoRetorno);
+        espera.registrar(tiempoRetorno - ticksEnCPU[numeroBCP]);
+        tickAdmision[numeroBCP] = -1;
+    }
+
+    /**
+     * Actualiza el último tick observado y rota las ventanas de rendimiento.
+     * Cada ventana saltada se limpia una sola vez, así que el costo es O(1)
+     * amortizado.
+     */
+    private void avanzar(long tick) {
+        if (tick > ultimoTick) {
+            ultimoTick = tick;
+        }
+        long ventana = (tick - tickBase) / ticksPorVentana;
+        if (ventana <= ventanaActual) {
+            return;
+        }
+        long saltadas = Math.min(ventana - ventanaActual, CANTIDAD_VENTANAS);
+        for (long v = ventana - saltadas + 1; v <= ventana; v++) {
+            finalizadosPorVentana.lazySet((int) (v % CANTIDAD_VENTANAS), 0);
+        }
+        ventanaActual = ventana;
+    }
+
+    private void asegurarCapacidad(int numeroBCP) {
+        if (numeroBCP < tickAdmision.length) {
+            return;
+        }
+        int anterior = tickAdmision.length;
+        int capacidad = Math.max(numeroBCP + 1, anterior * 2);
+        tickAdmision = Arrays.copyOf(tickAdmision, capacidad);
+        tickPrimerDespacho = Arrays.copyOf(tickPrimerDespacho, capacidad);
+        ticksEnCPU = Arrays.copyOf(ticksEnCPU, capacidad);
+        Arrays.fill(tickAdmision, anterior, capacidad, -1);
+        Arrays.fill(tickPrimerDespacho, anterior, capacidad, -1);
+    }
+
+    /**
+     * Reinicia todas las métricas tomando tick como nuevo origen
+     */
+    public void limpiar(long tick) {
+        Arrays.fill(tickAdmision, -1);
+        Arrays.fill(tickPrimerDespacho, -1);
+        Arrays.fill(ticksEnCPU, 0);
+        retorno.limpiar();
+        respuesta.limpiar();
+        espera.limpiar();
+        for (int i = 0; i < cantidadCPUs; i++) {
+            ticksOcupados.set(i, 0);
+        }
+        for (int i = 0; i < CANTIDAD_VENTANAS; i++) {
+            finalizadosPorVentana.set(i, 0);
+        }
+        tickBase = tick;
+        ultimoTick = tick;
+        ventanaActual = 0;
+        totalFinalizados = 0;
+        totalAdmitidos = 0;
+    }
+
+    // ========== PUNTO DE CONTROL ==========
+
+    @Override
+    public void guardarEstado(SalidaPuntoControl salida) throws IOException {
+        salida.writeInt(cantidadCPUs);
+        salida.writeInt(ticksPorVentana);
+        salida.writeInt(tickAdmision.length);
+        for (int i = 0; i < tickAdmision.length; i++) {
+            salida.writeLong(tickAdmision[i]);
+            salida.writeLong(tickPrimerDespacho[i]);
+            salida.writeLong(ticksEnCPU[i]);
+        }
+        retorno.guardarEstado(salida);
+        respuesta.guardarEstado(salida);
+        espera.guardarEstado(salida);
+        for (int i = 0; i < cantidadCPUs; i++) {
+            salida.writeLong(ticksOcupados.get(i));
+        }
+        salida.writeLong(tickBase);
+        salida.writeLong(ultimoTick);
+        salida.writeLong(ventanaActual);
+        for (int i = 0; i < CANTIDAD_VENTANAS; i++) {
+            salida.writeLong(finalizadosPorVentana.get(i));
+        }
+        salida.writeLong(totalFinalizados);
+        salida.writeLong(totalAdmitidos);
+    }
+
+    @Override
+    public void restaurarEstado(EntradaPuntoControl entrada) throws IOException {
+        int cpusGuardados = entrada.readInt();
+        int ventanaGuardada = entrada.readInt();
+        if (cpusGuardados != cantidadCPUs || ventanaGuardada != ticksPorVentana) {
+            throw new IllegalStateException("El punto de control tiene métricas de " + cpusGuardados
+                + " CPUs y ventanas de " + ventanaGuardada + " ticks, se esperaban " + cantidadCPUs
+                + " y " + ticksPorVentana);
+        }
+        int capacidad = entrada.readInt();
+        tickAdmision = new long[capacidad];
+        tickPrimerDespacho = new long[capacidad];
+        ticksEnCPU = new long[capacidad];
+        for (int i = 0; i < capacidad; i++) {
+            tickAdmision[i] = entrada.readLong();
+            tickPrimerDespacho[i] = entrada.readLong();
+            ticksEnCPU[i] = entrada.readLong();
+        }
+        retorno.restaurarEstado(entrada);
+        respuesta.restaurarEstado(entrada);
+        espera.restaurarEstado(entrada);
+        for (int i = 0; i < cantidadCPUs; i++) {
+            ticksOcupados.set(i, entrada.readLong());
+        }
+        tickBase = entrada.readLong();
+        ultimoTick = entrada.readLong();
+        ventanaActual = entrada.readLong();
+        for (int i = 0; i < CANTIDAD_VENTANAS; i++) {
+            finalizadosPorVentana.set(i, entrada.readLong());
+        }
+        totalFinalizados = entrada.readLong();
+        totalAdmitidos = entrada.readLong();
+    }
+
+    // ========== CONSULTAS ==========
+
+    public HistogramaLog getRetorno() {
+        return retorno;
+    }
+
+    public HistogramaLog getRespuesta() {
+        return respuesta;
+    }
+
+    public HistogramaLog getEspera() {
+        return espera;
+    }
+
+    public long getTotalAdmitidos() {
+        return totalAdmitidos;
+    }
+
+    public long getTotalFinalizados() {
+        return totalFinalizados;
+    }
+
+    /**
+     * Fracción de los ticks transcurridos en que el CPU ejecutó una instrucción
+     */
+    public double getUtilizacion(int cpu) {
+        long transcurridos = ultimoTick - tickBase;
+        if (transcurridos <= 0) {
+            return 0;
+        }
+        return Math.min(1.0, (double) ticksOcupados.get(cpu) / transcurridos);
+    }
+
+    public long getTicksOcupados(int cpu) {
+        return ticksOcupados.get(cpu);
+    }
+
+    public int getTicksPorVentana() {
+        return ticksPorVentana;
+    }
+
+    /**
+     * Copia la cantidad de procesos finalizados en las últimas ventanas,
+     * de la más antigua a la actual (que puede estar incompleta)
+     *
+     * @return cantidad de ventanas copiadas
+     */
+    public int getFinalizadosPorVentana(long[] destino) {
+        long actual = ventanaActual;
+        int cantidad = (int) Math.min(Math.min(destino.length, CANTIDAD_VENTANAS), actual + 1);
+        for (int i = 0; i < cantidad; i++) {
+            long ventana = actual - cantidad + 1 + i;
+            destino[i] = finalizadosPorVentana.get((int) (ventana % CANTIDAD_VENTANAS));
+        }
+        return cantidad;
+    }
+
+    /**
+     * Procesos finalizados por tick en las ventanas completas más recientes
+     * (hasta 64); 0 si todavía no se completó ninguna ventana
+     */
+    public double getRendimientoReciente() {
+        long completas = Math.min(ventanaActual, CANTIDAD_VENTANAS - 1);
+        if (completas == 0) {
+            return 0;
+        }
+        long suma = 0;
+        for (long v = ventanaActual - completas; v < ventanaActual; v++) {
+            suma += finalizadosPorVentana.get((int) (v % CANTIDAD_VENTANAS));
+        }
+        return (double) suma / (completas * ticksPorVentana);
+    }
+
+    /**
+     * Reporte de texto con todas las métricas
+     */
+    public String generarReporte() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("--- Métricas de planificación (ticks) ---\n");
+        sb.append(String.format("Admitidos: %d, finalizados: %d\n", totalAdmitidos, totalFinalizados));
+        sb.append("Retorno:   ").append(retorno.resumir()).append('\n');
+        sb.append("Espera:    ").append(espera.resumir()).append('\n');
+        sb.append("Respuesta: ").append(respuesta.resumir()).append('\n');
+        for (int i = 0; i < cantidadCPUs; i++) {
+            sb.append(String.format("Utilización CPU %d: %.1f%%\n", i, getUtilizacion(i) * 100));
+        }
+        sb.append(String.format("Rendimiento reciente: %.4f procesos/tick (ventanas de %d ticks)\n",
+                getRendimientoReciente(), ticksPorVentana));
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "AgregadorMetricas[admitidos=" + totalAdmitidos + ", finalizados=" + totalFinalizados
+                + ", retorno=" + retorno.resumir() + "]";
+    }
+}
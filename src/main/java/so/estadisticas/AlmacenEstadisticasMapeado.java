@@ -0,0 +1,444 @@
+package so.estadisticas;
+
+import so.eventos.IObservadorMotor;
+import so.gestordeprocesos.BCP;
+import so.instrucciones.Instruccion;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Almacén persistente de estadísticas de procesos finalizados sobre un
+ * archivo mapeado en memoria, de solo agregado.
+ *
+ * Cada proceso finalizado es un registro binario de 56 bytes (ver
+ * RegistroEstadistica). Los nombres de proceso se guardan una sola vez en un
+ * archivo de texto al lado (archivo + ".nombres", una línea por nombre) y el
+ * registro guarda su índice. Cada vez que se abre el almacén empieza una nueva
+ * corrida, así que un mismo archivo acumula estadísticas de muchas ejecuciones.
+ *
+ * Formato del archivo:
+ * - Cabecera (64 bytes): mágico "SOES", versión, tamaño de registro, indicador
+ *   de orden, cantidad de registros (long), última corrida
+ * - Registros: pid, nombre, corrida, cpu (int), llegada, primer despacho,
+ *   finalización, ticks en CPU (long), ráfaga, reservado (int)
+ *
+ * La cantidad de la cabecera se actualiza después de cada registro, por lo que
+ * si el proceso termina sin cerrar el almacén se conservan todos los registros
+ * completos. Mientras los registros lleguen ordenados por (corrida, tick de
+ * finalización), que es el caso normal, las consultas por rango usan búsqueda
+ * binaria; si no, se recorre el archivo completo.
+ *
+ * @author dylan
+ */
+public class AlmacenEstadisticasMapeado implements IObservadorMotor, Closeable {
+
+    // ========== FORMATO ==========
+    private static final int MAGICO = 0x534F4553; // "SOES"
+    private static final int VERSION = 1;
+    private static final int TAMANO_CABECERA = 64;
+    private static final int TAMANO_REGISTRO = 56;
+    private static final int CAPACIDAD_MINIMA = 16 * 1024;
+
+    private static final int POS_ORDENADO = 12;
+    private static final int POS_CANTIDAD = 16;
+    private static final int POS_CORRIDA = 24;
+
+    private final Path archivo;
+    private final FileChannel canal;
+    private MappedByteBuffer mapa;
+    private long capacidad;
+    private long cantidad;
+    private boolean ordenado;
+    private final int corrida;
+
+    // Diccionario de nombres
+    private final List<String> nombres;
+    private final Map<String, Integer> idsNombres;
+    private final Writer escritorNombres;
+
+    // Estado de los procesos en curso (índice = número de BCP)
+    private long[] tickAdmision;
+    private long[] tickPrimerDespacho;
+    private long[] ticksEnCPU;
+    private final RegistroEstadistica registroFinalizado;
+
+    private boolean cerrado;
+
+    private AlmacenEstadisticasMapeado(Path archivo, FileChannel canal, long cantidad, boolean ordenado,
+                                       int corrida, List<String> nombres) throws IOException {
+        this.archivo = archivo;
+        this.canal = canal;
+        this.cantidad = cantidad;
+        this.ordenado = ordenado;
+        this.corrida = corrida;
+        this.nombres = nombres;
+        this.idsNombres = new HashMap<>();
+        for (int i = 0; i < nombres.size(); i++) {
+            idsNombres.putIfAbsent(nombres.get(i), i);
+        }
+        this.escritorNombres = Files.newBufferedWriter(rutaNombres(archivo), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        this.tickAdmision = new long[16];
+        this.tickPrimerDespacho = new long[16];
+        this.ticksEnCPU = new long[16];
+        Arrays.fill(tickAdmision, -1);
+        Arrays.fill(tickPrimerDespacho, -1);
+        this.registroFinalizado = new RegistroEstadistica();
+
+        mapear(Math.max(CAPACIDAD_MINIMA, cantidad * 2));
+        mapa.putInt(POS_CORRIDA, corrida);
+    }
+
+    /**
+     * Abre (o crea) un almacén e inicia una nueva corrida
+     */
+    public static AlmacenEstadisticasMapeado abrir(Path archivo) throws IOException {
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long cantidad = 0;
+            boolean ordenado = true;
+            int corrida = 1;
+
+            if (canal.size() > 0) {
+                MappedByteBuffer cabecera = canal.map(FileChannel.MapMode.READ_ONLY, 0, TAMANO_CABECERA);
+                if (cabecera.getInt(0) != MAGICO) {
+                    throw new IOException("El archivo no es un almacén de estadísticas: " + archivo);
+                }
+                if (cabecera.getInt(4) != VERSION || cabecera.getInt(8) != TAMANO_REGISTRO) {
+                    throw new IOException("Versión de almacén de estadísticas no soportada: " + cabecera.getInt(4));
+                }
+                ordenado = cabecera.getInt(POS_ORDENADO) != 0;
+                cantidad = cabecera.getLong(POS_CANTIDAD);
+                corrida = cabecera.getInt(POS_CORRIDA) + 1;
+                if (TAMANO_CABECERA + cantidad * TAMANO_REGISTRO > canal.size()) {
+                    throw new IOException("Almacén de estadísticas truncado: " + archivo);
+                }
+            }
+
+            List<String> nombres = new ArrayList<>();
+            Path rutaNombres = rutaNombres(archivo);
+            if (Files.exists(rutaNombres)) {
+                nombres.addAll(Files.readAllLines(rutaNombres, StandardCharsets.UTF_8));
+            }
+
+            AlmacenEstadisticasMapeado almacen = new AlmacenEstadisticasMapeado(archivo, canal, cantidad,
+                    ordenado, corrida, nombres);
+            System.out.println("[ESTADISTICAS] Almacén " + archivo + " abierto: " + cantidad
+                    + " registros, corrida " + corrida);
+            return almacen;
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    private static Path rutaNombres(Path archivo) {
+        return archivo.resolveSibling(archivo.getFileName() + ".nombres");
+    }
+
+    /**
+     * Mapea el archivo con espacio para la capacidad indicada de registros
+     * (el archivo crece al mapear una región más grande)
+     */
+    private void mapear(long nuevaCapacidad) throws IOException {
+        long tamano = TAMANO_CABECERA + nuevaCapacidad * TAMANO_REGISTRO;
+        if (tamano > Integer.MAX_VALUE) {
+            throw new IllegalStateException("El almacén de estadísticas superó el tamaño máximo mapeable");
+        }
+        if (mapa != null) {
+            mapa.force();
+        }
+        mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamano);
+        capacidad = nuevaCapacidad;
+
+        mapa.putInt(0, MAGICO);
+        mapa.putInt(4, VERSION);
+        mapa.putInt(8, TAMANO_REGISTRO);
+        mapa.putInt(POS_ORDENADO, ordenado ? 1 : 0);
+        mapa.putLong(POS_CANTIDAD, cantidad);
+    }
+
+    // ========== OBSERVADOR DEL MOTOR ==========
+
+    @Override
+    public synchronized void onAdmision(long tick, int cpu, int numeroBCP, BCP bcp) {
+        asegurarCapacidadProcesos(numeroBCP);
+        tickAdmision[numeroBCP] = tick;
+        tickPrimerDespacho[numeroBCP] = -1;
+        ticksEnCPU[numeroBCP] = 0;
+    }
+
+    @Override
+    public synchronized void onDespacho(long tick, int cpu, int numeroBCP, BCP bcp) {
+        asegurarCapacidadProcesos(numeroBCP);
+        if (tickPrimerDespacho[numeroBCP] < 0) {
+            tickPrimerDespacho[numeroBCP] = tick;
+        }
+    }
+
+    @Override
+    public synchronized void onInstruccionRetirada(long tick, int cpu, int numeroBCP, BCP bcp, int pc, Instruccion instruccion) {
+        if (numeroBCP < ticksEnCPU.length) {
+            ticksEnCPU[numeroBCP]++;
+        }
+    }
+
+    @Override
+    public synchronized void onFinalizacion(long tick, int cpu, int numeroBCP, BCP bcp) {
+        if (cerrado) {
+            return;
+        }
+        asegurarCapacidadProcesos(numeroBCP);
+        RegistroEstadistica registro = registroFinalizado;
+        registro.idProceso = bcp.getIdProceso();
+        registro.cpu = cpu;
+        // Si el proceso se admitió antes de abrir el almacén se toma el primer despacho conocido
+        registro.tickLlegada = tickAdmision[numeroBCP] >= 0 ? tickAdmision[numeroBCP]
+                : Math.max(0, tickPrimerDespacho[numeroBCP]);
+        registro.tickPrimerDespacho = tickPrimerDespacho[numeroBCP];
+        registro.tickFinalizacion = tick + 1;
+        registro.ticksCPU = ticksEnCPU[numeroBCP];
+        registro.rafaga = bcp.getTamanoProceso();
+        try {
+            agregar(registro, bcp.getNombreProceso());
+        } catch (IOException e) {
+            // El observador no puede lanzar excepciones al motor
+            System.err.println("[ESTADISTICAS] Error al agregar un registro, se cierra el almacén: " + e.getMessage());
+            cerrado = true;
+        }
+        tickAdmision[numeroBCP] = -1;
+        tickPrimerDespacho[numeroBCP] = -1;
+        ticksEnCPU[numeroBCP] = 0;
+    }
+
+    private void asegurarCapacidadProcesos(int numeroBCP) {
+        if (numeroBCP < tickAdmision.length) {
+            return;
+        }
+        int anterior = tickAdmision.length;
+        int nueva = Math.max(numeroBCP + 1, anterior * 2);
+        tickAdmision = Arrays.copyOf(tickAdmision, nueva);
+        tickPrimerDespacho = Arrays.copyOf(tickPrimerDespacho, nueva);
+        ticksEnCPU = Arrays.copyOf(ticksEnCPU, nueva);
+        Arrays.fill(tickAdmision, anterior, nueva, -1);
+        Arrays.fill(tickPrimerDespacho, anterior, nueva, -1);
+    }
+
+    // ========== ESCRITURA ==========
+
+    /**
+     * Agrega un registro al final del almacén. La corrida y el nombre del
+     * registro se toman de este almacén y del parámetro nombre.
+     */
+    public synchronized void agregar(RegistroEstadistica registro, String nombre) throws IOException {
+        if (cerrado) {
+            throw new IllegalStateException("El almacén de estadísticas está cerrado");
+        }
+        registro.corrida = corrida;
+        registro.idNombre = obtenerIdNombre(nombre);
+
+        if (cantidad == capacidad) {
+            mapear(capacidad * 2);
+        }
+        if (ordenado && cantidad > 0) {
+            int pos = posicion(cantidad - 1);
+            int corridaAnterior = mapa.getInt(pos + 8);
+            long finAnterior = mapa.getLong(pos + 32);
+            if (corridaAnterior > corrida || (corridaAnterior == corrida && finAnterior > registro.tickFinalizacion)) {
+                ordenado = false;
+                mapa.putInt(POS_ORDENADO, 0);
+            }
+        }
+
+        int pos = posicion(cantidad);
+        mapa.putInt(pos, registro.idProceso);
+        mapa.putInt(pos + 4, registro.idNombre);
+        mapa.putInt(pos + 8, registro.corrida);
+        mapa.putInt(pos + 12, registro.cpu);
+        mapa.putLong(pos + 16, registro.tickLlegada);
+        mapa.putLong(pos + 24, registro.tickPrimerDespacho);
+        mapa.putLong(pos + 32, registro.tickFinalizacion);
+        mapa.putLong(pos + 40, registro.ticksCPU);
+        mapa.putInt(pos + 48, registro.rafaga);
+        mapa.putInt(pos + 52, 0);
+
+        // La cantidad se publica después del registro completo
+        cantidad++;
+        mapa.putLong(POS_CANTIDAD, cantidad);
+    }
+
+    private int obtenerIdNombre(String nombre) throws IOException {
+        String limpio = nombre.replace('\n', ' ').replace('\r', ' ');
+        Integer id = idsNombres.get(limpio);
+        if (id == null) {
+            id = nombres.size();
+            nombres.add(limpio);
+            idsNombres.put(limpio, id);
+            escritorNombres.write(limpio);
+            escritorNombres.write('\n');
+        }
+        return id;
+    }
+
+    private static int posicion(long indice) {
+        return (int) (TAMANO_CABECERA + indice * TAMANO_REGISTRO);
+    }
+
+    // ========== LECTURA ==========
+
+    /**
+     * Copia el registro indicado en destino (sin crear objetos)
+     */
+    public synchronized void leer(long indice, RegistroEstadistica destino) {
+        if (indice < 0 || indice >= cantidad) {
+            throw new IllegalArgumentException("Índice de registro fuera de rango: " + indice);
+        }
+        int pos = posicion(indice);
+        destino.idProceso = mapa.getInt(pos);
+        destino.idNombre = mapa.getInt(pos + 4);
+        destino.corrida = mapa.getInt(pos + 8);
+        destino.cpu = mapa.getInt(pos + 12);
+        destino.tickLlegada = mapa.getLong(pos + 16);
+        destino.tickPrimerDespacho = mapa.getLong(pos + 24);
+        destino.tickFinalizacion = mapa.getLong(pos + 32);
+        destino.ticksCPU = mapa.getLong(pos + 40);
+        destino.rafaga = mapa.getInt(pos + 48);
+    }
+
+    /**
+     * Índice del primer registro de la corrida con finalización mayor o igual
+     * a tick. Si el almacén está ordenado usa búsqueda binaria; si no,
+     * devuelve 0 y la consulta debe recorrer todo.
+     */
+    public synchronized long buscarPrimero(int corridaBuscada, long tick) {
+        if (!ordenado) {
+            return 0;
+        }
+        long bajo = 0;
+        long alto = cantidad;
+        while (bajo < alto) {
+            long medio = (bajo + alto) >>> 1;
+            int pos = posicion(medio);
+            int corridaMedio = mapa.getInt(pos + 8);
+            long finMedio = mapa.getLong(pos + 32);
+            if (corridaMedio < corridaBuscada || (corridaMedio == corridaBuscada && finMedio < tick)) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Recorre los registros de la corrida que finalizaron en [desde, hasta)
+     *
+     * @param visitante recibe un registro reutilizado; devuelve false para detener el recorrido
+     * @return cantidad de registros visitados
+     */
+    public synchronized long consultarPorFinalizacion(int corridaBuscada, long desde, long hasta,
+                                                      VisitanteRegistros visitante) {
+        RegistroEstadistica registro = new RegistroEstadistica();
+        long visitados = 0;
+        for (long i = buscarPrimero(corridaBuscada, desde); i < cantidad; i++) {
+            leer(i, registro);
+            if (registro.corrida == corridaBuscada && registro.tickFinalizacion >= desde
+                    && registro.tickFinalizacion < hasta) {
+                visitados++;
+                if (!visitante.visitar(registro)) {
+                    break;
+                }
+            } else if (ordenado && (registro.corrida > corridaBuscada || registro.tickFinalizacion >= hasta)) {
+                break;
+            }
+        }
+        return visitados;
+    }
+
+    /**
+     * Recorre secuencialmente todos los registros en el orden en que se agregaron
+     */
+    public synchronized long recorrer(VisitanteRegistros visitante) {
+        RegistroEstadistica registro = new RegistroEstadistica();
+        for (long i = 0; i < cantidad; i++) {
+            leer(i, registro);
+            if (!visitante.visitar(registro)) {
+                return i + 1;
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * Recibe los registros de un recorrido
+     */
+    @FunctionalInterface
+    public interface VisitanteRegistros {
+        boolean visitar(RegistroEstadistica registro);
+    }
+
+    public synchronized String getNombre(int idNombre) {
+        return idNombre >= 0 && idNombre < nombres.size() ? nombres.get(idNombre) : "?";
+    }
+
+    public synchronized long getCantidad() {
+        return cantidad;
+    }
+
+    public synchronized boolean isOrdenado() {
+        return ordenado;
+    }
+
+    /**
+     * Corrida que se está registrando (las anteriores son 1 .. corrida - 1)
+     */
+    public int getCorrida() {
+        return corrida;
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    // ========== CIERRE ==========
+
+    /**
+     * Escribe en disco los registros y el diccionario de nombres
+     */
+    public synchronized void sincronizar() throws IOException {
+        escritorNombres.flush();
+        mapa.force();
+    }
+
+    /**
+     * Sincroniza y recorta el archivo al espacio realmente usado
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (canal.isOpen()) {
+            cerrado = true;
+            escritorNombres.close();
+            mapa.force();
+            mapa = null;
+            canal.truncate(TAMANO_CABECERA + cantidad * TAMANO_REGISTRO);
+            canal.close();
+            System.out.println("[ESTADISTICAS] Almacén cerrado: " + cantidad + " registros en " + archivo);
+        }
+    }
+}
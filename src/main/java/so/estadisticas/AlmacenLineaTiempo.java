@@ -0,0 +1,298 @@
+package so.estadisticas;
+
+import so.eventos.IObservadorMotor;
+import so.gestordeprocesos.BCP;
+
+import java.util.Arrays;
+
+/**
+ * Historial de ocupación de los CPUs en formato columnar.
+ *
+ * Por cada CPU guarda tres arreglos paralelos (tick de inicio, tick de fin y
+ * PID) con un segmento por ráfaga; dos ráfagas contiguas del mismo proceso se
+ * fusionan en un solo segmento (codificación por corridas). Los segmentos de
+ * un CPU quedan ordenados por tiempo y no se solapan, así que las consultas de
+ * una ventana usan búsqueda binaria.
+ *
+ * Hay un único escritor (el hilo de simulación, como observador del motor) y
+ * cualquier cantidad de lectores (la interfaz): los arreglos se publican antes
+ * que el contador, así un lector siempre ve segmentos completos. Cada lectura
+ * empieza por el campo volátil version.
+ *
+ * Crece con cada ráfaga, por eso el sistema solo lo crea y lo registra cuando
+ * alguien lo pide (SistemaOperativoV2.getLineaTiempo()).
+ *
+ * @author dylan
+ */
+public class AlmacenLineaTiempo implements IObservadorMotor {
+
+    private static final int CAPACIDAD_INICIAL = 256;
+
+    /**
+     * Columnas de un CPU. Al crecer se reemplaza la instancia completa.
+     */
+    private static final class Columnas {
+        final long[] inicios;
+        final long[] fines;
+        final int[] pids;
+
+        Columnas(int capacidad) {
+            this.inicios = new long[capacidad];
+            this.fines = new long[capacidad];
+            this.pids = new int[capacidad];
+        }
+
+        Columnas crecer() {
+            int nuevaCapacidad = inicios.length * 2;
+            Columnas nuevas = new Columnas(nuevaCapacidad);
+            System.arraycopy(inicios, 0, nuevas.inicios, 0, inicios.length);
+            System.arraycopy(fines, 0, nuevas.fines, 0, fines.length);
+            System.arraycopy(pids, 0, nuevas.pids, 0, pids.length);
+            return nuevas;
+        }
+    }
+
+    /**
+     * Ráfaga en curso de un CPU (todavía sin tick de fin)
+     */
+    private static final class SegmentoAbierto {
+        final long inicio;
+        final int pid;
+        final int numeroBCP;
+
+        SegmentoAbierto(long inicio, int pid, int numeroBCP) {
+            this.inicio = inicio;
+            this.pid = pid;
+            this.numeroBCP = numeroBCP;
+        }
+    }
+
+    private final int cantidadCPUs;
+    private final Columnas[] columnas;
+    private final int[] cantidades;
+    private final SegmentoAbierto[] abiertos;
+
+    // Se escribe al final de cada modificación para publicar los cambios
+    private volatile long version;
+
+    public AlmacenLineaTiempo(int cantidadCPUs) {
+        if (cantidadCPUs <= 0) {
+            throw new IllegalArgumentException("Debe haber al menos 1 CPU");
+        }
+        this.cantidadCPUs = cantidadCPUs;
+        this.columnas = new Columnas[cantidadCPUs];
+        this.cantidades = new int[cantidadCPUs];
+        this.abiertos = new SegmentoAbierto[cantidadCPUs];
+        for (int i = 0; i < cantidadCPUs; i++) {
+            columnas[i] = new Columnas(CAPACIDAD_INICIAL);
+        }
+    }
+
+    // ========== ESCRITURA (OBSERVADOR DEL MOTOR) ==========
+
+    @Override
+    public void onDespacho(long tick, int cpu, int numeroBCP, BCP bcp) {
+        if (cpu < 0 || cpu >= cantidadCPUs) {
+            return;
+        }
+        if (abiertos[cpu] != null) {
+            cerrar(cpu, tick);
+        }
+        abiertos[cpu] = new SegmentoAbierto(tick, bcp.getIdProceso(), numeroBCP);
+        version++;
+    }
+
+    @Override
+    public void onDesalojo(long tick, int cpu, int numeroBCP, BCP bcp) {
+        int cpuSegmento = buscarAbierto(cpu, numeroBCP);
+        if (cpuSegmento >= 0) {
+            cerrar(cpuSegmento, tick);
+        }
+    }
+
+    @Override
+    public void onFinalizacion(long tick, int cpu, int numeroBCP, BCP bcp) {
+        int cpuSegmento = buscarAbierto(cpu, numeroBCP);
+        if (cpuSegmento >= 0) {
+            // La instrucción de este tick también pertenece a la ráfaga
+            cerrar(cpuSegmento, tick + 1);
+        }
+    }
+
+    private int buscarAbierto(int cpu, int numeroBCP) {
+        if (cpu >= 0 && cpu < cantidadCPUs && abiertos[cpu] != null && abiertos[cpu].numeroBCP == numeroBCP) {
+            return cpu;
+        }
+        for (int i = 0; i < cantidadCPUs; i++) {
+            if (abiertos[i] != null && abiertos[i].numeroBCP == numeroBCP) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void cerrar(int cpu, long fin) {
+        SegmentoAbierto abierto = abiertos[cpu];
+        abiertos[cpu] = null;
+        agregar(cpu, abierto.inicio, Math.max(fin, abierto.inicio), abierto.pid);
+    }
+
+    /**
+     * Agrega un segmento cerrado, fusionándolo con el anterior si es del mismo
+     * proceso y continúa sin hueco
+     */
+    private void agregar(int cpu, long inicio, long fin, int pid) {
+        Columnas c = columnas[cpu];
+        int n = cantidades[cpu];
+
+        if (n > 0 && c.pids[n - 1] == pid && c.fines[n - 1] == inicio) {
+            c.fines[n - 1] = fin;
+            version++;
+            return;
+        }
+
+        if (n == c.inicios.length) {
+            c = c.crecer();
+            columnas[cpu] = c;
+        }
+        c.inicios[n] = inicio;
+        c.fines[n] = fin;
+        c.pids[n] = pid;
+        cantidades[cpu] = n + 1;
+        version++;
+    }
+
+    /**
+     * Vacía el historial (por ejemplo al reiniciar la simulación)
+     */
+    public void limpiar() {
+        for (int i = 0; i < cantidadCPUs; i++) {
+            columnas[i] = new Columnas(CAPACIDAD_INICIAL);
+            cantidades[i] = 0;
+            abiertos[i] = null;
+        }
+        version++;
+    }
+
+    // ========== LECTURA ==========
+
+    /**
+     * Número que cambia con cada modificación; permite a la interfaz saber si
+     * hay algo nuevo que dibujar sin recorrer los datos
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int getCantidadCPUs() {
+        return cantidadCPUs;
+    }
+
+    public int getCantidadSegmentos(int cpu) {
+        long v = version; // lectura volátil: hace visibles los arreglos escritos antes
+        return cantidades[cpu];
+    }
+
+    public long getTotalSegmentos() {
+        long v = version;
+        long total = 0;
+        for (int i = 0; i < cantidadCPUs; i++) {
+            total += cantidades[i];
+        }
+        return total;
+    }
+
+    /**
+     * Índice del primer segmento del CPU que termina después de tick
+     * (cantidad de segmentos si no hay ninguno)
+     */
+    public int buscarPrimero(int cpu, long tick) {
+        long v = version;
+        long[] fines = columnas[cpu].fines;
+        int n = Math.min(cantidades[cpu], fines.length);
+        int bajo = 0;
+        int alto = n;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (fines[medio] <= tick) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Copia los segmentos del CPU que intersectan [desde, hasta) en los
+     * arreglos de destino, sin crear objetos por segmento
+     *
+     * @return cantidad de segmentos copiados (a lo sumo el largo de los destinos)
+     */
+    public int consultar(int cpu, long desde, long hasta, long[] inicios, long[] fines, int[] pids) {
+        int primero = buscarPrimero(cpu, desde); // hace la lectura volátil de version
+        Columnas c = columnas[cpu];
+        // El contador puede ser más nuevo que las columnas leídas: las anteriores
+        // a un crecimiento estaban llenas, así que alcanza con no pasarse de ellas
+        int n = Math.min(cantidades[cpu], c.inicios.length);
+        int copiados = 0;
+        for (int i = primero; i < n && copiados < inicios.length; i++) {
+            if (c.inicios[i] >= hasta) {
+                break;
+            }
+            inicios[copiados] = c.inicios[i];
+            fines[copiados] = c.fines[i];
+            pids[copiados] = c.pids[i];
+            copiados++;
+        }
+        return copiados;
+    }
+
+    public long getInicio(int cpu, int indice) {
+        long v = version;
+        return columnas[cpu].inicios[indice];
+    }
+
+    public long getFin(int cpu, int indice) {
+        long v = version;
+        return columnas[cpu].fines[indice];
+    }
+
+    public int getPid(int cpu, int indice) {
+        long v = version;
+        return columnas[cpu].pids[indice];
+    }
+
+    /**
+     * PID de la ráfaga en curso del CPU o -1
+     */
+    public int getPidAbierto(int cpu) {
+        SegmentoAbierto abierto = abiertos[cpu];
+        return abierto != null ? abierto.pid : -1;
+    }
+
+    /**
+     * Tick de inicio de la ráfaga en curso del CPU o -1
+     */
+    public long getInicioAbierto(int cpu) {
+        SegmentoAbierto abierto = abiertos[cpu];
+        return abierto != null ? abierto.inicio : -1;
+    }
+
+    /**
+     * Tamaño aproximado en bytes de las columnas
+     */
+    public long getBytesUsados() {
+        long total = 0;
+        for (int i = 0; i < cantidadCPUs; i++) {
+            total += (long) columnas[i].inicios.length * (Long.BYTES * 2 + Integer.BYTES);
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "AlmacenLineaTiempo[cpus=" + cantidadCPUs + ", segmentos=" + getTotalSegmentos()
+                + ", cantidades=" + Arrays.toString(cantidades) + "]";
+    }
+}
@@ -21,6 +21,7 @@ public class EstadisticasProceso {
     
     private final String nombreProceso;
     private final int idProceso;
+    private final long timestampInicio;
     private final LocalDateTime horaInicio;
     private LocalDateTime horaFin;
     private final int duracionSegundos;
@@ -44,6 +45,7 @@ public class EstadisticasProceso {
                                int duracion, int rafaga, EstadoProceso estado) {
         this.idProceso = idProceso;
         this.nombreProceso = nombre;
+        this.timestampInicio = timestampInicio;
         this.horaInicio = LocalDateTime.ofInstant(
             Instant.ofEpochMilli(timestampInicio), 
             ZoneId.systemDefault()
@@ -120,6 +122,13 @@ public class EstadisticasProceso {
         return idProceso;
     }
     
+    /**
+     * Timestamp de inicio en milisegundos (el mismo recibido en el constructor)
+     */
+    public long getTimestampInicio() {
+        return timestampInicio;
+    }
+    
     public LocalDateTime getHoraInicio() {
         return horaInicio;
     }
@@ -0,0 +1,232 @@
+package so.estadisticas;
+
+import so.persistencia.EntradaPuntoControl;
+import so.persistencia.IPersistible;
+import so.persistencia.SalidaPuntoControl;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de valores enteros no negativos con cubetas logarítmicas (al
+ * estilo HdrHistogram).
+ *
+ * Cada potencia de dos se divide en 64 sub-cubetas lineales, así que el error
+ * relativo de cualquier percentil es menor a 1/64 (~1.6%) sin importar la
+ * magnitud del valor, con un arreglo fijo de 3776 contadores. Los valores
+ * menores a 128 se guardan exactos.
+ *
+ * registrar() es O(1) y no crea objetos. Está pensado para un único hilo
+ * escritor (el de simulación); los lectores pueden consultar desde otros hilos
+ * y ven cada contador completo, aunque el conjunto puede estar un registro
+ * atrasado.
+ *
+ * @author dylan
+ */
+public class HistogramaLog implements IPersistible {
+
+    private static final int BITS_SUB_CUBETA = 6;
+    private static final int SUB_CUBETAS = 1 << BITS_SUB_CUBETA;
+    private static final int CANTIDAD_CUBETAS = SUB_CUBETAS * (Long.SIZE - BITS_SUB_CUBETA) + SUB_CUBETAS;
+
+    private final AtomicLongArray cuentas;
+    private final AtomicLongArray resumen; // cantidad, suma, mínimo, máximo
+
+    private static final int CANTIDAD = 0;
+    private static final int SUMA = 1;
+    private static final int MINIMO = 2;
+    private static final int MAXIMO = 3;
+
+    public HistogramaLog() {
+        this.cuentas = new AtomicLongArray(CANTIDAD_CUBETAS);
+        this.resumen = new AtomicLongArray(4);
+        resumen.set(MINIMO, Long.MAX_VALUE);
+    }
+
+    // ========== ESCRITURA ==========
+
+    /**
+     * Registra un valor (los negativos se registran como 0)
+     */
+    public void registrar(long valor) {
+        if (valor < 0) {
+            valor = 0;
+        }
+        int indice = indiceCubeta(valor);
+        // Un solo escritor: get + lazySet evita el costo de una operación atómica completa
+        cuentas.lazySet(indice, cuentas.get(indice) + 1);
+        resumen.lazySet(SUMA, resumen.get(SUMA) + valor);
+        if (valor < resumen.get(MINIMO)) {
+            resumen.lazySet(MINIMO, valor);
+        }
+        if (valor > resumen.get(MAXIMO)) {
+            resumen.lazySet(MAXIMO, valor);
+        }
+        resumen.set(CANTIDAD, resumen.get(CANTIDAD) + 1);
+    }
+
+    public void limpiar() {
+        for (int i = 0; i < CANTIDAD_CUBETAS; i++) {
+            cuentas.lazySet(i, 0);
+        }
+        resumen.lazySet(SUMA, 0);
+        resumen.lazySet(MINIMO, Long.MAX_VALUE);
+        resumen.lazySet(MAXIMO, 0);
+        resumen.set(CANTIDAD, 0);
+    }
+
+    // ========== CUBETAS ==========
+
+    static int indiceCubeta(long valor) {
+        int exponente = Math.max(0, (Long.SIZE - 1 - Long.numberOfLeadingZeros(valor)) - BITS_SUB_CUBETA);
+        return (exponente << BITS_SUB_CUBETA) + (int) (valor >>> exponente);
+    }
+
+    /**
+     * Mayor valor que cae en la misma cubeta que indice
+     */
+    static long valorMaximoCubeta(int indice) {
+        int exponente = Math.max(0, (indice >> BITS_SUB_CUBETA) - 1);
+        long base = indice - ((long) exponente << BITS_SUB_CUBETA);
+        return ((base + 1) << exponente) - 1;
+    }
+
+    // ========== LECTURA ==========
+
+    public long getCantidad() {
+        return resumen.get(CANTIDAD);
+    }
+
+    public long getMinimo() {
+        return getCantidad() == 0 ? 0 : resumen.get(MINIMO);
+    }
+
+    public long getMaximo() {
+        return resumen.get(MAXIMO);
+    }
+
+    public long getSuma() {
+        return resumen.get(SUMA);
+    }
+
+    public double getPromedio() {
+        long cantidad = getCantidad();
+        return cantidad == 0 ? 0 : (double) resumen.get(SUMA) / cantidad;
+    }
+
+    /**
+     * Valor bajo el cual queda el porcentaje indicado de los registros
+     *
+     * @param percentil entre 0 y 100
+     * @return límite superior de la cubeta del percentil (nunca mayor al máximo)
+     */
+    public long getPercentil(double percentil) {
+        if (percentil < 0 || percentil > 100) {
+            throw new IllegalArgumentException("Percentil fuera de rango: " + percentil);
+        }
+        long cantidad = getCantidad();
+        if (cantidad == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(cantidad * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < CANTIDAD_CUBETAS; i++) {
+            acumulado += cuentas.get(i);
+            if (acumulado >= objetivo) {
+                return Math.min(valorMaximoCubeta(i), getMaximo());
+            }
+        }
+        return getMaximo();
+    }
+
+    /**
+     * Cantidad acumulada de registros menores o iguales a cada límite, como
+     * las cubetas "le" de un histograma de Prometheus. Una cubeta se cuenta
+     * solo si cae entera bajo el límite, así que el resultado es exacto para
+     * límites menores a 128 y en el resto puede quedar corto a lo sumo por
+     * una cubeta (~1.6% del límite).
+     *
+     * @param limites límites en orden creciente
+     * @param destino arreglo del mismo largo donde se escriben las cantidades
+     */
+    public void acumularHasta(long[] limites, long[] destino) {
+        if (destino.length < limites.length) {
+            throw new IllegalArgumentException("El destino debe tener lugar para todos los límites");
+        }
+        int ultima = getCantidad() == 0 ? -1 : indiceCubeta(getMaximo());
+        int limite = 0;
+        long acumulado = 0;
+        for (int i = 0; i <= ultima && limite < limites.length; i++) {
+            while (limite < limites.length && valorMaximoCubeta(i) > limites[limite]) {
+                destino[limite++] = acumulado;
+            }
+            acumulado += cuentas.get(i);
+        }
+        while (limite < limites.length) {
+            destino[limite++] = acumulado;
+        }
+    }
+
+    /**
+     * Resumen de una línea: n, promedio, p50, p90, p99 y máximo
+     */
+    public String resumir() {
+        return String.format("n=%d prom=%.1f p50=%d p90=%d p99=%d max=%d",
+                getCantidad(), getPromedio(), getPercentil(50), getPercentil(90),
+                getPercentil(99), getMaximo());
+    }
+
+    // ========== PUNTO DE CONTROL ==========
+
+    /**
+     * Escribe el resumen y solo las cubetas con registros (índice y cuenta)
+     */
+    @Override
+    public void guardarEstado(SalidaPuntoControl salida) throws IOException {
+        for (int i = 0; i < 4; i++) {
+            salida.writeLong(resumen.get(i));
+        }
+        int ocupadas = 0;
+        for (int i = 0; i < CANTIDAD_CUBETAS; i++) {
+            if (cuentas.get(i) != 0) {
+                ocupadas++;
+            }
+        }
+        salida.writeInt(ocupadas);
+        for (int i = 0; i < CANTIDAD_CUBETAS; i++) {
+            long cuenta = cuentas.get(i);
+            if (cuenta != 0) {
+                salida.writeShort(i);
+                salida.writeLong(cuenta);
+            }
+        }
+    }
+
+    @Override
+    public void restaurarEstado(EntradaPuntoControl entrada) throws IOException {
+        long[] valores = new long[4];
+        for (int i = 0; i < 4; i++) {
+            valores[i] = entrada.readLong();
+        }
+        for (int i = 0; i < CANTIDAD_CUBETAS; i++) {
+            cuentas.lazySet(i, 0);
+        }
+        int ocupadas = entrada.readInt();
+        for (int i = 0; i < ocupadas; i++) {
+            int indice = entrada.readUnsignedShort();
+            if (indice >= CANTIDAD_CUBETAS) {
+                throw new IOException("Cubeta de histograma inválida: " + indice);
+            }
+            cuentas.lazySet(indice, entrada.readLong());
+        }
+        resumen.lazySet(SUMA, valores[SUMA]);
+        resumen.lazySet(MINIMO, valores[MINIMO]);
+        resumen.lazySet(MAXIMO, valores[MAXIMO]);
+        resumen.set(CANTIDAD, valores[CANTIDAD]);
+    }
+
+    @Override
+    public String toString() {
+        return "HistogramaLog[" + resumir() + "]";
+    }
+}
@@ -0,0 +1,262 @@
+package so.estadisticas;
+
+import so.eventos.IObservadorMotor;
+import so.gestordeprocesos.BCP;
+import so.instrucciones.Instruccion;
+import so.instrucciones.InstruccionParser;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Perfilador por muestreo de los programas simulados.
+ *
+ * Cada CPU lleva una cuenta regresiva de instrucciones retiradas; cada
+ * "intervalo" instrucciones toma una muestra del par (programa, PC) que se
+ * estaba ejecutando. Las muestras se acumulan en un histograma de PCs por
+ * programa, así que el costo entre muestras es un decremento por instrucción.
+ *
+ * Al exportar, cada PC se traduce a la línea del archivo fuente leído de
+ * memoria secundaria, con la misma regla que usa el sistema al cargar: solo
+ * cuentan las líneas que el parser convierte en instrucción. La fuente se
+ * copia cuando el programa es admitido, porque la memoria secundaria solo
+ * conserva el último lote de programas cargado. El resultado es un archivo
+ * de pilas colapsadas (formato de flamegraph.pl / speedscope):
+ *
+ *   programa;L12: JNE -3 340
+ *
+ * @author dylan
+ */
+public class PerfiladorMuestreo implements IObservadorMotor {
+
+    public static final int INTERVALO_DEFECTO = 97;
+
+    private final int intervalo;
+    private final int[] restantes;
+    private final Function<String, List<String>> lectorFuente;
+
+    // Histograma de PCs por programa (se agranda según el PC más alto muestreado)
+    private final Map<String, long[]> muestrasPorPrograma;
+    private final Map<String, List<String>> fuentes;
+    private long totalMuestras;
+
+    /**
+     * @param cantidadCPUs CPUs del sistema
+     * @param intervalo instrucciones retiradas por CPU entre muestras (conviene
+     *                  un número que no sea múltiplo del largo de los ciclos
+     *                  de los programas, como el primo por defecto)
+     * @param lectorFuente devuelve las líneas del archivo fuente de un programa
+     *                     (o null si no se conoce)
+     */
+    public PerfiladorMuestreo(int cantidadCPUs, int intervalo, Function<String, List<String>> lectorFuente) {
+        if (intervalo < 1) {
+            throw new IllegalArgumentException("El intervalo de muestreo debe ser al menos 1");
+        }
+        this.intervalo = intervalo;
+        this.restantes = new int[cantidadCPUs];
+        Arrays.fill(restantes, intervalo);
+        this.lectorFuente = lectorFuente;
+        this.muestrasPorPrograma = new HashMap<>();
+        this.fuentes = new HashMap<>();
+    }
+
+    // ========== MUESTREO ==========
+
+    @Override
+    public void onAdmision(long tick, int cpu, int numeroBCP, BCP bcp) {
+        String programa = bcp.getNombreProceso();
+        List<String> fuente = lectorFuente.apply(programa);
+        if (fuente != null) {
+            synchronized (this) {
+                fuentes.put(programa, new ArrayList<>(fuente));
+            }
+        }
+    }
+
+    @Override
+    public void onInstruccionRetirada(long tick, int cpu, int numeroBCP, BCP bcp, int pc, Instruccion instruccion) {
+        if (cpu < 0 || cpu >= restantes.length || --restantes[cpu] > 0) {
+            return;
+        }
+        restantes[cpu] = intervalo;
+        if (bcp != null && pc >= 0) {
+            registrarMuestra(bcp.getNombreProceso(), pc);
+        }
+    }
+
+    private synchronized void registrarMuestra(String programa, int pc) {
+        long[] muestras = muestrasPorPrograma.get(programa);
+        if (muestras == null || pc >= muestras.length) {
+            int tamano = muestras == null ? Math.max(16, pc + 1) : Math.max(muestras.length * 2, pc + 1);
+            muestras = muestras == null ? new long[tamano] : Arrays.copyOf(muestras, tamano);
+            muestrasPorPrograma.put(programa, muestras);
+        }
+        muestras[pc]++;
+        totalMuestras++;
+    }
+
+    public synchronized void limpiar() {
+        muestrasPorPrograma.clear();
+        fuentes.clear();
+        totalMuestras = 0;
+        Arrays.fill(restantes, intervalo);
+    }
+
+    // ========== CONSULTAS ==========
+
+    public int getIntervalo() {
+        return intervalo;
+    }
+
+    public synchronized long getTotalMuestras() {
+        return totalMuestras;
+    }
+
+    /**
+     * Muestras por PC de un programa (copia; vacío si no tiene muestras)
+     */
+    public synchronized long[] getMuestras(String programa) {
+        long[] muestras = muestrasPorPrograma.get(programa);
+        return muestras == null ? new long[0] : muestras.clone();
+    }
+
+    /**
+     * Programas con al menos una muestra, ordenados por nombre
+     */
+    public synchronized List<String> getProgramas() {
+        return new ArrayList<>(new TreeMap<>(muestrasPorPrograma).keySet());
+    }
+
+    // ========== FUENTE ==========
+
+    /**
+     * Traduce cada PC de un programa a su línea en el archivo fuente
+     *
+     * @return arreglo donde la posición pc tiene el índice (desde 0) de la línea
+     */
+    public static int[] mapearLineas(List<String> fuente) {
+        int[] lineas = new int[fuente.size()];
+        int pc = 0;
+        for (int i = 0; i < fuente.size(); i++) {
+            try {
+                if (InstruccionParser.parse(fuente.get(i)) != null) {
+                    lineas[pc++] = i;
+                }
+            } catch (Exception e) {
+                // El sistema también descarta las líneas inválidas al cargar
+            }
+        }
+        return Arrays.copyOf(lineas, pc);
+    }
+
+    private static String marco(String programa, int pc, List<String> fuente, int[] lineas) {
+        String texto;
+        if (fuente != null && pc < lineas.length) {
+            texto = "L" + (lineas[pc] + 1) + ": " + fuente.get(lineas[pc]).trim();
+        } else {
+            texto = "PC " + pc;
+        }
+        return limpiarMarco(programa) + ";" + limpiarMarco(texto);
+    }
+
+    private static String limpiarMarco(String texto) {
+        // ';' separa marcos en el formato colapsado
+        return texto.replace(';', ',').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    // ========== EXPORTACIÓN ==========
+
+    /**
+     * Fuente de un programa: la copiada al admitirlo o, si no hay, la actual
+     */
+    private List<String> obtenerFuente(String programa) {
+        synchronized (this) {
+            List<String> fuente = fuentes.get(programa);
+            if (fuente != null) {
+                return fuente;
+            }
+        }
+        return lectorFuente.apply(programa);
+    }
+
+    /**
+     * Escribe las muestras en formato de pilas colapsadas
+     */
+    public void escribirPilasColapsadas(Writer salida) throws IOException {
+        Map<String, long[]> copia = copiarMuestras();
+        for (Map.Entry<String, long[]> entrada : copia.entrySet()) {
+            String programa = entrada.getKey();
+            long[] muestras = entrada.getValue();
+            List<String> lineasFuente = obtenerFuente(programa);
+            int[] lineas = lineasFuente != null ? mapearLineas(lineasFuente) : new int[0];
+            for (int pc = 0; pc < muestras.length; pc++) {
+                if (muestras[pc] > 0) {
+                    salida.write(marco(programa, pc, lineasFuente, lineas) + " " + muestras[pc] + "\n");
+                }
+            }
+        }
+    }
+
+    public void exportarPilasColapsadas(Path archivo) throws IOException {
+        try (BufferedWriter salida = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+            escribirPilasColapsadas(salida);
+        }
+        System.out.println("[PERFILADOR] " + getTotalMuestras() + " muestras exportadas a " + archivo);
+    }
+
+    /**
+     * Las líneas más calientes de cada programa
+     *
+     * @param maxLineas líneas por programa
+     */
+    public String generarReporte(int maxLineas) {
+        Map<String, long[]> copia = copiarMuestras();
+        long total = copia.values().stream().flatMapToLong(Arrays::stream).sum();
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("========== PERFIL (1 muestra cada %d instrucciones, %d muestras) ==========\n",
+                intervalo, total));
+        for (Map.Entry<String, long[]> entrada : copia.entrySet()) {
+            String programa = entrada.getKey();
+            long[] muestras = entrada.getValue();
+            long delPrograma = Arrays.stream(muestras).sum();
+            List<String> lineasFuente = obtenerFuente(programa);
+            int[] lineas = lineasFuente != null ? mapearLineas(lineasFuente) : new int[0];
+
+            sb.append(String.format("%s: %d muestras (%.1f%%)\n", programa, delPrograma,
+                    total == 0 ? 0 : 100.0 * delPrograma / total));
+            Integer[] pcs = new Integer[muestras.length];
+            for (int i = 0; i < pcs.length; i++) {
+                pcs[i] = i;
+            }
+            Arrays.sort(pcs, (a, b) -> Long.compare(muestras[b], muestras[a]));
+            for (int i = 0; i < Math.min(maxLineas, pcs.length) && muestras[pcs[i]] > 0; i++) {
+                int pc = pcs[i];
+                String texto = lineasFuente != null && pc < lineas.length
+                        ? "L" + (lineas[pc] + 1) + ": " + lineasFuente.get(lineas[pc]).trim()
+                        : "PC " + pc;
+                sb.append(String.format("  %6.1f%%  %-6d %s\n", 100.0 * muestras[pc] / delPrograma,
+                        muestras[pc], texto));
+            }
+        }
+        return sb.toString();
+    }
+
+    private synchronized Map<String, long[]> copiarMuestras() {
+        Map<String, long[]> copia = new TreeMap<>();
+        for (Map.Entry<String, long[]> entrada : muestrasPorPrograma.entrySet()) {
+            copia.put(entrada.getKey(), entrada.getValue().clone());
+        }
+        return copia;
+    }
+}
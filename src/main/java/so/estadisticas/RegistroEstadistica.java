@@ -0,0 +1,49 @@
+package so.estadisticas;
+
+/**
+ * Registro de tamaño fijo del AlmacenEstadisticasMapeado: un proceso
+ * finalizado. Los tiempos están en ticks lógicos de la corrida.
+ *
+ * Es mutable para poder reutilizar una sola instancia al recorrer el almacén.
+ *
+ * @author dylan
+ */
+public class RegistroEstadistica {
+
+    public int idProceso;
+    public int idNombre;
+    public int corrida;
+    public int cpu;
+    public long tickLlegada;
+    public long tickPrimerDespacho;
+    public long tickFinalizacion;
+    public long ticksCPU;
+    public int rafaga;
+
+    /**
+     * Tiempo de retorno: finalización - llegada
+     */
+    public long getRetorno() {
+        return tickFinalizacion - tickLlegada;
+    }
+
+    /**
+     * Tiempo de respuesta: primer despacho - llegada (-1 si no se conoce)
+     */
+    public long getRespuesta() {
+        return tickPrimerDespacho < 0 ? -1 : tickPrimerDespacho - tickLlegada;
+    }
+
+    /**
+     * Tiempo de espera: retorno - ticks en CPU
+     */
+    public long getEspera() {
+        return getRetorno() - ticksCPU;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[corrida %d] PID %d (nombre %d) CPU %d: llegada=%d despacho=%d fin=%d cpu=%d rafaga=%d",
+                corrida, idProceso, idNombre, cpu, tickLlegada, tickPrimerDespacho, tickFinalizacion, ticksCPU, rafaga);
+    }
+}
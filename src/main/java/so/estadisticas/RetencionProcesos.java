@@ -0,0 +1,205 @@
+package so.estadisticas;
+
+import so.persistencia.EntradaPuntoControl;
+import so.persistencia.IPersistible;
+import so.persistencia.SalidaPuntoControl;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Política de retención de la información de procesos finalizados.
+ *
+ * El sistema mantiene en memoria solo los últimos N procesos finalizados
+ * (para la tabla de la interfaz y los reportes). Los más antiguos se pasan a
+ * archivar(): se suman a contadores agregados y, si se configuró un archivo,
+ * se agregan como una línea de texto separada por ';'. Así la memoria usada
+ * no crece con la duración de la simulación.
+ *
+ * Formato del archivo (una línea por proceso, con encabezado al crearlo):
+ * id;nombre;timestampInicio;horaInicio;horaFin;duracion;rafaga;estado
+ *
+ * @author dylan
+ */
+public final class RetencionProcesos implements IPersistible, Closeable {
+
+    public static final int MAX_RETENIDOS_DEFECTO = 1000;
+
+    private static final String ENCABEZADO = "id;nombre;timestampInicio;horaInicio;horaFin;duracion;rafaga;estado";
+
+    private int maxRetenidos;
+    private Path archivo;
+    private Writer escritor;
+
+    // ========== AGREGADOS DE LOS PROCESOS ARCHIVADOS ==========
+    private long totalArchivados;
+    private long duracionTotal;
+    private long rafagaTotal;
+    private int rafagaMaxima;
+
+    public RetencionProcesos() {
+        this(MAX_RETENIDOS_DEFECTO);
+    }
+
+    public RetencionProcesos(int maxRetenidos) {
+        setMaxRetenidos(maxRetenidos);
+    }
+
+    // ========== CONFIGURACIÓN ==========
+
+    /**
+     * @param maxRetenidos cantidad de procesos finalizados que se mantienen en
+     *                     memoria (Integer.MAX_VALUE para no descartar ninguno)
+     */
+    public synchronized void setMaxRetenidos(int maxRetenidos) {
+        if (maxRetenidos < 0) {
+            throw new IllegalArgumentException("La cantidad de procesos retenidos no puede ser negativa");
+        }
+        this.maxRetenidos = maxRetenidos;
+    }
+
+    public synchronized int getMaxRetenidos() {
+        return maxRetenidos;
+    }
+
+    /**
+     * Empieza a escribir los procesos archivados en el archivo indicado (se
+     * agregan al final si ya existe). Con null se deja de escribir.
+     */
+    public synchronized void setArchivo(Path archivo) throws IOException {
+        cerrarEscritor();
+        this.archivo = archivo;
+        if (archivo == null) {
+            return;
+        }
+        boolean nuevo = !Files.exists(archivo) || Files.size(archivo) == 0;
+        escritor = new BufferedWriter(Files.newBufferedWriter(archivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), 1 << 16);
+        if (nuevo) {
+            escritor.write(ENCABEZADO);
+            escritor.write('\n');
+        }
+        System.out.println("[RETENCION] Archivando procesos finalizados en " + archivo);
+    }
+
+    public synchronized Path getArchivo() {
+        return archivo;
+    }
+
+    // ========== ARCHIVADO ==========
+
+    /**
+     * Indica si con la cantidad dada de finalizados retenidos hay que archivar
+     */
+    public synchronized boolean excede(int retenidos) {
+        return retenidos > maxRetenidos;
+    }
+
+    /**
+     * Descarta de memoria un proceso finalizado: actualiza los agregados y lo
+     * escribe en el archivo (si hay uno configurado)
+     */
+    public synchronized void archivar(EstadisticasProceso estadisticas) {
+        totalArchivados++;
+        duracionTotal += estadisticas.getDuracionSegundos();
+        rafagaTotal += estadisticas.getRafaga();
+        rafagaMaxima = Math.max(rafagaMaxima, estadisticas.getRafaga());
+
+        if (escritor == null) {
+            return;
+        }
+        try {
+            escritor.write(estadisticas.getIdProceso() + ";" + estadisticas.getNombreProceso().replace(';', ',')
+                    + ";" + estadisticas.getTimestampInicio() + ";" + estadisticas.getHoraInicioFormateada()
+                    + ";" + estadisticas.getHoraFinFormateada() + ";" + estadisticas.getDuracionSegundos()
+                    + ";" + estadisticas.getRafaga() + ";" + estadisticas.getEstadoFinal() + "\n");
+        } catch (IOException e) {
+            // No se detiene la simulación por un error del archivo histórico
+            System.err.println("[RETENCION] Error al escribir el archivo, se deja de archivar: " + e.getMessage());
+            cerrarEscritor();
+        }
+    }
+
+    /**
+     * Escribe en disco lo que quede en el búfer del archivo
+     */
+    public synchronized void sincronizar() throws IOException {
+        if (escritor != null) {
+            escritor.flush();
+        }
+    }
+
+    private void cerrarEscritor() {
+        if (escritor != null) {
+            try {
+                escritor.close();
+            } catch (IOException e) {
+                System.err.println("[RETENCION] Error al cerrar el archivo: " + e.getMessage());
+            }
+            escritor = null;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        cerrarEscritor();
+        archivo = null;
+    }
+
+    // ========== CONSULTAS ==========
+
+    public synchronized long getTotalArchivados() {
+        return totalArchivados;
+    }
+
+    public synchronized long getDuracionTotal() {
+        return duracionTotal;
+    }
+
+    public synchronized long getRafagaTotal() {
+        return rafagaTotal;
+    }
+
+    public synchronized int getRafagaMaxima() {
+        return rafagaMaxima;
+    }
+
+    public synchronized double getRafagaPromedio() {
+        return totalArchivados == 0 ? 0 : (double) rafagaTotal / totalArchivados;
+    }
+
+    // ========== PUNTO DE CONTROL ==========
+
+    /**
+     * Guarda la política y los agregados (el archivo abierto no se guarda)
+     */
+    @Override
+    public synchronized void guardarEstado(SalidaPuntoControl salida) throws IOException {
+        salida.writeInt(maxRetenidos);
+        salida.writeLong(totalArchivados);
+        salida.writeLong(duracionTotal);
+        salida.writeLong(rafagaTotal);
+        salida.writeInt(rafagaMaxima);
+    }
+
+    @Override
+    public synchronized void restaurarEstado(EntradaPuntoControl entrada) throws IOException {
+        setMaxRetenidos(entrada.readInt());
+        totalArchivados = entrada.readLong();
+        duracionTotal = entrada.readLong();
+        rafagaTotal = entrada.readLong();
+        rafagaMaxima = entrada.readInt();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "RetencionProcesos[max=" + maxRetenidos + ", archivados=" + totalArchivados
+                + (archivo != null ? ", archivo=" + archivo : "") + "]";
+    }
+}
@@ -0,0 +1,315 @@
+package so.eventos;
+
+import so.gestordeprocesos.BCP;
+import so.main.SistemaOperativoV2.SistemaListener;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Bus de eventos asíncrono para los SistemaListener.
+ *
+ * El hilo de simulación solo encola los eventos (no ejecuta código de los
+ * listeners). Los redundantes se eliminan al encolar, y un hilo propio del
+ * bus entrega lo pendiente una vez por cuadro:
+ * - Una ejecución nueva en un CPU reemplaza a la pendiente de ese CPU
+ * - Un cambio de estado nuevo reemplaza al pendiente
+ * - Los procesos nuevos y finalizados se entregan siempre y en orden
+ * El evento que reemplaza a otro pasa al final de la cola, así que el orden
+ * relativo es el de la última ocurrencia de cada uno. Como la cola guarda a
+ * lo sumo una ejecución por CPU y un cambio de estado, un listener lento no
+ * la hace crecer con cada tick.
+ *
+ * Cada listener elige el modo de entrega:
+ * - POR_EVENTO: se invocan los métodos de SistemaListener, uno por evento
+ * - LOTE: se recibe la lista completa del cuadro en una sola llamada
+ *
+ * @author dylan
+ */
+public class BusEventosSistema implements SistemaListener {
+
+    /**
+     * Duración por defecto de un cuadro (aprox. 60 refrescos por segundo)
+     */
+    public static final long PERIODO_CUADRO_DEFECTO_MS = 16;
+
+    /**
+     * Modo en que un listener recibe los eventos
+     */
+    public enum ModoEntrega {
+        POR_EVENTO, LOTE
+    }
+
+    /**
+     * Listener que recibe los eventos de un cuadro en una sola llamada
+     */
+    public interface SistemaListenerLote {
+        void onLoteEventos(List<Evento> lote);
+    }
+
+    /**
+     * Evento encolado en el bus
+     */
+    public static class Evento {
+
+        public enum Tipo {
+            PROCESO_EJECUTADO, PROCESO_FINALIZADO, PROCESO_NUEVO, ESTADO_CAMBIADO
+        }
+
+        public final Tipo tipo;
+        public final int cpu;
+        public final BCP bcp;
+        public final boolean activo;
+        public final boolean pausado;
+
+        private Evento(Tipo tipo, int cpu, BCP bcp, boolean activo, boolean pausado) {
+            this.tipo = tipo;
+            this.cpu = cpu;
+            this.bcp = bcp;
+            this.activo = activo;
+            this.pausado = pausado;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Evento[%s, cpu=%d, proceso=%s]",
+                tipo, cpu, bcp != null ? bcp.getNombreProceso() : "-");
+        }
+    }
+
+    // Claves de los eventos que se reemplazan; el resto usa una secuencia >= 0
+    private static final long CLAVE_ESTADO = -1;
+    private static final long CLAVE_EJECUCION_CPU0 = -2;
+
+    private final long periodoCuadroMs;
+    /** Eventos pendientes en orden de llegada (también es el monitor de la cola) */
+    private final LinkedHashMap<Long, Evento> cola;
+    private long secuencia;
+    private final List<SistemaListener> listenersPorEvento;
+    private final List<SistemaListenerLote> listenersLote;
+
+    private volatile boolean activo;
+    private Thread hiloEntrega;
+
+    // ========== ESTADÍSTICAS ==========
+    private volatile long eventosRecibidos;
+    private volatile long eventosEntregados;
+    private volatile long cuadrosEntregados;
+
+    public BusEventosSistema() {
+        this(PERIODO_CUADRO_DEFECTO_MS);
+    }
+
+    /**
+     * @param periodoCuadroMs tiempo que se acumulan eventos antes de entregarlos
+     */
+    public BusEventosSistema(long periodoCuadroMs) {
+        if (periodoCuadroMs < 0) {
+            throw new IllegalArgumentException("El periodo del cuadro no puede ser negativo");
+        }
+        this.periodoCuadroMs = periodoCuadroMs;
+        this.cola = new LinkedHashMap<>();
+        this.listenersPorEvento = new CopyOnWriteArrayList<>();
+        this.listenersLote = new CopyOnWriteArrayList<>();
+        this.activo = false;
+    }
+
+    // ========== CICLO DE VIDA ==========
+
+    /**
+     * Inicia el hilo de entrega del bus
+     */
+    public synchronized void iniciar() {
+        if (activo) {
+            return;
+        }
+        activo = true;
+        hiloEntrega = new Thread(this::cicloEntrega, "bus-eventos-sistema");
+        hiloEntrega.setDaemon(true);
+        hiloEntrega.start();
+    }
+
+    /**
+     * Detiene el hilo de entrega. Los eventos pendientes se descartan.
+     */
+    public synchronized void detener() {
+        activo = false;
+        if (hiloEntrega != null) {
+            hiloEntrega.interrupt();
+            hiloEntrega = null;
+        }
+        synchronized (cola) {
+            cola.clear();
+        }
+    }
+
+    // ========== SUSCRIPCIÓN ==========
+
+    /**
+     * Agrega un listener con entrega evento por evento
+     */
+    public void agregarListener(SistemaListener listener) {
+        agregarListener(listener, ModoEntrega.POR_EVENTO);
+    }
+
+    /**
+     * Agrega un listener con el modo de entrega indicado.
+     * En modo LOTE el listener debe implementar también SistemaListenerLote.
+     */
+    public void agregarListener(SistemaListener listener, ModoEntrega modo) {
+        if (modo == ModoEntrega.LOTE) {
+            if (!(listener instanceof SistemaListenerLote lote)) {
+                throw new IllegalArgumentException("Para entrega por lotes el listener debe implementar SistemaListenerLote");
+            }
+            listenersLote.add(lote);
+        } else {
+            listenersPorEvento.add(listener);
+        }
+    }
+
+    /**
+     * Agrega un listener con entrega por lotes
+     */
+    public void agregarListenerLote(SistemaListenerLote listener) {
+        listenersLote.add(listener);
+    }
+
+    public void removerListener(Object listener) {
+        listenersPorEvento.remove(listener);
+        listenersLote.remove(listener);
+    }
+
+    // ========== RECEPCIÓN (HILO DE SIMULACIÓN) ==========
+
+    @Override
+    public void onProcesoEjecutado(int cpu, BCP bcp) {
+        encolar(new Evento(Evento.Tipo.PROCESO_EJECUTADO, cpu, bcp, false, false));
+    }
+
+    @Override
+    public void onProcesoFinalizado(int cpu, BCP bcp) {
+        encolar(new Evento(Evento.Tipo.PROCESO_FINALIZADO, cpu, bcp, false, false));
+    }
+
+    @Override
+    public void onProcesoNuevo(BCP bcp) {
+        encolar(new Evento(Evento.Tipo.PROCESO_NUEVO, -1, bcp, false, false));
+    }
+
+    @Override
+    public void onEstadoCambiado(boolean activo, boolean pausado) {
+        encolar(new Evento(Evento.Tipo.ESTADO_CAMBIADO, -1, null, activo, pausado));
+    }
+
+    private void encolar(Evento evento) {
+        if (!activo) {
+            return;
+        }
+        synchronized (cola) {
+            eventosRecibidos++;
+            if (cola.isEmpty()) {
+                cola.notifyAll();
+            }
+            Long clave = switch (evento.tipo) {
+                case PROCESO_EJECUTADO -> CLAVE_EJECUCION_CPU0 - evento.cpu;
+                case ESTADO_CAMBIADO -> CLAVE_ESTADO;
+                default -> secuencia++;
+            };
+            // Quitar y volver a insertar lleva el evento al final del orden
+            cola.remove(clave);
+            cola.put(clave, evento);
+        }
+    }
+
+    // ========== ENTREGA (HILO DEL BUS) ==========
+
+    private void cicloEntrega() {
+        while (activo) {
+            try {
+                // Esperar el primer evento y acumular el resto del cuadro
+                synchronized (cola) {
+                    while (cola.isEmpty()) {
+                        cola.wait();
+                    }
+                }
+                if (periodoCuadroMs > 0) {
+                    Thread.sleep(periodoCuadroMs);
+                }
+                List<Evento> cuadro;
+                synchronized (cola) {
+                    cuadro = new ArrayList<>(cola.values());
+                    cola.clear();
+                }
+
+                entregar(cuadro);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                System.err.println("[BUS EVENTOS] Error al entregar eventos: " + e.getMessage());
+            }
+        }
+    }
+
+    private void entregar(List<Evento> lote) {
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        List<Evento> loteInmutable = Collections.unmodifiableList(lote);
+        for (SistemaListenerLote listener : listenersLote) {
+            try {
+                listener.onLoteEventos(loteInmutable);
+            } catch (Exception e) {
+                System.err.println("[BUS EVENTOS] Error en listener por lotes: " + e.getMessage());
+            }
+        }
+
+        for (SistemaListener listener : listenersPorEvento) {
+            for (Evento evento : lote) {
+                try {
+                    switch (evento.tipo) {
+                        case PROCESO_EJECUTADO -> listener.onProcesoEjecutado(evento.cpu, evento.bcp);
+                        case PROCESO_FINALIZADO -> listener.onProcesoFinalizado(evento.cpu, evento.bcp);
+                        case PROCESO_NUEVO -> listener.onProcesoNuevo(evento.bcp);
+                        case ESTADO_CAMBIADO -> listener.onEstadoCambiado(evento.activo, evento.pausado);
+                    }
+                } catch (Exception e) {
+                    System.err.println("[BUS EVENTOS] Error en listener: " + e.getMessage());
+                }
+            }
+        }
+
+        eventosEntregados += lote.size();
+        cuadrosEntregados++;
+    }
+
+    // ========== GETTERS ==========
+
+    public boolean isActivo() {
+        return activo;
+    }
+
+    public long getPeriodoCuadroMs() {
+        return periodoCuadroMs;
+    }
+
+    public int getEventosPendientes() {
+        synchronized (cola) {
+            return cola.size();
+        }
+    }
+
+    public long getEventosRecibidos() {
+        return eventosRecibidos;
+    }
+
+    public long getEventosEntregados() {
+        return eventosEntregados;
+    }
+
+    public long getCuadrosEntregados() {
+        return cuadrosEntregados;
+    }
+}
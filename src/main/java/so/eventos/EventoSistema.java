@@ -0,0 +1,81 @@
+package so.eventos;
+
+import so.instrucciones.CodigoOperacion;
+
+/**
+ * Evento tipado del sistema para consumidores externos (tableros, grabadores).
+ *
+ * Es inmutable y no guarda referencias al BCP ni a la memoria, por lo que puede
+ * viajar entre hilos sin sincronización adicional. Los campos que no aplican a
+ * un tipo de evento valen -1 (o null).
+ *
+ * @author dylan
+ */
+public final class EventoSistema {
+
+    public enum Tipo {
+        ADMISION,
+        DESPACHO,
+        INSTRUCCION_RETIRADA,
+        DESALOJO,
+        FINALIZACION,
+        ASIGNACION_MEMORIA,
+        LIBERACION_MEMORIA
+    }
+
+    public final Tipo tipo;
+    public final long tick;
+    public final int cpu;
+    public final int idProceso;
+    public final String nombreProceso;
+
+    // Solo para INSTRUCCION_RETIRADA
+    public final int pc;
+    public final CodigoOperacion codigoOperacion;
+
+    // Solo para ASIGNACION_MEMORIA y LIBERACION_MEMORIA
+    public final int direccion;
+    public final int tamano;
+
+    private EventoSistema(Tipo tipo, long tick, int cpu, int idProceso, String nombreProceso,
+                          int pc, CodigoOperacion codigoOperacion, int direccion, int tamano) {
+        this.tipo = tipo;
+        this.tick = tick;
+        this.cpu = cpu;
+        this.idProceso = idProceso;
+        this.nombreProceso = nombreProceso;
+        this.pc = pc;
+        this.codigoOperacion = codigoOperacion;
+        this.direccion = direccion;
+        this.tamano = tamano;
+    }
+
+    /**
+     * Evento de planificación (admisión, despacho, desalojo, finalización)
+     */
+    public static EventoSistema deProceso(Tipo tipo, long tick, int cpu, int idProceso, String nombre) {
+        return new EventoSistema(tipo, tick, cpu, idProceso, nombre, -1, null, -1, -1);
+    }
+
+    public static EventoSistema deInstruccion(long tick, int cpu, int idProceso, String nombre,
+                                              int pc, CodigoOperacion codigo) {
+        return new EventoSistema(Tipo.INSTRUCCION_RETIRADA, tick, cpu, idProceso, nombre, pc, codigo, -1, -1);
+    }
+
+    public static EventoSistema deMemoria(Tipo tipo, long tick, int idProceso, String nombre,
+                                          int direccion, int tamano) {
+        return new EventoSistema(tipo, tick, -1, idProceso, nombre, -1, null, direccion, tamano);
+    }
+
+    @Override
+    public String toString() {
+        return switch (tipo) {
+            case INSTRUCCION_RETIRADA -> String.format("[t=%d] %s CPU %d: %s (ID %d) PC=%d %s",
+                tick, tipo, cpu, nombreProceso, idProceso, pc, codigoOperacion);
+            case ASIGNACION_MEMORIA, LIBERACION_MEMORIA -> String.format("[t=%d] %s: %s (ID %d) dir=%d tam=%d",
+                tick, tipo, nombreProceso, idProceso, direccion, tamano);
+            default -> String.format("[t=%d] %s CPU %d: %s (ID %d)",
+                tick, tipo, cpu, nombreProceso, idProceso);
+        };
+    }
+}
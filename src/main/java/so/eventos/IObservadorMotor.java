@@ -0,0 +1,82 @@
+package so.eventos;
+
+import so.gestordeprocesos.BCP;
+import so.instrucciones.Instruccion;
+import so.memoria.estrategias.IEstrategiaParticionamiento.InfoAsignacion;
+
+/**
+ * Observador síncrono de los puntos clave del motor de simulación.
+ *
+ * A diferencia de SistemaListener (pensado para la interfaz gráfica), estos
+ * métodos se invocan en el hilo de simulación, en el mismo tick en que ocurre
+ * cada evento, y reciben el tick lógico del sistema. Las implementaciones deben
+ * ser rápidas y no bloquear: cualquier trabajo costoso debe delegarse a otro hilo.
+ *
+ * Todos los métodos tienen implementación vacía para que cada observador
+ * sobrescriba solo los eventos que le interesan.
+ *
+ * @author dylan
+ */
+public interface IObservadorMotor {
+
+    /**
+     * Un proceso fue admitido: tiene BCP, memoria asignada y está en la cola de listos
+     *
+     * @param tick tick lógico del sistema
+     * @param cpu CPU al que fue asignado el proceso
+     * @param numeroBCP posición del BCP en memoria principal
+     * @param bcp BCP del proceso
+     */
+    default void onAdmision(long tick, int cpu, int numeroBCP, BCP bcp) {
+    }
+
+    /**
+     * Un proceso fue despachado (cambio de contexto hacia él)
+     */
+    default void onDespacho(long tick, int cpu, int numeroBCP, BCP bcp) {
+    }
+
+    /**
+     * Un CPU terminó de ejecutar una instrucción
+     *
+     * @param pc PC de la instrucción ejecutada (antes de avanzar)
+     * @param instruccion instrucción ejecutada
+     */
+    default void onInstruccionRetirada(long tick, int cpu, int numeroBCP, BCP bcp,
+                                       int pc, Instruccion instruccion) {
+    }
+
+    /**
+     * Un proceso en ejecución fue devuelto a la cola de listos por el planificador
+     *
+     * @param cpu CPU que lo ejecutaba o -1 si no se pudo determinar
+     */
+    default void onDesalojo(long tick, int cpu, int numeroBCP, BCP bcp) {
+    }
+
+    /**
+     * Un proceso finalizó (antes de liberar su memoria)
+     */
+    default void onFinalizacion(long tick, int cpu, int numeroBCP, BCP bcp) {
+    }
+
+    /**
+     * Se asignó memoria de usuario a un proceso
+     */
+    default void onAsignacionMemoria(long tick, int idProceso, String nombreProceso, InfoAsignacion info) {
+    }
+
+    /**
+     * La estrategia de memoria no encontró espacio para un programa
+     *
+     * @param tamanoRequerido cantidad de instrucciones del programa
+     */
+    default void onAsignacionFallida(long tick, String nombrePrograma, int tamanoRequerido) {
+    }
+
+    /**
+     * Se liberó la memoria de usuario de un proceso
+     */
+    default void onLiberacionMemoria(long tick, int idProceso, String nombreProceso, int direccion, int tamano) {
+    }
+}
@@ -0,0 +1,415 @@
+package so.eventos;
+
+import so.gestordeprocesos.BCP;
+import so.instrucciones.Instruccion;
+import so.memoria.estrategias.IEstrategiaParticionamiento.InfoAsignacion;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publicador reactivo (java.util.concurrent.Flow) de los eventos del sistema.
+ *
+ * Se registra como IObservadorMotor en el sistema operativo y convierte cada
+ * punto del motor en un EventoSistema. Cada suscriptor tiene su propio buffer
+ * acotado y su propia política de desborde, y recibe los eventos en un hilo
+ * del ejecutor (nunca en el hilo de simulación):
+ * - DESCARTAR_ANTIGUO: con el buffer lleno se descarta el evento más viejo
+ * - MUESTREAR: con el buffer lleno solo se admite uno de cada N eventos nuevos
+ * - BLOQUEAR: con el buffer lleno el motor espera espacio, pero como máximo el
+ *   tiempo configurado; si no se libera espacio, el evento nuevo se descarta
+ *   y la suscripción queda saturada: desde ahí se descartan los eventos sin
+ *   esperar hasta que el buffer baje a la mitad. Así un suscriptor lento
+ *   cuesta a la simulación una sola espera, no una por evento.
+ *
+ * @author dylan
+ */
+public class PublicadorEventosSistema implements Flow.Publisher<EventoSistema>, IObservadorMotor {
+
+    public static final int CAPACIDAD_DEFECTO = 1024;
+    public static final int FACTOR_MUESTREO_DEFECTO = 10;
+    public static final long ESPERA_MAXIMA_DEFECTO_MS = 5;
+
+    public enum PoliticaDesborde {
+        DESCARTAR_ANTIGUO, MUESTREAR, BLOQUEAR
+    }
+
+    private final Executor ejecutor;
+    private final List<Suscripcion> suscripciones;
+    private volatile boolean cerrado;
+
+    public PublicadorEventosSistema() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param ejecutor ejecutor donde se entregan los eventos a los suscriptores
+     */
+    public PublicadorEventosSistema(Executor ejecutor) {
+        if (ejecutor == null) {
+            throw new IllegalArgumentException("El ejecutor no puede ser nulo");
+        }
+        this.ejecutor = ejecutor;
+        this.suscripciones = new CopyOnWriteArrayList<>();
+        this.cerrado = false;
+    }
+
+    // ========== SUSCRIPCIÓN ==========
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super EventoSistema> suscriptor) {
+        subscribe(suscriptor, CAPACIDAD_DEFECTO, PoliticaDesborde.DESCARTAR_ANTIGUO);
+    }
+
+    public void subscribe(Flow.Subscriber<? super EventoSistema> suscriptor,
+                          int capacidad, PoliticaDesborde politica) {
+        subscribe(suscriptor, capacidad, politica, FACTOR_MUESTREO_DEFECTO, ESPERA_MAXIMA_DEFECTO_MS);
+    }
+
+    /**
+     * Suscribe con configuración completa
+     *
+     * @param capacidad tamaño del buffer del suscriptor
+     * @param politica política cuando el buffer está lleno
+     * @param factorMuestreo en MUESTREAR, se admite 1 de cada factorMuestreo eventos
+     * @param esperaMaximaMs en BLOQUEAR, tiempo máximo que espera el motor
+     */
+    public void subscribe(Flow.Subscriber<? super EventoSistema> suscriptor, int capacidad,
+                          PoliticaDesborde politica, int factorMuestreo, long esperaMaximaMs) {
+        if (suscriptor == null) {
+            throw new NullPointerException("El suscriptor no puede ser nulo");
+        }
+        if (capacidad < 1) {
+            throw new IllegalArgumentException("La capacidad debe ser al menos 1");
+        }
+        if (factorMuestreo < 1) {
+            throw new IllegalArgumentException("El factor de muestreo debe ser al menos 1");
+        }
+
+        Suscripcion suscripcion = new Suscripcion(suscriptor, capacidad, politica,
+                                                  factorMuestreo, esperaMaximaMs);
+        suscriptor.onSubscribe(suscripcion);
+
+        if (cerrado) {
+            suscripcion.completar();
+        } else if (!suscripcion.cancelada) {
+            suscripciones.add(suscripcion);
+        }
+    }
+
+    /**
+     * Completa todas las suscripciones. Los eventos ya en buffer se entregan.
+     */
+    public void cerrar() {
+        cerrado = true;
+        for (Suscripcion suscripcion : suscripciones) {
+            suscripcion.completar();
+        }
+        suscripciones.clear();
+    }
+
+    public int getCantidadSuscriptores() {
+        return suscripciones.size();
+    }
+
+    public boolean hayConsumidores() {
+        return !suscripciones.isEmpty();
+    }
+
+    /**
+     * Publica un evento a todos los suscriptores
+     */
+    public void publicar(EventoSistema evento) {
+        for (Suscripcion suscripcion : suscripciones) {
+            suscripcion.ofrecer(evento);
+        }
+    }
+
+    // ========== OBSERVADOR DEL MOTOR ==========
+
+    @Override
+    public void onAdmision(long tick, int cpu, int numeroBCP, BCP bcp) {
+        if (hayConsumidores()) {
+            publicar(EventoSistema.deProceso(EventoSistema.Tipo.ADMISION, tick, cpu,
+                bcp.getIdProceso(), bcp.getNombreProceso()));
+        }
+    }
+
+    @Override
+    public void onDespacho(long tick, int cpu, int numeroBCP, BCP bcp) {
+        if (hayConsumidores()) {
+            publicar(EventoSistema.deProceso(EventoSistema.Tipo.DESPACHO, tick, cpu,
+                bcp.getIdProceso(), bcp.getNombreProceso()));
+        }
+    }
+
+    @Override
+    public void onInstruccionRetirada(long tick, int cpu, int numeroBCP, BCP bcp,
+                                      int pc, Instruccion instruccion) {
+        if (hayConsumidores()) {
+            publicar(EventoSistema.deInstruccion(tick, cpu, bcp.getIdProceso(), bcp.getNombreProceso(),
+                pc, instruccion != null ? instruccion.getCodigoOperacion() : null));
+        }
+    }
+
+    @Override
+    public void onDesalojo(long tick, int cpu, int numeroBCP, BCP bcp) {
+        if (hayConsumidores()) {
+            publicar(EventoSistema.deProceso(EventoSistema.Tipo.DESALOJO, tick, cpu,
+                bcp.getIdProceso(), bcp.getNombreProceso()));
+        }
+    }
+
+    @Override
+    public void onFinalizacion(long tick, int cpu, int numeroBCP, BCP bcp) {
+        if (hayConsumidores()) {
+            publicar(EventoSistema.deProceso(EventoSistema.Tipo.FINALIZACION, tick, cpu,
+                bcp.getIdProceso(), bcp.getNombreProceso()));
+        }
+    }
+
+    @Override
+    public void onAsignacionMemoria(long tick, int idProceso, String nombreProceso, InfoAsignacion info) {
+        if (hayConsumidores()) {
+            publicar(EventoSistema.deMemoria(EventoSistema.Tipo.ASIGNACION_MEMORIA, tick, idProceso,
+                nombreProceso, info.direccionBase, info.tamanoAsignado));
+        }
+    }
+
+    @Override
+    public void onLiberacionMemoria(long tick, int idProceso, String nombreProceso, int direccion, int tamano) {
+        if (hayConsumidores()) {
+            publicar(EventoSistema.deMemoria(EventoSistema.Tipo.LIBERACION_MEMORIA, tick, idProceso,
+                nombreProceso, direccion, tamano));
+        }
+    }
+
+    // ========== SUSCRIPCIÓN CON BUFFER ACOTADO ==========
+
+    /**
+     * Suscripción con buffer circular propio. El motor escribe en el buffer y
+     * un único drenado a la vez (controlado por 'pendientes') entrega los
+     * eventos en el ejecutor según la demanda solicitada.
+     */
+    private final class Suscripcion implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super EventoSistema> suscriptor;
+        private final PoliticaDesborde politica;
+        private final int factorMuestreo;
+        private final long esperaMaximaNanos;
+
+        private final EventoSistema[] buffer;
+        private int inicio;
+        private int cantidad;
+        private long contadorMuestreo;
+        private boolean saturada;
+
+        private final AtomicLong demanda = new AtomicLong();
+        private final AtomicInteger pendientes = new AtomicInteger();
+        private final AtomicLong descartados = new AtomicLong();
+        private volatile boolean cancelada;
+        private volatile boolean completada;
+        private volatile Throwable errorPendiente;
+        private boolean terminada;
+
+        Suscripcion(Flow.Subscriber<? super EventoSistema> suscriptor, int capacidad,
+                    PoliticaDesborde politica, int factorMuestreo, long esperaMaximaMs) {
+            this.suscriptor = suscriptor;
+            this.politica = politica;
+            this.factorMuestreo = factorMuestreo;
+            this.esperaMaximaNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, esperaMaximaMs));
+            this.buffer = new EventoSistema[capacidad];
+        }
+
+        void ofrecer(EventoSistema evento) {
+            if (cancelada || completada) {
+                return;
+            }
+
+            synchronized (this) {
+                if (saturada) {
+                    descartados.incrementAndGet();
+                    return;
+                }
+                if (cantidad == buffer.length) {
+                    switch (politica) {
+                        case DESCARTAR_ANTIGUO -> {
+                            sacar();
+                            descartados.incrementAndGet();
+                        }
+                        case MUESTREAR -> {
+                            if (++contadorMuestreo % factorMuestreo != 0) {
+                                descartados.incrementAndGet();
+                                return;
+                            }
+                            sacar();
+                            descartados.incrementAndGet();
+                        }
+                        case BLOQUEAR -> {
+                            if (!esperarEspacio()) {
+                                saturada = true;
+                                descartados.incrementAndGet();
+                                return;
+                            }
+                        }
+                    }
+                }
+                buffer[(inicio + cantidad) % buffer.length] = evento;
+                cantidad++;
+            }
+
+            programarDrenado();
+        }
+
+        /**
+         * Espera (con el monitor tomado) a que el drenado libere espacio
+         *
+         * @return true si hay espacio, false si se agotó la espera
+         */
+        private boolean esperarEspacio() {
+            long limite = System.nanoTime() + esperaMaximaNanos;
+            programarDrenado();
+            while (cantidad == buffer.length && !cancelada) {
+                long restante = limite - System.nanoTime();
+                if (restante <= 0) {
+                    return false;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, restante);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return cantidad < buffer.length;
+        }
+
+        private EventoSistema sacar() {
+            if (cantidad == 0) {
+                return null;
+            }
+            EventoSistema evento = buffer[inicio];
+            buffer[inicio] = null;
+            inicio = (inicio + 1) % buffer.length;
+            cantidad--;
+            return evento;
+        }
+
+        private synchronized EventoSistema sacarYNotificar() {
+            EventoSistema evento = sacar();
+            if (evento != null && politica == PoliticaDesborde.BLOQUEAR) {
+                // Marca baja: la suscripción vuelve a admitir eventos con medio buffer libre
+                if (saturada && cantidad <= buffer.length / 2) {
+                    saturada = false;
+                }
+                notifyAll();
+            }
+            return evento;
+        }
+
+        private synchronized boolean vacia() {
+            return cantidad == 0;
+        }
+
+        void completar() {
+            completada = true;
+            programarDrenado();
+        }
+
+        private void programarDrenado() {
+            if (pendientes.getAndIncrement() == 0) {
+                try {
+                    ejecutor.execute(this::drenar);
+                } catch (Exception e) {
+                    pendientes.set(0);
+                    System.err.println("[PUBLICADOR] No se pudo programar la entrega: " + e.getMessage());
+                }
+            }
+        }
+
+        private void drenar() {
+            int faltantes = 1;
+            do {
+                if (terminada) {
+                    return;
+                }
+
+                long solicitados = demanda.get();
+                long emitidos = 0;
+
+                while (emitidos != solicitados && !cancelada) {
+                    EventoSistema evento = sacarYNotificar();
+                    if (evento == null) {
+                        break;
+                    }
+                    try {
+                        suscriptor.onNext(evento);
+                    } catch (Throwable t) {
+                        cancel();
+                        System.err.println("[PUBLICADOR] Suscriptor cancelado por error: " + t.getMessage());
+                        return;
+                    }
+                    emitidos++;
+                }
+
+                if (emitidos > 0 && solicitados != Long.MAX_VALUE) {
+                    demanda.addAndGet(-emitidos);
+                }
+
+                // El error de request() se entrega aquí, en serie con onNext. Se lee
+                // después de 'cancelada' porque request() lo asigna antes de cancelar
+                boolean cancelado = cancelada;
+                if (errorPendiente != null) {
+                    terminada = true;
+                    suscriptor.onError(errorPendiente);
+                    return;
+                }
+
+                if (cancelado) {
+                    return;
+                }
+
+                if (completada && vacia()) {
+                    terminada = true;
+                    suscriptor.onComplete();
+                    return;
+                }
+
+                faltantes = pendientes.addAndGet(-faltantes);
+            } while (faltantes != 0);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                if (errorPendiente == null) {
+                    errorPendiente = new IllegalArgumentException("La demanda debe ser positiva: " + n);
+                }
+                cancel();
+                programarDrenado();
+                return;
+            }
+            // Suma con saturación en Long.MAX_VALUE (demanda ilimitada)
+            demanda.accumulateAndGet(n, (actual, extra) -> {
+                long suma = actual + extra;
+                return suma < 0 ? Long.MAX_VALUE : suma;
+            });
+            programarDrenado();
+        }
+
+        @Override
+        public void cancel() {
+            cancelada = true;
+            suscripciones.remove(this);
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+}
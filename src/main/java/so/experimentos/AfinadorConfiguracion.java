@@ -0,0 +1,605 @@
+package so.experimentos;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Busca la configuración (quantum de RR, tamaño de partición de FIJO_IGUAL y
+ * cantidad de CPUs) que mejor cumple un objetivo sobre una carga sintética,
+ * sin recorrer toda la rejilla como BarridoParametros.
+ *
+ * La búsqueda tiene dos fases, ambas con evaluaciones en paralelo:
+ * 1. Reducción sucesiva (successive halving): se sortean candidatosIniciales
+ *    configuraciones y se evalúan con una carga reducida; solo pasa a la
+ *    ronda siguiente la mejor fracción 1/factorReduccion, con una carga
+ *    factorReduccion veces más grande. La última ronda usa la carga completa.
+ * 2. Ascenso de colina: desde la ganadora se evalúan sus vecinas (un
+ *    parámetro a la vez) con la carga completa y se avanza mientras alguna
+ *    mejore el objetivo.
+ *
+ * Cada evaluación corre la configuración con todas las semillas y promedia
+ * el objetivo; una configuración que deja programas sin terminar (tope de
+ * ticks o programas que no caben en una partición) no es válida. El
+ * resultado es una RecomendacionAfinador con el historial completo, que
+ * sirve de evidencia de la elección.
+ *
+ * @author dylan
+ */
+public class AfinadorConfiguracion {
+
+    public enum Objetivo {
+        RETORNO_P99("retorno p99 (ticks)", false),
+        RETORNO_PROMEDIO("retorno promedio (ticks)", false),
+        ESPERA_PROMEDIO("espera promedio (ticks)", false),
+        RESPUESTA_P99("respuesta p99 (ticks)", false),
+        RENDIMIENTO("procesos finalizados por 1000 ticks", true),
+        TICKS_TOTALES("ticks hasta terminar la carga", false);
+
+        public final String descripcion;
+        public final boolean maximizar;
+
+        Objetivo(String descripcion, boolean maximizar) {
+            this.descripcion = descripcion;
+            this.maximizar = maximizar;
+        }
+
+        public double valor(ResultadoBarrido resultado) {
+            return switch (this) {
+                case RETORNO_P99 -> resultado.retornoP99;
+                case RETORNO_PROMEDIO -> resultado.retornoPromedio;
+                case ESPERA_PROMEDIO -> resultado.esperaPromedio;
+                case RESPUESTA_P99 -> resultado.respuestaP99;
+                case RENDIMIENTO -> resultado.ticks == 0 ? 0 : resultado.procesosFinalizados * 1000.0 / resultado.ticks;
+                case TICKS_TOTALES -> resultado.ticks;
+            };
+        }
+
+        /**
+         * Orden de mejor a peor; las evaluaciones inválidas quedan al final
+         */
+        public Comparator<Evaluacion> comparador() {
+            Comparator<Evaluacion> porValor = Comparator.comparingDouble(e -> e.valor);
+            return Comparator.comparing((Evaluacion e) -> !e.isValida())
+                    .thenComparing(maximizar ? porValor.reversed() : porValor);
+        }
+
+        public String getVerbo() {
+            return maximizar ? "maximizar" : "minimizar";
+        }
+    }
+
+    /**
+     * Un punto del espacio de búsqueda (0 en las dimensiones que no aplican)
+     */
+    public static class Configuracion {
+        public final int cpus;
+        public final int quantum;
+        public final int tamanoParticion;
+
+        public Configuracion(int cpus, int quantum, int tamanoParticion) {
+            this.cpus = cpus;
+            this.quantum = quantum;
+            this.tamanoParticion = tamanoParticion;
+        }
+
+        @Override
+        public boolean equals(Object otro) {
+            if (!(otro instanceof Configuracion)) {
+                return false;
+            }
+            Configuracion c = (Configuracion) otro;
+            return cpus == c.cpus && quantum == c.quantum && tamanoParticion == c.tamanoParticion;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cpus, quantum, tamanoParticion);
+        }
+
+        @Override
+        public String toString() {
+            return cpus + " CPUs" + (quantum > 0 ? ", quantum " + quantum : "")
+                    + (tamanoParticion > 0 ? ", partición " + tamanoParticion : "");
+        }
+    }
+
+    /**
+     * Una configuración corrida con todas las semillas y una carga de cierto tamaño
+     */
+    public static class Evaluacion {
+        public final Configuracion configuracion;
+        public final String etapa;
+        public final int programas;
+        /** Una corrida por semilla */
+        public final List<ResultadoBarrido> resultados;
+        /** Promedio del objetivo entre semillas (NaN si alguna corrida no terminó) */
+        public final double valor;
+        public final double desviacion;
+
+        public Evaluacion(Configuracion configuracion, String etapa, int programas,
+                          List<ResultadoBarrido> resultados, Objetivo objetivo) {
+            this.configuracion = configuracion;
+            this.etapa = etapa;
+            this.programas = programas;
+            this.resultados = resultados;
+            double suma = 0;
+            double sumaCuadrados = 0;
+            boolean valida = true;
+            for (ResultadoBarrido resultado : resultados) {
+                valida &= !resultado.isFallido() && resultado.completo;
+                double v = objetivo.valor(resultado);
+                suma += v;
+                sumaCuadrados += v * v;
+            }
+            int n = resultados.size();
+            this.valor = valida ? suma / n : Double.NaN;
+            this.desviacion = valida && n > 1 ? Math.sqrt(Math.max(0, (sumaCuadrados - suma * suma / n) / (n - 1))) : 0;
+        }
+
+        public boolean isValida() {
+            return !Double.isNaN(valor);
+        }
+
+        /**
+         * Promedio de otra métrica entre las semillas
+         */
+        public double promedio(Objetivo metrica) {
+            double suma = 0;
+            for (ResultadoBarrido resultado : resultados) {
+                suma += metrica.valor(resultado);
+            }
+            return resultados.isEmpty() ? 0 : suma / resultados.size();
+        }
+
+        @Override
+        public String toString() {
+            return configuracion + ": " + (isValida() ? String.format("%.2f ± %.2f", valor, desviacion) : "inválida");
+        }
+    }
+
+    // ========== ESPACIO DE BÚSQUEDA ==========
+    /** Especificación por CPU separada con "+" (ver BarridoParametros); cada "RR" sin quantum recibe el quantum buscado */
+    public String planificador = "RR";
+    public int minQuantum = 1;
+    public int maxQuantum = 16;
+    /** Solo con FIJO_IGUAL se busca el tamaño de partición */
+    public String estrategia = "FIJO_IGUAL";
+    public int minParticion = 16;
+    public int maxParticion = 256;
+    public int pasoParticion = 8;
+    public int minCPUs = 1;
+    public int maxCPUs = 4;
+    public int tamanoMemoriaUsuario = 9000;
+    /** Configuración de referencia con la que se compara la recomendación */
+    public Configuracion base = new Configuracion(2, 3, 64);
+
+    // ========== CARGA ==========
+    public PerfilCarga perfil = new PerfilCarga();
+    public int cantidadProgramas = 200;
+    public long[] semillas = {1, 2, 3};
+    public long maxTicks = 1_000_000;
+
+    // ========== BÚSQUEDA ==========
+    public Objetivo objetivo = Objetivo.RETORNO_P99;
+    public int candidatosIniciales = 27;
+    public int factorReduccion = 3;
+    /** Tamaño mínimo de la carga en las rondas reducidas */
+    public int minProgramas = 20;
+    public int maxPasosAscenso = 10;
+    public long semillaBusqueda = 1;
+
+    private Map<Long, CargaGenerada> cargas;
+    private ForkJoinPool pool;
+    private int siguientePunto;
+
+    /**
+     * Verifica el espacio de búsqueda
+     *
+     * @throws IllegalArgumentException si algún valor es inválido
+     */
+    public void validar() {
+        if (usaQuantum() && (minQuantum < 1 || maxQuantum < minQuantum)) {
+            throw new IllegalArgumentException("Rango de quantum inválido: " + minQuantum + "-" + maxQuantum);
+        }
+        if (usaParticion() && (minParticion < 1 || maxParticion < minParticion || pasoParticion < 1)) {
+            throw new IllegalArgumentException("Rango de partición inválido: " + minParticion + "-" + maxParticion
+                    + " paso " + pasoParticion);
+        }
+        if (minCPUs < 1 || maxCPUs < minCPUs) {
+            throw new IllegalArgumentException("Rango de CPUs inválido: " + minCPUs + "-" + maxCPUs);
+        }
+        if (semillas.length == 0 || cantidadProgramas < 1 || maxTicks < 1) {
+            throw new IllegalArgumentException("La carga necesita semillas, programas y un tope de ticks positivo");
+        }
+        if (candidatosIniciales < 1 || factorReduccion < 2 || minProgramas < 1 || maxPasosAscenso < 0) {
+            throw new IllegalArgumentException("Parámetros de búsqueda inválidos");
+        }
+        perfil.validar();
+        // Valida planificador y estrategia construyendo la configuración base
+        crearPunto(normalizar(base), cantidadProgramas, semillas[0]);
+    }
+
+    private boolean usaQuantum() {
+        for (String parte : planificador.split("\\+")) {
+            if (parte.trim().equalsIgnoreCase("RR")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean usaParticion() {
+        return estrategia.equalsIgnoreCase("FIJO_IGUAL");
+    }
+
+    /**
+     * Pone en 0 las dimensiones que no aplican
+     */
+    private Configuracion normalizar(Configuracion configuracion) {
+        return new Configuracion(configuracion.cpus, usaQuantum() ? configuracion.quantum : 0,
+                usaParticion() ? configuracion.tamanoParticion : 0);
+    }
+
+    private boolean enEspacio(Configuracion c) {
+        return c.cpus >= minCPUs && c.cpus <= maxCPUs
+                && (!usaQuantum() || (c.quantum >= minQuantum && c.quantum <= maxQuantum))
+                && (!usaParticion() || (c.tamanoParticion >= minParticion && c.tamanoParticion <= maxParticion));
+    }
+
+    // ========== BÚSQUEDA ==========
+
+    /**
+     * Ejecuta la búsqueda completa
+     *
+     * @param hilos paralelismo de las evaluaciones
+     */
+    public RecomendacionAfinador afinar(int hilos) {
+        if (hilos < 1) {
+            throw new IllegalArgumentException("Se necesita al menos un hilo");
+        }
+        validar();
+        cargas = new HashMap<>();
+        for (long semilla : semillas) {
+            cargas.put(semilla, new GeneradorCargas(perfil).generar("afinador", cantidadProgramas, semilla));
+        }
+        siguientePunto = 0;
+        pool = new ForkJoinPool(hilos);
+        long inicio = System.nanoTime();
+        System.out.println("[AFINADOR] " + objetivo.getVerbo() + " " + objetivo.descripcion + " con "
+                + cantidadProgramas + " programas x " + semillas.length + " semillas, " + hilos + " hilos");
+
+        try {
+            List<Evaluacion> historial = new ArrayList<>();
+            Map<Configuracion, Evaluacion> completas = new LinkedHashMap<>();
+
+            Evaluacion mejor = reducir(sortearCandidatos(), historial, completas);
+            mejor = ascender(mejor, historial, completas);
+
+            Configuracion configuracionBase = normalizar(base);
+            Evaluacion evaluacionBase = completas.get(configuracionBase);
+            if (evaluacionBase == null) {
+                evaluacionBase = evaluar(List.of(configuracionBase), cantidadProgramas, "base").get(0);
+                historial.add(evaluacionBase);
+            }
+            List<Evaluacion> ranking = new ArrayList<>(completas.values());
+            ranking.sort(objetivo.comparador());
+            return new RecomendacionAfinador(this, mejor, evaluacionBase, ranking, historial,
+                    System.nanoTime() - inicio);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Configuraciones iniciales: todo el espacio si es pequeño, si no una
+     * muestra sin repetidos (siempre incluye la base si está en el espacio)
+     */
+    private List<Configuracion> sortearCandidatos() {
+        int[] quantums = usaQuantum() ? rango(minQuantum, maxQuantum, 1) : new int[]{0};
+        int[] particiones = usaParticion() ? rango(minParticion, maxParticion, pasoParticion) : new int[]{0};
+        int[] cpus = rango(minCPUs, maxCPUs, 1);
+        long tamanoEspacio = (long) quantums.length * particiones.length * cpus.length;
+
+        Set<Configuracion> candidatos = new LinkedHashSet<>();
+        if (tamanoEspacio <= candidatosIniciales) {
+            for (int c : cpus) {
+                for (int q : quantums) {
+                    for (int p : particiones) {
+                        candidatos.add(new Configuracion(c, q, p));
+                    }
+                }
+            }
+        } else {
+            Configuracion configuracionBase = normalizar(base);
+            if (enEspacio(configuracionBase)) {
+                candidatos.add(configuracionBase);
+            }
+            Random random = new Random(semillaBusqueda);
+            while (candidatos.size() < candidatosIniciales) {
+                candidatos.add(new Configuracion(cpus[random.nextInt(cpus.length)],
+                        quantums[random.nextInt(quantums.length)], particiones[random.nextInt(particiones.length)]));
+            }
+        }
+        return new ArrayList<>(candidatos);
+    }
+
+    private static int[] rango(int minimo, int maximo, int paso) {
+        int[] valores = new int[(maximo - minimo) / paso + 1];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = minimo + i * paso;
+        }
+        return valores;
+    }
+
+    /**
+     * Reducción sucesiva; devuelve la mejor configuración de la última ronda
+     * (que siempre usa la carga completa)
+     */
+    private Evaluacion reducir(List<Configuracion> vivas, List<Evaluacion> historial,
+                               Map<Configuracion, Evaluacion> completas) {
+        int rondas = 0;
+        for (int n = vivas.size(); n > 1; n = (n + factorReduccion - 1) / factorReduccion) {
+            rondas++;
+        }
+        List<Evaluacion> evaluaciones = new ArrayList<>();
+        int programasAnteriores = 0;
+        for (int ronda = 0; ; ronda++) {
+            long divisor = (long) Math.pow(factorReduccion, rondas - ronda);
+            int programas = (int) Math.max(Math.min(minProgramas, cantidadProgramas), cantidadProgramas / divisor);
+            if (programas == programasAnteriores) {
+                // Con minProgramas la carga puede no crecer: se reusan las evaluaciones de las sobrevivientes
+                evaluaciones = new ArrayList<>(evaluaciones.subList(0, vivas.size()));
+            } else {
+                evaluaciones = evaluar(vivas, programas, "reduccion-" + ronda);
+                historial.addAll(evaluaciones);
+                evaluaciones.sort(objetivo.comparador());
+            }
+            programasAnteriores = programas;
+            if (programas == cantidadProgramas) {
+                for (Evaluacion evaluacion : evaluaciones) {
+                    completas.put(evaluacion.configuracion, evaluacion);
+                }
+            }
+            if (ronda >= rondas) {
+                return evaluaciones.get(0);
+            }
+            int conservar = (vivas.size() + factorReduccion - 1) / factorReduccion;
+            vivas = new ArrayList<>();
+            for (Evaluacion evaluacion : evaluaciones.subList(0, conservar)) {
+                vivas.add(evaluacion.configuracion);
+            }
+        }
+    }
+
+    /**
+     * Ascenso de colina con la carga completa desde la configuración dada
+     */
+    private Evaluacion ascender(Evaluacion actual, List<Evaluacion> historial, Map<Configuracion, Evaluacion> completas) {
+        for (int paso = 1; paso <= maxPasosAscenso; paso++) {
+            List<Configuracion> vecinas = new ArrayList<>();
+            for (Configuracion vecina : vecinas(actual.configuracion)) {
+                if (!completas.containsKey(vecina)) {
+                    vecinas.add(vecina);
+                }
+            }
+            if (vecinas.isEmpty()) {
+                break;
+            }
+            List<Evaluacion> evaluaciones = evaluar(vecinas, cantidadProgramas, "ascenso-" + paso);
+            historial.addAll(evaluaciones);
+            for (Evaluacion evaluacion : evaluaciones) {
+                completas.put(evaluacion.configuracion, evaluacion);
+            }
+            evaluaciones.sort(objetivo.comparador());
+            Evaluacion mejorVecina = evaluaciones.get(0);
+            if (objetivo.comparador().compare(mejorVecina, actual) >= 0) {
+                break;
+            }
+            actual = mejorVecina;
+        }
+        return actual;
+    }
+
+    /**
+     * Configuraciones que cambian un solo parámetro: un paso a cada lado y
+     * un salto al doble o a la mitad
+     */
+    private List<Configuracion> vecinas(Configuracion c) {
+        Set<Configuracion> vecinas = new LinkedHashSet<>();
+        if (usaQuantum()) {
+            for (int q : new int[]{c.quantum - 1, c.quantum + 1, c.quantum / 2, c.quantum * 2}) {
+                vecinas.add(new Configuracion(c.cpus, q, c.tamanoParticion));
+            }
+        }
+        if (usaParticion()) {
+            int mitad = minParticion + (c.tamanoParticion / 2 - minParticion) / pasoParticion * pasoParticion;
+            for (int p : new int[]{c.tamanoParticion - pasoParticion, c.tamanoParticion + pasoParticion,
+                                   mitad, c.tamanoParticion * 2}) {
+                vecinas.add(new Configuracion(c.cpus, c.quantum, p));
+            }
+        }
+        vecinas.add(new Configuracion(c.cpus - 1, c.quantum, c.tamanoParticion));
+        vecinas.add(new Configuracion(c.cpus + 1, c.quantum, c.tamanoParticion));
+        vecinas.remove(c);
+        vecinas.removeIf(v -> !enEspacio(v));
+        return new ArrayList<>(vecinas);
+    }
+
+    // ========== EVALUACIÓN ==========
+
+    /**
+     * Corre cada configuración con cada semilla en el pool
+     */
+    private List<Evaluacion> evaluar(List<Configuracion> configuraciones, int programas, String etapa) {
+        List<Callable<ResultadoBarrido>> tareas = new ArrayList<>();
+        for (Configuracion configuracion : configuraciones) {
+            for (long semilla : semillas) {
+                BarridoParametros.Punto punto = crearPunto(configuracion, programas, semilla);
+                CargaGenerada carga = cargas.get(semilla).primeros(programas);
+                tareas.add(() -> BarridoParametros.ejecutarPunto(punto, carga));
+            }
+        }
+        List<ResultadoBarrido> resultados = new ArrayList<>(tareas.size());
+        try {
+            for (Future<ResultadoBarrido> futuro : pool.invokeAll(tareas)) {
+                resultados.add(futuro.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Afinación interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló una evaluación: " + e.getCause(), e.getCause());
+        }
+
+        Map<Configuracion, Evaluacion> evaluaciones = new LinkedHashMap<>();
+        for (int i = 0; i < configuraciones.size(); i++) {
+            List<ResultadoBarrido> porSemilla = resultados.subList(i * semillas.length, (i + 1) * semillas.length);
+            evaluaciones.put(configuraciones.get(i), new Evaluacion(configuraciones.get(i), etapa, programas,
+                    new ArrayList<>(porSemilla), objetivo));
+        }
+        List<Evaluacion> lista = new ArrayList<>(evaluaciones.values());
+        Evaluacion mejor = lista.stream().min(objetivo.comparador()).orElseThrow();
+        System.out.println("[AFINADOR] " + etapa + ": " + lista.size() + " configuraciones con " + programas
+                + " programas; mejor " + mejor);
+        return lista;
+    }
+
+    private BarridoParametros.Punto crearPunto(Configuracion configuracion, int programas, long semilla) {
+        String[] partes = planificador.split("\\+");
+        String[] porCPU = new String[configuracion.cpus];
+        for (int cpu = 0; cpu < porCPU.length; cpu++) {
+            String parte = partes[cpu % partes.length].trim().toUpperCase();
+            porCPU[cpu] = parte.equals("RR") ? "RR:" + configuracion.quantum : parte;
+        }
+        Escenario escenario = new Escenario(String.format("afinador-%04d", siguientePunto), semilla, porCPU,
+                estrategia.toUpperCase(), usaParticion() ? (Object) configuracion.tamanoParticion : null,
+                tamanoMemoriaUsuario, programas, perfil, maxTicks);
+        return new BarridoParametros.Punto(siguientePunto++, escenario, configuracion.quantum,
+                configuracion.tamanoParticion);
+    }
+
+    /**
+     * Descripción del espacio de búsqueda para el reporte
+     */
+    public String describirEspacio() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(planificador);
+        if (usaQuantum()) {
+            sb.append(" quantum ").append(minQuantum).append("-").append(maxQuantum);
+        }
+        sb.append(", ").append(estrategia.toUpperCase());
+        if (usaParticion()) {
+            sb.append(" partición ").append(minParticion).append("-").append(maxParticion)
+              .append(" (paso ").append(pasoParticion).append(")");
+        }
+        sb.append(", ").append(minCPUs).append("-").append(maxCPUs).append(" CPUs");
+        sb.append(", memoria de usuario ").append(tamanoMemoriaUsuario);
+        return sb.toString();
+    }
+
+    // ========== LÍNEA DE COMANDOS ==========
+
+    /**
+     * Uso:
+     *
+     *   java -cp sistemaoperativo.jar so.experimentos.AfinadorConfiguracion
+     *        [--objetivo RETORNO_P99] [--planificador RR] [--quantum 1-16]
+     *        [--estrategia FIJO_IGUAL] [--particion 16-256] [--paso-particion 8]
+     *        [--cpus 1-4] [--memoria 9000] [--base cpus,quantum,particion]
+     *        [--carga escenario] [--programas n] [--semillas 1,2,3]
+     *        [--candidatos 27] [--factor 3] [--hilos n] [--csv archivo]
+     */
+    public static void main(String[] args) throws IOException {
+        AfinadorConfiguracion afinador = new AfinadorConfiguracion();
+        int hilos = Runtime.getRuntime().availableProcessors();
+        Path csv = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String valor = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--objetivo" -> afinador.objetivo = Objetivo.valueOf(requerido(args[i], valor).toUpperCase());
+                case "--planificador" -> afinador.planificador = requerido(args[i], valor);
+                case "--quantum" -> {
+                    int[] rango = leerRango(requerido(args[i], valor));
+                    afinador.minQuantum = rango[0];
+                    afinador.maxQuantum = rango[1];
+                }
+                case "--estrategia" -> afinador.estrategia = requerido(args[i], valor);
+                case "--particion" -> {
+                    int[] rango = leerRango(requerido(args[i], valor));
+                    afinador.minParticion = rango[0];
+                    afinador.maxParticion = rango[1];
+                }
+                case "--paso-particion" -> afinador.pasoParticion = Integer.parseInt(requerido(args[i], valor));
+                case "--cpus" -> {
+                    int[] rango = leerRango(requerido(args[i], valor));
+                    afinador.minCPUs = rango[0];
+                    afinador.maxCPUs = rango[1];
+                }
+                case "--memoria" -> afinador.tamanoMemoriaUsuario = Integer.parseInt(requerido(args[i], valor));
+                case "--base" -> {
+                    int[] base = Arrays.stream(requerido(args[i], valor).split(","))
+                            .mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+                    if (base.length != 3) {
+                        throw new IllegalArgumentException("--base espera cpus,quantum,particion");
+                    }
+                    afinador.base = new Configuracion(base[0], base[1], base[2]);
+                }
+                case "--carga" -> {
+                    Escenario escenario = Escenario.buscar(requerido(args[i], valor));
+                    afinador.perfil = escenario.perfil;
+                    afinador.cantidadProgramas = escenario.cantidadProgramas;
+                    afinador.maxTicks = escenario.maxTicks;
+                }
+                case "--programas" -> afinador.cantidadProgramas = Integer.parseInt(requerido(args[i], valor));
+                case "--semillas" -> afinador.semillas = Arrays.stream(requerido(args[i], valor).split(","))
+                        .mapToLong(s -> Long.parseLong(s.trim())).toArray();
+                case "--candidatos" -> afinador.candidatosIniciales = Integer.parseInt(requerido(args[i], valor));
+                case "--factor" -> afinador.factorReduccion = Integer.parseInt(requerido(args[i], valor));
+                case "--hilos" -> hilos = Integer.parseInt(requerido(args[i], valor));
+                case "--csv" -> csv = Path.of(requerido(args[i], valor));
+                default -> throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+            i++;
+        }
+
+        RecomendacionAfinador recomendacion = afinador.afinar(hilos);
+        System.out.println();
+        System.out.print(recomendacion.generarReporte());
+        if (csv != null) {
+            recomendacion.escribirCSV(csv);
+        }
+    }
+
+    /**
+     * "4" o "1-16"
+     */
+    private static int[] leerRango(String texto) {
+        String[] partes = texto.split("-", 2);
+        int minimo = Integer.parseInt(partes[0].trim());
+        int maximo = partes.length == 2 ? Integer.parseInt(partes[1].trim()) : minimo;
+        return new int[]{minimo, maximo};
+    }
+
+    private static String requerido(String opcion, String valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Falta el valor de " + opcion);
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,392 @@
+package so.experimentos;
+
+import so.estadisticas.AgregadorMetricas;
+import so.main.SistemaOperativoV2;
+import so.monitoreo.ContadoresMotor;
+import so.planificacion.FabricaPlanificadores;
+import so.reproduccion.FuenteEntradasSistema;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Barrido de parámetros: ejecuta todas las combinaciones de una rejilla de
+ * configuraciones (CPUs, planificadores por CPU, quantum de RR, estrategia
+ * de particionamiento y tamaños) sobre la misma carga sintética, cada una en
+ * su propio SistemaOperativoV2, en paralelo sobre un ForkJoinPool. Las
+ * métricas de todos los puntos se escriben en un único CSV.
+ *
+ * La rejilla se arma igual que un PerfilCarga, ajustando los campos:
+ *
+ *   BarridoParametros barrido = new BarridoParametros();
+ *   barrido.cantidadesCPUs = new int[]{1, 2, 4};
+ *   barrido.planificadores = new String[]{"FIFO", "SJF", "FIFO+RR"};
+ *   barrido.quantums = new int[]{1, 2, 4, 8};
+ *   List&lt;ResultadoBarrido&gt; resultados = barrido.ejecutar(8);
+ *
+ * Cada entrada de planificadores es la especificación por CPU separada con
+ * "+" (ver FabricaPlanificadores), que se repite cíclicamente sobre los CPUs:
+ * "FIFO+RR" en 4 CPUs da FIFO, RR, FIFO, RR. Un "RR" sin quantum se
+ * multiplica por cada valor de quantums; tamanosParticion solo multiplica a
+ * FIJO_IGUAL.
+ *
+ * Los motores no comparten estado: cada uno escribe sus logs en una salida
+ * nula sin candado, para que los hilos no hagan fila imprimiendo, y
+ * System.out queda solo para el progreso del barrido.
+ *
+ * Uso desde la línea de comandos:
+ *
+ *   java -cp sistemaoperativo.jar so.experimentos.BarridoParametros
+ *        [--cpus 1,2,4] [--planificadores FIFO,SJF,RR,FIFO+RR] [--quantums 1,2,4]
+ *        [--estrategias DINAMICO,FIJO_IGUAL,FIJO_DESIGUAL] [--particiones 32,64,128]
+ *        [--memoria 9000] [--semillas 1,2] [--carga escenario] [--programas n]
+ *        [--max-ticks n] [--hilos n] [--salida barrido.csv]
+ *
+ * @author dylan
+ */
+public class BarridoParametros {
+
+    private static final List<String> ESTRATEGIAS = Arrays.asList("DINAMICO", "FIJO_IGUAL", "FIJO_DESIGUAL");
+
+    /**
+     * Una combinación de la rejilla lista para ejecutar
+     */
+    public static class Punto {
+        public final int indice;
+        public final Escenario escenario;
+        /** Quantum del primer CPU con RR (0 si ningún CPU usa RR) */
+        public final int quantum;
+        /** Tamaño de partición de FIJO_IGUAL (0 para las demás estrategias) */
+        public final int tamanoParticion;
+
+        public Punto(int indice, Escenario escenario, int quantum, int tamanoParticion) {
+            this.indice = indice;
+            this.escenario = escenario;
+            this.quantum = quantum;
+            this.tamanoParticion = tamanoParticion;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d CPUs %s %s%s mem %d semilla %d", escenario.cantidadCPUs,
+                    String.join("+", escenario.planificadores), escenario.estrategia,
+                    tamanoParticion > 0 ? ":" + tamanoParticion : "", escenario.tamanoMemoriaUsuario, escenario.semilla);
+        }
+    }
+
+    // ========== REJILLA ==========
+    public int[] cantidadesCPUs = {1, 2, 4};
+    public String[] planificadores = {"FIFO", "SJF", "SRT", "HRRN", "RR"};
+    public int[] quantums = {1, 2, 4};
+    public String[] estrategias = {"DINAMICO", "FIJO_IGUAL", "FIJO_DESIGUAL"};
+    public int[] tamanosParticion = {32, 64, 128};
+    public int[] tamanosMemoriaUsuario = {9000};
+    /** Una carga distinta por semilla; todas las configuraciones corren cada carga */
+    public long[] semillas = {1};
+
+    // ========== CARGA ==========
+    public PerfilCarga perfil = new PerfilCarga();
+    public int cantidadProgramas = 100;
+    /** Tope de ticks por punto; si se alcanza el punto queda incompleto */
+    public long maxTicks = 1_000_000;
+
+    /**
+     * Verifica la rejilla antes de lanzar el barrido
+     *
+     * @throws IllegalArgumentException si algún valor es inválido
+     */
+    public void validar() {
+        if (cantidadesCPUs.length == 0 || planificadores.length == 0 || estrategias.length == 0
+                || tamanosMemoriaUsuario.length == 0 || semillas.length == 0) {
+            throw new IllegalArgumentException("Cada dimensión de la rejilla necesita al menos un valor");
+        }
+        for (int cpus : cantidadesCPUs) {
+            if (cpus < 1) {
+                throw new IllegalArgumentException("Cantidad de CPUs inválida: " + cpus);
+            }
+        }
+        for (int quantum : quantums) {
+            if (quantum < 1) {
+                throw new IllegalArgumentException("Quantum inválido: " + quantum);
+            }
+        }
+        for (String entrada : planificadores) {
+            for (String especificacion : entrada.split("\\+")) {
+                if (esRRSinQuantum(especificacion) && quantums.length == 0) {
+                    throw new IllegalArgumentException("RR sin quantum requiere al menos un valor en quantums");
+                }
+                FabricaPlanificadores.crear(especificacion);
+            }
+        }
+        for (String estrategia : estrategias) {
+            if (!ESTRATEGIAS.contains(estrategia.toUpperCase())) {
+                throw new IllegalArgumentException("Estrategia no soportada en el barrido: " + estrategia);
+            }
+            if (estrategia.equalsIgnoreCase("FIJO_IGUAL") && tamanosParticion.length == 0) {
+                throw new IllegalArgumentException("FIJO_IGUAL requiere al menos un tamaño de partición");
+            }
+        }
+        if (cantidadProgramas < 1 || maxTicks < 1) {
+            throw new IllegalArgumentException("Se necesita al menos un programa y un tope de ticks positivo");
+        }
+        perfil.validar();
+    }
+
+    private static boolean esRRSinQuantum(String especificacion) {
+        return especificacion.trim().equalsIgnoreCase("RR");
+    }
+
+    /**
+     * Todas las combinaciones de la rejilla, en orden estable
+     */
+    public List<Punto> generarPuntos() {
+        validar();
+        List<Punto> puntos = new ArrayList<>();
+        for (long semilla : semillas) {
+            for (int memoria : tamanosMemoriaUsuario) {
+                for (String estrategia : estrategias) {
+                    boolean fijoIgual = estrategia.equalsIgnoreCase("FIJO_IGUAL");
+                    int[] particiones = fijoIgual ? tamanosParticion : new int[]{0};
+                    for (int particion : particiones) {
+                        for (int cpus : cantidadesCPUs) {
+                            for (String entrada : planificadores) {
+                                for (String[] porCPU : expandirPlanificadores(entrada, cpus)) {
+                                    Escenario escenario = new Escenario(String.format("barrido-%04d", puntos.size()),
+                                            semilla, porCPU, estrategia.toUpperCase(), fijoIgual ? (Object) particion : null,
+                                            memoria, cantidadProgramas, perfil, maxTicks);
+                                    puntos.add(new Punto(puntos.size(), escenario, leerQuantum(porCPU), particion));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return puntos;
+    }
+
+    /**
+     * Especificaciones por CPU de una entrada, una por cada quantum si la
+     * entrada tiene algún RR sin quantum
+     */
+    private List<String[]> expandirPlanificadores(String entrada, int cpus) {
+        String[] partes = entrada.split("\\+");
+        boolean usaQuantum = false;
+        for (String parte : partes) {
+            usaQuantum |= esRRSinQuantum(parte);
+        }
+        int[] valores = usaQuantum ? quantums : new int[]{0};
+        List<String[]> combinaciones = new ArrayList<>();
+        for (int quantum : valores) {
+            String[] porCPU = new String[cpus];
+            for (int cpu = 0; cpu < cpus; cpu++) {
+                String parte = partes[cpu % partes.length].trim().toUpperCase();
+                porCPU[cpu] = esRRSinQuantum(parte) ? "RR:" + quantum : parte;
+            }
+            combinaciones.add(porCPU);
+        }
+        return combinaciones;
+    }
+
+    private static int leerQuantum(String[] porCPU) {
+        for (String especificacion : porCPU) {
+            if (especificacion.startsWith("RR:")) {
+                return Integer.parseInt(especificacion.substring(3));
+            }
+        }
+        return 0;
+    }
+
+    // ========== EJECUCIÓN ==========
+
+    /**
+     * Ejecuta todos los puntos de la rejilla
+     *
+     * @param hilos paralelismo del ForkJoinPool
+     * @return un resultado por punto, en el orden de generarPuntos()
+     */
+    public List<ResultadoBarrido> ejecutar(int hilos) {
+        if (hilos < 1) {
+            throw new IllegalArgumentException("Se necesita al menos un hilo");
+        }
+        List<Punto> puntos = generarPuntos();
+
+        // Una carga por semilla, compartida (solo lectura) por todos los puntos
+        Map<Long, CargaGenerada> cargas = new HashMap<>();
+        for (long semilla : semillas) {
+            cargas.computeIfAbsent(semilla, s -> new GeneradorCargas(perfil).generar("barrido", cantidadProgramas, s));
+        }
+
+        System.out.println("[BARRIDO] " + puntos.size() + " puntos en " + hilos + " hilos (" + cantidadProgramas
+                + " programas por carga, " + semillas.length + " cargas)");
+
+        AtomicInteger terminados = new AtomicInteger();
+        int avisoCada = Math.max(1, puntos.size() / 10);
+        List<Callable<ResultadoBarrido>> tareas = new ArrayList<>(puntos.size());
+        for (Punto punto : puntos) {
+            CargaGenerada carga = cargas.get(punto.escenario.semilla);
+            tareas.add(() -> {
+                ResultadoBarrido resultado = ejecutarPunto(punto, carga);
+                int cantidad = terminados.incrementAndGet();
+                if (cantidad % avisoCada == 0 || cantidad == puntos.size()) {
+                    System.out.println("[BARRIDO] " + cantidad + "/" + puntos.size() + " puntos");
+                }
+                return resultado;
+            });
+        }
+
+        long inicio = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(hilos);
+        try {
+            List<ResultadoBarrido> resultados = new ArrayList<>(puntos.size());
+            for (Future<ResultadoBarrido> futuro : pool.invokeAll(tareas)) {
+                resultados.add(futuro.get());
+            }
+            return resultados;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Barrido interrumpido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló un punto del barrido: " + e.getCause(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+            System.out.printf("[BARRIDO] Terminado en %.1f s%n", (System.nanoTime() - inicio) / 1e9);
+        }
+    }
+
+    /**
+     * Ejecuta un punto en un sistema nuevo; los errores del punto quedan en
+     * su resultado y no detienen el barrido
+     */
+    public static ResultadoBarrido ejecutarPunto(Punto punto, CargaGenerada carga) {
+        Escenario escenario = punto.escenario;
+        long inicio = System.nanoTime();
+        try {
+            SistemaOperativoV2 sistema = escenario.crearSistema(carga, SalidaNula.INSTANCIA);
+            sistema.setFuenteEntradas(new FuenteEntradasSistema(new Random(escenario.semilla)));
+            sistema.cargarProgramasMemoriaPrincipal();
+            long ticks = sistema.ejecutarHastaFinalizar(escenario.maxTicks);
+            long nanos = System.nanoTime() - inicio;
+
+            ContadoresMotor contadores = sistema.getContadores();
+            AgregadorMetricas metricas = sistema.getMetricas();
+            double utilizacion = 0;
+            long desalojos = 0;
+            for (int cpu = 0; cpu < escenario.cantidadCPUs; cpu++) {
+                utilizacion += metricas.getUtilizacion(cpu);
+                desalojos += contadores.getDesalojos(cpu);
+            }
+            return new ResultadoBarrido(punto, ticks, contadores.getTotalInstruccionesRetiradas(),
+                    contadores.getProcesosFinalizados(),
+                    !sistema.hayProcesosPorEjecutar() && contadores.getProcesosFinalizados() == carga.getCantidad(),
+                    metricas.getRetorno().getPromedio(), metricas.getRetorno().getPercentil(99),
+                    metricas.getEspera().getPromedio(), metricas.getEspera().getPercentil(99),
+                    metricas.getRespuesta().getPromedio(), metricas.getRespuesta().getPercentil(99),
+                    utilizacion / escenario.cantidadCPUs, contadores.getTotalCambiosContexto(), desalojos,
+                    contadores.getAsignacionesFallidas(), nanos);
+        } catch (RuntimeException e) {
+            return new ResultadoBarrido(punto, e.toString(), System.nanoTime() - inicio);
+        }
+    }
+
+    // ========== REPORTE ==========
+
+    public static void escribirCSV(Path archivo, List<ResultadoBarrido> resultados) throws IOException {
+        Path directorio = archivo.toAbsolutePath().getParent();
+        if (directorio != null) {
+            Files.createDirectories(directorio);
+        }
+        try (BufferedWriter escritor = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+            escritor.write(ResultadoBarrido.CABECERA_CSV);
+            escritor.newLine();
+            for (ResultadoBarrido resultado : resultados) {
+                escritor.write(resultado.aCSV());
+                escritor.newLine();
+            }
+        }
+        System.out.println("[BARRIDO] " + resultados.size() + " filas escritas en " + archivo);
+    }
+
+    // ========== LÍNEA DE COMANDOS ==========
+
+    public static void main(String[] args) throws IOException {
+        BarridoParametros barrido = new BarridoParametros();
+        int hilos = Runtime.getRuntime().availableProcessors();
+        Path salida = Path.of("barrido.csv");
+
+        for (int i = 0; i < args.length; i++) {
+            String valor = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--cpus" -> barrido.cantidadesCPUs = leerEnteros(requerido(args[i], valor));
+                case "--planificadores" -> barrido.planificadores = leerTextos(requerido(args[i], valor));
+                case "--quantums" -> barrido.quantums = leerEnteros(requerido(args[i], valor));
+                case "--estrategias" -> barrido.estrategias = leerTextos(requerido(args[i], valor));
+                case "--particiones" -> barrido.tamanosParticion = leerEnteros(requerido(args[i], valor));
+                case "--memoria" -> barrido.tamanosMemoriaUsuario = leerEnteros(requerido(args[i], valor));
+                case "--semillas" -> barrido.semillas = Arrays.stream(leerTextos(requerido(args[i], valor)))
+                        .mapToLong(Long::parseLong).toArray();
+                case "--carga" -> {
+                    Escenario escenario = Escenario.buscar(requerido(args[i], valor));
+                    barrido.perfil = escenario.perfil;
+                    barrido.cantidadProgramas = escenario.cantidadProgramas;
+                    barrido.maxTicks = escenario.maxTicks;
+                }
+                case "--programas" -> barrido.cantidadProgramas = Integer.parseInt(requerido(args[i], valor));
+                case "--max-ticks" -> barrido.maxTicks = Long.parseLong(requerido(args[i], valor));
+                case "--hilos" -> hilos = Integer.parseInt(requerido(args[i], valor));
+                case "--salida" -> salida = Path.of(requerido(args[i], valor));
+                default -> throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+            i++;
+        }
+
+        List<ResultadoBarrido> resultados = barrido.ejecutar(hilos);
+        escribirCSV(salida, resultados);
+
+        int fallidos = 0;
+        int incompletos = 0;
+        ResultadoBarrido mejor = null;
+        for (ResultadoBarrido resultado : resultados) {
+            if (resultado.isFallido()) {
+                fallidos++;
+            } else if (!resultado.completo) {
+                incompletos++;
+            } else if (mejor == null || resultado.retornoPromedio < mejor.retornoPromedio) {
+                mejor = resultado;
+            }
+        }
+        System.out.println("[BARRIDO] " + fallidos + " puntos fallidos, " + incompletos + " incompletos");
+        if (mejor != null) {
+            System.out.println("[BARRIDO] Menor retorno promedio: " + mejor);
+        }
+    }
+
+    private static int[] leerEnteros(String lista) {
+        return Arrays.stream(leerTextos(lista)).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static String[] leerTextos(String lista) {
+        return Arrays.stream(lista.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toArray(String[]::new);
+    }
+
+    private static String requerido(String opcion, String valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Falta el valor de " + opcion);
+        }
+        return valor;
+    }
+}
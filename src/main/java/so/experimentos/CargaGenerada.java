@@ -0,0 +1,142 @@
+package so.experimentos;
+
+import so.main.SistemaOperativoV2;
+import so.memoria.MemoriaSecundaria;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Programas de una carga sintética con su llegada y su semilla.
+ *
+ * En disco la carga es un directorio con un archivo por programa y un
+ * manifiesto (carga.txt) con una línea "nombre;llegada;semilla" por
+ * programa, en el orden de la carga.
+ *
+ * @author dylan
+ */
+public class CargaGenerada {
+
+    public static final String MANIFIESTO = "carga.txt";
+
+    public final String[] nombres;
+    public final List<String>[] programas;
+    /** Tick de llegada de cada programa, relativo al momento de cargar la carga */
+    public final long[] llegadas;
+    public final long[] semillas;
+
+    public CargaGenerada(String[] nombres, List<String>[] programas, long[] llegadas, long[] semillas) {
+        if (programas.length != nombres.length || llegadas.length != nombres.length || semillas.length != nombres.length) {
+            throw new IllegalArgumentException("Las partes de la carga no tienen la misma cantidad de programas");
+        }
+        this.nombres = nombres;
+        this.programas = programas;
+        this.llegadas = llegadas;
+        this.semillas = semillas;
+    }
+
+    public int getCantidad() {
+        return nombres.length;
+    }
+
+    /**
+     * Los primeros programas de la carga (los que llegan antes cuando las
+     * llegadas están ordenadas), para evaluar con una carga reducida
+     */
+    public CargaGenerada primeros(int cantidad) {
+        if (cantidad < 1) {
+            throw new IllegalArgumentException("La carga necesita al menos un programa");
+        }
+        if (cantidad >= nombres.length) {
+            return this;
+        }
+        return new CargaGenerada(Arrays.copyOf(nombres, cantidad), Arrays.copyOf(programas, cantidad),
+                Arrays.copyOf(llegadas, cantidad), Arrays.copyOf(semillas, cantidad));
+    }
+
+    // ========== DESTINOS ==========
+
+    /**
+     * Carga los programas en la memoria secundaria del sistema y programa sus
+     * llegadas; después basta con cargarProgramasMemoriaPrincipal()
+     */
+    public void cargarEn(SistemaOperativoV2 sistema) {
+        if (!sistema.cargarArchivosMemoriaSecundaria(nombres, programas)) {
+            throw new IllegalStateException("No se pudo cargar la carga en memoria secundaria");
+        }
+        for (long llegada : llegadas) {
+            if (llegada > 0) {
+                sistema.programarLlegadas(nombres, llegadas);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Escribe los programas directamente en una memoria secundaria (sin llegadas)
+     */
+    public void cargarEn(MemoriaSecundaria memoria) {
+        memoria.cargarProgramas(nombres, programas);
+    }
+
+    /**
+     * Escribe la carga en un directorio (se crea si no existe)
+     */
+    public void escribir(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        try (BufferedWriter manifiesto = Files.newBufferedWriter(directorio.resolve(MANIFIESTO), StandardCharsets.UTF_8)) {
+            manifiesto.write("# nombre;llegada;semilla");
+            manifiesto.newLine();
+            for (int i = 0; i < nombres.length; i++) {
+                Files.write(directorio.resolve(nombres[i]), programas[i], StandardCharsets.UTF_8);
+                manifiesto.write(nombres[i] + ";" + llegadas[i] + ";" + semillas[i]);
+                manifiesto.newLine();
+            }
+        }
+        System.out.println("[GENERADOR] " + nombres.length + " programas escritos en " + directorio);
+    }
+
+    /**
+     * Lee una carga escrita con escribir()
+     */
+    public static CargaGenerada leer(Path directorio) throws IOException {
+        List<String> nombres = new ArrayList<>();
+        List<Long> llegadas = new ArrayList<>();
+        List<Long> semillas = new ArrayList<>();
+        Path archivo = directorio.resolve(MANIFIESTO);
+        int numero = 0;
+        for (String linea : Files.readAllLines(archivo, StandardCharsets.UTF_8)) {
+            numero++;
+            if (linea.isBlank() || linea.startsWith("#")) {
+                continue;
+            }
+            String[] campos = linea.split(";");
+            if (campos.length != 3) {
+                throw new IOException(archivo + ":" + numero + ": se esperaba nombre;llegada;semilla");
+            }
+            try {
+                nombres.add(campos[0]);
+                llegadas.add(Long.parseLong(campos[1]));
+                semillas.add(Long.parseLong(campos[2]));
+            } catch (NumberFormatException e) {
+                throw new IOException(archivo + ":" + numero + ": número inválido (" + e.getMessage() + ")");
+            }
+        }
+        @SuppressWarnings("unchecked")
+        List<String>[] programas = (List<String>[]) new List<?>[nombres.size()];
+        long[] arregloLlegadas = new long[nombres.size()];
+        long[] arregloSemillas = new long[nombres.size()];
+        for (int i = 0; i < programas.length; i++) {
+            programas[i] = Files.readAllLines(directorio.resolve(nombres.get(i)), StandardCharsets.UTF_8);
+            arregloLlegadas[i] = llegadas.get(i);
+            arregloSemillas[i] = semillas.get(i);
+        }
+        return new CargaGenerada(nombres.toArray(new String[0]), programas, arregloLlegadas, arregloSemillas);
+    }
+}
@@ -0,0 +1,293 @@
+package so.experimentos;
+
+import so.main.SistemaOperativoV2;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Compara planificadores sobre una carga idéntica: los mismos programas con
+ * las mismas llegadas se ejecutan con cada planificador en un motor propio,
+ * todos a la vez y cada uno en su hilo, y se arma una tabla con retorno,
+ * espera y respuesta (promedio y p99), cambios de contexto y makespan.
+ *
+ * La carga puede venir de un sistema ya cargado (desde(sistema) copia sus
+ * programas sin admitir y sus llegadas, sin modificarlo), de una carga
+ * generada o de un directorio escrito con CargaGenerada.escribir().
+ *
+ * Uso desde la línea de comandos:
+ *
+ *   java -cp sistemaoperativo.jar so.experimentos.ComparadorPlanificadores
+ *        [--carga escenario | --directorio dir] [--cpus n] [--estrategia DINAMICO]
+ *        [--particion n] [--memoria n] [--planificadores FIFO,SJF,SRT,HRRN,RR]
+ *        [--max-ticks n]
+ *
+ * @author dylan
+ */
+public class ComparadorPlanificadores {
+
+    public static final List<String> TODOS = List.of("FIFO", "SJF", "SRT", "HRRN", "RR");
+
+    public final CargaGenerada carga;
+    public final int cantidadCPUs;
+    public final String estrategia;
+    public final Object configEstrategia;
+    public final int tamanoMemoriaUsuario;
+
+    /** Tope de ticks de cada motor */
+    public long maxTicks = 1_000_000;
+    /** Semilla de la fuente de entradas (la misma para todos los motores) */
+    public long semilla = 1;
+
+    public ComparadorPlanificadores(CargaGenerada carga, int cantidadCPUs, String estrategia,
+                                    Object configEstrategia, int tamanoMemoriaUsuario) {
+        if (carga.getCantidad() == 0) {
+            throw new IllegalArgumentException("La carga a comparar está vacía");
+        }
+        if (cantidadCPUs < 1) {
+            throw new IllegalArgumentException("Debe haber al menos 1 CPU");
+        }
+        this.carga = carga;
+        this.cantidadCPUs = cantidadCPUs;
+        this.estrategia = estrategia;
+        this.configEstrategia = configEstrategia;
+        this.tamanoMemoriaUsuario = tamanoMemoriaUsuario;
+    }
+
+    /**
+     * Copia la carga todavía sin admitir de un sistema (programas pendientes y
+     * llegadas programadas) junto con su configuración de CPUs y memoria.
+     * Un programa encolado más de una vez aparece tantas veces como esté en
+     * la cola; los que ya no tienen fuente en memoria secundaria se informan
+     * y se omiten.
+     *
+     * @throws IllegalStateException si el sistema no tiene programas sin admitir
+     */
+    public static ComparadorPlanificadores desde(SistemaOperativoV2 sistema) {
+        List<SistemaOperativoV2.ProgramaSinAdmitir> sinAdmitir = sistema.getProgramasSinAdmitir();
+        List<String> nombres = new ArrayList<>();
+        List<List<String>> programas = new ArrayList<>();
+        List<Long> llegadas = new ArrayList<>();
+        for (SistemaOperativoV2.ProgramaSinAdmitir programa : sinAdmitir) {
+            List<String> fuente = sistema.getMemoriaSecundaria().leerPrograma(programa.nombre);
+            if (fuente == null || fuente.isEmpty()) {
+                System.err.println("[COMPARADOR] " + programa.nombre + " no está en memoria secundaria, se omite");
+                continue;
+            }
+            nombres.add(programa.nombre);
+            programas.add(new ArrayList<>(fuente));
+            llegadas.add(programa.llegada);
+        }
+        if (nombres.isEmpty()) {
+            throw new IllegalStateException("El sistema no tiene programas sin admitir para comparar");
+        }
+
+        @SuppressWarnings("unchecked")
+        List<String>[] arregloProgramas = (List<String>[]) programas.toArray(new List<?>[0]);
+        long[] arregloLlegadas = new long[llegadas.size()];
+        for (int i = 0; i < arregloLlegadas.length; i++) {
+            arregloLlegadas[i] = llegadas.get(i);
+        }
+        CargaGenerada carga = new CargaGenerada(nombres.toArray(new String[0]), arregloProgramas, arregloLlegadas,
+                new long[arregloLlegadas.length]);
+        return new ComparadorPlanificadores(carga, sistema.getCantidadCPUs(), sistema.getTipoEstrategia(),
+                sistema.getConfigEstrategia(), sistema.getTamanoMemoriaUsuario());
+    }
+
+    // ========== EJECUCIÓN ==========
+
+    /**
+     * Ejecuta la carga con cada planificador, todos en paralelo
+     *
+     * @param planificadores especificación de cada motor (ver FabricaPlanificadores;
+     *                       con "+" se asigna un planificador distinto a cada CPU)
+     * @return un resultado por planificador, en el mismo orden
+     */
+    public List<ResultadoBarrido> comparar(String... planificadores) {
+        if (planificadores.length == 0) {
+            throw new IllegalArgumentException("Se necesita al menos un planificador");
+        }
+        List<Callable<ResultadoBarrido>> tareas = new ArrayList<>();
+        for (int i = 0; i < planificadores.length; i++) {
+            BarridoParametros.Punto punto = crearPunto(i, planificadores[i]);
+            tareas.add(() -> BarridoParametros.ejecutarPunto(punto, carga));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(planificadores.length);
+        System.out.println("[COMPARADOR] " + carga.getCantidad() + " programas con " + String.join(", ", planificadores)
+                + " en " + cantidadCPUs + " CPUs");
+        try {
+            List<ResultadoBarrido> resultados = new ArrayList<>();
+            for (Future<ResultadoBarrido> futuro : pool.invokeAll(tareas)) {
+                resultados.add(futuro.get());
+            }
+            return resultados;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Comparación interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló un motor de la comparación: " + e.getCause(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public List<ResultadoBarrido> compararTodos() {
+        return comparar(TODOS.toArray(new String[0]));
+    }
+
+    private BarridoParametros.Punto crearPunto(int indice, String especificacion) {
+        return crearPunto("comparacion-" + indice, indice, porCPU(especificacion, cantidadCPUs), estrategia,
+                configEstrategia, tamanoMemoriaUsuario, carga.getCantidad(), semilla, maxTicks);
+    }
+
+    /**
+     * Reparte una especificación con "+" entre las CPUs, en ciclo
+     */
+    static String[] porCPU(String especificacion, int cantidadCPUs) {
+        String[] partes = especificacion.split("\\+");
+        String[] porCPU = new String[cantidadCPUs];
+        for (int cpu = 0; cpu < cantidadCPUs; cpu++) {
+            porCPU[cpu] = partes[cpu % partes.length].trim().toUpperCase();
+        }
+        return porCPU;
+    }
+
+    /**
+     * Punto de barrido que describe una corrida sobre una carga ya armada
+     * (el perfil del escenario no se usa)
+     */
+    static BarridoParametros.Punto crearPunto(String nombre, int indice, String[] porCPU, String estrategia,
+                                              Object configEstrategia, int tamanoMemoriaUsuario,
+                                              int cantidadProgramas, long semilla, long maxTicks) {
+        Escenario escenario = new Escenario(nombre, semilla, porCPU, estrategia, configEstrategia,
+                tamanoMemoriaUsuario, cantidadProgramas, new PerfilCarga(), maxTicks);
+        int quantum = 0;
+        for (String parte : porCPU) {
+            if (parte.startsWith("RR:") && quantum == 0) {
+                quantum = Integer.parseInt(parte.substring(3));
+            }
+        }
+        return new BarridoParametros.Punto(indice, escenario, quantum,
+                configEstrategia instanceof Integer tamano ? tamano : 0);
+    }
+
+    // ========== REPORTE ==========
+
+    /**
+     * Tabla comparativa; "*" marca el mejor valor de cada columna entre los
+     * planificadores que terminaron la carga
+     */
+    public static String generarTabla(List<ResultadoBarrido> resultados) {
+        String[] columnas = {"makespan", "retorno", "ret p99", "espera", "esp p99", "respuesta", "resp p99", "cambios ctx"};
+        double[][] valores = new double[resultados.size()][];
+        for (int i = 0; i < resultados.size(); i++) {
+            ResultadoBarrido r = resultados.get(i);
+            valores[i] = new double[]{r.ticks, r.retornoPromedio, r.retornoP99, r.esperaPromedio, r.esperaP99,
+                                      r.respuestaPromedio, r.respuestaP99, r.cambiosContexto};
+        }
+        double[] mejores = new double[columnas.length];
+        Arrays.fill(mejores, Double.MAX_VALUE);
+        for (int i = 0; i < resultados.size(); i++) {
+            if (resultados.get(i).completo) {
+                for (int c = 0; c < columnas.length; c++) {
+                    mejores[c] = Math.min(mejores[c], valores[i][c]);
+                }
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-16s", "planificador"));
+        for (String columna : columnas) {
+            sb.append(String.format(" %12s", columna));
+        }
+        sb.append(String.format(" %7s%n", "util"));
+        for (int i = 0; i < resultados.size(); i++) {
+            ResultadoBarrido r = resultados.get(i);
+            sb.append(String.format("%-16s", String.join("+", distintos(r.punto.escenario.planificadores))));
+            if (r.isFallido()) {
+                sb.append("  ERROR ").append(r.error).append('\n');
+                continue;
+            }
+            for (int c = 0; c < columnas.length; c++) {
+                boolean mejor = r.completo && valores[i][c] == mejores[c];
+                sb.append(String.format(" %11.1f%s", valores[i][c], mejor ? "*" : " "));
+            }
+            sb.append(String.format(" %6.0f%%", r.utilizacion * 100));
+            if (!r.completo) {
+                sb.append("  INCOMPLETO (").append(r.procesosFinalizados).append(" finalizados)");
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * "RR:2+RR:2+RR:2" se muestra como "RR:2"
+     */
+    private static String[] distintos(String[] planificadores) {
+        return Arrays.stream(planificadores).distinct().toArray(String[]::new);
+    }
+
+    // ========== LÍNEA DE COMANDOS ==========
+
+    public static void main(String[] args) throws IOException {
+        Escenario escenario = Escenario.buscar("mixto");
+        CargaGenerada carga = null;
+        int cpus = 2;
+        String estrategia = escenario.estrategia;
+        Object config = escenario.configEstrategia;
+        int memoria = escenario.tamanoMemoriaUsuario;
+        String[] planificadores = TODOS.toArray(new String[0]);
+        long maxTicks = escenario.maxTicks;
+
+        for (int i = 0; i < args.length; i++) {
+            String valor = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--carga" -> {
+                    escenario = Escenario.buscar(requerido(args[i], valor));
+                    estrategia = escenario.estrategia;
+                    config = escenario.configEstrategia;
+                    memoria = escenario.tamanoMemoriaUsuario;
+                    maxTicks = escenario.maxTicks;
+                }
+                case "--directorio" -> carga = CargaGenerada.leer(Path.of(requerido(args[i], valor)));
+                case "--cpus" -> cpus = Integer.parseInt(requerido(args[i], valor));
+                case "--estrategia" -> {
+                    estrategia = requerido(args[i], valor).toUpperCase();
+                    config = null;
+                }
+                case "--particion" -> config = Integer.parseInt(requerido(args[i], valor));
+                case "--memoria" -> memoria = Integer.parseInt(requerido(args[i], valor));
+                case "--planificadores" -> planificadores = Arrays.stream(requerido(args[i], valor).split(","))
+                        .map(String::trim).filter(s -> !s.isEmpty()).toArray(String[]::new);
+                case "--max-ticks" -> maxTicks = Long.parseLong(requerido(args[i], valor));
+                default -> throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+            i++;
+        }
+
+        if (carga == null) {
+            carga = escenario.generarCarga();
+        }
+        ComparadorPlanificadores comparador = new ComparadorPlanificadores(carga, cpus, estrategia, config, memoria);
+        comparador.maxTicks = maxTicks;
+        List<ResultadoBarrido> resultados = comparador.comparar(planificadores);
+        System.out.println();
+        System.out.print(generarTabla(resultados));
+    }
+
+    private static String requerido(String opcion, String valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Falta el valor de " + opcion);
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,181 @@
+package so.experimentos;
+
+import so.main.SistemaOperativoV2;
+import so.reproduccion.FuenteEntradasSistema;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Ejecuta escenarios completos sin interfaz y mide su rendimiento:
+ * instrucciones y ticks por segundo, bytes asignados por segundo y pico de
+ * heap. Cada escenario se corre unas veces para calentar la JVM y luego
+ * varias veces más; se informa la corrida mediana (por instrucciones/s).
+ *
+ * Uso desde la línea de comandos:
+ *
+ *   java -cp sistemaoperativo.jar so.experimentos.EjecutorEscenarios
+ *        [--escenarios a,b] [--calentamiento n] [--repeticiones n]
+ *        [--linea-base archivo] [--umbral 0.10] [--guardar-linea-base archivo]
+ *
+ * Con --linea-base compara contra el archivo (ver LineaBase) y termina con
+ * código 1 si algún escenario perdió más rendimiento que el umbral o no
+ * terminó dentro de su tope de ticks.
+ *
+ * Durante cada corrida la salida estándar y de error se descartan: el motor
+ * imprime en cada paso y la consola dominaría la medición.
+ *
+ * @author dylan
+ */
+public class EjecutorEscenarios {
+
+    private final int calentamiento;
+    private final int repeticiones;
+
+    public EjecutorEscenarios(int calentamiento, int repeticiones) {
+        if (calentamiento < 0 || repeticiones < 1) {
+            throw new IllegalArgumentException("Se necesita al menos una repetición y un calentamiento no negativo");
+        }
+        this.calentamiento = calentamiento;
+        this.repeticiones = repeticiones;
+    }
+
+    // ========== EJECUCIÓN ==========
+
+    /**
+     * Corre el escenario con calentamiento y repeticiones; devuelve la corrida mediana
+     */
+    public ResultadoEscenario medir(Escenario escenario) {
+        for (int i = 0; i < calentamiento; i++) {
+            ejecutar(escenario);
+        }
+        List<ResultadoEscenario> corridas = new ArrayList<>();
+        for (int i = 0; i < repeticiones; i++) {
+            corridas.add(ejecutar(escenario));
+        }
+        corridas.sort(Comparator.comparingDouble(ResultadoEscenario::getInstruccionesPorSegundo));
+        return corridas.get(corridas.size() / 2);
+    }
+
+    public List<ResultadoEscenario> medir(List<Escenario> escenarios) {
+        List<ResultadoEscenario> resultados = new ArrayList<>();
+        for (Escenario escenario : escenarios) {
+            System.out.println("[ESCENARIOS] " + escenario);
+            ResultadoEscenario resultado = medir(escenario);
+            System.out.println("[ESCENARIOS] " + resultado);
+            resultados.add(resultado);
+        }
+        return resultados;
+    }
+
+    /**
+     * Una corrida del escenario en un sistema nuevo
+     */
+    public static ResultadoEscenario ejecutar(Escenario escenario) {
+        System.gc();
+        List<MemoryPoolMXBean> poolsHeap = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+                poolsHeap.add(pool);
+            }
+        }
+        SistemaOperativoV2 sistema = escenario.crearSistema(escenario.generarCarga(), SalidaNula.INSTANCIA);
+        sistema.setFuenteEntradas(new FuenteEntradasSistema(new Random(escenario.semilla)));
+
+        long bytesAntes = bytesAsignadosHilo();
+        long inicio = System.nanoTime();
+        sistema.cargarProgramasMemoriaPrincipal();
+        long ticks = sistema.ejecutarHastaFinalizar(escenario.maxTicks);
+        long nanos = System.nanoTime() - inicio;
+        long bytesDespues = bytesAsignadosHilo();
+
+        long heapPico = 0;
+        for (MemoryPoolMXBean pool : poolsHeap) {
+            heapPico += pool.getPeakUsage().getUsed();
+        }
+        return new ResultadoEscenario(escenario.nombre, ticks,
+                sistema.getContadores().getTotalInstruccionesRetiradas(),
+                sistema.getContadores().getProcesosFinalizados(), nanos,
+                bytesAntes < 0 ? -1 : bytesDespues - bytesAntes, heapPico,
+                !sistema.hayProcesosPorEjecutar());
+    }
+
+    /**
+     * Bytes asignados por el hilo actual (-1 si la JVM no lo soporta)
+     */
+    private static long bytesAsignadosHilo() {
+        ThreadMXBean hilos = ManagementFactory.getThreadMXBean();
+        if (hilos instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hilosSun = (com.sun.management.ThreadMXBean) hilos;
+            if (hilosSun.isThreadAllocatedMemorySupported() && hilosSun.isThreadAllocatedMemoryEnabled()) {
+                return hilosSun.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
+    }
+
+    // ========== LÍNEA DE COMANDOS ==========
+
+    public static void main(String[] args) throws IOException {
+        List<Escenario> escenarios = Escenario.predeterminados();
+        int calentamiento = 1;
+        int repeticiones = 3;
+        double umbral = 0.10;
+        Path lineaBase = null;
+        Path guardar = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String valor = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--escenarios" -> {
+                    escenarios = new ArrayList<>();
+                    for (String nombre : requerido(args[i], valor).split(",")) {
+                        escenarios.add(Escenario.buscar(nombre.trim()));
+                    }
+                }
+                case "--calentamiento" -> calentamiento = Integer.parseInt(requerido(args[i], valor));
+                case "--repeticiones" -> repeticiones = Integer.parseInt(requerido(args[i], valor));
+                case "--umbral" -> umbral = Double.parseDouble(requerido(args[i], valor));
+                case "--linea-base" -> lineaBase = Path.of(requerido(args[i], valor));
+                case "--guardar-linea-base" -> guardar = Path.of(requerido(args[i], valor));
+                default -> throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+            i++;
+        }
+
+        List<ResultadoEscenario> resultados = new EjecutorEscenarios(calentamiento, repeticiones).medir(escenarios);
+
+        if (guardar != null) {
+            LineaBase.desde(resultados).guardar(guardar);
+        }
+        if (lineaBase != null) {
+            LineaBase base = LineaBase.cargar(lineaBase);
+            System.out.println();
+            System.out.print(base.generarComparacion(resultados));
+            List<String> regresiones = base.buscarRegresiones(resultados, umbral);
+            if (!regresiones.isEmpty()) {
+                for (String regresion : regresiones) {
+                    System.out.println("[ESCENARIOS] REGRESIÓN " + regresion);
+                }
+                System.exit(1);
+            }
+            System.out.println("[ESCENARIOS] Sin regresiones (umbral " + Math.round(umbral * 100) + "%)");
+        }
+    }
+
+    private static String requerido(String opcion, String valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Falta el valor de " + opcion);
+        }
+        return valor;
+    }
+}
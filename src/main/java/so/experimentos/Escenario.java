@@ -0,0 +1,176 @@
+package so.experimentos;
+
+import so.main.SistemaOperativoV2;
+import so.planificacion.FabricaPlanificadores;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Escenario de prueba de todo el sistema: configuración del motor y una
+ * carga sintética generada a partir de una semilla fija, de modo que cada
+ * ejecución del escenario procesa exactamente el mismo trabajo.
+ *
+ * @author dylan
+ */
+public class Escenario {
+
+    public final String nombre;
+    public final long semilla;
+
+    // Configuración del motor
+    public final int cantidadCPUs;
+    public final String[] planificadores;
+    public final String estrategia;
+    public final Object configEstrategia;
+    public final int tamanoMemoriaUsuario;
+
+    // Carga
+    public final int cantidadProgramas;
+    public final PerfilCarga perfil;
+
+    /** Tope de ticks; si se alcanza el escenario se considera incompleto */
+    public final long maxTicks;
+
+    /**
+     * @param planificadores especificación por CPU (ver FabricaPlanificadores)
+     */
+    public Escenario(String nombre, long semilla, String[] planificadores, String estrategia,
+                     Object configEstrategia, int tamanoMemoriaUsuario, int cantidadProgramas,
+                     PerfilCarga perfil, long maxTicks) {
+        if (nombre == null || nombre.isBlank() || nombre.contains(";")) {
+            throw new IllegalArgumentException("Nombre de escenario inválido: " + nombre);
+        }
+        if (planificadores == null || planificadores.length == 0) {
+            throw new IllegalArgumentException("Debe haber al menos 1 CPU");
+        }
+        if (cantidadProgramas < 1) {
+            throw new IllegalArgumentException("El escenario necesita al menos un programa");
+        }
+        perfil.validar();
+        this.nombre = nombre;
+        this.semilla = semilla;
+        this.cantidadCPUs = planificadores.length;
+        this.planificadores = planificadores.clone();
+        this.estrategia = estrategia;
+        this.configEstrategia = configEstrategia;
+        this.tamanoMemoriaUsuario = tamanoMemoriaUsuario;
+        this.cantidadProgramas = cantidadProgramas;
+        this.perfil = perfil;
+        this.maxTicks = maxTicks;
+    }
+
+    // ========== CATÁLOGO ==========
+
+    /**
+     * Escenarios de referencia de la suite de rendimiento
+     */
+    public static List<Escenario> predeterminados() {
+        List<Escenario> escenarios = new ArrayList<>();
+
+        PerfilCarga cortos = new PerfilCarga();
+        cortos.minInstrucciones = 4;
+        cortos.maxInstrucciones = 12;
+        cortos.densidadCiclos = 0;
+        escenarios.add(new Escenario("muchos-cortos", 4201, new String[]{"FIFO", "RR:2"},
+                "DINAMICO", null, 9000, 400, cortos, 200_000));
+
+        PerfilCarga largos = new PerfilCarga();
+        largos.minInstrucciones = 15;
+        largos.maxInstrucciones = 25;
+        largos.densidadCiclos = 0.5;
+        largos.minIteraciones = 500;
+        largos.maxIteraciones = 1500;
+        escenarios.add(new Escenario("pocos-largos", 4202, new String[]{"SJF", "RR:3"},
+                "DINAMICO", null, 9000, 6, largos, 1_000_000));
+
+        PerfilCarga mixto = new PerfilCarga();
+        mixto.minInstrucciones = 5;
+        mixto.maxInstrucciones = 120;
+        mixto.longitud = PerfilCarga.DistribucionLongitud.PARETO;
+        mixto.densidadCiclos = 0.2;
+        mixto.minIteraciones = 10;
+        mixto.maxIteraciones = 100;
+        mixto.llegadas = PerfilCarga.DistribucionLlegadas.POISSON;
+        mixto.intervaloLlegadas = 20;
+        escenarios.add(new Escenario("mixto", 4203, new String[]{"FIFO", "SJF", "SRT", "RR:2"},
+                "FIJO_IGUAL", 128, 9000, 150, mixto, 1_000_000));
+
+        PerfilCarga presion = new PerfilCarga();
+        presion.minInstrucciones = 20;
+        presion.maxInstrucciones = 60;
+        presion.densidadCiclos = 0.2;
+        presion.minIteraciones = 5;
+        presion.maxIteraciones = 20;
+        escenarios.add(new Escenario("presion-memoria", 4204, new String[]{"FIFO", "RR:2"},
+                "FIJO_IGUAL", 64, 256, 120, presion, 1_000_000));
+
+        PerfilCarga cpus = new PerfilCarga();
+        cpus.minInstrucciones = 4;
+        cpus.maxInstrucciones = 30;
+        cpus.densidadCiclos = 0.3;
+        cpus.minIteraciones = 10;
+        cpus.maxIteraciones = 40;
+        cpus.llegadas = PerfilCarga.DistribucionLlegadas.RAFAGAS;
+        cpus.tamanoRafaga = 20;
+        cpus.intervaloLlegadas = 5;
+        escenarios.add(new Escenario("muchos-cpus", 4205,
+                new String[]{"RR:2", "RR:2", "RR:2", "RR:2", "RR:2", "RR:2", "RR:2", "RR:2"},
+                "DINAMICO", null, 9000, 250, cpus, 1_000_000));
+        return escenarios;
+    }
+
+    public static Escenario buscar(String nombre) {
+        for (Escenario escenario : predeterminados()) {
+            if (escenario.nombre.equals(nombre)) {
+                return escenario;
+            }
+        }
+        throw new IllegalArgumentException("Escenario desconocido: " + nombre);
+    }
+
+    // ========== CONSTRUCCIÓN ==========
+
+    /**
+     * Genera la carga del escenario (siempre la misma para la misma semilla)
+     */
+    public CargaGenerada generarCarga() {
+        return new GeneradorCargas(perfil).generar(nombre, cantidadProgramas, semilla);
+    }
+
+    /**
+     * Crea un sistema nuevo con la configuración del escenario y la carga en
+     * memoria secundaria, listo para cargarProgramasMemoriaPrincipal()
+     */
+    public SistemaOperativoV2 crearSistema() {
+        return crearSistema(generarCarga());
+    }
+
+    /**
+     * Igual que crearSistema() pero con una carga ya generada, para repartir
+     * la misma carga entre varias configuraciones sin regenerarla
+     */
+    public SistemaOperativoV2 crearSistema(CargaGenerada carga) {
+        return crearSistema(carga, null);
+    }
+
+    /**
+     * Igual que crearSistema(carga), con un destino propio para los logs del
+     * sistema (null para la salida estándar)
+     */
+    public SistemaOperativoV2 crearSistema(CargaGenerada carga, PrintStream salidaLog) {
+        SistemaOperativoV2 sistema = new SistemaOperativoV2(1 << 16, 64, tamanoMemoriaUsuario,
+                estrategia, configEstrategia, cantidadCPUs, FabricaPlanificadores.crear(planificadores), salidaLog);
+        sistema.setMaxProcesosRetenidos(0);
+        carga.cargarEn(sistema);
+        return sistema;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (semilla %d, %d CPUs %s, %s, %d programas, %s)",
+                nombre, semilla, cantidadCPUs, Arrays.toString(planificadores), estrategia, cantidadProgramas, perfil);
+    }
+}
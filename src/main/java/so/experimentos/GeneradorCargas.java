@@ -0,0 +1,199 @@
+package so.experimentos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Genera programas válidos para el conjunto de instrucciones del simulador
+ * según un PerfilCarga.
+ *
+ * Cada programa se genera a partir de su propia semilla, que queda anotada
+ * en la primera línea como comentario ("; semilla 123"); la carga completa
+ * se deriva de una semilla maestra. Con la misma semilla y el mismo perfil
+ * se obtienen exactamente los mismos programas y llegadas.
+ *
+ * Estructura de los programas:
+ * - MOV AX, 0 al inicio: AX queda en cero como referencia de los ciclos.
+ * - Bloques elegidos al azar: ciclo (MOV CX, n / DEC CX / cuerpo / CMP CX, AX
+ *   / JNE), INT 10H, uso de pila balanceado (PUSH ... POP o PARAM seguido de
+ *   un POP por valor) o una instrucción simple.
+ * - INT 20H al final.
+ * Las instrucciones simples solo escriben BX, DX y AC, así que nunca alteran
+ * el contador de un ciclo; la pila nunca pasa de 3 valores (el BCP admite 5).
+ *
+ * @author dylan
+ */
+public class GeneradorCargas {
+
+    public static final String PREFIJO_SEMILLA = "; semilla ";
+
+    private static final String[] SIMPLES = {
+        "INC BX", "DEC DX", "MOV DX, BX", "LOAD BX", "STORE DX", "ADD BX", "SUB DX", "SWAP BX, DX", "INC"
+    };
+
+    // Exponente de la distribución de Pareto (cola pesada, media finita)
+    private static final double ALFA_PARETO = 1.5;
+
+    private final PerfilCarga perfil;
+
+    public GeneradorCargas(PerfilCarga perfil) {
+        perfil.validar();
+        this.perfil = perfil;
+    }
+
+    public PerfilCarga getPerfil() {
+        return perfil;
+    }
+
+    // ========== CARGA ==========
+
+    /**
+     * Genera una carga completa
+     *
+     * @param prefijo prefijo de los nombres de programa ("prefijo-0000.asm", ...)
+     * @param cantidad cantidad de programas
+     * @param semilla semilla maestra
+     */
+    public CargaGenerada generar(String prefijo, int cantidad, long semilla) {
+        if (cantidad < 1) {
+            throw new IllegalArgumentException("La carga necesita al menos un programa");
+        }
+        Random random = new Random(semilla);
+        String[] nombres = new String[cantidad];
+        long[] semillas = new long[cantidad];
+        @SuppressWarnings("unchecked")
+        List<String>[] programas = (List<String>[]) new List<?>[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            nombres[i] = String.format("%s-%04d.asm", prefijo, i);
+            semillas[i] = random.nextLong();
+            programas[i] = generarPrograma(semillas[i]);
+        }
+        return new CargaGenerada(nombres, programas, generarLlegadas(random, cantidad), semillas);
+    }
+
+    private long[] generarLlegadas(Random random, int cantidad) {
+        long[] llegadas = new long[cantidad];
+        double intervalo = perfil.intervaloLlegadas;
+        double tiempo = 0;
+        for (int i = 0; i < cantidad; i++) {
+            switch (perfil.llegadas) {
+                case SIMULTANEA -> llegadas[i] = 0;
+                case UNIFORME -> llegadas[i] = (long) (random.nextDouble() * cantidad * intervalo);
+                case POISSON -> {
+                    llegadas[i] = Math.round(tiempo);
+                    tiempo += -Math.log(1 - random.nextDouble()) * intervalo;
+                }
+                case RAFAGAS -> llegadas[i] = Math.round((i / perfil.tamanoRafaga) * perfil.tamanoRafaga * intervalo);
+            }
+        }
+        if (perfil.llegadas == PerfilCarga.DistribucionLlegadas.UNIFORME) {
+            Arrays.sort(llegadas); // los nombres quedan en orden de llegada
+        }
+        return llegadas;
+    }
+
+    // ========== PROGRAMA ==========
+
+    /**
+     * Genera un programa a partir de su semilla (la de su cabecera)
+     */
+    public List<String> generarPrograma(long semilla) {
+        Random random = new Random(semilla);
+        int longitud = elegirLongitud(random);
+
+        List<String> lineas = new ArrayList<>(longitud + 1);
+        lineas.add(PREFIJO_SEMILLA + semilla);
+        int restantes = longitud - 1; // reservado para INT 20H
+        if (restantes > 0) {
+            lineas.add("MOV AX, 0");
+            restantes--;
+        }
+        while (restantes > 0) {
+            restantes -= agregarBloque(random, lineas, restantes);
+        }
+        lineas.add("INT 20H");
+        return lineas;
+    }
+
+    private int elegirLongitud(Random random) {
+        int minimo = perfil.minInstrucciones;
+        int maximo = perfil.maxInstrucciones;
+        double valor = switch (perfil.longitud) {
+            case UNIFORME -> minimo + random.nextInt(maximo - minimo + 1);
+            case NORMAL -> (minimo + maximo) / 2.0 + random.nextGaussian() * (maximo - minimo) / 6.0;
+            case PARETO -> minimo / Math.pow(1 - random.nextDouble(), 1 / ALFA_PARETO);
+        };
+        return (int) Math.max(minimo, Math.min(maximo, Math.round(valor)));
+    }
+
+    /**
+     * Agrega un bloque que ocupa a lo sumo "disponibles" instrucciones
+     *
+     * @return instrucciones agregadas
+     */
+    private int agregarBloque(Random random, List<String> lineas, int disponibles) {
+        double sorteo = random.nextDouble();
+        if (disponibles >= 5 && sorteo < perfil.densidadCiclos) {
+            return agregarCiclo(random, lineas, disponibles);
+        }
+        sorteo -= perfil.densidadCiclos;
+        if (sorteo >= 0 && sorteo < perfil.frecuenciaInterrupciones) {
+            lineas.add("INT 10H");
+            return 1;
+        }
+        sorteo -= perfil.frecuenciaInterrupciones;
+        if (disponibles >= 2 && sorteo >= 0 && sorteo < perfil.usoPila) {
+            return agregarUsoPila(random, lineas, disponibles);
+        }
+        lineas.add(SIMPLES[random.nextInt(SIMPLES.length)]);
+        return 1;
+    }
+
+    private int agregarCiclo(Random random, List<String> lineas, int disponibles) {
+        int iteraciones = perfil.minIteraciones + random.nextInt(perfil.maxIteraciones - perfil.minIteraciones + 1);
+        int cuerpo = 1 + random.nextInt(Math.min(3, disponibles - 4));
+        lineas.add("MOV CX, " + iteraciones);
+        lineas.add("DEC CX");
+        for (int i = 0; i < cuerpo; i++) {
+            lineas.add(random.nextDouble() < perfil.frecuenciaInterrupciones
+                    ? "INT 10H"
+                    : SIMPLES[random.nextInt(SIMPLES.length)]);
+        }
+        lineas.add("CMP CX, AX");
+        lineas.add("JNE -" + (cuerpo + 2));
+        return cuerpo + 4;
+    }
+
+    private int agregarUsoPila(Random random, List<String> lineas, int disponibles) {
+        if (disponibles >= 3 && random.nextBoolean()) {
+            lineas.add("PUSH BX");
+            lineas.add(SIMPLES[random.nextInt(SIMPLES.length)]);
+            lineas.add("POP DX");
+            return 3;
+        }
+        int valores = 1 + random.nextInt(Math.min(3, disponibles - 1));
+        StringBuilder param = new StringBuilder("PARAM ");
+        for (int i = 0; i < valores; i++) {
+            param.append(i == 0 ? "" : ", ").append(random.nextInt(100));
+        }
+        lineas.add(param.toString());
+        for (int i = 0; i < valores; i++) {
+            lineas.add(i % 2 == 0 ? "POP BX" : "POP DX");
+        }
+        return valores + 1;
+    }
+
+    /**
+     * Semilla anotada en la cabecera de un programa generado
+     *
+     * @throws IllegalArgumentException si el programa no tiene cabecera de semilla
+     */
+    public static long leerSemilla(List<String> programa) {
+        if (programa.isEmpty() || !programa.get(0).startsWith(PREFIJO_SEMILLA)) {
+            throw new IllegalArgumentException("El programa no tiene cabecera de semilla");
+        }
+        return Long.parseLong(programa.get(0).substring(PREFIJO_SEMILLA.length()).trim());
+    }
+}
@@ -0,0 +1,151 @@
+package so.experimentos;
+
+import so.eventos.IObservadorMotor;
+import so.gestordeprocesos.BCP;
+import so.instrucciones.Instruccion;
+import so.main.SistemaOperativoV2;
+import so.planificacion.IPlanificador;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Graba el perfil de ráfagas de cada proceso de una corrida para poder
+ * reproducir la carga con otros planificadores y otra cantidad de CPUs en
+ * SimuladorRafagas, sin volver a interpretar instrucciones.
+ *
+ * Se registra como observador del motor al crearse y toma como llegada de
+ * cada programa la que tenía pendiente en ese momento, así que conviene
+ * crearlo antes de cargarProgramasMemoriaPrincipal(). Un programa encolado
+ * varias veces toma sus llegadas en orden, una por admisión. Los procesos
+ * que no terminan antes de detener() quedan fuera de la traza.
+ *
+ * @author dylan
+ */
+public final class GrabadorRafagas implements IObservadorMotor {
+
+    /**
+     * Perfil terminado con su posición en el orden de admisión esperado
+     */
+    private static final class Terminado {
+        final PerfilRafagas perfil;
+        final int orden;
+
+        Terminado(PerfilRafagas perfil, int orden) {
+            this.perfil = perfil;
+            this.orden = orden;
+        }
+    }
+
+    private final SistemaOperativoV2 sistema;
+    private final long tickInicio;
+    /** Programas sin admitir al empezar, en el orden en que se admitirían */
+    private final List<SistemaOperativoV2.ProgramaSinAdmitir> sinAdmitir;
+    /** Posiciones en sinAdmitir de cada nombre que todavía no se admitieron */
+    private final Map<String, ArrayDeque<Integer>> porAdmitir = new HashMap<>();
+    private int siguienteOrden;
+
+    private final PerfilRafagas.Constructor[] enCurso;
+    private final int[] ordenEnCurso;
+    private final List<Terminado> terminados = new ArrayList<>();
+    private int admitidos;
+    private boolean detenido;
+
+    public GrabadorRafagas(SistemaOperativoV2 sistema) {
+        this.sistema = sistema;
+        this.tickInicio = sistema.getTickActual();
+        this.sinAdmitir = sistema.getProgramasSinAdmitir();
+        for (int i = 0; i < sinAdmitir.size(); i++) {
+            porAdmitir.computeIfAbsent(sinAdmitir.get(i).nombre, n -> new ArrayDeque<>()).add(i);
+        }
+        this.siguienteOrden = sinAdmitir.size();
+        int maxProcesos = sistema.getMemoriaPrincipal().getMaxProcesos();
+        this.enCurso = new PerfilRafagas.Constructor[maxProcesos];
+        this.ordenEnCurso = new int[maxProcesos];
+        sistema.addObservador(this);
+    }
+
+    // ========== OBSERVADOR DEL MOTOR ==========
+
+    @Override
+    public synchronized void onAdmision(long tick, int cpu, int numeroBCP, BCP bcp) {
+        String nombre = bcp.getNombreProceso();
+        ArrayDeque<Integer> posiciones = porAdmitir.get(nombre);
+        Integer posicion = posiciones != null ? posiciones.poll() : null;
+        long llegada;
+        if (posicion != null) {
+            llegada = sinAdmitir.get(posicion).llegada;
+            ordenEnCurso[numeroBCP] = posicion;
+        } else {
+            // Un programa admitido sin llegada conocida (cargado después de empezar) llega al admitirse
+            llegada = tick - tickInicio;
+            ordenEnCurso[numeroBCP] = siguienteOrden++;
+        }
+        admitidos++;
+        enCurso[numeroBCP] = new PerfilRafagas.Constructor(nombre, Math.max(0, llegada), bcp.getTamanoProceso());
+    }
+
+    @Override
+    public synchronized void onInstruccionRetirada(long tick, int cpu, int numeroBCP, BCP bcp, int pc,
+                                                   Instruccion instruccion) {
+        PerfilRafagas.Constructor perfil = enCurso[numeroBCP];
+        if (perfil != null) {
+            perfil.retirar(pc);
+        }
+    }
+
+    @Override
+    public synchronized void onFinalizacion(long tick, int cpu, int numeroBCP, BCP bcp) {
+        PerfilRafagas.Constructor perfil = enCurso[numeroBCP];
+        enCurso[numeroBCP] = null;
+        if (perfil == null || perfil.vacio()) {
+            return;
+        }
+        terminados.add(new Terminado(perfil.terminar(bcp.getPC()), ordenEnCurso[numeroBCP]));
+    }
+
+    // ========== RESULTADO ==========
+
+    /**
+     * Deja de observar el motor y arma la traza con los procesos terminados,
+     * en el orden en que el motor los admitiría
+     */
+    public synchronized TrazaRafagas detener() {
+        if (!detenido) {
+            sistema.removeObservador(this);
+            detenido = true;
+        }
+        List<Terminado> ordenados = new ArrayList<>(terminados);
+        ordenados.sort(Comparator.comparingLong((Terminado t) -> t.perfil.llegada)
+                .thenComparingInt(t -> t.orden));
+        List<PerfilRafagas> perfiles = new ArrayList<>(ordenados.size());
+        for (Terminado terminado : ordenados) {
+            perfiles.add(terminado.perfil);
+        }
+
+        int sinTerminar = admitidos - terminados.size();
+        for (ArrayDeque<Integer> posiciones : porAdmitir.values()) {
+            sinTerminar += posiciones.size();
+        }
+        if (sinTerminar > 0) {
+            System.out.println("[RAFAGAS] " + sinTerminar + " procesos no terminaron y quedan fuera de la traza");
+        }
+
+        StringBuilder planificadores = new StringBuilder();
+        for (int cpu = 0; cpu < sistema.getCantidadCPUs(); cpu++) {
+            IPlanificador planificador = sistema.getPlanificador(cpu);
+            planificadores.append(cpu == 0 ? "" : "+").append(planificador != null ? planificador.getNombre() : "?");
+        }
+        return new TrazaRafagas(sistema.getTipoEstrategia(), sistema.getConfigEstrategia(),
+                sistema.getTamanoMemoriaUsuario(), sistema.getCantidadCPUs(), planificadores.toString(),
+                sinTerminar, perfiles);
+    }
+
+    public synchronized int getProcesosTerminados() {
+        return terminados.size();
+    }
+}
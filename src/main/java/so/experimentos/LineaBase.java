@@ -0,0 +1,168 @@
+package so.experimentos;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Línea base de rendimiento de la suite de escenarios.
+ *
+ * Archivo de texto UTF-8, una línea por escenario; las líneas que empiezan
+ * con '#' son comentarios:
+ *
+ *   # escenario;instrPorSeg;ticksPorSeg;bytesAsignadosPorSeg;heapPicoBytes
+ *   muchos-cortos;1520000.0;610000.0;250000000.0;41943040
+ *
+ * Los números usan punto decimal sin importar la configuración regional.
+ * Solo instrPorSeg y ticksPorSeg deciden si hay regresión; la asignación y
+ * el heap se informan para poder ver de dónde viene un cambio.
+ *
+ * @author dylan
+ */
+public class LineaBase {
+
+    public static final String CABECERA = "# escenario;instrPorSeg;ticksPorSeg;bytesAsignadosPorSeg;heapPicoBytes";
+
+    /**
+     * Valores de referencia de un escenario
+     */
+    public static class Entrada {
+        public final String escenario;
+        public final double instruccionesPorSegundo;
+        public final double ticksPorSegundo;
+        public final double bytesAsignadosPorSegundo;
+        public final long heapPicoBytes;
+
+        public Entrada(String escenario, double instruccionesPorSegundo, double ticksPorSegundo,
+                       double bytesAsignadosPorSegundo, long heapPicoBytes) {
+            this.escenario = escenario;
+            this.instruccionesPorSegundo = instruccionesPorSegundo;
+            this.ticksPorSegundo = ticksPorSegundo;
+            this.bytesAsignadosPorSegundo = bytesAsignadosPorSegundo;
+            this.heapPicoBytes = heapPicoBytes;
+        }
+    }
+
+    private final Map<String, Entrada> entradas;
+
+    public LineaBase() {
+        this.entradas = new LinkedHashMap<>();
+    }
+
+    public static LineaBase desde(List<ResultadoEscenario> resultados) {
+        LineaBase lineaBase = new LineaBase();
+        for (ResultadoEscenario r : resultados) {
+            lineaBase.entradas.put(r.escenario, new Entrada(r.escenario, r.getInstruccionesPorSegundo(),
+                    r.getTicksPorSegundo(), r.getBytesAsignadosPorSegundo(), r.heapPicoBytes));
+        }
+        return lineaBase;
+    }
+
+    public Entrada getEntrada(String escenario) {
+        return entradas.get(escenario);
+    }
+
+    // ========== ARCHIVO ==========
+
+    public static LineaBase cargar(Path archivo) throws IOException {
+        LineaBase lineaBase = new LineaBase();
+        int numero = 0;
+        for (String linea : Files.readAllLines(archivo, StandardCharsets.UTF_8)) {
+            numero++;
+            linea = linea.trim();
+            if (linea.isEmpty() || linea.startsWith("#")) {
+                continue;
+            }
+            String[] campos = linea.split(";");
+            if (campos.length != 5) {
+                throw new IOException(archivo + ":" + numero + ": se esperaban 5 campos y hay " + campos.length);
+            }
+            try {
+                lineaBase.entradas.put(campos[0], new Entrada(campos[0], Double.parseDouble(campos[1]),
+                        Double.parseDouble(campos[2]), Double.parseDouble(campos[3]), Long.parseLong(campos[4])));
+            } catch (NumberFormatException e) {
+                throw new IOException(archivo + ":" + numero + ": número inválido (" + e.getMessage() + ")");
+            }
+        }
+        return lineaBase;
+    }
+
+    public void guardar(Path archivo) throws IOException {
+        try (BufferedWriter salida = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+            salida.write(CABECERA);
+            salida.newLine();
+            for (Entrada e : entradas.values()) {
+                salida.write(String.format(Locale.ROOT, "%s;%.1f;%.1f;%.1f;%d", e.escenario,
+                        e.instruccionesPorSegundo, e.ticksPorSegundo, e.bytesAsignadosPorSegundo, e.heapPicoBytes));
+                salida.newLine();
+            }
+        }
+        System.out.println("[LINEA BASE] " + entradas.size() + " escenarios guardados en " + archivo);
+    }
+
+    // ========== COMPARACIÓN ==========
+
+    /**
+     * Escenarios cuyo rendimiento cayó más que el umbral respecto a la línea base
+     *
+     * @param umbral caída relativa tolerada (0.10 = 10%)
+     * @return una descripción por regresión; vacía si no hay ninguna
+     */
+    public List<String> buscarRegresiones(List<ResultadoEscenario> resultados, double umbral) {
+        if (umbral < 0 || umbral >= 1) {
+            throw new IllegalArgumentException("El umbral debe estar entre 0 y 1");
+        }
+        List<String> regresiones = new ArrayList<>();
+        for (ResultadoEscenario r : resultados) {
+            Entrada base = entradas.get(r.escenario);
+            if (!r.completo) {
+                regresiones.add(r.escenario + ": no terminó dentro del tope de ticks");
+            }
+            if (base == null) {
+                continue;
+            }
+            revisar(regresiones, r.escenario, "instr/s", r.getInstruccionesPorSegundo(), base.instruccionesPorSegundo, umbral);
+            revisar(regresiones, r.escenario, "ticks/s", r.getTicksPorSegundo(), base.ticksPorSegundo, umbral);
+        }
+        return regresiones;
+    }
+
+    private static void revisar(List<String> regresiones, String escenario, String medida,
+                                double actual, double base, double umbral) {
+        if (base > 0 && actual < base * (1 - umbral)) {
+            regresiones.add(String.format("%s: %s bajó %.1f%% (%.0f -> %.0f, tolerado %.0f%%)",
+                    escenario, medida, 100 * (1 - actual / base), base, actual, 100 * umbral));
+        }
+    }
+
+    /**
+     * Tabla con el cambio relativo de cada medida respecto a la línea base
+     */
+    public String generarComparacion(List<ResultadoEscenario> resultados) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-16s %14s %14s %14s %14s\n", "Escenario", "instr/s", "ticks/s", "asignado/s", "heap pico"));
+        for (ResultadoEscenario r : resultados) {
+            Entrada base = entradas.get(r.escenario);
+            sb.append(String.format("%-16s %14s %14s %14s %14s\n", r.escenario,
+                    cambio(r.getInstruccionesPorSegundo(), base == null ? 0 : base.instruccionesPorSegundo),
+                    cambio(r.getTicksPorSegundo(), base == null ? 0 : base.ticksPorSegundo),
+                    cambio(r.getBytesAsignadosPorSegundo(), base == null ? 0 : base.bytesAsignadosPorSegundo),
+                    cambio(r.heapPicoBytes, base == null ? 0 : base.heapPicoBytes)));
+        }
+        return sb.toString();
+    }
+
+    private static String cambio(double actual, double base) {
+        if (base <= 0 || actual < 0) {
+            return "(sin base)";
+        }
+        return String.format("%+.1f%%", 100 * (actual / base - 1));
+    }
+}
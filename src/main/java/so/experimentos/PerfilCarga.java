@@ -0,0 +1,92 @@
+package so.experimentos;
+
+/**
+ * Parámetros de una carga sintética (ver GeneradorCargas). Se crea con
+ * valores por defecto y se ajustan los campos necesarios:
+ *
+ *   PerfilCarga perfil = new PerfilCarga();
+ *   perfil.densidadCiclos = 0.4;
+ *   perfil.llegadas = PerfilCarga.DistribucionLlegadas.POISSON;
+ *
+ * @author dylan
+ */
+public class PerfilCarga {
+
+    public enum DistribucionLongitud {
+        /** Cualquier longitud del rango con la misma probabilidad */
+        UNIFORME,
+        /** Normal centrada en el medio del rango (desviación de un sexto del rango) */
+        NORMAL,
+        /** Pareto: muchos programas cortos y pocos muy largos */
+        PARETO
+    }
+
+    public enum DistribucionLlegadas {
+        /** Todos los programas llegan en el tick 0 */
+        SIMULTANEA,
+        /** Llegadas uniformes en [0, cantidad * intervaloLlegadas) */
+        UNIFORME,
+        /** Tiempos entre llegadas exponenciales de media intervaloLlegadas */
+        POISSON,
+        /** Grupos de tamanoRafaga programas separados por tamanoRafaga * intervaloLlegadas */
+        RAFAGAS
+    }
+
+    // ========== LONGITUD ==========
+    /** Instrucciones por programa, contando el INT 20H final (sin contar iteraciones) */
+    public int minInstrucciones = 5;
+    public int maxInstrucciones = 40;
+    public DistribucionLongitud longitud = DistribucionLongitud.UNIFORME;
+
+    // ========== CONTENIDO ==========
+    /** Probabilidad de que cada bloque del programa sea un ciclo DEC/CMP/JNE */
+    public double densidadCiclos = 0.1;
+    public int minIteraciones = 5;
+    public int maxIteraciones = 50;
+    /** Probabilidad de que cada bloque sea un INT 10H */
+    public double frecuenciaInterrupciones = 0.05;
+    /** Probabilidad de que cada bloque use la pila (PUSH/POP o PARAM/POP) */
+    public double usoPila = 0.1;
+
+    // ========== LLEGADAS ==========
+    public DistribucionLlegadas llegadas = DistribucionLlegadas.SIMULTANEA;
+    /** Ticks medios entre llegadas */
+    public double intervaloLlegadas = 10;
+    public int tamanoRafaga = 5;
+
+    /**
+     * Verifica que los parámetros sean coherentes
+     *
+     * @throws IllegalArgumentException si alguno está fuera de rango
+     */
+    public void validar() {
+        if (minInstrucciones < 1 || maxInstrucciones < minInstrucciones) {
+            throw new IllegalArgumentException("Rango de instrucciones inválido: " + minInstrucciones + "-" + maxInstrucciones);
+        }
+        if (minIteraciones < 1 || maxIteraciones < minIteraciones) {
+            throw new IllegalArgumentException("Rango de iteraciones inválido: " + minIteraciones + "-" + maxIteraciones);
+        }
+        validarProbabilidad("densidadCiclos", densidadCiclos);
+        validarProbabilidad("frecuenciaInterrupciones", frecuenciaInterrupciones);
+        validarProbabilidad("usoPila", usoPila);
+        if (longitud == null || llegadas == null) {
+            throw new IllegalArgumentException("Faltan las distribuciones de longitud o de llegadas");
+        }
+        if (intervaloLlegadas < 0 || tamanoRafaga < 1) {
+            throw new IllegalArgumentException("Intervalo de llegadas o tamaño de ráfaga inválido");
+        }
+    }
+
+    private static void validarProbabilidad(String nombre, double valor) {
+        if (valor < 0 || valor > 1) {
+            throw new IllegalArgumentException(nombre + " debe estar entre 0 y 1: " + valor);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("longitud=%s[%d-%d] ciclos=%.2f[%d-%d] int10=%.2f pila=%.2f llegadas=%s(%.1f)",
+                longitud, minInstrucciones, maxInstrucciones, densidadCiclos, minIteraciones, maxIteraciones,
+                frecuenciaInterrupciones, usoPila, llegadas, intervaloLlegadas);
+    }
+}
@@ -0,0 +1,131 @@
+package so.experimentos;
+
+import java.util.Arrays;
+
+/**
+ * Perfil de ráfagas de un proceso grabado con GrabadorRafagas: qué
+ * instrucciones retiró, en orden, y cómo terminó.
+ *
+ * El recorrido del PC se guarda como tramos de instrucciones consecutivas
+ * (inicio, longitud); un salto abre un tramo nuevo, así que un programa sin
+ * ciclos ocupa un solo tramo sin importar su tamaño. Los programas no piden
+ * E/S ni se bloquean, así que la única ráfaga de CPU de cada proceso es su
+ * recorrido completo; el planificador decide cómo se reparte en el tiempo.
+ *
+ * @author dylan
+ */
+public class PerfilRafagas {
+
+    public final String nombre;
+    /** Tick de llegada, relativo al inicio de la grabación (0 = ya estaba pendiente) */
+    public final long llegada;
+    /** Instrucciones válidas del programa (tamaño del proceso) */
+    public final int tamano;
+    /** Primer PC de cada tramo */
+    public final int[] inicios;
+    /** Instrucciones retiradas en cada tramo */
+    public final int[] longitudes;
+    /** PC del proceso al finalizar */
+    public final int pcFinal;
+    /**
+     * true si terminó al retirar su última instrucción (INT 20H o error);
+     * false si terminó en un tick extra sin instrucción, al pasar el PC del final
+     */
+    public final boolean terminaConInstruccion;
+    /** Total de instrucciones retiradas */
+    public final long instrucciones;
+
+    public PerfilRafagas(String nombre, long llegada, int tamano, int[] inicios, int[] longitudes,
+                         int pcFinal, boolean terminaConInstruccion) {
+        if (inicios.length != longitudes.length || inicios.length == 0) {
+            throw new IllegalArgumentException("Perfil de " + nombre + " sin tramos o con tramos incompletos");
+        }
+        if (tamano < 1 || llegada < 0) {
+            throw new IllegalArgumentException("Perfil de " + nombre + " con tamaño o llegada inválidos");
+        }
+        long total = 0;
+        for (int i = 0; i < inicios.length; i++) {
+            if (longitudes[i] < 1 || inicios[i] < 0 || inicios[i] + longitudes[i] > tamano) {
+                throw new IllegalArgumentException("Tramo inválido en el perfil de " + nombre + ": "
+                        + inicios[i] + "+" + longitudes[i] + " con tamaño " + tamano);
+            }
+            total += longitudes[i];
+        }
+        if (terminaConInstruccion ? pcFinal >= tamano : pcFinal < tamano) {
+            throw new IllegalArgumentException("PC final " + pcFinal + " incoherente con el fin del perfil de " + nombre);
+        }
+        this.nombre = nombre;
+        this.llegada = llegada;
+        this.tamano = tamano;
+        this.inicios = inicios;
+        this.longitudes = longitudes;
+        this.pcFinal = pcFinal;
+        this.terminaConInstruccion = terminaConInstruccion;
+        this.instrucciones = total;
+    }
+
+    /**
+     * Ticks de CPU que necesita el proceso (las instrucciones más el tick
+     * final sin instrucción, si lo tiene)
+     */
+    public long getTicksCPU() {
+        return terminaConInstruccion ? instrucciones : instrucciones + 1;
+    }
+
+    /**
+     * Copia del perfil con otra llegada
+     */
+    public PerfilRafagas conLlegada(long nuevaLlegada) {
+        return new PerfilRafagas(nombre, nuevaLlegada, tamano, inicios, longitudes, pcFinal, terminaConInstruccion);
+    }
+
+    // ========== CONSTRUCCIÓN ==========
+
+    /**
+     * Arma el recorrido del PC tramo a tramo a medida que se retiran instrucciones
+     */
+    static class Constructor {
+
+        final String nombre;
+        final long llegada;
+        final int tamano;
+        private int[] inicios = new int[4];
+        private int[] longitudes = new int[4];
+        private int tramos;
+
+        Constructor(String nombre, long llegada, int tamano) {
+            this.nombre = nombre;
+            this.llegada = llegada;
+            this.tamano = tamano;
+        }
+
+        void retirar(int pc) {
+            if (tramos > 0 && inicios[tramos - 1] + longitudes[tramos - 1] == pc) {
+                longitudes[tramos - 1]++;
+                return;
+            }
+            if (tramos == inicios.length) {
+                inicios = Arrays.copyOf(inicios, tramos * 2);
+                longitudes = Arrays.copyOf(longitudes, tramos * 2);
+            }
+            inicios[tramos] = pc;
+            longitudes[tramos] = 1;
+            tramos++;
+        }
+
+        boolean vacio() {
+            return tramos == 0;
+        }
+
+        PerfilRafagas terminar(int pcFinal) {
+            return new PerfilRafagas(nombre, llegada, tamano, Arrays.copyOf(inicios, tramos),
+                    Arrays.copyOf(longitudes, tramos), pcFinal, pcFinal < tamano);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (llegada %d, %d instrucciones en %d tramos de %d)",
+                nombre, llegada, instrucciones, inicios.length, tamano);
+    }
+}
@@ -0,0 +1,159 @@
+package so.experimentos;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resultado de AfinadorConfiguracion: la configuración recomendada y la
+ * evidencia de la elección (cada ronda de la búsqueda, el ranking con la
+ * carga completa y la comparación con la configuración base).
+ *
+ * @author dylan
+ */
+public class RecomendacionAfinador {
+
+    private static final int MAX_RANKING = 5;
+
+    public final AfinadorConfiguracion.Objetivo objetivo;
+    public final String espacio;
+    public final int cantidadProgramas;
+    public final long[] semillas;
+
+    public final AfinadorConfiguracion.Evaluacion mejor;
+    public final AfinadorConfiguracion.Evaluacion base;
+    /** Configuraciones evaluadas con la carga completa, de mejor a peor */
+    public final List<AfinadorConfiguracion.Evaluacion> ranking;
+    /** Todas las evaluaciones en el orden en que se hicieron */
+    public final List<AfinadorConfiguracion.Evaluacion> historial;
+    public final long nanos;
+
+    public RecomendacionAfinador(AfinadorConfiguracion afinador, AfinadorConfiguracion.Evaluacion mejor,
+                                 AfinadorConfiguracion.Evaluacion base, List<AfinadorConfiguracion.Evaluacion> ranking,
+                                 List<AfinadorConfiguracion.Evaluacion> historial, long nanos) {
+        this.objetivo = afinador.objetivo;
+        this.espacio = afinador.describirEspacio();
+        this.cantidadProgramas = afinador.cantidadProgramas;
+        this.semillas = afinador.semillas.clone();
+        this.mejor = mejor;
+        this.base = base;
+        this.ranking = ranking;
+        this.historial = historial;
+        this.nanos = nanos;
+    }
+
+    public boolean hayRecomendacion() {
+        return mejor.isValida();
+    }
+
+    /**
+     * Mejora relativa de la recomendada sobre la base, en el sentido del
+     * objetivo (positiva = mejor); NaN si alguna de las dos no es válida
+     */
+    public double getMejoraSobreBase() {
+        if (!mejor.isValida() || !base.isValida() || base.valor == 0) {
+            return Double.NaN;
+        }
+        double mejora = (base.valor - mejor.valor) / base.valor;
+        return objetivo.maximizar ? -mejora : mejora;
+    }
+
+    private int getTotalCorridas() {
+        int corridas = 0;
+        for (AfinadorConfiguracion.Evaluacion evaluacion : historial) {
+            corridas += evaluacion.resultados.size();
+        }
+        return corridas;
+    }
+
+    // ========== REPORTE ==========
+
+    public String generarReporte() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== AFINADOR DE CONFIGURACIÓN ===\n");
+        sb.append("Objetivo: ").append(objetivo.getVerbo()).append(' ').append(objetivo.descripcion).append('\n');
+        sb.append("Espacio: ").append(espacio).append('\n');
+        sb.append(String.format("Carga: %d programas x %d semillas%n", cantidadProgramas, semillas.length));
+        sb.append(String.format("Búsqueda: %d evaluaciones, %d corridas en %.1f s%n%n",
+                historial.size(), getTotalCorridas(), nanos / 1e9));
+
+        sb.append("--- Etapas ---\n");
+        sb.append(String.format("%-14s %8s %10s %8s  %s%n", "etapa", "configs", "programas", "válidas", "mejor"));
+        Map<String, int[]> conteos = new LinkedHashMap<>();
+        Map<String, AfinadorConfiguracion.Evaluacion> mejores = new LinkedHashMap<>();
+        for (AfinadorConfiguracion.Evaluacion evaluacion : historial) {
+            int[] conteo = conteos.computeIfAbsent(evaluacion.etapa, e -> new int[3]);
+            conteo[0]++;
+            conteo[1] = evaluacion.programas;
+            conteo[2] += evaluacion.isValida() ? 1 : 0;
+            mejores.merge(evaluacion.etapa, evaluacion,
+                    (a, b) -> objetivo.comparador().compare(a, b) <= 0 ? a : b);
+        }
+        for (Map.Entry<String, int[]> etapa : conteos.entrySet()) {
+            int[] conteo = etapa.getValue();
+            sb.append(String.format("%-14s %8d %10d %8d  %s%n", etapa.getKey(), conteo[0], conteo[1], conteo[2],
+                    mejores.get(etapa.getKey())));
+        }
+
+        sb.append("\n--- Recomendación ---\n");
+        if (!hayRecomendacion()) {
+            sb.append("Ninguna configuración terminó la carga completa con todas las semillas\n");
+            return sb.toString();
+        }
+        sb.append(mejor.configuracion).append('\n');
+        sb.append(String.format("  %s: %.2f ± %.2f  (por semilla: %s)%n", objetivo.descripcion, mejor.valor,
+                mejor.desviacion, valoresPorSemilla(mejor)));
+        if (base.isValida()) {
+            sb.append(String.format("  base (%s): %.2f ± %.2f  -> %+.1f%% %s%n", base.configuracion, base.valor,
+                    base.desviacion, getMejoraSobreBase() * 100, getMejoraSobreBase() >= 0 ? "mejor" : "peor"));
+        } else {
+            sb.append("  base (").append(base.configuracion).append("): no terminó la carga\n");
+        }
+        sb.append(String.format("  retorno prom %.1f, espera prom %.1f, respuesta p99 %.1f, %.2f procesos/1000 ticks, %.0f ticks%n",
+                mejor.promedio(AfinadorConfiguracion.Objetivo.RETORNO_PROMEDIO),
+                mejor.promedio(AfinadorConfiguracion.Objetivo.ESPERA_PROMEDIO),
+                mejor.promedio(AfinadorConfiguracion.Objetivo.RESPUESTA_P99),
+                mejor.promedio(AfinadorConfiguracion.Objetivo.RENDIMIENTO),
+                mejor.promedio(AfinadorConfiguracion.Objetivo.TICKS_TOTALES)));
+
+        sb.append("\n--- Mejores con la carga completa ---\n");
+        for (int i = 0; i < Math.min(MAX_RANKING, ranking.size()); i++) {
+            sb.append(String.format("%2d. %s  (%s)%n", i + 1, ranking.get(i), ranking.get(i).etapa));
+        }
+        return sb.toString();
+    }
+
+    private String valoresPorSemilla(AfinadorConfiguracion.Evaluacion evaluacion) {
+        StringBuilder sb = new StringBuilder();
+        for (ResultadoBarrido resultado : evaluacion.resultados) {
+            sb.append(sb.length() == 0 ? "" : ", ")
+              .append(String.format(Locale.ROOT, "%.1f", objetivo.valor(resultado)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Todas las corridas de la búsqueda (etapa, tamaño de carga y las
+     * columnas de ResultadoBarrido)
+     */
+    public void escribirCSV(Path archivo) throws IOException {
+        try (BufferedWriter escritor = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+            escritor.write("etapa,programas,objetivo," + ResultadoBarrido.CABECERA_CSV);
+            escritor.newLine();
+            for (AfinadorConfiguracion.Evaluacion evaluacion : historial) {
+                for (ResultadoBarrido resultado : evaluacion.resultados) {
+                    escritor.write(String.format(Locale.ROOT, "%s,%d,%.4f,%s", evaluacion.etapa, evaluacion.programas,
+                            objetivo.valor(resultado), resultado.aCSV()));
+                    escritor.newLine();
+                }
+            }
+        }
+        System.out.println("[AFINADOR] Corridas escritas en " + archivo);
+    }
+}
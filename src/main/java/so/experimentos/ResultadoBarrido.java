@@ -0,0 +1,117 @@
+package so.experimentos;
+
+import java.util.Locale;
+
+/**
+ * Métricas de un punto de un barrido de parámetros (una fila del CSV).
+ *
+ * Los tiempos de retorno, espera y respuesta están en ticks lógicos (ver
+ * AgregadorMetricas); la utilización es el promedio de todos los CPUs.
+ *
+ * @author dylan
+ */
+public class ResultadoBarrido {
+
+    public static final String CABECERA_CSV = "punto,cpus,planificadores,quantum,estrategia,particion,memoriaUsuario,semilla,"
+            + "ticks,instrucciones,finalizados,completo,retornoPromedio,retornoP99,esperaPromedio,esperaP99,"
+            + "respuestaPromedio,respuestaP99,utilizacion,cambiosContexto,desalojos,asignacionesFallidas,ms,error";
+
+    public final BarridoParametros.Punto punto;
+
+    public final long ticks;
+    public final long instrucciones;
+    public final long procesosFinalizados;
+    /** false si se alcanzó el tope de ticks o algún programa se descartó sin terminar */
+    public final boolean completo;
+
+    public final double retornoPromedio;
+    public final long retornoP99;
+    public final double esperaPromedio;
+    public final long esperaP99;
+    public final double respuestaPromedio;
+    public final long respuestaP99;
+    public final double utilizacion;
+
+    public final long cambiosContexto;
+    public final long desalojos;
+    public final long asignacionesFallidas;
+    public final long nanos;
+
+    /** Mensaje de la excepción si el punto no se pudo ejecutar, null si terminó normalmente */
+    public final String error;
+
+    public ResultadoBarrido(BarridoParametros.Punto punto, long ticks, long instrucciones, long procesosFinalizados,
+                            boolean completo, double retornoPromedio, long retornoP99, double esperaPromedio,
+                            long esperaP99, double respuestaPromedio, long respuestaP99, double utilizacion,
+                            long cambiosContexto, long desalojos, long asignacionesFallidas, long nanos) {
+        this.punto = punto;
+        this.ticks = ticks;
+        this.instrucciones = instrucciones;
+        this.procesosFinalizados = procesosFinalizados;
+        this.completo = completo;
+        this.retornoPromedio = retornoPromedio;
+        this.retornoP99 = retornoP99;
+        this.esperaPromedio = esperaPromedio;
+        this.esperaP99 = esperaP99;
+        this.respuestaPromedio = respuestaPromedio;
+        this.respuestaP99 = respuestaP99;
+        this.utilizacion = utilizacion;
+        this.cambiosContexto = cambiosContexto;
+        this.desalojos = desalojos;
+        this.asignacionesFallidas = asignacionesFallidas;
+        this.nanos = nanos;
+        this.error = null;
+    }
+
+    /**
+     * Resultado de un punto que falló al crearse o ejecutarse
+     */
+    public ResultadoBarrido(BarridoParametros.Punto punto, String error, long nanos) {
+        this.punto = punto;
+        this.ticks = 0;
+        this.instrucciones = 0;
+        this.procesosFinalizados = 0;
+        this.completo = false;
+        this.retornoPromedio = 0;
+        this.retornoP99 = 0;
+        this.esperaPromedio = 0;
+        this.esperaP99 = 0;
+        this.respuestaPromedio = 0;
+        this.respuestaP99 = 0;
+        this.utilizacion = 0;
+        this.cambiosContexto = 0;
+        this.desalojos = 0;
+        this.asignacionesFallidas = 0;
+        this.nanos = nanos;
+        this.error = error == null ? "error" : error;
+    }
+
+    public boolean isFallido() {
+        return error != null;
+    }
+
+    /**
+     * Fila del CSV en el orden de CABECERA_CSV
+     */
+    public String aCSV() {
+        Escenario escenario = punto.escenario;
+        return String.format(Locale.ROOT,
+                "%d,%d,%s,%d,%s,%d,%d,%d,%d,%d,%d,%b,%.2f,%d,%.2f,%d,%.2f,%d,%.4f,%d,%d,%d,%.1f,%s",
+                punto.indice, escenario.cantidadCPUs, String.join("+", escenario.planificadores), punto.quantum,
+                escenario.estrategia, punto.tamanoParticion, escenario.tamanoMemoriaUsuario, escenario.semilla,
+                ticks, instrucciones, procesosFinalizados, completo,
+                retornoPromedio, retornoP99, esperaPromedio, esperaP99, respuestaPromedio, respuestaP99,
+                utilizacion, cambiosContexto, desalojos, asignacionesFallidas, nanos / 1e6,
+                error == null ? "" : "\"" + error.replace("\"", "'").replace('\n', ' ') + "\"");
+    }
+
+    @Override
+    public String toString() {
+        if (isFallido()) {
+            return String.format("#%-4d %s  ERROR %s", punto.indice, punto, error);
+        }
+        return String.format("#%-4d %s  %7d ticks  retorno %.1f (p99 %d)  espera %.1f  util %.0f%%  %.0f ms%s",
+                punto.indice, punto, ticks, retornoPromedio, retornoP99, esperaPromedio, utilizacion * 100,
+                nanos / 1e6, completo ? "" : "  INCOMPLETO");
+    }
+}
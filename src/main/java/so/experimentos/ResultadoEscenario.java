@@ -0,0 +1,57 @@
+package so.experimentos;
+
+/**
+ * Medición de una ejecución completa de un escenario
+ *
+ * @author dylan
+ */
+public class ResultadoEscenario {
+
+    public final String escenario;
+    public final long ticks;
+    public final long instrucciones;
+    public final long procesosFinalizados;
+    public final long nanos;
+    /** Bytes asignados en el heap por el hilo que ejecutó el escenario (-1 si la JVM no lo informa) */
+    public final long bytesAsignados;
+    /** Suma del pico de uso de los pools del heap durante la ejecución */
+    public final long heapPicoBytes;
+    /** false si se alcanzó el tope de ticks con procesos sin terminar */
+    public final boolean completo;
+
+    public ResultadoEscenario(String escenario, long ticks, long instrucciones, long procesosFinalizados,
+                              long nanos, long bytesAsignados, long heapPicoBytes, boolean completo) {
+        this.escenario = escenario;
+        this.ticks = ticks;
+        this.instrucciones = instrucciones;
+        this.procesosFinalizados = procesosFinalizados;
+        this.nanos = nanos;
+        this.bytesAsignados = bytesAsignados;
+        this.heapPicoBytes = heapPicoBytes;
+        this.completo = completo;
+    }
+
+    private double porSegundo(long cantidad) {
+        return nanos == 0 ? 0 : cantidad * 1e9 / nanos;
+    }
+
+    public double getInstruccionesPorSegundo() {
+        return porSegundo(instrucciones);
+    }
+
+    public double getTicksPorSegundo() {
+        return porSegundo(ticks);
+    }
+
+    public double getBytesAsignadosPorSegundo() {
+        return bytesAsignados < 0 ? -1 : porSegundo(bytesAsignados);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-16s %8d ticks %10d instr %7.1f ms  %12.0f instr/s %10.0f ticks/s %8.1f MB/s  heap pico %6.1f MB%s",
+                escenario, ticks, instrucciones, nanos / 1e6, getInstruccionesPorSegundo(), getTicksPorSegundo(),
+                getBytesAsignadosPorSegundo() / (1 << 20), heapPicoBytes / (double) (1 << 20),
+                completo ? "" : "  INCOMPLETO");
+    }
+}
@@ -0,0 +1,150 @@
+package so.experimentos;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * PrintStream que descarta todo sin tomar el candado del flujo.
+ *
+ * Un PrintStream sobre OutputStream.nullOutputStream() también descarta la
+ * salida, pero cada println sincroniza sobre el flujo y codifica el texto:
+ * con varios motores imprimiendo en paralelo los hilos terminan haciendo
+ * fila en ese flujo. Aquí cada método vuelve de inmediato.
+ *
+ * Las herramientas se lo pasan a cada motor que crean como destino de sus
+ * logs (y de su memoria, su estrategia y sus planificadores), así que
+ * System.out y System.err siguen siendo de quien los tenga, por ejemplo la
+ * consola de la ventana principal.
+ *
+ * @author dylan
+ */
+final class SalidaNula extends PrintStream {
+
+    static final SalidaNula INSTANCIA = new SalidaNula();
+
+    private SalidaNula() {
+        super(OutputStream.nullOutputStream());
+    }
+
+    // ========== ESCRITURA ==========
+
+    @Override
+    public void write(int b) {
+    }
+
+    @Override
+    public void write(byte[] buf, int off, int len) {
+    }
+
+    @Override
+    public void write(byte[] buf) {
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public boolean checkError() {
+        return false;
+    }
+
+    // ========== PRINT / PRINTLN ==========
+
+    @Override
+    public void print(boolean b) {
+    }
+
+    @Override
+    public void print(char c) {
+    }
+
+    @Override
+    public void print(int i) {
+    }
+
+    @Override
+    public void print(long l) {
+    }
+
+    @Override
+    public void print(double d) {
+    }
+
+    @Override
+    public void print(String s) {
+    }
+
+    @Override
+    public void print(Object obj) {
+    }
+
+    @Override
+    public void println() {
+    }
+
+    @Override
+    public void println(boolean x) {
+    }
+
+    @Override
+    public void println(char x) {
+    }
+
+    @Override
+    public void println(int x) {
+    }
+
+    @Override
+    public void println(long x) {
+    }
+
+    @Override
+    public void println(double x) {
+    }
+
+    @Override
+    public void println(String x) {
+    }
+
+    @Override
+    public void println(Object x) {
+    }
+
+    // ========== FORMATO ==========
+
+    @Override
+    public PrintStream printf(String format, Object... args) {
+        return this;
+    }
+
+    @Override
+    public PrintStream printf(Locale l, String format, Object... args) {
+        return this;
+    }
+
+    @Override
+    public PrintStream format(String format, Object... args) {
+        return this;
+    }
+
+    @Override
+    public PrintStream format(Locale l, String format, Object... args) {
+        return this;
+    }
+
+    @Override
+    public PrintStream append(CharSequence csq) {
+        return this;
+    }
+
+    @Override
+    public PrintStream append(char c) {
+        return this;
+    }
+}
@@ -0,0 +1,671 @@
+package so.experimentos;
+
+import so.estadisticas.HistogramaLog;
+import so.gestordeprocesos.BCP;
+import so.gestordeprocesos.EstadoProceso;
+import so.instrucciones.Instruccion;
+import so.main.SistemaOperativoV2;
+import so.memoria.MemoriaPrincipalV2;
+import so.memoria.estrategias.IEstrategiaParticionamiento;
+import so.planificacion.FabricaPlanificadores;
+import so.planificacion.IPlanificador;
+import so.reproduccion.FuenteEntradasSistema;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Reproduce una traza de ráfagas (GrabadorRafagas) con cualquier
+ * IPlanificador y cualquier cantidad de CPUs sin interpretar instrucciones.
+ *
+ * El ciclo es el mismo que el del motor: admisión con el límite de 5
+ * procesos por CPU y de BCPs, memoria principal y estrategia reales (se
+ * reserva el tamaño de cada programa), el planificador de un CPU se consulta
+ * solo cuando está libre, desalojos y tiempo de espera de los listos. Lo
+ * único que cambia es que, en vez de ejecutar la instrucción, el PC avanza
+ * al siguiente valor grabado. Las métricas siguen las definiciones de
+ * AgregadorMetricas, así que el resultado coincide con el del motor completo
+ * (salvo HRRN, que usa la hora real).
+ *
+ * Cuando todas las CPUs están ocupadas, no hay admisiones posibles y ninguna
+ * llegada ni finalización cae en los próximos ticks, ningún planificador se
+ * consulta: esos ticks se avanzan en bloque en O(CPUs + listos).
+ *
+ * La simulación sigue siendo tick a tick fuera de esos bloques, y en cada
+ * tick corren la memoria, la estrategia y los planificadores reales, así
+ * que la ganancia frente al motor completo es modesta: con las cargas de
+ * referencia, --verificar mide entre 4 y 10 veces menos tiempo (más con
+ * menos CPUs), no órdenes de magnitud. Lo que aporta es poder probar
+ * planificadores y cantidades de CPUs sobre la misma traza con resultados
+ * idénticos a los del motor.
+ *
+ * Uso desde la línea de comandos:
+ *
+ *   java -cp sistemaoperativo.jar so.experimentos.SimuladorRafagas
+ *        [--carga escenario | --directorio dir | --traza archivo] [--guardar archivo]
+ *        [--cpus 1,2,4] [--planificadores FIFO,SJF,SRT,HRRN,RR] [--repetir n]
+ *        [--periodo ticks] [--max-ticks n] [--verificar]
+ *
+ * @author dylan
+ */
+public class SimuladorRafagas {
+
+    public final TrazaRafagas traza;
+    public final int cantidadCPUs;
+
+    /** Tope de ticks de cada simulación */
+    public long maxTicks = 100_000_000;
+
+    /** Perfiles en orden de llegada (estable respecto al orden de la traza) */
+    private final PerfilRafagas[] perfiles;
+
+    public SimuladorRafagas(TrazaRafagas traza, int cantidadCPUs) {
+        if (traza.getCantidad() == 0) {
+            throw new IllegalArgumentException("La traza a simular está vacía");
+        }
+        if (cantidadCPUs < 1) {
+            throw new IllegalArgumentException("Debe haber al menos 1 CPU");
+        }
+        this.traza = traza;
+        this.cantidadCPUs = cantidadCPUs;
+        List<PerfilRafagas> ordenados = new ArrayList<>(traza.getPerfiles());
+        ordenados.sort(Comparator.comparingLong(p -> p.llegada));
+        this.perfiles = ordenados.toArray(new PerfilRafagas[0]);
+    }
+
+    // ========== SIMULACIÓN ==========
+
+    /**
+     * Simula la traza con cada especificación, todas en paralelo
+     *
+     * @param planificadores especificación de cada simulación (ver
+     *                       FabricaPlanificadores; con "+" se asigna un
+     *                       planificador distinto a cada CPU)
+     * @return un resultado por especificación, en el mismo orden
+     */
+    public List<ResultadoBarrido> simular(String... planificadores) {
+        if (planificadores.length == 0) {
+            throw new IllegalArgumentException("Se necesita al menos un planificador");
+        }
+        List<Callable<ResultadoBarrido>> tareas = new ArrayList<>();
+        for (int i = 0; i < planificadores.length; i++) {
+            int indice = i;
+            String[] porCPU = ComparadorPlanificadores.porCPU(planificadores[i], cantidadCPUs);
+            tareas.add(() -> ejecutar(indice, porCPU, silenciar(FabricaPlanificadores.crear(porCPU))));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(planificadores.length);
+        try {
+            List<ResultadoBarrido> resultados = new ArrayList<>();
+            for (Future<ResultadoBarrido> futuro : pool.invokeAll(tareas)) {
+                resultados.add(futuro.get());
+            }
+            return resultados;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulación interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló una simulación: " + e.getCause(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static IPlanificador[] silenciar(IPlanificador[] planificadores) {
+        for (IPlanificador planificador : planificadores) {
+            planificador.setSalidaLog(SalidaNula.INSTANCIA);
+        }
+        return planificadores;
+    }
+
+    /**
+     * Simula la traza con planificadores ya creados, uno por CPU (los
+     * planificadores imprimen su actividad donde indique su setSalidaLog:
+     * quien llama decide si silenciarla)
+     */
+    public ResultadoBarrido ejecutar(IPlanificador... planificadores) {
+        if (planificadores.length != cantidadCPUs) {
+            throw new IllegalArgumentException("Se esperaban " + cantidadCPUs + " planificadores y llegaron "
+                    + planificadores.length);
+        }
+        String[] nombres = Arrays.stream(planificadores).map(IPlanificador::getNombre).toArray(String[]::new);
+        return ejecutar(0, nombres, planificadores);
+    }
+
+    private ResultadoBarrido ejecutar(int indice, String[] nombres, IPlanificador[] planificadores) {
+        BarridoParametros.Punto punto = ComparadorPlanificadores.crearPunto("rafagas-" + indice, indice, nombres,
+                traza.estrategia, traza.configEstrategia, traza.tamanoMemoriaUsuario, perfiles.length, 1, maxTicks);
+        long inicio = System.nanoTime();
+        try {
+            Corrida corrida = new Corrida(planificadores);
+            corrida.ejecutar();
+            return corrida.resultado(punto, System.nanoTime() - inicio);
+        } catch (RuntimeException e) {
+            return new ResultadoBarrido(punto, e.toString(), System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Estado de una simulación: lo que el motor guarda en SistemaOperativoV2,
+     * reducido a lo que influye en la planificación
+     */
+    private class Corrida {
+
+        private final IPlanificador[] planificadores;
+        private final MemoriaPrincipalV2 memoria;
+        private final int[] cpuProcesoActual;
+        private final int[] procesosPorCPU;
+        private final ArrayDeque<Integer> pendientes = new ArrayDeque<>();
+        private int siguienteLlegada;
+        private long tickActual;
+        /** Ticks de espera que todavía no se sumaron a los listos (ver aplicarEspera) */
+        private long esperaPorAplicar;
+
+        // Estado de cada BCP: perfil que ejecuta y posición dentro de sus tramos
+        private final PerfilRafagas[] perfilBCP;
+        private final int[] tramo;
+        private final int[] desplazamiento;
+        private final long[] retiradas;
+        private final long[] tickAdmision;
+        private final boolean[] despachado;
+
+        // Métricas (mismas definiciones que AgregadorMetricas y ContadoresMotor)
+        private final HistogramaLog retorno = new HistogramaLog();
+        private final HistogramaLog espera = new HistogramaLog();
+        private final HistogramaLog respuesta = new HistogramaLog();
+        private final long[] ticksOcupados;
+        private long instrucciones;
+        private long finalizados;
+        private long cambiosContexto;
+        private long desalojos;
+        private long asignacionesFallidas;
+
+        Corrida(IPlanificador[] planificadores) {
+            this.planificadores = planificadores;
+            IEstrategiaParticionamiento estrategia = SistemaOperativoV2.crearEstrategiaMemoria(traza.estrategia,
+                    traza.configEstrategia);
+            estrategia.setSalidaLog(SalidaNula.INSTANCIA);
+            this.memoria = new MemoriaPrincipalV2(estrategia, traza.tamanoMemoriaUsuario, SalidaNula.INSTANCIA);
+            FuenteEntradasSistema fuente = new FuenteEntradasSistema(new Random(1));
+            for (IPlanificador planificador : planificadores) {
+                planificador.setFuenteEntradas(fuente);
+            }
+            this.cpuProcesoActual = new int[cantidadCPUs];
+            Arrays.fill(cpuProcesoActual, -1);
+            this.procesosPorCPU = new int[cantidadCPUs];
+            this.ticksOcupados = new long[cantidadCPUs];
+            int maxProcesos = memoria.getMaxProcesos();
+            this.perfilBCP = new PerfilRafagas[maxProcesos];
+            this.tramo = new int[maxProcesos];
+            this.desplazamiento = new int[maxProcesos];
+            this.retiradas = new long[maxProcesos];
+            this.tickAdmision = new long[maxProcesos];
+            this.despachado = new boolean[maxProcesos];
+        }
+
+        void ejecutar() {
+            admitirLlegadas();
+            cargarProgramasPendientes();
+            while (hayProcesosPorEjecutar() && tickActual < maxTicks) {
+                long bloque = ticksSinEventos();
+                if (bloque > 1) {
+                    avanzarEnBloque(bloque);
+                } else {
+                    ejecutarPaso();
+                }
+            }
+        }
+
+        private boolean hayProcesosPorEjecutar() {
+            return memoria.getCantidadBCPsActivos() > 0 || !pendientes.isEmpty() || siguienteLlegada < perfiles.length;
+        }
+
+        private void admitirLlegadas() {
+            while (siguienteLlegada < perfiles.length && perfiles[siguienteLlegada].llegada <= tickActual) {
+                pendientes.add(siguienteLlegada++);
+            }
+        }
+
+        // ========== PASO A PASO (igual que el motor) ==========
+
+        private void ejecutarPaso() {
+            tickActual++;
+            admitirLlegadas();
+            for (int cpu = 0; cpu < cantidadCPUs; cpu++) {
+                ejecutarEnCPU(cpu);
+            }
+            if (!pendientes.isEmpty()) {
+                cargarProgramasPendientes();
+            }
+        }
+
+        private void ejecutarEnCPU(int cpu) {
+            int procesoActual = cpuProcesoActual[cpu];
+            if (procesoActual >= 0) {
+                BCP bcpActual = memoria.obtenerBCP(procesoActual);
+                incrementarEsperaListos(1);
+                if (bcpActual != null && bcpActual.getEstado() == EstadoProceso.EJECUCION) {
+                    memoria.setBCPEnEjecucion(procesoActual);
+                    ejecutarTick(cpu, procesoActual, bcpActual);
+                    return;
+                }
+            }
+
+            aplicarEspera();
+            int enEjecucionAntes = memoria.getBCPEnEjecucion();
+            int numeroBCP = planificadores[cpu].seleccionarSiguiente(memoria);
+            detectarDesalojo(enEjecucionAntes, numeroBCP);
+            if (numeroBCP < 0) {
+                return;
+            }
+
+            for (int otro = 0; otro < cantidadCPUs; otro++) {
+                if (otro != cpu && cpuProcesoActual[otro] == numeroBCP) {
+                    cpuProcesoActual[otro] = -1;
+                }
+            }
+            cpuProcesoActual[cpu] = numeroBCP;
+            BCP bcp = memoria.obtenerBCP(numeroBCP);
+            if (bcp.getEstado() == EstadoProceso.FINALIZADO) {
+                throw new IllegalStateException("El planificador despachó un proceso finalizado: "
+                        + bcp.getNombreProceso());
+            }
+            bcp.setEstado(EstadoProceso.EJECUCION);
+            memoria.actualizarBCP(numeroBCP, bcp);
+            memoria.setBCPEnEjecucion(numeroBCP);
+            cambiosContexto++;
+            if (!despachado[numeroBCP]) {
+                despachado[numeroBCP] = true;
+                respuesta.registrar(tickActual - tickAdmision[numeroBCP]);
+            }
+            ejecutarTick(cpu, numeroBCP, bcp);
+        }
+
+        private void incrementarEsperaListos(long ticks) {
+            esperaPorAplicar += ticks;
+        }
+
+        /**
+         * Suma la espera acumulada a los listos. La cola solo cambia dentro
+         * de un planificador o al admitir, y el tiempo de espera solo lo lee
+         * un planificador, así que basta con aplicarla antes de esos puntos en
+         * vez de reescribir cada BCP listo en cada tick de cada CPU.
+         */
+        private void aplicarEspera() {
+            if (esperaPorAplicar == 0) {
+                return;
+            }
+            for (int numeroBCP : memoria.obtenerColaListos()) {
+                BCP bcp = memoria.obtenerBCP(numeroBCP);
+                if (bcp != null && bcp.getEstado() == EstadoProceso.LISTO) {
+                    bcp.setTiempoEspera((int) (bcp.getTiempoEspera() + esperaPorAplicar));
+                    memoria.actualizarBCP(numeroBCP, bcp);
+                }
+            }
+            esperaPorAplicar = 0;
+        }
+
+        /**
+         * Lo que haría el ejecutor con la siguiente instrucción del proceso:
+         * avanzar el PC al valor grabado o terminar como terminó en la grabación
+         */
+        private void ejecutarTick(int cpu, int numeroBCP, BCP bcp) {
+            PerfilRafagas perfil = perfilBCP[numeroBCP];
+            if (retiradas[numeroBCP] == perfil.instrucciones) {
+                // Tick final sin instrucción: el PC ya pasó el final del programa
+                terminar(cpu, numeroBCP, bcp);
+                return;
+            }
+            avanzar(numeroBCP, 1);
+            ticksOcupados[cpu]++;
+            instrucciones++;
+            if (retiradas[numeroBCP] == perfil.instrucciones && perfil.terminaConInstruccion) {
+                bcp.setPC(perfil.pcFinal);
+                terminar(cpu, numeroBCP, bcp);
+                return;
+            }
+            bcp.setPC(pcActual(numeroBCP));
+            bcp.incrementarTiempoCPU();
+            memoria.actualizarBCP(numeroBCP, bcp);
+        }
+
+        /**
+         * Avanza el cursor del proceso por sus tramos
+         */
+        private void avanzar(int numeroBCP, long ticks) {
+            PerfilRafagas perfil = perfilBCP[numeroBCP];
+            retiradas[numeroBCP] += ticks;
+            long restantes = ticks;
+            while (restantes > 0) {
+                int enTramo = perfil.longitudes[tramo[numeroBCP]] - desplazamiento[numeroBCP];
+                if (restantes < enTramo) {
+                    desplazamiento[numeroBCP] += (int) restantes;
+                    return;
+                }
+                restantes -= enTramo;
+                tramo[numeroBCP]++;
+                desplazamiento[numeroBCP] = 0;
+            }
+        }
+
+        /**
+         * PC de la próxima instrucción a retirar (o el PC final si no quedan)
+         */
+        private int pcActual(int numeroBCP) {
+            PerfilRafagas perfil = perfilBCP[numeroBCP];
+            if (tramo[numeroBCP] >= perfil.inicios.length) {
+                return perfil.pcFinal;
+            }
+            return perfil.inicios[tramo[numeroBCP]] + desplazamiento[numeroBCP];
+        }
+
+        private void terminar(int cpu, int numeroBCP, BCP bcp) {
+            bcp.setEstado(EstadoProceso.FINALIZADO);
+            memoria.actualizarBCP(numeroBCP, bcp);
+            memoria.setBCPEnEjecucion(-1);
+
+            finalizados++;
+            long tiempoRetorno = tickActual + 1 - tickAdmision[numeroBCP];
+            retorno.registrar(tiempoRetorno);
+            espera.registrar(tiempoRetorno - retiradas[numeroBCP]);
+            perfilBCP[numeroBCP] = null;
+
+            memoria.liberarBCP(numeroBCP);
+            procesosPorCPU[cpu]--;
+            if (!pendientes.isEmpty() && memoria.getCantidadBCPsActivos() < memoria.getMaxProcesos()) {
+                cargarProgramasPendientes();
+            }
+            planificadores[cpu].onProcesoFinalizado(bcp);
+            cpuProcesoActual[cpu] = -1;
+        }
+
+        private void detectarDesalojo(int enEjecucionAntes, int seleccionado) {
+            if (enEjecucionAntes < 0 || enEjecucionAntes == seleccionado) {
+                return;
+            }
+            BCP bcp = memoria.obtenerBCP(enEjecucionAntes);
+            if (bcp == null || bcp.getEstado() != EstadoProceso.LISTO) {
+                return;
+            }
+            for (int cpu = 0; cpu < cantidadCPUs; cpu++) {
+                if (cpuProcesoActual[cpu] == enEjecucionAntes) {
+                    cpuProcesoActual[cpu] = -1;
+                    desalojos++;
+                    return;
+                }
+            }
+        }
+
+        private void cargarProgramasPendientes() {
+            aplicarEspera();
+            while (!pendientes.isEmpty() && memoria.getCantidadBCPsActivos() < memoria.getMaxProcesos()) {
+                int cpu = seleccionarCPUBalanceado();
+                if (procesosPorCPU[cpu] >= 5) {
+                    break;
+                }
+                int indice = pendientes.poll();
+                PerfilRafagas perfil = perfiles[indice];
+
+                // Solo importa el espacio que ocupa: las instrucciones no se leen
+                var infoAsignacion = memoria.cargarInstrucciones(new Instruccion[perfil.tamano]);
+                if (infoAsignacion == null) {
+                    asignacionesFallidas++;
+                    if (memoria.getCantidadBCPsActivos() == 0) {
+                        continue;
+                    }
+                    pendientes.add(indice);
+                    break;
+                }
+
+                BCP bcp = new BCP(memoria.generarNuevoIDProceso(), perfil.nombre, infoAsignacion.direccionBase,
+                        perfil.tamano);
+                bcp.setTiempoInicio(System.currentTimeMillis());
+                int numeroBCP = memoria.crearBCP(bcp);
+                if (numeroBCP < 0) {
+                    continue;
+                }
+                memoria.asociarAsignacionAProceso(bcp, infoAsignacion, numeroBCP);
+                bcp.setEstado(EstadoProceso.LISTO);
+                memoria.actualizarBCP(numeroBCP, bcp);
+                memoria.encolarListo(numeroBCP);
+
+                perfilBCP[numeroBCP] = perfil;
+                tramo[numeroBCP] = 0;
+                desplazamiento[numeroBCP] = 0;
+                retiradas[numeroBCP] = 0;
+                tickAdmision[numeroBCP] = tickActual;
+                despachado[numeroBCP] = false;
+
+                planificadores[cpu].onProcesoAgregado(bcp);
+                procesosPorCPU[cpu]++;
+            }
+        }
+
+        private int seleccionarCPUBalanceado() {
+            int cpuMenosCargado = 0;
+            for (int cpu = 1; cpu < cantidadCPUs; cpu++) {
+                if (procesosPorCPU[cpu] < procesosPorCPU[cpuMenosCargado]) {
+                    cpuMenosCargado = cpu;
+                }
+            }
+            return cpuMenosCargado;
+        }
+
+        // ========== AVANCE EN BLOQUE ==========
+
+        /**
+         * Ticks que pueden avanzarse sin consultar planificadores: todas las
+         * CPUs ocupadas, sin admisiones posibles y sin finalizaciones antes
+         * del final del bloque (ni llegadas, salvo que la admisión esté
+         * bloqueada: entonces solo se suman a pendientes). 0 si no se puede.
+         */
+        private long ticksSinEventos() {
+            long bloque = maxTicks - tickActual;
+            for (int cpu = 0; cpu < cantidadCPUs; cpu++) {
+                int numeroBCP = cpuProcesoActual[cpu];
+                if (numeroBCP < 0 || perfilBCP[numeroBCP] == null) {
+                    return 0;
+                }
+                PerfilRafagas perfil = perfilBCP[numeroBCP];
+                // El tick en que termina se ejecuta paso a paso
+                bloque = Math.min(bloque, perfil.getTicksCPU() - retiradas[numeroBCP] - 1);
+            }
+            if (bloque <= 1) {
+                return 0;
+            }
+            boolean admisionBloqueada = memoria.getCantidadBCPsActivos() >= memoria.getMaxProcesos()
+                    || procesosPorCPU[seleccionarCPUBalanceado()] >= 5;
+            if (!admisionBloqueada) {
+                if (!pendientes.isEmpty()) {
+                    return 0;
+                }
+                if (siguienteLlegada < perfiles.length) {
+                    bloque = Math.min(bloque, perfiles[siguienteLlegada].llegada - tickActual - 1);
+                }
+            }
+            // Un proceso desalojado sigue asignado a su CPU hasta que esta consulta al planificador
+            for (int cpu = 0; cpu < cantidadCPUs; cpu++) {
+                BCP bcp = memoria.obtenerBCP(cpuProcesoActual[cpu]);
+                if (bcp == null || bcp.getEstado() != EstadoProceso.EJECUCION) {
+                    return 0;
+                }
+            }
+            return bloque;
+        }
+
+        /**
+         * Equivale a ticks pasos en que cada CPU retira una instrucción de su
+         * proceso y cada listo espera un tick por CPU
+         */
+        private void avanzarEnBloque(long ticks) {
+            for (int cpu = 0; cpu < cantidadCPUs; cpu++) {
+                int numeroBCP = cpuProcesoActual[cpu];
+                BCP bcp = memoria.obtenerBCP(numeroBCP);
+                avanzar(numeroBCP, ticks);
+                bcp.setPC(pcActual(numeroBCP));
+                bcp.setTiempoCPUUsado(bcp.getTiempoCPUUsado() + (int) ticks);
+                memoria.actualizarBCP(numeroBCP, bcp);
+                ticksOcupados[cpu] += ticks;
+                instrucciones += ticks;
+            }
+            incrementarEsperaListos(ticks * cantidadCPUs);
+            memoria.setBCPEnEjecucion(cpuProcesoActual[cantidadCPUs - 1]);
+            tickActual += ticks;
+            admitirLlegadas();
+        }
+
+        // ========== RESULTADO ==========
+
+        ResultadoBarrido resultado(BarridoParametros.Punto punto, long nanos) {
+            double utilizacion = 0;
+            for (long ocupados : ticksOcupados) {
+                utilizacion += tickActual > 0 ? Math.min(1.0, (double) ocupados / tickActual) : 0;
+            }
+            return new ResultadoBarrido(punto, tickActual, instrucciones, finalizados,
+                    !hayProcesosPorEjecutar() && finalizados == perfiles.length,
+                    retorno.getPromedio(), retorno.getPercentil(99), espera.getPromedio(), espera.getPercentil(99),
+                    respuesta.getPromedio(), respuesta.getPercentil(99), utilizacion / cantidadCPUs,
+                    cambiosContexto, desalojos, asignacionesFallidas, nanos);
+        }
+    }
+
+    // ========== GRABACIÓN ==========
+
+    /**
+     * Ejecuta la carga una vez en el motor completo y graba sus ráfagas
+     */
+    public static TrazaRafagas grabar(Escenario escenario, CargaGenerada carga) {
+        SistemaOperativoV2 sistema = escenario.crearSistema(carga, SalidaNula.INSTANCIA);
+        sistema.setFuenteEntradas(new FuenteEntradasSistema(new Random(escenario.semilla)));
+        GrabadorRafagas grabador = new GrabadorRafagas(sistema);
+        sistema.cargarProgramasMemoriaPrincipal();
+        sistema.ejecutarHastaFinalizar(escenario.maxTicks);
+        return grabador.detener();
+    }
+
+    // ========== LÍNEA DE COMANDOS ==========
+
+    public static void main(String[] args) throws IOException {
+        Escenario escenario = Escenario.buscar("mixto");
+        CargaGenerada carga = null;
+        Path archivoTraza = null;
+        Path guardar = null;
+        int[] cpus = {1, 2, 4};
+        String[] planificadores = ComparadorPlanificadores.TODOS.toArray(new String[0]);
+        int repetir = 0;
+        long periodo = -1;
+        long maxTicks = 0;
+        boolean verificar = false;
+
+        for (int i = 0; i < args.length; i++) {
+            String valor = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--carga" -> escenario = Escenario.buscar(requerido(args[i], valor));
+                case "--directorio" -> carga = CargaGenerada.leer(Path.of(requerido(args[i], valor)));
+                case "--traza" -> archivoTraza = Path.of(requerido(args[i], valor));
+                case "--guardar" -> guardar = Path.of(requerido(args[i], valor));
+                case "--cpus" -> cpus = Arrays.stream(requerido(args[i], valor).split(","))
+                        .map(String::trim).mapToInt(Integer::parseInt).toArray();
+                case "--planificadores" -> planificadores = Arrays.stream(requerido(args[i], valor).split(","))
+                        .map(String::trim).filter(s -> !s.isEmpty()).toArray(String[]::new);
+                case "--repetir" -> repetir = Integer.parseInt(requerido(args[i], valor));
+                case "--periodo" -> periodo = Long.parseLong(requerido(args[i], valor));
+                case "--max-ticks" -> maxTicks = Long.parseLong(requerido(args[i], valor));
+                case "--verificar" -> {
+                    verificar = true;
+                    i--;
+                }
+                default -> throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+            i++;
+        }
+
+        TrazaRafagas traza;
+        long nanosGrabacion = 0;
+        if (archivoTraza != null) {
+            if (verificar) {
+                throw new IllegalArgumentException("--verificar necesita la carga original, no una traza guardada");
+            }
+            traza = TrazaRafagas.leer(archivoTraza);
+        } else {
+            if (carga == null) {
+                carga = escenario.generarCarga();
+            }
+            long inicio = System.nanoTime();
+            traza = grabar(escenario, carga);
+            nanosGrabacion = System.nanoTime() - inicio;
+            System.out.printf("[RAFAGAS] Grabada en %.2f s con %s%n", nanosGrabacion / 1e9, escenario);
+        }
+        System.out.println("[RAFAGAS] Traza: " + traza);
+        if (guardar != null) {
+            traza.guardar(guardar);
+        }
+        if (repetir > 0) {
+            long ultimaLlegada = traza.getPerfiles().stream().mapToLong(p -> p.llegada).max().orElse(0);
+            traza = traza.repetir(repetir, periodo >= 0 ? periodo : ultimaLlegada + 1);
+            System.out.println("[RAFAGAS] Repetida: " + traza);
+        }
+
+        for (int cantidad : cpus) {
+            SimuladorRafagas simulador = new SimuladorRafagas(traza, cantidad);
+            if (maxTicks > 0) {
+                simulador.maxTicks = maxTicks;
+            }
+            List<ResultadoBarrido> simulados = simulador.simular(planificadores);
+            System.out.println();
+            System.out.printf("--- %d CPUs: simulación por ráfagas (%.3f s) ---%n", cantidad, segundos(simulados));
+            System.out.print(ComparadorPlanificadores.generarTabla(simulados));
+
+            if (verificar) {
+                ComparadorPlanificadores comparador = new ComparadorPlanificadores(carga, cantidad, traza.estrategia,
+                        traza.configEstrategia, traza.tamanoMemoriaUsuario);
+                comparador.maxTicks = escenario.maxTicks;
+                List<ResultadoBarrido> completos = comparador.comparar(planificadores);
+                System.out.printf("--- %d CPUs: motor completo (%.3f s, %.0fx más lento) ---%n", cantidad,
+                        segundos(completos), segundos(completos) / Math.max(1e-9, segundos(simulados)));
+                System.out.print(ComparadorPlanificadores.generarTabla(completos));
+                for (int i = 0; i < simulados.size(); i++) {
+                    System.out.println("[RAFAGAS] " + String.join("+", simulados.get(i).punto.escenario.planificadores)
+                            + (coinciden(simulados.get(i), completos.get(i)) ? ": coincide" : ": NO coincide")
+                            + " con el motor completo");
+                }
+            }
+        }
+    }
+
+    /**
+     * Las métricas de planificación de dos corridas son idénticas
+     */
+    static boolean coinciden(ResultadoBarrido a, ResultadoBarrido b) {
+        return a.ticks == b.ticks && a.instrucciones == b.instrucciones
+                && a.procesosFinalizados == b.procesosFinalizados
+                && a.retornoPromedio == b.retornoPromedio && a.retornoP99 == b.retornoP99
+                && a.esperaPromedio == b.esperaPromedio && a.respuestaPromedio == b.respuestaPromedio
+                && a.cambiosContexto == b.cambiosContexto && a.desalojos == b.desalojos;
+    }
+
+    private static double segundos(List<ResultadoBarrido> resultados) {
+        long nanos = 0;
+        for (ResultadoBarrido resultado : resultados) {
+            nanos += resultado.nanos;
+        }
+        return nanos / 1e9;
+    }
+
+    private static String requerido(String opcion, String valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Falta el valor de " + opcion);
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,201 @@
+package so.experimentos;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Perfiles de ráfagas de una corrida, en el orden en que el motor los
+ * admitiría, junto con la memoria con que se grabaron (la admisión depende
+ * de que cada programa quepa).
+ *
+ * Formato en disco:
+ * - Cabecera: mágico "SORF", versión, estrategia de memoria, su tamaño de
+ *   partición (-1 si no tiene), memoria de usuario, CPUs y planificadores de
+ *   la corrida grabada y procesos que no terminaron (y por eso no están).
+ * - Perfiles: cantidad y, por cada uno, nombre, llegada, tamaño, PC final,
+ *   fin con instrucción y los tramos (inicio, longitud), todo en varint.
+ *
+ * @author dylan
+ */
+public class TrazaRafagas {
+
+    // ========== FORMATO ==========
+    static final int MAGICO = 0x534F5246; // "SORF"
+    static final int VERSION = 1;
+
+    public final String estrategia;
+    public final Object configEstrategia;
+    public final int tamanoMemoriaUsuario;
+    /** CPUs de la corrida grabada (solo informativo) */
+    public final int cantidadCPUs;
+    /** Planificadores de la corrida grabada (solo informativo) */
+    public final String planificadores;
+    /** Procesos que no terminaron durante la grabación y quedaron fuera de la traza */
+    public final int sinTerminar;
+    private final List<PerfilRafagas> perfiles;
+
+    public TrazaRafagas(String estrategia, Object configEstrategia, int tamanoMemoriaUsuario, int cantidadCPUs,
+                        String planificadores, int sinTerminar, List<PerfilRafagas> perfiles) {
+        if (configEstrategia != null && !(configEstrategia instanceof Integer)) {
+            throw new IllegalArgumentException("Configuración de memoria no soportada en una traza: " + configEstrategia);
+        }
+        this.estrategia = estrategia;
+        this.configEstrategia = configEstrategia;
+        this.tamanoMemoriaUsuario = tamanoMemoriaUsuario;
+        this.cantidadCPUs = cantidadCPUs;
+        this.planificadores = planificadores;
+        this.sinTerminar = sinTerminar;
+        this.perfiles = new ArrayList<>(perfiles);
+    }
+
+    public List<PerfilRafagas> getPerfiles() {
+        return Collections.unmodifiableList(perfiles);
+    }
+
+    public int getCantidad() {
+        return perfiles.size();
+    }
+
+    public long getTotalInstrucciones() {
+        long total = 0;
+        for (PerfilRafagas perfil : perfiles) {
+            total += perfil.instrucciones;
+        }
+        return total;
+    }
+
+    /**
+     * La misma traza repetida hasta tener la cantidad de procesos pedida; cada
+     * repetición llega después de la anterior, desplazada por periodo ticks
+     * (para evaluar cargas mucho más grandes que la grabada)
+     */
+    public TrazaRafagas repetir(int cantidad, long periodo) {
+        if (perfiles.isEmpty()) {
+            throw new IllegalStateException("No se puede repetir una traza vacía");
+        }
+        if (cantidad < 1 || periodo < 0) {
+            throw new IllegalArgumentException("Cantidad o periodo inválidos para repetir la traza");
+        }
+        List<PerfilRafagas> repetidos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            int vuelta = i / perfiles.size();
+            PerfilRafagas perfil = perfiles.get(i % perfiles.size());
+            repetidos.add(vuelta == 0 ? perfil : perfil.conLlegada(perfil.llegada + vuelta * periodo));
+        }
+        return new TrazaRafagas(estrategia, configEstrategia, tamanoMemoriaUsuario, cantidadCPUs, planificadores,
+                sinTerminar, repetidos);
+    }
+
+    // ========== PERSISTENCIA ==========
+
+    public void guardar(Path archivo) throws IOException {
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(archivo), 1 << 16))) {
+            salida.writeInt(MAGICO);
+            salida.writeInt(VERSION);
+            salida.writeUTF(estrategia);
+            salida.writeInt(configEstrategia instanceof Integer tamano ? tamano : -1);
+            salida.writeInt(tamanoMemoriaUsuario);
+            salida.writeInt(cantidadCPUs);
+            salida.writeUTF(planificadores);
+            salida.writeInt(sinTerminar);
+
+            escribirVarint(salida, perfiles.size());
+            for (PerfilRafagas perfil : perfiles) {
+                salida.writeUTF(perfil.nombre);
+                escribirVarint(salida, perfil.llegada);
+                escribirVarint(salida, perfil.tamano);
+                escribirVarint(salida, perfil.pcFinal);
+                salida.writeBoolean(perfil.terminaConInstruccion);
+                escribirVarint(salida, perfil.inicios.length);
+                for (int i = 0; i < perfil.inicios.length; i++) {
+                    escribirVarint(salida, perfil.inicios[i]);
+                    escribirVarint(salida, perfil.longitudes[i]);
+                }
+            }
+        }
+        System.out.println("[RAFAGAS] " + perfiles.size() + " perfiles guardados en " + archivo);
+    }
+
+    public static TrazaRafagas leer(Path archivo) throws IOException {
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(archivo), 1 << 16))) {
+            if (entrada.readInt() != MAGICO) {
+                throw new IOException("El archivo no es una traza de ráfagas: " + archivo);
+            }
+            int version = entrada.readInt();
+            if (version != VERSION) {
+                throw new IOException("Versión de traza de ráfagas no soportada: " + version);
+            }
+            String estrategia = entrada.readUTF();
+            int particion = entrada.readInt();
+            int memoria = entrada.readInt();
+            int cpus = entrada.readInt();
+            String planificadores = entrada.readUTF();
+            int sinTerminar = entrada.readInt();
+
+            int cantidad = (int) leerVarint(entrada);
+            List<PerfilRafagas> perfiles = new ArrayList<>(cantidad);
+            for (int p = 0; p < cantidad; p++) {
+                String nombre = entrada.readUTF();
+                long llegada = leerVarint(entrada);
+                int tamano = (int) leerVarint(entrada);
+                int pcFinal = (int) leerVarint(entrada);
+                boolean terminaConInstruccion = entrada.readBoolean();
+                int tramos = (int) leerVarint(entrada);
+                int[] inicios = new int[tramos];
+                int[] longitudes = new int[tramos];
+                for (int i = 0; i < tramos; i++) {
+                    inicios[i] = (int) leerVarint(entrada);
+                    longitudes[i] = (int) leerVarint(entrada);
+                }
+                try {
+                    perfiles.add(new PerfilRafagas(nombre, llegada, tamano, inicios, longitudes, pcFinal,
+                            terminaConInstruccion));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(archivo + ": " + e.getMessage());
+                }
+            }
+            return new TrazaRafagas(estrategia, particion >= 0 ? Integer.valueOf(particion) : null, memoria, cpus,
+                    planificadores, sinTerminar, perfiles);
+        }
+    }
+
+    private static void escribirVarint(DataOutputStream salida, long valor) throws IOException {
+        while ((valor & ~0x7FL) != 0) {
+            salida.writeByte((int) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        salida.writeByte((int) valor);
+    }
+
+    private static long leerVarint(DataInputStream entrada) throws IOException {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            int b = entrada.read();
+            if (b < 0) {
+                throw new EOFException("Traza de ráfagas truncada");
+            }
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IOException("Varint demasiado largo en la traza de ráfagas");
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d perfiles, %d instrucciones (grabada con %d CPUs %s, %s, %d de memoria)",
+                perfiles.size(), getTotalInstrucciones(), cantidadCPUs, planificadores, estrategia, tamanoMemoriaUsuario);
+    }
+}
@@ -1,6 +1,9 @@
 package so.gestordeprocesos;
 
 import so.memoria.MemoriaPrincipalV2;
+import so.monitoreo.jfr.EventoDespacho;
+
+import java.io.PrintStream;
 
 /**
  * Despachador (Dispatcher) del sistema operativo.
@@ -16,6 +19,9 @@ import so.memoria.MemoriaPrincipalV2;
 public class Despachador {
     
     private final MemoriaPrincipalV2 memoria;
+
+    /** Destino de los logs (null: la salida estándar del proceso) */
+    private PrintStream salidaLog;
     
     /**
      * Constructor del despachador
@@ -37,6 +43,9 @@ public class Despachador {
      * @throws IllegalStateException si el BCP no existe o está en estado inválido
      */
     public void despachar(int numeroBCP) {
+        EventoDespacho evento = new EventoDespacho();
+        evento.begin();
+
         if (numeroBCP < 0 || numeroBCP >= memoria.getMaxProcesos()) {
             throw new IllegalArgumentException("Número de BCP inválido: " + numeroBCP);
         }
@@ -64,8 +73,16 @@ public class Despachador {
         // Marcar como proceso en ejecución
         memoria.setBCPEnEjecucion(numeroBCP);
         
-        System.out.println("[DESPACHADOR] Proceso " + bcp.getNombreProceso() + 
+        out().println("[DESPACHADOR] Proceso " + bcp.getNombreProceso() + 
                           " (ID: " + bcp.getIdProceso() + ") despachado para ejecución");
+
+        if (evento.shouldCommit()) {
+            evento.idProceso = bcp.getIdProceso();
+            evento.nombre = bcp.getNombreProceso();
+            evento.numeroBCP = numeroBCP;
+            evento.pc = bcp.getPC();
+            evento.commit();
+        }
     }
     
     /**
@@ -79,7 +96,7 @@ public class Despachador {
             BCP bcp = memoria.obtenerBCP(numeroBCP);
             
             if (bcp != null) {
-                System.out.println("[DESPACHADOR] Proceso " + bcp.getNombreProceso() + 
+                out().println("[DESPACHADOR] Proceso " + bcp.getNombreProceso() + 
                                   " detenido");
             }
             
@@ -110,7 +127,7 @@ public class Despachador {
             // Devolver a la cola de listos
             memoria.encolarListo(numeroBCP);
             
-            System.out.println("[DESPACHADOR] Proceso " + bcp.getNombreProceso() + 
+            out().println("[DESPACHADOR] Proceso " + bcp.getNombreProceso() + 
                               " pausado y devuelto a cola de listos");
         }
         
@@ -143,4 +160,17 @@ public class Despachador {
                            bcp.getPC(),
                            bcp.getTamanoProceso());
     }
+
+    // ========== LOGS ==========
+
+    /**
+     * Indica dónde escribir los logs (null para la salida estándar)
+     */
+    public void setSalidaLog(PrintStream salidaLog) {
+        this.salidaLog = salidaLog;
+    }
+
+    private PrintStream out() {
+        return salidaLog != null ? salidaLog : System.out;
+    }
 }
\ No newline at end of file
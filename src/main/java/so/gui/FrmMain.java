@@ -14,10 +14,13 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.Random;
 import javax.swing.JTable;
 import javax.swing.table.DefaultTableCellRenderer;
+import so.eventos.BusEventosSistema;
 import so.gestordeprocesos.BCP;
 import so.instrucciones.Instruccion;
 import javax.swing.Timer;
@@ -51,11 +54,15 @@ public class FrmMain extends javax.swing.JFrame {
     public FrmMain(SistemaOperativoV2 sistemaOperativo) {        
         this.sistemaOperativo = sistemaOperativo;
         
+        initComponents();
+        
+        // Los logs del sistema van a la consola de la ventana
         if (this.sistemaOperativo == null) {
             crearSistemaPrueba();
-        }           
+        } else {
+            this.sistemaOperativo.setSalidaLog(panelConsola.getFlujo());
+        }
         
-        initComponents();
         inicializarComponentes();
 
         this.setSize(1500, 800);
@@ -89,15 +96,16 @@ public class FrmMain extends javax.swing.JFrame {
                 estrategiaMemoria,
                 configEstrategia,
                 cantidadCPUs,
-                planificadores
+                planificadores,
+                panelConsola.getFlujo()
             );
             
-            System.out.println("[FrmMain] Sistema de prueba creado exitosamente");
-            System.out.println("  - CPUs: " + cantidadCPUs);
-            System.out.println("  - Estrategia: " + estrategiaMemoria);
+            panelConsola.escribir("[FrmMain] Sistema de prueba creado exitosamente");
+            panelConsola.escribir("  - CPUs: " + cantidadCPUs);
+            panelConsola.escribir("  - Estrategia: " + estrategiaMemoria);
             
         } catch (Exception e) {
-            System.err.println("[FrmMain] Error al crear sistema de prueba: " + e.getMessage());
+            panelConsola.escribirError("[FrmMain] Error al crear sistema de prueba: " + e.getMessage());
             e.printStackTrace();
         }
     }
@@ -109,49 +117,66 @@ public class FrmMain extends javax.swing.JFrame {
         actualizarPanelesCPU();
         configurarBotones();
         inicializarTimer();
+        configurarComandosConsola();
     }    
 
-    private void configurarListeners() {
-        // Agregar listener al sistema operativo
-        sistemaOperativo.addListener(new SistemaOperativoV2.SistemaListener() {
-            @Override
-            public void onProcesoEjecutado(int cpu, BCP bcp) {
-                SwingUtilities.invokeLater(() -> {
-                    actualizarPanelCPU(cpu);
-                    actualizarTablaInfoProcesos();
-                });
+    private void configurarComandosConsola() {
+        panelConsola.registrarComando("gantt", "Abre el diagrama de Gantt de los CPUs", () -> {
+            if (sistemaOperativo == null) {
+                panelConsola.escribirError("No hay un sistema operativo configurado");
+                return;
             }
+            PanelGantt.mostrarVentana(this, sistemaOperativo.getLineaTiempo(), sistemaOperativo::getTickActual);
+        });
+    }
+
+    private void configurarListeners() {
+        // Los eventos llegan agrupados por cuadro desde el bus del sistema:
+        // una sola actualización de la interfaz por lote en lugar de una por evento
+        sistemaOperativo.getBusEventos().agregarListenerLote(lote -> {
+            Set<Integer> cpusActualizar = new HashSet<>();
+            List<BusEventosSistema.Evento> finalizados = new ArrayList<>();
+            boolean actualizarMemoria = false;
+            boolean actualizarBotones = false;
             
-            @Override
-            public void onProcesoFinalizado(int cpu, BCP bcp) {
-                SwingUtilities.invokeLater(() -> {
-                    actualizarPanelCPU(cpu);
-                    actualizarTablaInfoProcesos();
-                    actualizarTablaMemoriaPrincipal();
-                    panelConsola.escribir("✓ Proceso finalizado: " + bcp.getNombreProceso() + " [CPU " + cpu + "]");
-                    
-                    // Si no hay más procesos, detener ejecución automática
-                    if (ejecutandoAutomatico && !sistemaOperativo.hayProcesosPorEjecutar()) {
-                        detenerEjecucionAutomatica();
-                        panelConsola.escribir("✓ Todos los procesos han finalizado");
+            for (BusEventosSistema.Evento evento : lote) {
+                switch (evento.tipo) {
+                    case PROCESO_EJECUTADO -> cpusActualizar.add(evento.cpu);
+                    case PROCESO_FINALIZADO -> {
+                        cpusActualizar.add(evento.cpu);
+                        finalizados.add(evento);
+                        actualizarMemoria = true;
                     }
-                });
+                    case PROCESO_NUEVO -> actualizarMemoria = true;
+                    case ESTADO_CAMBIADO -> actualizarBotones = true;
+                }
             }
             
-            @Override
-            public void onProcesoNuevo(BCP bcp) {
-                SwingUtilities.invokeLater(() -> {
+            final boolean refrescarMemoria = actualizarMemoria;
+            final boolean refrescarBotones = actualizarBotones;
+            SwingUtilities.invokeLater(() -> {
+                for (int cpu : cpusActualizar) {
+                    actualizarPanelCPU(cpu);
+                }
+                if (!cpusActualizar.isEmpty() || refrescarMemoria) {
                     actualizarTablaInfoProcesos();
+                }
+                if (refrescarMemoria) {
                     actualizarTablaMemoriaPrincipal();
-                });
-            }
-            
-            @Override
-            public void onEstadoCambiado(boolean activo, boolean pausado) {
-                SwingUtilities.invokeLater(() -> {
+                }
+                for (BusEventosSistema.Evento evento : finalizados) {
+                    panelConsola.escribir("✓ Proceso finalizado: " + evento.bcp.getNombreProceso() + " [CPU " + evento.cpu + "]");
+                }
+                if (refrescarBotones) {
                     actualizarEstadoBotones();
-                });
-            }
+                }
+                
+                // Si no hay más procesos, detener ejecución automática
+                if (!finalizados.isEmpty() && ejecutandoAutomatico && !sistemaOperativo.hayProcesosPorEjecutar()) {
+                    detenerEjecucionAutomatica();
+                    panelConsola.escribir("✓ Todos los procesos han finalizado");
+                }
+            });
         });
     }
     
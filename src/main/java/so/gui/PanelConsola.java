@@ -4,8 +4,12 @@ import java.awt.*;
 import java.awt.event.*;
 import javax.swing.*;
 import javax.swing.text.*;
+import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Consola embebida con soporte de color para mensajes normales y de error.
@@ -15,8 +19,12 @@ import java.io.PrintStream;
  * - help: muestra los comandos disponibles
  * - clear: limpia la pantalla
  * - exit: cierra el JFrame padre
+ * Se pueden agregar comandos propios con registrarComando().
  * 
  * Si esperandoEntrada = true, los comandos no se procesan y la entrada se considera libre.
+ *
+ * La consola no toma System.out: getFlujo() entrega un PrintStream que
+ * escribe en ella, para pasarlo como destino de logs a cada componente.
  * 
  * @author dylan
  */
@@ -31,6 +39,22 @@ public class PanelConsola extends JPanel {
 
     private boolean esperandoEntrada = false;
 
+    /** Flujo que escribe en la consola */
+    private final PrintStream flujo;
+
+    /** Comando agregado desde fuera de la consola. */
+    private static final class Comando {
+        final String descripcion;
+        final Runnable accion;
+
+        Comando(String descripcion, Runnable accion) {
+            this.descripcion = descripcion;
+            this.accion = accion;
+        }
+    }
+
+    private final Map<String, Comando> comandos = new LinkedHashMap<>();
+
     public PanelConsola() {
         setLayout(new BorderLayout());
         setBackground(new Color(240, 240, 240)); // Fondo claro
@@ -63,15 +87,15 @@ public class PanelConsola extends JPanel {
         add(new JScrollPane(salida), BorderLayout.CENTER);
         add(entrada, BorderLayout.SOUTH);
 
-        // Redirigir System.out y System.err a la consola con soporte UTF-8
-        PrintStream out = new PrintStream(new OutputStream() {
-            private final StringBuilder buffer = new StringBuilder();
+        // Flujo hacia la consola con soporte UTF-8 (las líneas se decodifican completas)
+        flujo = new PrintStream(new OutputStream() {
+            private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
 
             @Override
             public void write(int b) {
                 if (b == '\n') {
-                    final String texto = buffer.toString();
-                    buffer.setLength(0);
+                    final String texto = buffer.toString(StandardCharsets.UTF_8);
+                    buffer.reset();
                     SwingUtilities.invokeLater(() -> {
                         try {
                             doc.insertString(doc.getLength(), texto + "\n", estiloNormal);
@@ -81,18 +105,19 @@ public class PanelConsola extends JPanel {
                         }
                     });
                 } else {
-                    buffer.append((char) b);
+                    buffer.write(b);
                 }
             }
-        }, true, java.nio.charset.StandardCharsets.UTF_8);
-
-
-        System.setOut(out);
-        System.setErr(out);
+        }, true, StandardCharsets.UTF_8);
 
         escribir("Consola iniciada. Escriba 'help' para ver los comandos disponibles.");
     }
 
+    /** Flujo que escribe en la consola (para logs de un componente en particular). */
+    public PrintStream getFlujo() {
+        return flujo;
+    }
+
     /** Procesa la entrada del usuario. */
     private void procesarEntrada() {
         String texto = entrada.getText().trim();
@@ -117,6 +142,9 @@ public class PanelConsola extends JPanel {
                 escribir("  help  - Muestra esta lista de comandos");
                 escribir("  clear - Limpia la pantalla");
                 escribir("  exit  - Cierra la ventana actual");
+                for (Map.Entry<String, Comando> comando : comandos.entrySet()) {
+                    escribir(String.format("  %-5s - %s", comando.getKey(), comando.getValue().descripcion));
+                }
                 break;
 
             case "clear":
@@ -128,10 +156,26 @@ public class PanelConsola extends JPanel {
                 break;
 
             default:
-                escribirError("Comando desconocido: " + texto);
+                Comando comando = comandos.get(texto.toLowerCase());
+                if (comando != null) {
+                    comando.accion.run();
+                } else {
+                    escribirError("Comando desconocido: " + texto);
+                }
         }
     }
 
+    /**
+     * Agrega un comando a la consola (se lista en help)
+     *
+     * @param nombre palabra que lo invoca (sin distinguir mayúsculas)
+     * @param descripcion texto mostrado en help
+     * @param accion acción a ejecutar en el hilo de eventos de Swing
+     */
+    public void registrarComando(String nombre, String descripcion, Runnable accion) {
+        comandos.put(nombre.toLowerCase(), new Comando(descripcion, accion));
+    }
+
     /** Escribe texto normal en la consola. */
     public void escribir(String texto) {
         try {
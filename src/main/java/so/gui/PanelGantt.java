@@ -0,0 +1,322 @@
+package so.gui;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.util.function.LongSupplier;
+import javax.swing.*;
+import so.estadisticas.AlmacenLineaTiempo;
+
+/**
+ * Diagrama de Gantt de los CPUs dibujado a partir de AlmacenLineaTiempo.
+ *
+ * Solo se recorren los segmentos que caen en la ventana visible (búsqueda
+ * binaria en el almacén) y, cuando varios segmentos caen en el mismo píxel,
+ * se dibuja uno solo; por eso el costo de pintar no depende del tamaño del
+ * historial. Mientras sigue el final de la simulación, cada actualización
+ * repinta únicamente la franja nueva.
+ *
+ * Controles:
+ * - Rueda del mouse: zoom centrado en el cursor
+ * - Arrastrar: desplazar la ventana (deja de seguir el final)
+ * - Doble clic: volver a seguir el final
+ *
+ * @author dylan
+ */
+public class PanelGantt extends JPanel {
+
+    private static final int MARGEN_IZQUIERDO = 60;
+    private static final int ALTO_EJE = 22;
+    private static final int ALTO_FILA = 28;
+    private static final int SEPARACION_FILA = 6;
+    private static final int PERIODO_ACTUALIZACION_MS = 100;
+    private static final double TICKS_POR_PIXEL_MINIMO = 1.0 / 40;
+    private static final double TICKS_POR_PIXEL_MAXIMO = 1 << 20;
+
+    private static final Color COLOR_FONDO = new Color(250, 250, 250);
+    private static final Color COLOR_EJE = new Color(120, 120, 120);
+    private static final Color COLOR_GUIA = new Color(230, 230, 230);
+    private static final Color[] PALETA = crearPaleta(64);
+
+    private final AlmacenLineaTiempo almacen;
+    private final LongSupplier reloj;
+    private final Timer timer;
+
+    // Ventana visible
+    private double tickInicioVista;
+    private double ticksPorPixel;
+    private boolean seguirFinal;
+
+    // Estado de la última actualización (para repintar solo lo nuevo)
+    private long ultimaVersion;
+    private long ultimoTickDibujado;
+
+    private int arrastreX;
+
+    /**
+     * @param almacen historial de los CPUs
+     * @param reloj proveedor del tick actual de la simulación
+     */
+    public PanelGantt(AlmacenLineaTiempo almacen, LongSupplier reloj) {
+        this.almacen = almacen;
+        this.reloj = reloj;
+        this.ticksPorPixel = 0.25;
+        this.seguirFinal = true;
+
+        setBackground(COLOR_FONDO);
+        setPreferredSize(new Dimension(900, ALTO_EJE + almacen.getCantidadCPUs() * (ALTO_FILA + SEPARACION_FILA) + 10));
+        setToolTipText("");
+        configurarMouse();
+
+        timer = new Timer(PERIODO_ACTUALIZACION_MS, e -> actualizar());
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        timer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        timer.stop();
+        super.removeNotify();
+    }
+
+    // ========== ACTUALIZACIÓN INCREMENTAL ==========
+
+    private void actualizar() {
+        long version = almacen.getVersion();
+        long tickActual = reloj.getAsLong();
+        if (version == ultimaVersion && tickActual == ultimoTickDibujado) {
+            return;
+        }
+        ultimaVersion = version;
+
+        if (!seguirFinal) {
+            ultimoTickDibujado = tickActual;
+            repaint();
+            return;
+        }
+
+        int ancho = getWidth() - MARGEN_IZQUIERDO;
+        int xActual = tickAX(tickActual);
+        if (tickActual < ultimoTickDibujado || xActual >= getWidth() - 4 || ancho <= 0) {
+            // Saltar la ventana para que el final quede al 25% y repintar todo
+            tickInicioVista = Math.max(0, tickActual - ancho * ticksPorPixel * 0.25);
+            repaint();
+        } else {
+            int xAnterior = Math.max(MARGEN_IZQUIERDO, tickAX(ultimoTickDibujado) - 2);
+            repaint(xAnterior, 0, xActual - xAnterior + 4, getHeight());
+        }
+        ultimoTickDibujado = tickActual;
+    }
+
+    // ========== DIBUJO ==========
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2 = (Graphics2D) g;
+        Rectangle clip = g2.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+
+        long tickActual = reloj.getAsLong();
+        long desde = (long) Math.floor(xATick(Math.max(clip.x, MARGEN_IZQUIERDO)));
+        long hasta = (long) Math.ceil(xATick(clip.x + clip.width)) + 1;
+
+        dibujarEje(g2, clip, desde, hasta);
+
+        FontMetrics metricas = g2.getFontMetrics();
+        for (int cpu = 0; cpu < almacen.getCantidadCPUs(); cpu++) {
+            int y = ALTO_EJE + cpu * (ALTO_FILA + SEPARACION_FILA);
+            if (y > clip.y + clip.height || y + ALTO_FILA < clip.y) {
+                continue;
+            }
+            dibujarFila(g2, metricas, cpu, y, desde, hasta, tickActual);
+
+            if (clip.x < MARGEN_IZQUIERDO) {
+                g2.setColor(COLOR_EJE);
+                g2.drawString("CPU " + cpu, 8, y + ALTO_FILA / 2 + metricas.getAscent() / 2 - 2);
+            }
+        }
+    }
+
+    private void dibujarFila(Graphics2D g2, FontMetrics metricas, int cpu, int y,
+                             long desde, long hasta, long tickActual) {
+        int n = almacen.getCantidadSegmentos(cpu);
+        int ultimoX = Integer.MIN_VALUE;
+
+        for (int i = almacen.buscarPrimero(cpu, desde); i < n; i++) {
+            long inicio = almacen.getInicio(cpu, i);
+            if (inicio >= hasta) {
+                break;
+            }
+            int x1 = Math.max(tickAX(inicio), MARGEN_IZQUIERDO);
+            int x2 = tickAX(almacen.getFin(cpu, i));
+            if (x2 <= ultimoX) {
+                // Ya hay un segmento dibujado en este píxel: saltar al
+                // primero que llega a la siguiente columna
+                i = Math.max(i, almacen.buscarPrimero(cpu, (long) Math.ceil(xATick(ultimoX + 1)) - 1) - 1);
+                continue;
+            }
+            x1 = Math.max(x1, ultimoX);
+            ultimoX = Math.max(x2, x1 + 1);
+            dibujarSegmento(g2, metricas, almacen.getPid(cpu, i), x1, ultimoX, y);
+        }
+
+        int pidAbierto = almacen.getPidAbierto(cpu);
+        long inicioAbierto = almacen.getInicioAbierto(cpu);
+        if (pidAbierto >= 0 && inicioAbierto < hasta) {
+            int x1 = Math.max(Math.max(tickAX(inicioAbierto), MARGEN_IZQUIERDO), ultimoX);
+            int x2 = Math.max(tickAX(tickActual + 1), x1 + 1);
+            dibujarSegmento(g2, metricas, pidAbierto, x1, x2, y);
+        }
+    }
+
+    private void dibujarSegmento(Graphics2D g2, FontMetrics metricas, int pid, int x1, int x2, int y) {
+        int ancho = x2 - x1;
+        g2.setColor(PALETA[Math.floorMod(pid, PALETA.length)]);
+        g2.fillRect(x1, y, ancho, ALTO_FILA);
+
+        String etiqueta = String.valueOf(pid);
+        int anchoTexto = metricas.stringWidth(etiqueta);
+        if (ancho > anchoTexto + 6) {
+            g2.setColor(Color.DARK_GRAY);
+            g2.drawRect(x1, y, ancho - 1, ALTO_FILA - 1);
+            g2.drawString(etiqueta, x1 + (ancho - anchoTexto) / 2, y + ALTO_FILA / 2 + metricas.getAscent() / 2 - 2);
+        }
+    }
+
+    private void dibujarEje(Graphics2D g2, Rectangle clip, long desde, long hasta) {
+        double paso = calcularPasoEje();
+        g2.setFont(g2.getFont().deriveFont(10f));
+
+        long primera = (long) (Math.floor(desde / paso) * paso);
+        for (double t = primera; t <= hasta; t += paso) {
+            int x = tickAX((long) t);
+            if (x < MARGEN_IZQUIERDO) {
+                continue;
+            }
+            g2.setColor(COLOR_GUIA);
+            g2.drawLine(x, ALTO_EJE, x, getHeight());
+            g2.setColor(COLOR_EJE);
+            g2.drawLine(x, ALTO_EJE - 5, x, ALTO_EJE);
+            g2.drawString(String.valueOf((long) t), x + 2, ALTO_EJE - 8);
+        }
+        g2.setColor(COLOR_EJE);
+        g2.drawLine(Math.max(clip.x, MARGEN_IZQUIERDO), ALTO_EJE, clip.x + clip.width, ALTO_EJE);
+        g2.setFont(getFont());
+    }
+
+    /**
+     * Distancia entre marcas del eje: potencia de 10 (o 2x, 5x) que deje al
+     * menos 80 píxeles entre marcas
+     */
+    private double calcularPasoEje() {
+        double minimo = 80 * ticksPorPixel;
+        double base = Math.pow(10, Math.floor(Math.log10(Math.max(minimo, 1))));
+        for (int multiplo : new int[]{1, 2, 5, 10}) {
+            if (base * multiplo >= minimo) {
+                return base * multiplo;
+            }
+        }
+        return base * 10;
+    }
+
+    // ========== CONVERSIONES ==========
+
+    private int tickAX(long tick) {
+        double x = MARGEN_IZQUIERDO + (tick - tickInicioVista) / ticksPorPixel;
+        return (int) Math.max(Integer.MIN_VALUE / 2, Math.min(Integer.MAX_VALUE / 2, x));
+    }
+
+    private double xATick(int x) {
+        return tickInicioVista + (x - MARGEN_IZQUIERDO) * ticksPorPixel;
+    }
+
+    // ========== INTERACCIÓN ==========
+
+    private void configurarMouse() {
+        addMouseWheelListener(e -> {
+            double tickCursor = xATick(e.getX());
+            double factor = e.getWheelRotation() > 0 ? 1.25 : 0.8;
+            ticksPorPixel = Math.max(TICKS_POR_PIXEL_MINIMO, Math.min(TICKS_POR_PIXEL_MAXIMO, ticksPorPixel * factor));
+            if (!seguirFinal) {
+                tickInicioVista = Math.max(0, tickCursor - (e.getX() - MARGEN_IZQUIERDO) * ticksPorPixel);
+            } else {
+                ultimoTickDibujado = Long.MAX_VALUE; // forzar recálculo de la ventana
+            }
+            repaint();
+        });
+
+        MouseAdapter arrastre = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                arrastreX = e.getX();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                seguirFinal = false;
+                tickInicioVista = Math.max(0, tickInicioVista - (e.getX() - arrastreX) * ticksPorPixel);
+                arrastreX = e.getX();
+                repaint();
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    seguirFinal = true;
+                    ultimoTickDibujado = Long.MAX_VALUE;
+                    actualizar();
+                }
+            }
+        };
+        addMouseListener(arrastre);
+        addMouseMotionListener(arrastre);
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        int fila = (e.getY() - ALTO_EJE) / (ALTO_FILA + SEPARACION_FILA);
+        if (e.getY() < ALTO_EJE || fila >= almacen.getCantidadCPUs() || e.getX() < MARGEN_IZQUIERDO) {
+            return null;
+        }
+        long tick = (long) Math.floor(xATick(e.getX()));
+        int i = almacen.buscarPrimero(fila, tick);
+        if (i < almacen.getCantidadSegmentos(fila) && almacen.getInicio(fila, i) <= tick) {
+            return String.format("CPU %d - PID %d: ticks %d a %d", fila, almacen.getPid(fila, i),
+                    almacen.getInicio(fila, i), almacen.getFin(fila, i));
+        }
+        if (almacen.getPidAbierto(fila) >= 0 && almacen.getInicioAbierto(fila) <= tick) {
+            return String.format("CPU %d - PID %d: desde el tick %d (en ejecución)", fila,
+                    almacen.getPidAbierto(fila), almacen.getInicioAbierto(fila));
+        }
+        return String.format("CPU %d - libre (tick %d)", fila, tick);
+    }
+
+    private static Color[] crearPaleta(int cantidad) {
+        Color[] paleta = new Color[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            float tono = (i * 0.61803398875f) % 1f;
+            paleta[i] = Color.getHSBColor(tono, 0.45f, 0.95f);
+        }
+        return paleta;
+    }
+
+    /**
+     * Abre el diagrama en una ventana independiente
+     */
+    public static JFrame mostrarVentana(Component padre, AlmacenLineaTiempo almacen, LongSupplier reloj) {
+        JFrame ventana = new JFrame("Diagrama de Gantt - CPUs");
+        ventana.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        ventana.add(new PanelGantt(almacen, reloj), BorderLayout.CENTER);
+        ventana.add(new JLabel("  Rueda: zoom  |  Arrastrar: desplazar  |  Doble clic: seguir el final"), BorderLayout.SOUTH);
+        ventana.pack();
+        ventana.setLocationRelativeTo(padre);
+        ventana.setVisible(true);
+        return ventana;
+    }
+}
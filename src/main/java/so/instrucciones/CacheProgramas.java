@@ -0,0 +1,180 @@
+package so.instrucciones;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Programas ya analizados, indexados por contenido: un programa se analiza
+ * una sola vez aunque se reintente su admisión o haya varios programas con
+ * las mismas líneas.
+ *
+ * precargar() analiza en paralelo los programas recién cargados a memoria
+ * secundaria; obtener() devuelve el resultado (esperando si todavía se está
+ * analizando) o, si el contenido nunca se precargó, lo analiza en el hilo que
+ * llama. La clave es el hash de las líneas y, ante una colisión, se comparan
+ * las líneas completas.
+ *
+ * @author dylan
+ */
+public class CacheProgramas {
+
+    /** Al superar esta cantidad de contenidos distintos se vacía la caché */
+    public static final int MAX_PROGRAMAS = 4096;
+
+    private final Map<Contenido, CompletableFuture<ProgramaDecodificado>> programas = new ConcurrentHashMap<>();
+    private final Executor ejecutor;
+    private final AtomicLong aciertos = new AtomicLong();
+    private final AtomicLong decodificados = new AtomicLong();
+
+    public CacheProgramas() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public CacheProgramas(Executor ejecutor) {
+        if (ejecutor == null) {
+            throw new IllegalArgumentException("El ejecutor de la caché de programas no puede ser nulo");
+        }
+        this.ejecutor = ejecutor;
+    }
+
+    // ========== CONSULTA ==========
+
+    /**
+     * Analiza en segundo plano los programas que todavía no están en la caché
+     *
+     * @return cantidad de programas enviados a analizar
+     */
+    public int precargar(List<String>[] lineasProgramas) {
+        int enviados = 0;
+        for (List<String> lineas : lineasProgramas) {
+            if (lineas == null) {
+                continue;
+            }
+            Contenido consulta = new Contenido(lineas);
+            if (programas.containsKey(consulta)) {
+                continue;
+            }
+            Contenido clave = consulta.copiar();
+            CompletableFuture<ProgramaDecodificado> futuro = reservar(clave);
+            if (futuro != null) {
+                ejecutor.execute(() -> decodificar(clave, futuro));
+                enviados++;
+            }
+        }
+        return enviados;
+    }
+
+    /**
+     * Programa analizado con estas líneas
+     */
+    public ProgramaDecodificado obtener(List<String> lineas) {
+        Contenido consulta = new Contenido(lineas);
+        CompletableFuture<ProgramaDecodificado> existente = programas.get(consulta);
+        if (existente == null) {
+            Contenido clave = consulta.copiar();
+            existente = reservar(clave);
+            if (existente != null) {
+                decodificar(clave, existente);
+            } else if ((existente = programas.get(clave)) == null) {
+                // Otro hilo lo reservó y la caché se vació antes de consultarlo
+                return ProgramaDecodificado.decodificar(lineas);
+            } else {
+                aciertos.incrementAndGet();
+            }
+        } else {
+            aciertos.incrementAndGet();
+        }
+        try {
+            return existente.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("No se pudo analizar el programa: " + e.getCause(), e.getCause());
+        }
+    }
+
+    /**
+     * Registra un análisis pendiente para la clave
+     *
+     * @return el futuro a completar, o null si otro hilo ya lo registró
+     */
+    private CompletableFuture<ProgramaDecodificado> reservar(Contenido clave) {
+        if (programas.size() >= MAX_PROGRAMAS) {
+            programas.clear();
+        }
+        CompletableFuture<ProgramaDecodificado> futuro = new CompletableFuture<>();
+        return programas.putIfAbsent(clave, futuro) == null ? futuro : null;
+    }
+
+    private void decodificar(Contenido clave, CompletableFuture<ProgramaDecodificado> futuro) {
+        try {
+            futuro.complete(ProgramaDecodificado.decodificar(clave.lineas));
+            decodificados.incrementAndGet();
+        } catch (RuntimeException | Error e) {
+            // Se quita para que el próximo intento lo vuelva a analizar
+            programas.remove(clave, futuro);
+            futuro.completeExceptionally(e);
+        }
+    }
+
+    public void limpiar() {
+        programas.clear();
+    }
+
+    // ========== ESTADÍSTICAS ==========
+
+    public int getCantidad() {
+        return programas.size();
+    }
+
+    /** Programas analizados desde que se creó la caché */
+    public long getDecodificados() {
+        return decodificados.get();
+    }
+
+    /** Consultas resueltas con un análisis ya hecho o en curso */
+    public long getAciertos() {
+        return aciertos.get();
+    }
+
+    // ========== CLAVE ==========
+
+    /**
+     * Líneas de un programa con su hash precalculado
+     */
+    private static final class Contenido {
+
+        final List<String> lineas;
+        final int hash;
+
+        Contenido(List<String> lineas) {
+            this(lineas, lineas.hashCode());
+        }
+
+        private Contenido(List<String> lineas, int hash) {
+            this.lineas = lineas;
+            this.hash = hash;
+        }
+
+        /** Copia propia de las líneas, para guardar en la caché */
+        Contenido copiar() {
+            return new Contenido(Collections.unmodifiableList(new ArrayList<>(lineas)), hash);
+        }
+
+        @Override
+        public boolean equals(Object otro) {
+            return otro instanceof Contenido c && c.hash == hash && c.lineas.equals(lineas);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
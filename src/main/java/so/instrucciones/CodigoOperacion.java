@@ -13,7 +13,7 @@ public enum CodigoOperacion {
     INC(1, -1), // puede tener 0 o 1 operando
     DEC(1, -1),
     SWAP(1, 2),
-    INT(-1, 1), // el peso depende del tipo de interrupción
+    INT(-1, 1), // el peso depende del tipo de interrupción (ver pesoInterrupcion)
     JMP(2, 1),
     CMP(2, 2),
     JE(2, 1),
@@ -22,7 +22,7 @@ public enum CodigoOperacion {
     PUSH(1, 1),
     POP(1, 1);
 
-    private int peso;
+    private final int peso;
     private final int operandos;
 
     CodigoOperacion(int peso, int operandos) {
@@ -30,6 +30,10 @@ public enum CodigoOperacion {
         this.operandos = operandos;
     }
 
+    /**
+     * Peso base del código; el peso de una instrucción concreta está en
+     * Instruccion.getPeso() (para INT depende de la interrupción)
+     */
     public int getPeso() {
         return peso;
     }
@@ -37,9 +41,19 @@ public enum CodigoOperacion {
     public int getOperandos() {
         return operandos;
     }
-    
-    public void setPeso(int peso) {
-        this.peso = peso;
+
+    /**
+     * Peso de una interrupción según su código (09H, 10H, 20H, 21H)
+     *
+     * @return el peso, o -1 si el código no es una interrupción conocida
+     */
+    public static int pesoInterrupcion(String codigo) {
+        return switch (codigo.trim().toUpperCase()) {
+            case "09H", "9H" -> 3;
+            case "10H", "20H" -> 2;
+            case "21H" -> 5;
+            default -> -1;
+        };
     }
 
     public static CodigoOperacion fromString(String s) {
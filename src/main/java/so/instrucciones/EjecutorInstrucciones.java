@@ -1,10 +1,17 @@
 package so.instrucciones;
 
 import so.cpu.CPU;
+import so.cpu.ContadoresInstrucciones;
 import so.memoria.MemoriaPrincipalV2;
 import so.gestordeprocesos.Despachador;
 import so.gestordeprocesos.BCP;
 import so.gestordeprocesos.EstadoProceso;
+import so.persistencia.EntradaPuntoControl;
+import so.persistencia.IPersistible;
+import so.persistencia.SalidaPuntoControl;
+import so.traza.CanalTraza;
+import java.io.IOException;
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -21,12 +28,17 @@ import java.util.List;
  * 
  * @author dylan
  */
-public class EjecutorInstrucciones {
+public class EjecutorInstrucciones implements IPersistible {
     
     private final CPU cpu;
     private final MemoriaPrincipalV2 memoria;
     private final Despachador despachador;
     private final List<String> pantalla; // buffer de salida para INT 10H
+    private CanalTraza traza; // null si la traza de ejecución está desactivada
+    private ContadoresInstrucciones contadoresProceso; // del proceso que se está ejecutando
+
+    /** Destino de los logs (null: la salida estándar del proceso) */
+    private PrintStream salidaLog;
     
     /**
      * Constructor del ejecutor
@@ -76,6 +88,11 @@ public class EjecutorInstrucciones {
             // ========== FASE 1: FETCH ==========
             // Cargar contexto del proceso al CPU
             cpu.cargarContexto(bcp);
+            int pcEjecutado = bcp.getPC();
+            CanalTraza trazaActual = traza;
+            if (trazaActual != null) {
+                trazaActual.capturarAntes(cpu);
+            }
             
             // Obtener la instrucción actual
             int direccion = bcp.getDireccionBase() + bcp.getPC();
@@ -89,6 +106,7 @@ public class EjecutorInstrucciones {
             bcp.setIR(instruccion);
             
             // Simular fetch en el CPU
+            long ciclosAntes = cpu.getCiclosReloj();
             cpu.fetch(bcp);
             
             // ========== FASE 2: DECODE ==========
@@ -104,6 +122,10 @@ public class EjecutorInstrucciones {
             // Guardar contexto del CPU de vuelta al BCP
             cpu.guardarContexto(bcp);
             
+            if (trazaActual != null) {
+                trazaActual.registrar(bcp.getIdProceso(), pcEjecutado, instruccion.getCodigoOperacion(), cpu);
+            }
+            
             if (!finalizado) {
                 // Incrementar PC y tiempo de CPU
                 bcp.setPC(bcp.getPC() + 1);
@@ -112,10 +134,15 @@ public class EjecutorInstrucciones {
             }
             
             // Incrementar ciclos según peso de la instrucción
-            int peso = instruccion.getCodigoOperacion().getPeso();
+            int peso = instruccion.getPeso();
             if (peso > 0) {
                 cpu.incrementarCiclos(peso);
             }
+            long ciclos = cpu.getCiclosReloj() - ciclosAntes;
+            cpu.getContadoresInstrucciones().registrar(instruccion.getCodigoOperacion(), ciclos);
+            if (contadoresProceso != null) {
+                contadoresProceso.registrar(instruccion.getCodigoOperacion(), ciclos);
+            }
             
             // Actualizar BCP en memoria
             memoria.actualizarBCP(numeroBCP, bcp);
@@ -123,7 +150,7 @@ public class EjecutorInstrucciones {
             return !finalizado;
             
         } catch (Exception e) {
-            System.err.println("[ERROR] " + e.getMessage());
+            err().println("[ERROR] " + e.getMessage());
             e.printStackTrace();
             cpu.guardarContexto(bcp);
             bcp.setEstado(EstadoProceso.FINALIZADO);
@@ -285,7 +312,9 @@ public class EjecutorInstrucciones {
     
     private void ejecutarJE(BCP bcp, List<String> ops) {
         // JE [+/-n]: salta si la última comparación fue igual (flag == 0)
-        if (cpu.getFlagComparacion() == 0) {
+        boolean tomado = cpu.getFlagComparacion() == 0;
+        registrarSalto(CodigoOperacion.JE, tomado);
+        if (tomado) {
             int desplazamiento = Integer.parseInt(ops.get(0));
             int nuevoPC = cpu.getPC() + desplazamiento;
             
@@ -299,7 +328,9 @@ public class EjecutorInstrucciones {
     
     private void ejecutarJNE(BCP bcp, List<String> ops) {
         // JNE [+/-n]: salta si la última comparación fue diferente (flag != 0)
-        if (cpu.getFlagComparacion() != 0) {
+        boolean tomado = cpu.getFlagComparacion() != 0;
+        registrarSalto(CodigoOperacion.JNE, tomado);
+        if (tomado) {
             int desplazamiento = Integer.parseInt(ops.get(0));
             int nuevoPC = cpu.getPC() + desplazamiento;
             
@@ -311,6 +342,13 @@ public class EjecutorInstrucciones {
         }
     }
     
+    private void registrarSalto(CodigoOperacion codigo, boolean tomado) {
+        cpu.getContadoresInstrucciones().registrarSalto(codigo, tomado);
+        if (contadoresProceso != null) {
+            contadoresProceso.registrarSalto(codigo, tomado);
+        }
+    }
+    
     private void ejecutarPARAM(BCP bcp, List<String> ops) {
         // PARAM v1, v2, ..., vN: guarda parámetros en la pila
         for (String param : ops) {
@@ -329,7 +367,7 @@ public class EjecutorInstrucciones {
                 bcp.setEstado(EstadoProceso.FINALIZADO);
                 despachador.detener();
                 pantalla.add("[" + bcp.getNombreProceso() + "] Programa finalizado");
-                System.out.println("[INT 20H] Proceso " + bcp.getNombreProceso() + " finalizado");
+                out().println("[INT 20H] Proceso " + bcp.getNombreProceso() + " finalizado");
                 return true; // indica que finalizó
             }
             case "10H" -> {
@@ -337,7 +375,7 @@ public class EjecutorInstrucciones {
                 int valor = cpu.getDX();
                 String mensaje = "[" + bcp.getNombreProceso() + "] " + valor;
                 pantalla.add(mensaje);
-                System.out.println("[INT 10H] Salida: " + mensaje);
+                out().println("[INT 10H] Salida: " + mensaje);
                 return false; // continúa ejecutando
             }
             default -> throw new IllegalStateException("Interrupción no implementada: " + codigo);
@@ -386,6 +424,48 @@ public class EjecutorInstrucciones {
         return pantalla.get(pantalla.size() - 1);
     }
     
+    // ========== PUNTO DE CONTROL ==========
+
+    /**
+     * Guarda el CPU y el buffer de pantalla (la memoria y el despachador
+     * se guardan por separado)
+     */
+    @Override
+    public void guardarEstado(SalidaPuntoControl salida) throws IOException {
+        cpu.guardarEstado(salida);
+        salida.writeInt(pantalla.size());
+        for (String linea : pantalla) {
+            salida.writeUTF(linea);
+        }
+    }
+
+    @Override
+    public void restaurarEstado(EntradaPuntoControl entrada) throws IOException {
+        cpu.restaurarEstado(entrada);
+        pantalla.clear();
+        int lineas = entrada.readInt();
+        for (int i = 0; i < lineas; i++) {
+            pantalla.add(entrada.readUTF());
+        }
+    }
+
+    /**
+     * Activa (o desactiva con null) la traza de ejecución de este CPU
+     * 
+     * @param traza canal de traza del CPU
+     */
+    public void setTraza(CanalTraza traza) {
+        this.traza = traza;
+    }
+    
+    /**
+     * Contadores de instrucciones del proceso que se va a ejecutar (los del
+     * CPU se actualizan siempre); null para no contabilizar por proceso
+     */
+    public void setContadoresProceso(ContadoresInstrucciones contadoresProceso) {
+        this.contadoresProceso = contadoresProceso;
+    }
+    
     /**
      * Obtiene el CPU del sistema
      * 
@@ -412,4 +492,23 @@ public class EjecutorInstrucciones {
     public String getEstadoCPU() {
         return cpu.getEstado();
     }
+
+    // ========== LOGS ==========
+
+    /**
+     * Indica dónde escribir los logs del ejecutor y de su CPU (null para la
+     * salida estándar)
+     */
+    public void setSalidaLog(PrintStream salidaLog) {
+        this.salidaLog = salidaLog;
+        cpu.setSalidaLog(salidaLog);
+    }
+
+    private PrintStream out() {
+        return salidaLog != null ? salidaLog : System.out;
+    }
+
+    private PrintStream err() {
+        return salidaLog != null ? salidaLog : System.err;
+    }
 }
\ No newline at end of file
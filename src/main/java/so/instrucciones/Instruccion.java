@@ -5,16 +5,35 @@ import java.util.List;
 /**
  * Representa una instrucción ensamblador analizada.
  *
+ * El peso (ciclos extra al ejecutarla) es de cada instrucción y no del
+ * código de operación: dos INT con distinta interrupción pesan distinto.
+ *
  * @author dylan
  */
 public class Instruccion {
 
     private final CodigoOperacion codigoOperacion;
     private final List<String> operandos;
+    private final int peso;
 
+    /**
+     * Instrucción con el peso que corresponde a su código y operandos
+     */
     public Instruccion(CodigoOperacion codigoOperacion, List<String> operandos) {
+        this(codigoOperacion, operandos, calcularPeso(codigoOperacion, operandos));
+    }
+
+    public Instruccion(CodigoOperacion codigoOperacion, List<String> operandos, int peso) {
         this.codigoOperacion = codigoOperacion;
         this.operandos = operandos;
+        this.peso = peso;
+    }
+
+    private static int calcularPeso(CodigoOperacion codigoOperacion, List<String> operandos) {
+        if (codigoOperacion == CodigoOperacion.INT) {
+            return operandos.isEmpty() ? -1 : CodigoOperacion.pesoInterrupcion(operandos.get(0));
+        }
+        return codigoOperacion.getPeso();
     }
 
     public CodigoOperacion getCodigoOperacion() {
@@ -25,6 +44,10 @@ public class Instruccion {
         return operandos;
     }
 
+    public int getPeso() {
+        return peso;
+    }
+
     @Override
     public String toString() {
         return codigoOperacion.name() + (operandos.isEmpty() ? "" : " " + String.join(", ", operandos));
@@ -1,169 +1,330 @@
 package so.instrucciones;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
+ * Analiza una línea de ensamblador en una sola pasada, carácter a carácter,
+ * sin split, trim, toUpperCase ni expresiones regulares: los límites del
+ * código y de cada operando se guardan como posiciones dentro de la línea y
+ * se validan sobre ella.
+ *
+ * Las únicas cadenas que se crean son los operandos de la instrucción, y
+ * solo cuando no coinciden con uno ya conocido (registros, interrupciones y
+ * enteros pequeños escritos tal cual), que se reutiliza. Los mensajes de
+ * error son los mismos de siempre y se arman solo cuando la línea es
+ * inválida.
  *
  * @author dylan
  */
 public class InstruccionParser {
+
+    private static final CodigoOperacion[] CODIGOS = CodigoOperacion.values();
+    private static final Registro[] REGISTROS = Registro.values();
+
+    // ========== OPERANDOS COMPARTIDOS ==========
+    private static final String[] INTERRUPCIONES = {"09H", "9H", "10H", "20H", "21H"};
+    private static final int MENOR_NUMERO = -128;
+    private static final int MAYOR_NUMERO = 1023;
+    private static final String[] NUMEROS = new String[MAYOR_NUMERO - MENOR_NUMERO + 1];
+
+    static {
+        for (int i = 0; i < NUMEROS.length; i++) {
+            NUMEROS[i] = Integer.toString(MENOR_NUMERO + i);
+        }
+    }
+
+    /** Máximo de operandos de una instrucción válida (PARAM) */
+    private static final int MAX_OPERANDOS = 3;
+
     public static Instruccion parse(String line) {
         if (line == null) {
             return null;
         }
-        line = line.trim();
+        return parse(line, 0, line.length());
+    }
+
+    /**
+     * Analiza la línea texto[inicio, fin)
+     *
+     * @return la instrucción, o null si es un comentario, una etiqueta o está vacía
+     * @throws IllegalArgumentException si la instrucción es inválida
+     */
+    public static Instruccion parse(CharSequence texto, int inicio, int fin) {
+        // Recortar blancos en los extremos
+        while (inicio < fin && texto.charAt(inicio) <= ' ') {
+            inicio++;
+        }
+        while (fin > inicio && texto.charAt(fin - 1) <= ' ') {
+            fin--;
+        }
 
         // Ignorar comentarios, etiquetas o líneas vacías
-        if (line.isEmpty() || line.endsWith(":") || line.startsWith(";")) {
+        if (inicio == fin || texto.charAt(fin - 1) == ':' || texto.charAt(inicio) == ';') {
             return null;
         }
 
-        String[] parts = line.split("\\s+", 2);
-        String mnemonic = parts[0];
-        CodigoOperacion opcode = CodigoOperacion.fromString(mnemonic);
-
-        List<String> operands = new ArrayList<>();
-        if (parts.length > 1) {
-            String operandPart = parts[1].trim();
-            operands = parseOperands(operandPart);
+        // Código de operación: hasta el primer espacio
+        int finCodigo = inicio;
+        while (finCodigo < fin && !esEspacio(texto.charAt(finCodigo))) {
+            finCodigo++;
         }
+        int p = finCodigo;
+        while (finCodigo > inicio && texto.charAt(finCodigo - 1) <= ' ') {
+            finCodigo--;
+        }
+        CodigoOperacion opcode = buscarCodigo(texto, inicio, finCodigo);
 
-        validateOperands(opcode, operands);
-        return new Instruccion(opcode, operands);
-    }
-
-    private static List<String> parseOperands(String operandPart) {
-        List<String> operands = new ArrayList<>();
-        for (String op : operandPart.split(",")) {
-            op = op.trim();
-            if (!op.isEmpty()) {
-                operands.add(op);
+        // Operandos separados por comas, sin los vacíos
+        int i0 = 0, f0 = 0, i1 = 0, f1 = 0, i2 = 0, f2 = 0;
+        int count = 0;
+        while (p < fin) {
+            int finParte = p;
+            while (finParte < fin && texto.charAt(finParte) != ',') {
+                finParte++;
+            }
+            int a = p;
+            int b = finParte;
+            while (a < b && texto.charAt(a) <= ' ') {
+                a++;
+            }
+            while (b > a && texto.charAt(b - 1) <= ' ') {
+                b--;
+            }
+            if (a < b) {
+                switch (count) {
+                    case 0 -> { i0 = a; f0 = b; }
+                    case 1 -> { i1 = a; f1 = b; }
+                    case 2 -> { i2 = a; f2 = b; }
+                    default -> { }
+                }
+                count++;
             }
+            p = finParte + 1;
         }
-        return operands;
+
+        validateOperands(opcode, count, texto, i0, f0, i1, f1, i2, f2);
+
+        int peso = opcode == CodigoOperacion.INT ? pesoInterrupcion(texto, i0, f0) : opcode.getPeso();
+        List<String> operands = switch (count) {
+            case 0 -> List.of();
+            case 1 -> List.of(operando(texto, i0, f0));
+            case 2 -> List.of(operando(texto, i0, f0), operando(texto, i1, f1));
+            default -> List.of(operando(texto, i0, f0), operando(texto, i1, f1), operando(texto, i2, f2));
+        };
+        return new Instruccion(opcode, operands, peso);
     }
 
-    private static void validateOperands(CodigoOperacion opcode, List<String> operands) {
-        int count = operands.size();
+    // ========== VALIDACIÓN ==========
 
+    private static void validateOperands(CodigoOperacion opcode, int count, CharSequence t,
+                                         int i0, int f0, int i1, int f1, int i2, int f2) {
         // Verificar número esperado
         if (opcode.getOperandos() >= 0 && opcode.getOperandos() != count) {
             throw new IllegalArgumentException("Número inválido de operandos para " + opcode + ": se esperaban " + opcode.getOperandos() + ", se recibieron " + count);
         }
 
         switch (opcode) {
-            case MOV ->
-                validateMOV(operands);
-            case ADD, SUB ->
-                validateSingleRegister(operands);
-            case LOAD, STORE, PUSH, POP ->
-                validateRegister(operands.get(0));
-            case INC, DEC ->
-                validateIncDec(opcode, operands);
-            case CMP, SWAP ->
-                validateTwoRegisters(operands);
-            case INT ->
-                validateInterrupt(operands);
-            case JMP, JE, JNE ->
-                validateJump(operands);
-            case PARAM ->
-                validateParams(operands);
+            case MOV -> {
+                // Primer operando debe ser registro; el segundo, registro o número inmediato
+                validateRegister(t, i0, f0);
+                if (buscarRegistro(t, i1, f1) == null && !esEntero(t, i1, f1, false)) {
+                    throw new IllegalArgumentException("Operando fuente inválido: " + texto(t, i1, f1));
+                }
+            }
+            case ADD, SUB, LOAD, STORE, PUSH, POP ->
+                validateRegister(t, i0, f0);
+            case INC, DEC -> {
+                if (count > 1) {
+                    throw new IllegalArgumentException(opcode + " solo acepta 0 o 1 operando.");
+                }
+                if (count == 1) {
+                    validateRegister(t, i0, f0);
+                }
+            }
+            case CMP, SWAP -> {
+                validateRegister(t, i0, f0);
+                validateRegister(t, i1, f1);
+            }
+            case INT -> {
+                if (pesoInterrupcion(t, i0, f0) < 0) {
+                    throw new IllegalArgumentException("Interrupción no válida: " + texto(t, i0, f0).toUpperCase());
+                }
+            }
+            case JMP, JE, JNE -> {
+                if (!esEntero(t, i0, f0, true)) {
+                    throw new IllegalArgumentException("Salto inválido: " + List.of(texto(t, i0, f0)));
+                }
+            }
+            case PARAM -> {
+                if (count < 1 || count > MAX_OPERANDOS) {
+                    throw new IllegalArgumentException("PARAM acepta de 1 a 3 parámetros.");
+                }
+                validateParam(t, i0, f0);
+                if (count > 1) {
+                    validateParam(t, i1, f1);
+                }
+                if (count > 2) {
+                    validateParam(t, i2, f2);
+                }
+            }
         }
     }
 
-    private static void validateMOV(List<String> ops) {
-        if (ops.size() != 2) {
-            throw new IllegalArgumentException("MOV requiere dos operandos.");
+    private static void validateRegister(CharSequence t, int a, int b) {
+        if (buscarRegistro(t, a, b) == null) {
+            throw new IllegalArgumentException("Registro desconocido: " + texto(t, a, b).toUpperCase());
         }
+    }
 
-        // Primer operando debe ser registro
-        validateRegister(ops.get(0));
-
-        // Segundo puede ser registro o número inmediato
-        String src = ops.get(1);
-        if (!isRegister(src) && !src.matches("-?\\d+")) {
-            throw new IllegalArgumentException("Operando fuente inválido: " + src);
+    private static void validateParam(CharSequence t, int a, int b) {
+        if (!esEntero(t, a, b, false)) {
+            throw new IllegalArgumentException("Parámetro no numérico: " + texto(t, a, b));
         }
     }
 
-    private static void validateSingleRegister(List<String> ops) {
-        if (ops.size() != 1) {
-            throw new IllegalArgumentException("Se esperaba un solo registro.");
-        }
-        validateRegister(ops.get(0));
+    // ========== LÉXICO ==========
+
+    /** Los separadores de \s: espacio, tabulador, salto de línea, tab vertical, \f y \r */
+    private static boolean esEspacio(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    private static char mayuscula(char c) {
+        return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
     }
 
-    private static void validateTwoRegisters(List<String> ops) {
-        if (ops.size() != 2) {
-            throw new IllegalArgumentException("Se esperaban dos registros.");
+    private static boolean igual(CharSequence t, int a, int b, String nombre) {
+        if (b - a != nombre.length()) {
+            return false;
         }
-        for (String op : ops) {
-            validateRegister(op);
+        for (int i = 0; i < nombre.length(); i++) {
+            if (mayuscula(t.charAt(a + i)) != nombre.charAt(i)) {
+                return false;
+            }
         }
+        return true;
     }
 
-    private static void validateIncDec(CodigoOperacion opcode, List<String> ops) {
-        if (ops.size() > 1) {
-            throw new IllegalArgumentException(opcode + " solo acepta 0 o 1 operando.");
-        }
-        if (ops.size() == 1) {
-            validateRegister(ops.get(0));
+    private static CodigoOperacion buscarCodigo(CharSequence t, int a, int b) {
+        for (CodigoOperacion codigo : CODIGOS) {
+            if (igual(t, a, b, codigo.name())) {
+                return codigo;
+            }
         }
+        throw new IllegalArgumentException("Instrucción desconocida: " + texto(t, a, b).toUpperCase());
     }
 
-    private static void validateRegister(String op) {
-        Registro.fromString(op); // Lanza excepción si no es válido
+    private static Registro buscarRegistro(CharSequence t, int a, int b) {
+        if (b - a != 2) {
+            return null;
+        }
+        for (Registro registro : REGISTROS) {
+            if (igual(t, a, b, registro.name())) {
+                return registro;
+            }
+        }
+        return null;
     }
 
-    private static boolean isRegister(String op) {
-        try {
-            Registro.fromString(op);
-            return true;
-        } catch (Exception e) {
+    /**
+     * -?\d+, o [+-]?\d+ si se acepta el signo más
+     */
+    private static boolean esEntero(CharSequence t, int a, int b, boolean conMas) {
+        if (a < b && (t.charAt(a) == '-' || (conMas && t.charAt(a) == '+'))) {
+            a++;
+        }
+        if (a == b) {
             return false;
         }
+        for (int i = a; i < b; i++) {
+            char c = t.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private static void validateInterrupt(List<String> ops) {
-        if (ops.size() != 1) {
-            throw new IllegalArgumentException("INT requiere un solo operando.");
+    /**
+     * Mismo criterio que CodigoOperacion.pesoInterrupcion para 0?9H, 10H, 20H y 21H
+     *
+     * @return el peso, o -1 si no es una de esas interrupciones
+     */
+    private static int pesoInterrupcion(CharSequence t, int a, int b) {
+        int largo = b - a;
+        if ((largo != 2 && largo != 3) || mayuscula(t.charAt(b - 1)) != 'H') {
+            return -1;
+        }
+        char decena = largo == 3 ? t.charAt(a) : '0';
+        char unidad = t.charAt(b - 2);
+        if (decena == '0' && unidad == '9') {
+            return 3;
         }
-        String code = ops.get(0).toUpperCase();
-        if (!code.matches("0?9H|10H|20H|21H")) {
-            throw new IllegalArgumentException("Interrupción no válida: " + code);
+        if (largo == 3 && unidad == '0' && (decena == '1' || decena == '2')) {
+            return 2;
         }
-        // Ajustar peso según el tipo de interrupción
-        int weight;
-        switch (code) {
-            case "09H" ->
-                weight = 3;
-            case "10H" ->
-                weight = 2;
-            case "20H" ->
-                weight = 2;
-            case "21H" ->
-                weight = 5;
-            default ->
-                weight = -1;
+        if (largo == 3 && decena == '2' && unidad == '1') {
+            return 5;
         }
-        CodigoOperacion.INT.setPeso(weight);
+        return -1;
     }
 
-    private static void validateJump(List<String> ops) {
-        if (ops.size() != 1 || !ops.get(0).matches("[+-]?\\d+")) {
-            throw new IllegalArgumentException("Salto inválido: " + ops);
+    // ========== CONSTRUCCIÓN DE OPERANDOS ==========
+
+    /**
+     * El operando como cadena, reutilizando la conocida si está escrito igual
+     */
+    private static String operando(CharSequence t, int a, int b) {
+        Registro registro = buscarRegistro(t, a, b);
+        if (registro != null && exacto(t, a, b, registro.name())) {
+            return registro.name();
+        }
+        for (String interrupcion : INTERRUPCIONES) {
+            if (exacto(t, a, b, interrupcion)) {
+                return interrupcion;
+            }
+        }
+        String numero = numeroConocido(t, a, b);
+        return numero != null ? numero : texto(t, a, b);
+    }
+
+    private static boolean exacto(CharSequence t, int a, int b, String s) {
+        if (b - a != s.length()) {
+            return false;
         }
+        for (int i = 0; i < s.length(); i++) {
+            if (t.charAt(a + i) != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private static void validateParams(List<String> ops) {
-        if (ops.size() < 1 || ops.size() > 3) {
-            throw new IllegalArgumentException("PARAM acepta de 1 a 3 parámetros.");
+    /**
+     * Entero en forma canónica (sin "+", sin ceros a la izquierda, sin "-0")
+     * dentro del rango compartido
+     */
+    private static String numeroConocido(CharSequence t, int a, int b) {
+        boolean negativo = a < b && t.charAt(a) == '-';
+        int i = negativo ? a + 1 : a;
+        if (i == b || b - i > 4 || (t.charAt(i) == '0' && (b - i > 1 || negativo))) {
+            return null;
         }
-        for (String op : ops) {
-            if (!op.matches("-?\\d+")) {
-                throw new IllegalArgumentException("Parámetro no numérico: " + op);
+        int valor = 0;
+        for (; i < b; i++) {
+            char c = t.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
             }
+            valor = valor * 10 + (c - '0');
+        }
+        if (negativo) {
+            valor = -valor;
         }
-    }    
+        return valor >= MENOR_NUMERO && valor <= MAYOR_NUMERO ? NUMEROS[valor - MENOR_NUMERO] : null;
+    }
+
+    private static String texto(CharSequence t, int a, int b) {
+        return t.subSequence(a, b).toString();
+    }
 }
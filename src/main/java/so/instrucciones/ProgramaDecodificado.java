@@ -0,0 +1,64 @@
+package so.instrucciones;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de analizar un programa completo: sus instrucciones válidas, en
+ * orden, y las líneas que no se pudieron analizar (que se omiten al cargarlo).
+ *
+ * Es inmutable, así que un mismo resultado se comparte entre todos los
+ * procesos creados a partir de programas con el mismo contenido.
+ *
+ * @author dylan
+ */
+public class ProgramaDecodificado {
+
+    private final Instruccion[] instrucciones;
+    private final List<String> lineasInvalidas;
+
+    private ProgramaDecodificado(Instruccion[] instrucciones, List<String> lineasInvalidas) {
+        this.instrucciones = instrucciones;
+        this.lineasInvalidas = Collections.unmodifiableList(lineasInvalidas);
+    }
+
+    /**
+     * Analiza cada línea con InstruccionParser; comentarios, etiquetas y
+     * líneas vacías no generan instrucción
+     */
+    public static ProgramaDecodificado decodificar(List<String> lineas) {
+        List<Instruccion> validas = new ArrayList<>(lineas.size());
+        List<String> invalidas = new ArrayList<>();
+        for (String linea : lineas) {
+            try {
+                Instruccion instruccion = InstruccionParser.parse(linea);
+                if (instruccion != null) {
+                    validas.add(instruccion);
+                }
+            } catch (Exception e) {
+                invalidas.add(linea);
+            }
+        }
+        return new ProgramaDecodificado(validas.toArray(new Instruccion[0]), invalidas);
+    }
+
+    /**
+     * Copia de las instrucciones válidas (quien la recibe puede modificarla)
+     */
+    public Instruccion[] getInstrucciones() {
+        return instrucciones.clone();
+    }
+
+    public int getCantidad() {
+        return instrucciones.length;
+    }
+
+    public boolean isVacio() {
+        return instrucciones.length == 0;
+    }
+
+    public List<String> getLineasInvalidas() {
+        return lineasInvalidas;
+    }
+}
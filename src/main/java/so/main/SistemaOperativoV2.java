@@ -5,14 +5,46 @@ import so.memoria.MemoriaSecundaria;
 import so.memoria.estrategias.IEstrategiaParticionamiento;
 import so.instrucciones.EjecutorInstrucciones;
 import so.instrucciones.Instruccion;
-import so.instrucciones.InstruccionParser;
+import so.instrucciones.CacheProgramas;
+import so.instrucciones.ProgramaDecodificado;
 import so.gestordeprocesos.Despachador;
 import so.gestordeprocesos.BCP;
 import so.gestordeprocesos.EstadoProceso;
 import so.planificacion.IPlanificador;
+import so.cpu.ContadoresInstrucciones;
+import so.estadisticas.AgregadorMetricas;
+import so.estadisticas.AlmacenEstadisticasMapeado;
+import so.estadisticas.AlmacenLineaTiempo;
 import so.estadisticas.EstadisticasProceso;
+import so.estadisticas.PerfiladorMuestreo;
+import so.estadisticas.RetencionProcesos;
+import so.eventos.BusEventosSistema;
+import so.eventos.IObservadorMotor;
+import so.eventos.PublicadorEventosSistema;
+import so.monitoreo.ContadoresMotor;
+import so.monitoreo.RegistroMBeans;
+import so.monitoreo.ServidorMetricas;
+import so.monitoreo.jfr.EventoAdmision;
+import so.monitoreo.jfr.EventoSeleccionPlanificador;
+import so.persistencia.EntradaPuntoControl;
+import so.persistencia.SalidaPuntoControl;
+import so.reproduccion.FuenteEntradasSistema;
+import so.reproduccion.GeneradorAleatorio;
+import so.reproduccion.GrabadorEntradas;
+import so.reproduccion.IFuenteEntradas;
+import so.traza.EscritorTraza;
+import so.traza.ExportadorPerfetto;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import so.memoria.estrategias.EstrategiaParticionamientoDinamico;
 import so.memoria.estrategias.EstrategiaParticionamientoFijo;
 
@@ -29,11 +61,15 @@ public class SistemaOperativoV2 {
     private final int tamanoMemoriaSecundaria;
     private final int tamanoMemoriaVirtual;
     private final int tamanoMemoriaUsuario;
+    private final String tipoEstrategia;
+    private final Object configEstrategia;
     private final IEstrategiaParticionamiento estrategiaMemoria;
     private final int cantidadCPUs;
+    private volatile PrintStream salidaLog; // null: salida estándar del proceso
     
     // ========== COMPONENTES DEL SISTEMA ==========
     private final MemoriaSecundaria memoriaSecundaria;
+    private final CacheProgramas cacheProgramas;
     private final MemoriaPrincipalV2 memoriaPrincipal;
     private final Despachador despachador;
     private final EjecutorInstrucciones[] ejecutores;
@@ -42,17 +78,36 @@ public class SistemaOperativoV2 {
     // ========== CONTROL Y ESTADÍSTICAS ==========
     private volatile boolean sistemaActivo;
     private volatile boolean ejecucionPausada;
+    private volatile long tickActual;
     private final Map<Integer, ProcesoInfo> informacionProcesos;
     private final List<EstadisticasProceso> estadisticasCompletados;
-    private final Random random;
+    private final Deque<Integer> finalizadosRetenidos; // IDs de procesos finalizados en orden
+    private final RetencionProcesos retencion;
+    private final GeneradorAleatorio random;
+    private volatile IFuenteEntradas fuenteEntradas;
     
     // ========== COLAS DE CONTROL ==========
     private final Queue<String> programasPendientes;
+    private final TreeMap<Long, List<String>> llegadasProgramadas; // tick de llegada -> programas
     private final Map<Integer, Integer> distribucionProcesos; // CPU -> cantidad procesos
     private final Map<Integer, Integer> cpuProcesoActual; // CPU -> numeroBCP actual
     
     // ========== LISTENERS PARA GUI ==========
     private final List<SistemaListener> listeners;
+    private BusEventosSistema busEventos;
+    
+    // ========== OBSERVADORES DEL MOTOR ==========
+    private volatile IObservadorMotor[] observadores;
+    private PublicadorEventosSistema publicadorEventos;
+    private EscritorTraza escritorTraza;
+    private ExportadorPerfetto exportadorPerfetto;
+    private AlmacenLineaTiempo lineaTiempo;
+    private final AgregadorMetricas metricas;
+    private AlmacenEstadisticasMapeado almacenEstadisticas;
+    private final ContadoresMotor contadores;
+    private RegistroMBeans registroMBeans;
+    private ServidorMetricas servidorMetricas;
+    private PerfiladorMuestreo perfilador;
     
     /**
      * Información de proceso para la interfaz gráfica
@@ -66,6 +121,7 @@ public class SistemaOperativoV2 {
         public int tiempoRestante;
         public EstadoProceso estado;
         public final double tiempoInicio;
+        public final ContadoresInstrucciones instrucciones;
         
         public ProcesoInfo(int id, String nombre, int cpu, int llegada, int rafaga, double inicio) {
             this.idProceso = id;
@@ -76,6 +132,27 @@ public class SistemaOperativoV2 {
             this.tiempoRestante = rafaga;
             this.estado = EstadoProceso.NUEVO;
             this.tiempoInicio = inicio;
+            this.instrucciones = new ContadoresInstrucciones();
+        }
+    }
+    
+    /**
+     * Programa cargado que todavía no se admitió, con su llegada relativa al
+     * tick actual (0 = ya llegó). Un mismo nombre puede aparecer varias veces
+     * si se encoló más de una vez.
+     */
+    public static class ProgramaSinAdmitir {
+        public final String nombre;
+        public final long llegada;
+        
+        public ProgramaSinAdmitir(String nombre, long llegada) {
+            this.nombre = nombre;
+            this.llegada = llegada;
+        }
+        
+        @Override
+        public String toString() {
+            return nombre + "@" + llegada;
         }
     }
     
@@ -95,6 +172,21 @@ public class SistemaOperativoV2 {
     public SistemaOperativoV2(int tamanoMemSecundaria, int tamanoMemVirtual,
                           int tamanoMemUsuario, String tipoEstrategia, Object configEstrategia, 
                           int cantidadCPUs, IPlanificador[] algoritmosPlanificacion) {
+        this(tamanoMemSecundaria, tamanoMemVirtual, tamanoMemUsuario, tipoEstrategia, configEstrategia,
+            cantidadCPUs, algoritmosPlanificacion, null);
+    }
+    
+    /**
+     * Constructor del Sistema Operativo con un destino propio para los logs.
+     * El sistema se lo pasa a la memoria, la estrategia, el despachador, los
+     * ejecutores y los planificadores, así que varios sistemas pueden correr
+     * a la vez en el mismo proceso sin tocar System.out ni System.err.
+     * 
+     * @param salidaLog destino de los logs (null para la salida estándar)
+     */
+    public SistemaOperativoV2(int tamanoMemSecundaria, int tamanoMemVirtual,
+                          int tamanoMemUsuario, String tipoEstrategia, Object configEstrategia, 
+                          int cantidadCPUs, IPlanificador[] algoritmosPlanificacion, PrintStream salidaLog) {
         
         // Validación de parámetros
         if (cantidadCPUs <= 0) {
@@ -108,39 +200,57 @@ public class SistemaOperativoV2 {
         this.tamanoMemoriaSecundaria = tamanoMemSecundaria;
         this.tamanoMemoriaVirtual = tamanoMemVirtual;
         this.tamanoMemoriaUsuario = tamanoMemUsuario;
+        this.tipoEstrategia = tipoEstrategia;
+        this.configEstrategia = configEstrategia;
         this.estrategiaMemoria = crearEstrategiaMemoria(tipoEstrategia, configEstrategia);
+        this.estrategiaMemoria.setSalidaLog(salidaLog);
         this.cantidadCPUs = cantidadCPUs;
         this.planificadores = algoritmosPlanificacion;
+        this.salidaLog = salidaLog;
         
         // Inicializar componentes
         this.memoriaSecundaria = new MemoriaSecundaria(tamanoMemSecundaria, tamanoMemVirtual);
-        this.memoriaPrincipal = new MemoriaPrincipalV2(estrategiaMemoria, tamanoMemUsuario);
+        this.memoriaSecundaria.setSalidaLog(salidaLog);
+        this.cacheProgramas = new CacheProgramas();
+        this.memoriaPrincipal = new MemoriaPrincipalV2(estrategiaMemoria, tamanoMemUsuario, salidaLog);
         this.despachador = new Despachador(memoriaPrincipal);
+        this.despachador.setSalidaLog(salidaLog);
         
         // Inicializar ejecutores (uno por CPU)
         this.ejecutores = new EjecutorInstrucciones[cantidadCPUs];
         for (int i = 0; i < cantidadCPUs; i++) {
             this.ejecutores[i] = new EjecutorInstrucciones(memoriaPrincipal, despachador);
+            this.ejecutores[i].setSalidaLog(salidaLog);
         }
         
         // Inicializar estructuras de control
         this.sistemaActivo = false;
         this.ejecucionPausada = false;
+        this.tickActual = 0;
         this.informacionProcesos = Collections.synchronizedMap(new HashMap<>());
-        this.estadisticasCompletados = Collections.synchronizedList(new ArrayList<>());
-        this.random = new Random();
+        this.estadisticasCompletados = Collections.synchronizedList(new LinkedList<>());
+        this.finalizadosRetenidos = new ArrayDeque<>();
+        this.retencion = new RetencionProcesos();
+        this.random = new GeneradorAleatorio();
+        this.fuenteEntradas = new FuenteEntradasSistema(random);
         this.programasPendientes = new LinkedList<>();
+        this.llegadasProgramadas = new TreeMap<>();
         this.distribucionProcesos = new HashMap<>();
         this.cpuProcesoActual = new HashMap<>();
-        this.listeners = new ArrayList<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.metricas = new AgregadorMetricas(cantidadCPUs, memoriaPrincipal.getMaxProcesos());
+        this.contadores = new ContadoresMotor(cantidadCPUs);
+        this.observadores = new IObservadorMotor[]{contadores, metricas};
         
         // Inicializar distribución de CPUs
         for (int i = 0; i < cantidadCPUs; i++) {
             distribucionProcesos.put(i, 0);
             cpuProcesoActual.put(i, -1);
+            planificadores[i].setFuenteEntradas(fuenteEntradas);
+            planificadores[i].setSalidaLog(salidaLog);
         }
         
-        System.out.println("[SISTEMA OPERATIVO] Inicializado con " + cantidadCPUs + " CPUs");
+        out().println("[SISTEMA OPERATIVO] Inicializado con " + cantidadCPUs + " CPUs");
     }
     
     // ========== GESTIÓN DE LISTENERS ==========
@@ -153,6 +263,96 @@ public class SistemaOperativoV2 {
         listeners.remove(listener);
     }
     
+    /**
+     * Obtiene el bus de eventos asíncrono del sistema.
+     * Se crea e inicia la primera vez que se solicita; los listeners que se
+     * registren en él dejan de ejecutarse en el hilo de simulación.
+     */
+    public synchronized BusEventosSistema getBusEventos() {
+        if (busEventos == null) {
+            busEventos = new BusEventosSistema();
+            busEventos.iniciar();
+            addListener(busEventos);
+        }
+        return busEventos;
+    }
+    
+    /**
+     * Detiene el bus de eventos asíncrono (si fue creado)
+     */
+    public synchronized void cerrarBusEventos() {
+        if (busEventos != null) {
+            removeListener(busEventos);
+            busEventos.detener();
+            busEventos = null;
+        }
+    }
+    
+    // ========== GESTIÓN DE OBSERVADORES DEL MOTOR ==========
+    
+    /**
+     * Registra un observador síncrono de los puntos clave del motor.
+     * Se invoca en el hilo de simulación, por lo que debe ser rápido.
+     */
+    public synchronized void addObservador(IObservadorMotor observador) {
+        IObservadorMotor[] nuevos = Arrays.copyOf(observadores, observadores.length + 1);
+        nuevos[nuevos.length - 1] = observador;
+        observadores = nuevos;
+    }
+    
+    public synchronized void removeObservador(IObservadorMotor observador) {
+        List<IObservadorMotor> restantes = new ArrayList<>(Arrays.asList(observadores));
+        if (restantes.remove(observador)) {
+            observadores = restantes.toArray(new IObservadorMotor[0]);
+        }
+    }
+    
+    /**
+     * Obtiene el publicador reactivo (Flow.Publisher) de eventos del sistema.
+     * Se crea y registra como observador la primera vez que se solicita.
+     */
+    public synchronized PublicadorEventosSistema getPublicadorEventos() {
+        if (publicadorEventos == null) {
+            publicadorEventos = new PublicadorEventosSistema();
+            addObservador(publicadorEventos);
+        }
+        return publicadorEventos;
+    }
+    
+    /**
+     * Completa las suscripciones del publicador de eventos (si fue creado)
+     */
+    public synchronized void cerrarPublicadorEventos() {
+        if (publicadorEventos != null) {
+            removeObservador(publicadorEventos);
+            publicadorEventos.cerrar();
+            publicadorEventos = null;
+        }
+    }
+    
+    /**
+     * Historial de ocupación de los CPUs (diagrama de Gantt).
+     * Se crea y registra como observador la primera vez que se solicita, así
+     * que solo contiene las ráfagas desde ese momento; las corridas que nunca
+     * lo piden no acumulan un segmento por despacho.
+     */
+    public synchronized AlmacenLineaTiempo getLineaTiempo() {
+        if (lineaTiempo == null) {
+            lineaTiempo = new AlmacenLineaTiempo(cantidadCPUs);
+            addObservador(lineaTiempo);
+        }
+        return lineaTiempo;
+    }
+    
+    /**
+     * Métricas de planificación en línea (retorno, espera, respuesta,
+     * utilización y rendimiento). Se registra como observador desde la
+     * creación del sistema.
+     */
+    public AgregadorMetricas getMetricas() {
+        return metricas;
+    }
+    
     private void notificarProcesoEjecutado(int cpu, BCP bcp) {
         for (SistemaListener listener : listeners) {
             listener.onProcesoEjecutado(cpu, bcp);
@@ -185,23 +385,69 @@ public class SistemaOperativoV2 {
     public boolean cargarArchivosMemoriaSecundaria(String[] nombres, List<String>[] programas) {
         try {
             memoriaSecundaria.cargarProgramas(nombres, programas);
+            fuenteEntradas.registrarProgramas(nombres, programas);
+            // Se analizan ya, en paralelo, para no hacerlo al admitirlos
+            cacheProgramas.precargar(programas);
             
             // Agregar a la cola de programas pendientes
             programasPendientes.addAll(Arrays.asList(nombres));
+            contadores.setProgramasPendientes(programasPendientes.size());
             
-            System.out.println("[SO] " + nombres.length + " programas cargados a memoria secundaria");
+            out().println("[SO] " + nombres.length + " programas cargados a memoria secundaria");
             return true;
             
         } catch (Exception e) {
-            System.err.println("[SO] Error al cargar archivos: " + e.getMessage());
+            err().println("[SO] Error al cargar archivos: " + e.getMessage());
             return false;
         }
     }
 
     /**
-     * Crea la estrategia de memoria según la configuración
+     * Retrasa la admisión de programas ya cargados en memoria secundaria: cada
+     * uno pasa a la cola de pendientes cuando se alcanza su tick de llegada
+     *
+     * @param nombres programas pendientes a retrasar
+     * @param llegadas ticks de llegada, relativos al tick actual (0 = ya llegó)
+     */
+    public synchronized void programarLlegadas(String[] nombres, long[] llegadas) {
+        if (nombres.length != llegadas.length) {
+            throw new IllegalArgumentException("La cantidad de nombres y llegadas no coincide");
+        }
+        fuenteEntradas.registrarLlegadas(nombres, llegadas);
+        for (int i = 0; i < nombres.length; i++) {
+            if (llegadas[i] < 0) {
+                throw new IllegalArgumentException("Llegada negativa para " + nombres[i]);
+            }
+            if (llegadas[i] > 0 && programasPendientes.remove(nombres[i])) {
+                llegadasProgramadas.computeIfAbsent(tickActual + llegadas[i], t -> new ArrayList<>()).add(nombres[i]);
+            }
+        }
+        contadores.setProgramasPendientes(programasPendientes.size());
+    }
+
+    /**
+     * Pasa a pendientes los programas cuyo tick de llegada ya se alcanzó
+     */
+    private void admitirLlegadas() {
+        while (!llegadasProgramadas.isEmpty() && llegadasProgramadas.firstKey() <= tickActual) {
+            programasPendientes.addAll(llegadasProgramadas.pollFirstEntry().getValue());
+        }
+        contadores.setProgramasPendientes(programasPendientes.size());
+    }
+
+    public synchronized int getLlegadasProgramadas() {
+        int total = 0;
+        for (List<String> programas : llegadasProgramadas.values()) {
+            total += programas.size();
+        }
+        return total;
+    }
+
+    /**
+     * Crea la estrategia de memoria según la configuración (también la usan
+     * las herramientas que simulan la memoria sin un sistema completo)
      */
-    private IEstrategiaParticionamiento crearEstrategiaMemoria(String tipoEstrategia, Object config) {
+    public static IEstrategiaParticionamiento crearEstrategiaMemoria(String tipoEstrategia, Object config) {
         switch (tipoEstrategia.toUpperCase()) {
             case "FIJO_IGUAL":
                 if (config instanceof Integer) {
@@ -231,10 +477,26 @@ public class SistemaOperativoV2 {
     /**
      * Carga programas a memoria principal distribuidos entre las CPUs
      */
-    public int cargarProgramasMemoriaPrincipal() {
+    public synchronized int cargarProgramasMemoriaPrincipal() {
+        fuenteEntradas.registrarCargaProgramas();
+        return cargarProgramasPendientes();
+    }
+    
+    /**
+     * Admite programas pendientes mientras haya BCPs libres. Se usa tanto
+     * desde la orden externa como desde el propio motor al liberar procesos.
+     */
+    private int cargarProgramasPendientes() {
         int programasCargados = 0;
         
         while (!programasPendientes.isEmpty() && memoriaPrincipal.getCantidadBCPsActivos() < memoriaPrincipal.getMaxProcesos()) {
+            // Límite de 5 procesos por CPU: si el CPU menos cargado ya lo
+            // alcanzó, el resto de programas espera a que alguno termine
+            int cpuMenosCargado = seleccionarCPUBalanceado();
+            if (distribucionProcesos.get(cpuMenosCargado) >= 5) {
+                break;
+            }
+            
             String nombrePrograma = programasPendientes.poll();
             if (nombrePrograma == null) continue;
             
@@ -242,62 +504,61 @@ public class SistemaOperativoV2 {
                 // Leer programa de memoria secundaria
                 List<String> lineasPrograma = memoriaSecundaria.leerPrograma(nombrePrograma);
                 if (lineasPrograma == null || lineasPrograma.isEmpty()) {
-                    System.err.println("[SO] Programa no encontrado: " + nombrePrograma);
+                    err().println("[SO] Programa no encontrado: " + nombrePrograma);
                     continue;
                 }
                 
-                // Parsear y validar instrucciones
-                List<Instruccion> instruccionesValidas = new ArrayList<>();
-                for (String linea : lineasPrograma) {
-                    try {
-                        Instruccion instruccion = InstruccionParser.parse(linea);
-                        if (instruccion != null) {
-                            instruccionesValidas.add(instruccion);
-                        }
-                    } catch (Exception e) {
-                        System.err.println("[SO] Instrucción inválida en " + nombrePrograma + ": " + linea);
-                    }
+                // Instrucciones válidas (analizadas una sola vez por contenido)
+                ProgramaDecodificado decodificado = cacheProgramas.obtener(lineasPrograma);
+                for (String linea : decodificado.getLineasInvalidas()) {
+                    err().println("[SO] Instrucción inválida en " + nombrePrograma + ": " + linea);
                 }
                 
-                if (instruccionesValidas.isEmpty()) {
-                    System.err.println("[SO] No hay instrucciones válidas en: " + nombrePrograma);
+                if (decodificado.isVacio()) {
+                    err().println("[SO] No hay instrucciones válidas en: " + nombrePrograma);
                     continue;
                 }
                 
                 // Seleccionar CPU para distribución balanceada
                 int cpuSeleccionado = seleccionarCPUBalanceado();
 
-                int procesosEnCPU = distribucionProcesos.get(cpuSeleccionado);
-
-                // Límite de 5 procesos por CPU
-                if (procesosEnCPU >= 5) {
-                    System.out.println("[SO] CPU " + cpuSeleccionado + " alcanzó límite de 5 procesos");
-                    continue; // Saltar este CPU, intentar con otro
-                }
-                
                 // Cargar instrucciones a memoria principal
-                Instruccion[] arrayInstrucciones = instruccionesValidas.toArray(new Instruccion[0]);
+                Instruccion[] arrayInstrucciones = decodificado.getInstrucciones();
                 var infoAsignacion = memoriaPrincipal.cargarInstrucciones(arrayInstrucciones);
                 
                 if (infoAsignacion == null) {
-                    System.err.println("[SO] No hay espacio en memoria principal para: " + nombrePrograma);
-                    programasPendientes.add(nombrePrograma); // Reintentar después
-                    continue;
+                    for (IObservadorMotor observador : observadores) {
+                        observador.onAsignacionFallida(tickActual, nombrePrograma, arrayInstrucciones.length);
+                    }
+                    if (memoriaPrincipal.getCantidadBCPsActivos() == 0) {
+                        // Ni con la memoria vacía cabe (p. ej. más grande que una partición fija)
+                        err().println("[SO] " + nombrePrograma + " no cabe en memoria principal, se descarta");
+                        continue;
+                    }
+                    err().println("[SO] No hay espacio en memoria principal para: " + nombrePrograma);
+                    // Reintentar cuando algún proceso libere memoria
+                    programasPendientes.add(nombrePrograma);
+                    break;
                 }
                 
                 // Crear BCP
                 int idProceso = memoriaPrincipal.generarNuevoIDProceso();
-                BCP bcp = new BCP(idProceso, nombrePrograma, infoAsignacion.direccionBase, instruccionesValidas.size());                
+                BCP bcp = new BCP(idProceso, nombrePrograma, infoAsignacion.direccionBase, arrayInstrucciones.length);                
+                long ahora = fuenteEntradas.tiempoActualMillis();
+                bcp.setTiempoInicio(ahora);
                 
                 // Asignar a memoria principal
                 int numeroBCP = memoriaPrincipal.crearBCP(bcp);
                 if (numeroBCP < 0) {
-                    System.err.println("[SO] No se pudo crear BCP para: " + nombrePrograma);
+                    err().println("[SO] No se pudo crear BCP para: " + nombrePrograma);
                     continue;
                 }
                 
                 // Asociar asignación de memoria al proceso
                 memoriaPrincipal.asociarAsignacionAProceso(bcp, infoAsignacion, numeroBCP);
+                for (IObservadorMotor observador : observadores) {
+                    observador.onAsignacionMemoria(tickActual, idProceso, nombrePrograma, infoAsignacion);
+                }
                 
                 // Cambiar estado a LISTO y encolar
                 bcp.setEstado(EstadoProceso.LISTO);
@@ -308,7 +569,7 @@ public class SistemaOperativoV2 {
                 int tiempoLlegada = calcularTiempoLlegada(cpuSeleccionado);
                 ProcesoInfo info = new ProcesoInfo(
                     idProceso, nombrePrograma, cpuSeleccionado, 
-                    tiempoLlegada, instruccionesValidas.size(), System.currentTimeMillis()
+                    tiempoLlegada, arrayInstrucciones.length, ahora
                 );
                 bcp.setTiempoLlegadaProgramado(tiempoLlegada);
                 info.estado = EstadoProceso.LISTO;
@@ -320,20 +581,34 @@ public class SistemaOperativoV2 {
                 // Actualizar distribución
                 distribucionProcesos.put(cpuSeleccionado, distribucionProcesos.get(cpuSeleccionado) + 1);
                 
-                // Notificar listeners
+                // Notificar observadores y listeners
+                for (IObservadorMotor observador : observadores) {
+                    observador.onAdmision(tickActual, cpuSeleccionado, numeroBCP, bcp);
+                }
+                EventoAdmision eventoAdmision = new EventoAdmision();
+                if (eventoAdmision.shouldCommit()) {
+                    eventoAdmision.tick = tickActual;
+                    eventoAdmision.idProceso = idProceso;
+                    eventoAdmision.nombre = nombrePrograma;
+                    eventoAdmision.cpu = cpuSeleccionado;
+                    eventoAdmision.numeroBCP = numeroBCP;
+                    eventoAdmision.instrucciones = arrayInstrucciones.length;
+                    eventoAdmision.commit();
+                }
                 notificarProcesoNuevo(bcp);
                 
                 programasCargados++;
-                System.out.println("[SO] Programa cargado: " + nombrePrograma + 
-                                 " → CPU " + cpuSeleccionado + " (Instrucciones: " + instruccionesValidas.size() + ")");
+                out().println("[SO] Programa cargado: " + nombrePrograma + 
+                                 " → CPU " + cpuSeleccionado + " (Instrucciones: " + arrayInstrucciones.length + ")");
                 
             } catch (Exception e) {
-                System.err.println("[SO] Error al cargar programa " + nombrePrograma + ": " + e.getMessage());
+                err().println("[SO] Error al cargar programa " + nombrePrograma + ": " + e.getMessage());
                 programasPendientes.add(nombrePrograma);
             }
         }
         
-        System.out.println("[SO] " + programasCargados + " programas cargados a memoria principal");
+        contadores.setProgramasPendientes(programasPendientes.size());
+        out().println("[SO] " + programasCargados + " programas cargados a memoria principal");
         return programasCargados;
     }
     
@@ -360,7 +635,7 @@ public class SistemaOperativoV2 {
      */
     private int calcularTiempoLlegada(int cpu) {
         int base = distribucionProcesos.get(cpu) * 3;
-        return base + random.nextInt(3);
+        return base + fuenteEntradas.siguienteEntero(3);
     }
     
     // ========== EJECUCIÓN DEL SISTEMA - NUEVOS MÉTODOS ==========
@@ -371,21 +646,47 @@ public class SistemaOperativoV2 {
      */
     public synchronized boolean ejecutarPasoAPaso() {        
         boolean seEjecutoAlgo = false;
+        tickActual++;
+        fuenteEntradas.registrarPaso();
+        contadores.registrarPaso();
+        if (!llegadasProgramadas.isEmpty()) {
+            admitirLlegadas();
+        }
         
         for (int cpu = 0; cpu < cantidadCPUs; cpu++) {
             if (ejecutarInstruccionEnCPU(cpu)) {
                 seEjecutoAlgo = true;
+            } else {
+                contadores.registrarTickOcioso(cpu);
             }
         }
         
         // Intentar cargar más procesos si hay pendientes
         if (!programasPendientes.isEmpty()) {
-            cargarProgramasMemoriaPrincipal();
+            cargarProgramasPendientes();
         }
         
         return seEjecutoAlgo;
     }
-    
+
+    /**
+     * Ejecuta pasos hasta que no queden procesos (sin interfaz ni temporizador)
+     *
+     * @param maxTicks tope de pasos a ejecutar, para no quedar en un ciclo si
+     *                 algún programa no termina
+     * @return pasos ejecutados
+     */
+    public synchronized long ejecutarHastaFinalizar(long maxTicks) {
+        if (maxTicks < 1) {
+            throw new IllegalArgumentException("El tope de ticks debe ser al menos 1");
+        }
+        long tickInicial = tickActual;
+        while (hayProcesosPorEjecutar() && tickActual - tickInicial < maxTicks) {
+            ejecutarPasoAPaso();
+        }
+        return tickActual - tickInicial;
+    }
+
     /**
      * Ejecuta UNA instrucción en un CPU específico
      * @param cpuId ID del CPU (0-4)
@@ -397,7 +698,7 @@ public class SistemaOperativoV2 {
             int procesoActual = cpuProcesoActual.get(cpuId);
             if (procesoActual >= 0) {
                 BCP bcpActual = memoriaPrincipal.obtenerBCP(procesoActual);
-                ProcesoInfo info = informacionProcesos.get(bcpActual.getIdProceso());
+                ProcesoInfo info = bcpActual != null ? informacionProcesos.get(bcpActual.getIdProceso()) : null;
                 if (info != null) {
                     info.tiempoRestante--;
                 }
@@ -412,9 +713,15 @@ public class SistemaOperativoV2 {
                 }
                 
                 if (bcpActual != null && bcpActual.getEstado() == EstadoProceso.EJECUCION) {
-                    // Continuar ejecutando el proceso actual según el algoritmo
+                    // Continuar ejecutando el proceso actual según el algoritmo.
+                    // El BCP en ejecución de la memoria es uno solo para todos los
+                    // CPUs: se apunta al proceso de este CPU antes de ejecutar
+                    memoriaPrincipal.setBCPEnEjecucion(procesoActual);
+                    ejecutores[cpuId].setContadoresProceso(info != null ? info.instrucciones : null);
+                    int pcEjecutado = bcpActual.getPC();
                     boolean continuar = ejecutores[cpuId].ejecutarSiguiente();
                     bcpActual = memoriaPrincipal.obtenerBCP(procesoActual);
+                    notificarInstruccionRetirada(cpuId, procesoActual, bcpActual, pcEjecutado);
 
                     if (!continuar || bcpActual.getEstado() == EstadoProceso.FINALIZADO) {
                         manejarProcesoTerminado(bcpActual, procesoActual, cpuId);
@@ -425,22 +732,48 @@ public class SistemaOperativoV2 {
             }
 
             // 2. SELECCIONAR NUEVO PROCESO SOLO SI NO HAY UNO EN EJECUCIÓN
+            int enEjecucionAntes = memoriaPrincipal.getBCPEnEjecucion();
+            EventoSeleccionPlanificador eventoSeleccion = new EventoSeleccionPlanificador();
+            eventoSeleccion.begin();
             int numeroBCP = planificadores[cpuId].seleccionarSiguiente(memoriaPrincipal);
+            eventoSeleccion.end();
+            if (eventoSeleccion.shouldCommit()) {
+                eventoSeleccion.tick = tickActual;
+                eventoSeleccion.cpu = cpuId;
+                eventoSeleccion.algoritmo = planificadores[cpuId].getNombre();
+                eventoSeleccion.listos = (int) contadores.getColaListos();
+                eventoSeleccion.seleccionado = numeroBCP;
+                eventoSeleccion.commit();
+            }
+            detectarDesalojo(enEjecucionAntes, numeroBCP);
             if (numeroBCP < 0) {
                 return false;
             }
 
             // 3. DESPACHAR NUEVO PROCESO
+            // (el planificador puede haber tomado el proceso que ejecutaba otro CPU)
+            for (int otro = 0; otro < cantidadCPUs; otro++) {
+                if (otro != cpuId && cpuProcesoActual.get(otro) == numeroBCP) {
+                    cpuProcesoActual.put(otro, -1);
+                }
+            }
             cpuProcesoActual.put(cpuId, numeroBCP);
             despachador.despachar(numeroBCP);
             BCP bcp = memoriaPrincipal.obtenerBCP(numeroBCP);
+            for (IObservadorMotor observador : observadores) {
+                observador.onDespacho(tickActual, cpuId, numeroBCP, bcp);
+            }
 
             // 4. ACTUALIZAR ESTADO INMEDIATAMENTE
             actualizarInfoProceso(bcp, EstadoProceso.EJECUCION, cpuId);
 
             // 5. EJECUTAR PRIMERA INSTRUCCIÓN
+            ProcesoInfo info = informacionProcesos.get(bcp.getIdProceso());
+            ejecutores[cpuId].setContadoresProceso(info != null ? info.instrucciones : null);
+            int pcEjecutado = bcp.getPC();
             boolean continuar = ejecutores[cpuId].ejecutarSiguiente();
             bcp = memoriaPrincipal.obtenerBCP(numeroBCP);
+            notificarInstruccionRetirada(cpuId, numeroBCP, bcp, pcEjecutado);
 
             notificarProcesoEjecutado(cpuId, bcp);
 
@@ -452,11 +785,53 @@ public class SistemaOperativoV2 {
             return true;
 
         } catch (Exception e) {
-            System.err.println("[CPU " + cpuId + "] Error: " + e.getMessage());
+            err().println("[CPU " + cpuId + "] Error: " + e.getMessage());
             return false;
         }
     }
     
+    /**
+     * Notifica a los observadores la instrucción que acaba de ejecutar un CPU
+     */
+    private void notificarInstruccionRetirada(int cpuId, int numeroBCP, BCP bcp, int pcEjecutado) {
+        if (observadores.length == 0 || bcp == null || pcEjecutado >= bcp.getTamanoProceso()) {
+            return;
+        }
+        Instruccion instruccion = memoriaPrincipal.obtenerInstruccion(bcp.getDireccionBase() + pcEjecutado);
+        for (IObservadorMotor observador : observadores) {
+            observador.onInstruccionRetirada(tickActual, cpuId, numeroBCP, bcp, pcEjecutado, instruccion);
+        }
+    }
+    
+    /**
+     * Detecta si el planificador devolvió a la cola de listos el proceso que
+     * estaba en ejecución (RR por quantum, SRT por uno más corto). En ese caso
+     * el CPU que lo ejecutaba queda libre para seleccionar otro proceso.
+     */
+    private void detectarDesalojo(int enEjecucionAntes, int seleccionado) {
+        if (enEjecucionAntes < 0 || enEjecucionAntes == seleccionado) {
+            return;
+        }
+        BCP bcp = memoriaPrincipal.obtenerBCP(enEjecucionAntes);
+        if (bcp == null || bcp.getEstado() != EstadoProceso.LISTO) {
+            return;
+        }
+        
+        int cpuDesalojado = -1;
+        for (int cpu = 0; cpu < cantidadCPUs; cpu++) {
+            if (cpuProcesoActual.get(cpu) == enEjecucionAntes) {
+                cpuDesalojado = cpu;
+                cpuProcesoActual.put(cpu, -1);
+                break;
+            }
+        }
+        
+        actualizarInfoProceso(bcp, EstadoProceso.LISTO, cpuDesalojado);
+        for (IObservadorMotor observador : observadores) {
+            observador.onDesalojo(tickActual, cpuDesalojado, enEjecucionAntes, bcp);
+        }
+    }
+    
     /**
      * Inicia ejecución automática
      */
@@ -464,13 +839,14 @@ public class SistemaOperativoV2 {
         sistemaActivo = true;
         ejecucionPausada = false;
         notificarEstadoCambiado();
-        System.out.println("[SO] Ejecución automática iniciada");
+        out().println("[SO] Ejecución automática iniciada");
     }
     
     /**
      * Pausa la ejecución automática (mantiene el contexto)
      */
     public synchronized void pausarEjecucionAutomatica() {        
+        fuenteEntradas.registrarPausa();
         sistemaActivo = false;
         ejecucionPausada = true;
         
@@ -488,13 +864,14 @@ public class SistemaOperativoV2 {
         }
         
         notificarEstadoCambiado();
-        System.out.println("[SO] Ejecución automática pausada - Contexto guardado");
+        out().println("[SO] Ejecución automática pausada - Contexto guardado");
     }
     
     /**
      * Detiene completamente la ejecución automática
      */
     public synchronized void detenerEjecucionAutomatica() {
+        fuenteEntradas.registrarDetencion();
         sistemaActivo = false;
         ejecucionPausada = false;
         
@@ -505,7 +882,7 @@ public class SistemaOperativoV2 {
         
         despachador.detener();
         notificarEstadoCambiado();
-        System.out.println("[SO] Ejecución automática detenida");
+        out().println("[SO] Ejecución automática detenida");
     }
     
     /**
@@ -518,7 +895,7 @@ public class SistemaOperativoV2 {
             memoriaPrincipal.actualizarBCP(numeroBCP, bcp);
             actualizarInfoProceso(bcp, EstadoProceso.FINALIZADO, cpuId);
 
-            // 2. CREAR ESTADÍSTICAS (NO ELIMINAR DE informacionProcesos)
+            // 2. CREAR ESTADÍSTICAS (los finalizados más antiguos se archivan según la retención)
             ProcesoInfo info = informacionProcesos.get(bcp.getIdProceso());
             if (info != null) {
                 EstadisticasProceso estadisticas = new EstadisticasProceso(
@@ -531,21 +908,32 @@ public class SistemaOperativoV2 {
                 );
                 estadisticasCompletados.add(estadisticas);
 
-                // ACTUALIZAR INFO PERO NO ELIMINAR
+                // ACTUALIZAR INFO (SE ELIMINA CUANDO SUPERA LA RETENCIÓN)
                 info.estado = EstadoProceso.FINALIZADO;
                 info.tiempoRestante = 0;
+                finalizadosRetenidos.add(info.idProceso);
+                aplicarRetencion();
+            }
+
+            for (IObservadorMotor observador : observadores) {
+                observador.onFinalizacion(tickActual, cpuId, numeroBCP, bcp);
             }
 
             // 3. LIBERAR MEMORIA DEL PROCESO
             memoriaPrincipal.liberarBCP(numeroBCP);
+            int tamanoLiberado = bcp.tieneParticionAsignada() ? bcp.getTamanoParticion() : bcp.getTamanoBloqueAsignado();
+            for (IObservadorMotor observador : observadores) {
+                observador.onLiberacionMemoria(tickActual, bcp.getIdProceso(), bcp.getNombreProceso(),
+                                               bcp.getDireccionBase(), tamanoLiberado);
+            }
 
             // 4. ACTUALIZAR DISTRIBUCIÓN
             distribucionProcesos.put(cpuId, distribucionProcesos.get(cpuId) - 1);
 
             if (!programasPendientes.isEmpty() && memoriaPrincipal.getCantidadBCPsActivos() < memoriaPrincipal.getMaxProcesos()) {
-                int programasCargados = cargarProgramasMemoriaPrincipal();
+                int programasCargados = cargarProgramasPendientes();
                 if (programasCargados > 0) {
-                    System.out.println("[SO] " + programasCargados + " nuevos procesos cargados después de finalizar " + bcp.getNombreProceso());
+                    out().println("[SO] " + programasCargados + " nuevos procesos cargados después de finalizar " + bcp.getNombreProceso());
                 }
             }            
             
@@ -553,10 +941,10 @@ public class SistemaOperativoV2 {
             planificadores[cpuId].onProcesoFinalizado(bcp);
             notificarProcesoFinalizado(cpuId, bcp);
 
-            System.out.println("[CPU " + cpuId + "] Proceso finalizado: " + bcp.getNombreProceso());
+            out().println("[CPU " + cpuId + "] Proceso finalizado: " + bcp.getNombreProceso());
 
         } catch (Exception e) {
-            System.err.println("[SO] Error al manejar proceso terminado: " + e.getMessage());
+            err().println("[SO] Error al manejar proceso terminado: " + e.getMessage());
         }
     }
     
@@ -571,6 +959,573 @@ public class SistemaOperativoV2 {
         }
     }
     
+    // ========== RETENCIÓN DE PROCESOS FINALIZADOS ==========
+    
+    /**
+     * Descarta de memoria los procesos finalizados que exceden la retención:
+     * su ProcesoInfo se elimina y sus estadísticas pasan al archivo
+     */
+    private void aplicarRetencion() {
+        while (retencion.excede(finalizadosRetenidos.size())) {
+            informacionProcesos.remove(finalizadosRetenidos.poll());
+        }
+        while (retencion.excede(estadisticasCompletados.size())) {
+            retencion.archivar(estadisticasCompletados.remove(0));
+        }
+    }
+    
+    /**
+     * Cambia la cantidad de procesos finalizados que se mantienen en memoria
+     */
+    public synchronized void setMaxProcesosRetenidos(int maxRetenidos) {
+        retencion.setMaxRetenidos(maxRetenidos);
+        aplicarRetencion();
+    }
+    
+    /**
+     * Escribe en el archivo indicado los procesos finalizados que se descarten
+     * de memoria (null para no escribirlos)
+     */
+    public synchronized void setArchivoRetencion(Path archivo) throws IOException {
+        retencion.setArchivo(archivo);
+    }
+    
+    public RetencionProcesos getRetencion() {
+        return retencion;
+    }
+    
+    /**
+     * Total de procesos finalizados, incluidos los ya archivados
+     */
+    public long getTotalProcesosCompletados() {
+        return estadisticasCompletados.size() + retencion.getTotalArchivados();
+    }
+    
+    // ========== PUNTO DE CONTROL ==========
+    
+    private static final int MAGICO_PUNTO_CONTROL = 0x534F5043; // "SOPC"
+    private static final int VERSION_PUNTO_CONTROL = 8;
+    
+    /**
+     * Guarda el estado completo del sistema en un archivo binario: configuración,
+     * memoria principal y secundaria, estrategia de memoria, CPUs, planificadores
+     * y las estructuras de control del motor.
+     * 
+     * Se ejecuta entre dos pasos (el método es synchronized igual que
+     * ejecutarPasoAPaso), de modo que el estado guardado siempre es consistente.
+     * El archivo se escribe primero en un temporal y luego se reemplaza, para no
+     * dejar un punto de control a medias si ocurre un error.
+     * 
+     * @param archivo ruta del punto de control
+     */
+    public synchronized void guardarPuntoControl(Path archivo) throws IOException {
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        
+        try (OutputStream flujo = Files.newOutputStream(temporal)) {
+            guardarPuntoControl(flujo);
+        }
+        
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING);
+        out().println("[SO] Punto de control guardado en " + archivo + " (tick " + tickActual + ")");
+    }
+    
+    /**
+     * Escribe el punto de control en un flujo (que no se cierra)
+     */
+    public synchronized void guardarPuntoControl(OutputStream flujo) throws IOException {
+        SalidaPuntoControl salida = new SalidaPuntoControl(flujo);
+        salida.writeInt(MAGICO_PUNTO_CONTROL);
+        salida.writeInt(VERSION_PUNTO_CONTROL);
+        
+        // Configuración necesaria para reconstruir el sistema
+        salida.writeInt(tamanoMemoriaSecundaria);
+        salida.writeInt(tamanoMemoriaVirtual);
+        salida.writeInt(tamanoMemoriaUsuario);
+        salida.writeUTF(tipoEstrategia);
+        salida.writeBoolean(configEstrategia instanceof Integer);
+        if (configEstrategia instanceof Integer tamanoParticion) {
+            salida.writeInt(tamanoParticion);
+        }
+        salida.writeInt(cantidadCPUs);
+        for (IPlanificador planificador : planificadores) {
+            salida.writeUTF(planificador.getClass().getName());
+        }
+        
+        // Componentes
+        memoriaSecundaria.guardarEstado(salida);
+        memoriaPrincipal.guardarEstado(salida);
+        for (EjecutorInstrucciones ejecutor : ejecutores) {
+            ejecutor.guardarEstado(salida);
+        }
+        for (IPlanificador planificador : planificadores) {
+            planificador.guardarEstado(salida);
+        }
+        
+        guardarEstadoMotor(salida);
+        salida.flush();
+    }
+    
+    /**
+     * Reconstruye un sistema a partir de un punto de control.
+     * El sistema restaurado queda en pausa; los listeners y observadores no se
+     * guardan y deben registrarse de nuevo.
+     * 
+     * @param archivo ruta del punto de control
+     * @return sistema con el mismo estado que tenía al guardarse
+     */
+    public static SistemaOperativoV2 restaurarPuntoControl(Path archivo) throws IOException {
+        try (InputStream flujo = Files.newInputStream(archivo)) {
+            SistemaOperativoV2 sistema = restaurarPuntoControl(flujo);
+            sistema.out().println("[SO] Punto de control restaurado desde " + archivo + " (tick " + sistema.tickActual + ")");
+            return sistema;
+        }
+    }
+    
+    /**
+     * Reconstruye un sistema leyendo el punto de control desde un flujo
+     */
+    public static SistemaOperativoV2 restaurarPuntoControl(InputStream flujo) throws IOException {
+        return restaurarPuntoControl(flujo, null);
+    }
+    
+    /**
+     * Igual que restaurarPuntoControl(InputStream), con un destino propio
+     * para los logs del sistema restaurado (null para la salida estándar)
+     */
+    public static SistemaOperativoV2 restaurarPuntoControl(InputStream flujo, PrintStream salidaLog) throws IOException {
+        EntradaPuntoControl entrada = new EntradaPuntoControl(flujo);
+        if (entrada.readInt() != MAGICO_PUNTO_CONTROL) {
+            throw new IOException("El flujo no contiene un punto de control");
+        }
+        int version = entrada.readInt();
+        if (version != VERSION_PUNTO_CONTROL) {
+            throw new IOException("Versión de punto de control no soportada: " + version);
+        }
+        
+        int memSecundaria = entrada.readInt();
+        int memVirtual = entrada.readInt();
+        int memUsuario = entrada.readInt();
+        String tipoEstrategia = entrada.readUTF();
+        Object configEstrategia = entrada.readBoolean() ? entrada.readInt() : null;
+        int cpus = entrada.readInt();
+        IPlanificador[] planificadores = new IPlanificador[cpus];
+        for (int i = 0; i < cpus; i++) {
+            planificadores[i] = crearPlanificador(entrada.readUTF());
+        }
+        
+        SistemaOperativoV2 sistema = new SistemaOperativoV2(memSecundaria, memVirtual, memUsuario,
+            tipoEstrategia, configEstrategia, cpus, planificadores, salidaLog);
+        
+        sistema.memoriaSecundaria.restaurarEstado(entrada);
+        sistema.memoriaPrincipal.restaurarEstado(entrada);
+        for (EjecutorInstrucciones ejecutor : sistema.ejecutores) {
+            ejecutor.restaurarEstado(entrada);
+        }
+        for (IPlanificador planificador : sistema.planificadores) {
+            planificador.restaurarEstado(entrada);
+        }
+        
+        sistema.restaurarEstadoMotor(entrada);
+        return sistema;
+    }
+    
+    /**
+     * Crea un planificador por nombre de clase usando su constructor sin argumentos
+     */
+    private static IPlanificador crearPlanificador(String nombreClase) throws IOException {
+        try {
+            Class<?> clase = Class.forName(nombreClase);
+            if (!IPlanificador.class.isAssignableFrom(clase)) {
+                throw new IOException("La clase no es un planificador: " + nombreClase);
+            }
+            return (IPlanificador) clase.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("No se pudo crear el planificador " + nombreClase, e);
+        }
+    }
+    
+    /**
+     * Guarda las estructuras de control propias del motor
+     */
+    private void guardarEstadoMotor(SalidaPuntoControl salida) throws IOException {
+        salida.writeLong(tickActual);
+        
+        // Se guarda la semilla interna sin consumir valores del generador
+        random.guardarEstado(salida);
+        
+        synchronized (informacionProcesos) {
+            salida.writeInt(informacionProcesos.size());
+            for (ProcesoInfo info : informacionProcesos.values()) {
+                salida.writeInt(info.idProceso);
+                salida.writeUTF(info.nombre);
+                salida.writeInt(info.cpuAsignado);
+                salida.writeInt(info.tiempoLlegada);
+                salida.writeInt(info.rafaga);
+                salida.writeInt(info.tiempoRestante);
+                salida.writeUTF(info.estado.name());
+                salida.writeDouble(info.tiempoInicio);
+                info.instrucciones.guardarEstado(salida);
+            }
+        }
+        
+        synchronized (estadisticasCompletados) {
+            salida.writeInt(estadisticasCompletados.size());
+            for (EstadisticasProceso estadisticas : estadisticasCompletados) {
+                salida.writeInt(estadisticas.getIdProceso());
+                salida.writeUTF(estadisticas.getNombreProceso());
+                salida.writeLong(estadisticas.getTimestampInicio());
+                salida.writeInt(estadisticas.getDuracionSegundos());
+                salida.writeInt(estadisticas.getRafaga());
+                salida.writeUTF(estadisticas.getEstadoFinal().name());
+            }
+        }
+        
+        retencion.guardarEstado(salida);
+        salida.writeInt(finalizadosRetenidos.size());
+        for (int id : finalizadosRetenidos) {
+            salida.writeInt(id);
+        }
+        
+        salida.writeInt(programasPendientes.size());
+        for (String programa : programasPendientes) {
+            salida.writeUTF(programa);
+        }
+        salida.writeInt(llegadasProgramadas.size());
+        for (Map.Entry<Long, List<String>> llegada : llegadasProgramadas.entrySet()) {
+            salida.writeLong(llegada.getKey());
+            salida.writeInt(llegada.getValue().size());
+            for (String programa : llegada.getValue()) {
+                salida.writeUTF(programa);
+            }
+        }
+        
+        for (int cpu = 0; cpu < cantidadCPUs; cpu++) {
+            salida.writeInt(distribucionProcesos.get(cpu));
+            salida.writeInt(cpuProcesoActual.get(cpu));
+        }
+        contadores.guardarEstado(salida);
+        metricas.guardarEstado(salida);
+    }
+    
+    /**
+     * Restaura las estructuras de control del motor y deja el sistema en pausa
+     */
+    private void restaurarEstadoMotor(EntradaPuntoControl entrada) throws IOException {
+        tickActual = entrada.readLong();
+        random.restaurarEstado(entrada);
+        
+        informacionProcesos.clear();
+        int procesos = entrada.readInt();
+        for (int i = 0; i < procesos; i++) {
+            int id = entrada.readInt();
+            String nombre = entrada.readUTF();
+            int cpu = entrada.readInt();
+            int llegada = entrada.readInt();
+            int rafaga = entrada.readInt();
+            int restante = entrada.readInt();
+            EstadoProceso estado = EstadoProceso.valueOf(entrada.readUTF());
+            double inicio = entrada.readDouble();
+            
+            ProcesoInfo info = new ProcesoInfo(id, nombre, cpu, llegada, rafaga, inicio);
+            info.tiempoRestante = restante;
+            info.estado = estado;
+            info.instrucciones.restaurarEstado(entrada);
+            informacionProcesos.put(id, info);
+        }
+        
+        estadisticasCompletados.clear();
+        int completados = entrada.readInt();
+        for (int i = 0; i < completados; i++) {
+            estadisticasCompletados.add(new EstadisticasProceso(entrada.readInt(), entrada.readUTF(),
+                entrada.readLong(), entrada.readInt(), entrada.readInt(),
+                EstadoProceso.valueOf(entrada.readUTF())));
+        }
+        
+        retencion.restaurarEstado(entrada);
+        finalizadosRetenidos.clear();
+        int retenidos = entrada.readInt();
+        for (int i = 0; i < retenidos; i++) {
+            finalizadosRetenidos.add(entrada.readInt());
+        }
+        
+        programasPendientes.clear();
+        int pendientes = entrada.readInt();
+        for (int i = 0; i < pendientes; i++) {
+            programasPendientes.add(entrada.readUTF());
+        }
+        llegadasProgramadas.clear();
+        int ticksLlegada = entrada.readInt();
+        for (int i = 0; i < ticksLlegada; i++) {
+            long tick = entrada.readLong();
+            int programas = entrada.readInt();
+            List<String> nombres = new ArrayList<>(programas);
+            for (int j = 0; j < programas; j++) {
+                nombres.add(entrada.readUTF());
+            }
+            llegadasProgramadas.put(tick, nombres);
+        }
+        contadores.setProgramasPendientes(programasPendientes.size());
+        
+        for (int cpu = 0; cpu < cantidadCPUs; cpu++) {
+            distribucionProcesos.put(cpu, entrada.readInt());
+            cpuProcesoActual.put(cpu, entrada.readInt());
+        }
+        contadores.restaurarEstado(entrada);
+        metricas.restaurarEstado(entrada);
+        
+        sistemaActivo = false;
+        ejecucionPausada = true;
+    }
+    
+    // ========== TRAZA DE EJECUCIÓN ==========
+    
+    /**
+     * Activa la traza binaria de ejecución: cada instrucción retirada por
+     * cualquier CPU queda registrada en el archivo (ver EscritorTraza)
+     * 
+     * @param archivo ruta del archivo de traza
+     * @return escritor activo (para consultar estadísticas)
+     */
+    public synchronized EscritorTraza iniciarTraza(Path archivo) throws IOException {
+        if (escritorTraza != null) {
+            throw new IllegalStateException("La traza de ejecución ya está activa");
+        }
+        escritorTraza = new EscritorTraza(archivo, cantidadCPUs, this::getTickActual);
+        for (int i = 0; i < cantidadCPUs; i++) {
+            ejecutores[i].setTraza(escritorTraza.getCanal(i));
+        }
+        return escritorTraza;
+    }
+    
+    /**
+     * Desactiva la traza de ejecución y espera a que todo quede en disco
+     */
+    public synchronized void detenerTraza() throws IOException {
+        if (escritorTraza == null) {
+            return;
+        }
+        for (EjecutorInstrucciones ejecutor : ejecutores) {
+            ejecutor.setTraza(null);
+        }
+        EscritorTraza escritor = escritorTraza;
+        escritorTraza = null;
+        escritor.close();
+    }
+    
+    /**
+     * Activa la exportación de la planificación de los CPUs en formato
+     * Chrome Trace Event (JSON), para abrirla en Perfetto o chrome://tracing
+     * (ver ExportadorPerfetto)
+     * 
+     * @param archivo ruta del JSON
+     * @return exportador activo (para consultar estadísticas)
+     */
+    public synchronized ExportadorPerfetto iniciarExportacionPerfetto(Path archivo) throws IOException {
+        if (exportadorPerfetto != null) {
+            throw new IllegalStateException("La exportación a Perfetto ya está activa");
+        }
+        exportadorPerfetto = new ExportadorPerfetto(archivo);
+        addObservador(exportadorPerfetto);
+        return exportadorPerfetto;
+    }
+    
+    /**
+     * Desactiva la exportación a Perfetto y cierra el JSON (los segmentos
+     * abiertos terminan en el último tick observado)
+     */
+    public synchronized void detenerExportacionPerfetto() throws IOException {
+        if (exportadorPerfetto == null) {
+            return;
+        }
+        removeObservador(exportadorPerfetto);
+        ExportadorPerfetto exportador = exportadorPerfetto;
+        exportadorPerfetto = null;
+        exportador.close();
+    }
+    
+    // ========== MONITOREO (JMX Y PROMETHEUS) ==========
+    
+    /**
+     * Contadores atómicos del motor (los mismos que exponen los MBeans)
+     */
+    public ContadoresMotor getContadores() {
+        return contadores;
+    }
+    
+    /**
+     * Registra los MBeans del sistema, sus CPUs, planificadores y estrategia
+     * de memoria en el servidor JMX de la plataforma
+     */
+    public synchronized RegistroMBeans registrarMBeans() {
+        if (registroMBeans == null) {
+            registroMBeans = RegistroMBeans.registrar(this, contadores);
+        }
+        return registroMBeans;
+    }
+    
+    public synchronized void desregistrarMBeans() {
+        if (registroMBeans != null) {
+            registroMBeans.close();
+            registroMBeans = null;
+        }
+    }
+    
+    /**
+     * Levanta el endpoint HTTP local con las métricas en formato Prometheus
+     * 
+     * @param puerto puerto en 127.0.0.1 (0 para elegir uno libre)
+     */
+    public synchronized ServidorMetricas iniciarServidorMetricas(int puerto) throws IOException {
+        if (servidorMetricas != null) {
+            throw new IllegalStateException("El endpoint de métricas ya está activo en el puerto "
+                    + servidorMetricas.getPuerto());
+        }
+        servidorMetricas = ServidorMetricas.iniciar(this, puerto);
+        return servidorMetricas;
+    }
+    
+    public synchronized void detenerServidorMetricas() {
+        if (servidorMetricas != null) {
+            servidorMetricas.close();
+            servidorMetricas = null;
+        }
+    }
+    
+    // ========== PERFILADOR POR MUESTREO ==========
+    
+    public PerfiladorMuestreo iniciarPerfilador() {
+        return iniciarPerfilador(PerfiladorMuestreo.INTERVALO_DEFECTO);
+    }
+    
+    /**
+     * Empieza a muestrear el (programa, PC) en ejecución cada "intervalo"
+     * instrucciones retiradas de cada CPU
+     */
+    public synchronized PerfiladorMuestreo iniciarPerfilador(int intervalo) {
+        if (perfilador != null) {
+            throw new IllegalStateException("El perfilador ya está activo");
+        }
+        perfilador = new PerfiladorMuestreo(cantidadCPUs, intervalo, memoriaSecundaria::leerPrograma);
+        addObservador(perfilador);
+        out().println("[PERFILADOR] Muestreando cada " + intervalo + " instrucciones por CPU");
+        return perfilador;
+    }
+    
+    /**
+     * Deja de muestrear; las muestras siguen disponibles en el perfilador devuelto
+     */
+    public synchronized PerfiladorMuestreo detenerPerfilador() {
+        PerfiladorMuestreo detenido = perfilador;
+        if (detenido != null) {
+            removeObservador(detenido);
+            perfilador = null;
+        }
+        return detenido;
+    }
+    
+    public synchronized PerfiladorMuestreo getPerfilador() {
+        return perfilador;
+    }
+    
+    /**
+     * Exporta el perfil actual como pilas colapsadas (para flamegraph.pl o
+     * speedscope), con cada PC traducido a la línea de su programa fuente
+     */
+    public synchronized void exportarPerfil(Path archivo) throws IOException {
+        if (perfilador == null) {
+            throw new IllegalStateException("El perfilador no está activo");
+        }
+        perfilador.exportarPilasColapsadas(archivo);
+    }
+    
+    /**
+     * Reporte con las líneas más calientes de cada programa
+     */
+    public synchronized String generarReportePerfil(int maxLineas) {
+        if (perfilador == null) {
+            throw new IllegalStateException("El perfilador no está activo");
+        }
+        return perfilador.generarReporte(maxLineas);
+    }
+    
+    // ========== ALMACÉN PERSISTENTE DE ESTADÍSTICAS ==========
+    
+    /**
+     * Empieza a registrar cada proceso finalizado en un almacén mapeado en
+     * memoria (se crea si no existe; si existe se agrega una nueva corrida)
+     */
+    public synchronized AlmacenEstadisticasMapeado abrirAlmacenEstadisticas(Path archivo) throws IOException {
+        if (almacenEstadisticas != null) {
+            throw new IllegalStateException("El almacén de estadísticas ya está abierto");
+        }
+        almacenEstadisticas = AlmacenEstadisticasMapeado.abrir(archivo);
+        addObservador(almacenEstadisticas);
+        return almacenEstadisticas;
+    }
+    
+    /**
+     * Deja de registrar procesos finalizados y cierra el almacén
+     */
+    public synchronized void cerrarAlmacenEstadisticas() throws IOException {
+        if (almacenEstadisticas == null) {
+            return;
+        }
+        removeObservador(almacenEstadisticas);
+        AlmacenEstadisticasMapeado almacen = almacenEstadisticas;
+        almacenEstadisticas = null;
+        almacen.close();
+    }
+    
+    // ========== ENTRADAS NO DETERMINISTAS (GRABACIÓN / REPRODUCCIÓN) ==========
+    
+    /**
+     * Cambia la fuente de números aleatorios y lecturas de reloj del motor y
+     * de los planificadores
+     */
+    public synchronized void setFuenteEntradas(IFuenteEntradas fuente) {
+        if (fuente == null) {
+            throw new IllegalArgumentException("La fuente de entradas no puede ser nula");
+        }
+        this.fuenteEntradas = fuente;
+        for (IPlanificador planificador : planificadores) {
+            planificador.setFuenteEntradas(fuente);
+        }
+    }
+    
+    public IFuenteEntradas getFuenteEntradas() {
+        return fuenteEntradas;
+    }
+    
+    /**
+     * Comienza a grabar todas las entradas no deterministas en una bitácora.
+     * La bitácora incluye un punto de control del estado actual, por lo que
+     * puede reproducirse sin este sistema (ver ReproductorEntradas).
+     * 
+     * @param archivo ruta de la bitácora
+     * @return grabador activo
+     */
+    public synchronized GrabadorEntradas iniciarGrabacion(Path archivo) throws IOException {
+        if (fuenteEntradas instanceof GrabadorEntradas) {
+            throw new IllegalStateException("Ya hay una grabación en curso");
+        }
+        ByteArrayOutputStream estadoInicial = new ByteArrayOutputStream();
+        guardarPuntoControl(estadoInicial);
+        
+        GrabadorEntradas grabador = new GrabadorEntradas(archivo, estadoInicial.toByteArray(), fuenteEntradas);
+        setFuenteEntradas(grabador);
+        return grabador;
+    }
+    
+    /**
+     * Termina la grabación en curso (si la hay) y vuelve a la fuente anterior
+     */
+    public synchronized void detenerGrabacion() throws IOException {
+        if (fuenteEntradas instanceof GrabadorEntradas grabador) {
+            setFuenteEntradas(grabador.getFuenteOriginal());
+            grabador.close();
+        }
+    }
+    
     // ========== MÉTODOS DE CONSULTA PARA INTERFAZ ==========
     
     /**
@@ -599,6 +1554,37 @@ public class SistemaOperativoV2 {
         return ejecutores[cpuId];
     }
     
+    /**
+     * Instrucciones y ciclos por código de operación de un CPU
+     */
+    public ContadoresInstrucciones getContadoresInstrucciones(int cpuId) {
+        if (cpuId < 0 || cpuId >= cantidadCPUs) {
+            throw new IllegalArgumentException("CPU inválido: " + cpuId);
+        }
+        return ejecutores[cpuId].getCPU().getContadoresInstrucciones();
+    }
+    
+    /**
+     * Instrucciones y ciclos por código de operación de un proceso
+     * 
+     * @return null si el proceso no existe o ya no se retiene su información
+     */
+    public ContadoresInstrucciones getContadoresInstruccionesProceso(int idProceso) {
+        ProcesoInfo info = informacionProcesos.get(idProceso);
+        return info != null ? info.instrucciones : null;
+    }
+    
+    /**
+     * Suma de la mezcla de instrucciones de todos los CPUs (copia)
+     */
+    public ContadoresInstrucciones getMezclaInstrucciones() {
+        ContadoresInstrucciones total = new ContadoresInstrucciones();
+        for (EjecutorInstrucciones ejecutor : ejecutores) {
+            total.acumular(ejecutor.getCPU().getContadoresInstrucciones());
+        }
+        return total;
+    }
+    
     /**
      * Obtiene información de todos los procesos para mostrar en tabla
      */
@@ -607,7 +1593,7 @@ public class SistemaOperativoV2 {
     }
     
     /**
-     * Obtiene las estadísticas de procesos completados
+     * Obtiene las estadísticas de los procesos completados retenidos en memoria
      */
     public List<EstadisticasProceso> getEstadisticasCompletados() {
         return new ArrayList<>(estadisticasCompletados);
@@ -649,8 +1635,8 @@ public class SistemaOperativoV2 {
         // Hay procesos cargados en memoria principal (activos o listos)
         boolean hayActivos = memoriaPrincipal.getCantidadBCPsActivos() > 0;
 
-        // Hay procesos pendientes en memoria secundaria
-        boolean hayPendientes = !programasPendientes.isEmpty();
+        // Hay procesos pendientes en memoria secundaria (o que aún no llegan)
+        boolean hayPendientes = !programasPendientes.isEmpty() || !llegadasProgramadas.isEmpty();
 
         // Si cualquiera de los dos es cierto, aún hay trabajo por ejecutar
         return hayActivos || hayPendientes;
@@ -666,7 +1652,7 @@ public class SistemaOperativoV2 {
         estado.put("cpus", cantidadCPUs);
         estado.put("procesosActivos", memoriaPrincipal.getCantidadBCPsActivos());
         estado.put("procesosPendientes", programasPendientes.size());
-        estado.put("procesosCompletados", estadisticasCompletados.size());
+        estado.put("procesosCompletados", getTotalProcesosCompletados());
         estado.put("memoriaLibre", memoriaPrincipal.getEstrategia().getEspacioLibreTotal());
         
         // Estado de cada CPU
@@ -693,6 +1679,43 @@ public class SistemaOperativoV2 {
         return cantidadCPUs;
     }
     
+    /**
+     * Destino de los logs del sistema (null si es la salida estándar)
+     */
+    public PrintStream getSalidaLog() {
+        return salidaLog;
+    }
+    
+    /**
+     * Cambia el destino de los logs del sistema y de todos sus componentes
+     * (memorias, estrategia, despachador, ejecutores y planificadores).
+     * Sirve para un sistema creado antes de tener dónde mostrar sus logs,
+     * como la consola de la ventana principal.
+     * 
+     * @param salidaLog destino de los logs (null para la salida estándar)
+     */
+    public void setSalidaLog(PrintStream salidaLog) {
+        this.salidaLog = salidaLog;
+        estrategiaMemoria.setSalidaLog(salidaLog);
+        memoriaSecundaria.setSalidaLog(salidaLog);
+        memoriaPrincipal.setSalidaLog(salidaLog);
+        despachador.setSalidaLog(salidaLog);
+        for (EjecutorInstrucciones ejecutor : ejecutores) {
+            ejecutor.setSalidaLog(salidaLog);
+        }
+        for (IPlanificador planificador : planificadores) {
+            planificador.setSalidaLog(salidaLog);
+        }
+    }
+    
+    /**
+     * Tick lógico actual: cantidad de pasos ejecutados (un paso = una
+     * instrucción por CPU)
+     */
+    public long getTickActual() {
+        return tickActual;
+    }
+    
     public MemoriaPrincipalV2 getMemoriaPrincipal() {
         return memoriaPrincipal;
     }
@@ -701,10 +1724,44 @@ public class SistemaOperativoV2 {
         return memoriaSecundaria;
     }
     
+    public CacheProgramas getCacheProgramas() {
+        return cacheProgramas;
+    }
+    
     public int getProcesosPendientes() {
         return programasPendientes.size();
     }
 
+    /**
+     * Programas cargados que todavía no se admitieron, en el orden en que se
+     * admitirían: primero los pendientes y después los de llegada programada.
+     * Cada encolado es una entrada, aunque el nombre se repita.
+     */
+    public synchronized List<ProgramaSinAdmitir> getProgramasSinAdmitir() {
+        List<ProgramaSinAdmitir> programas = new ArrayList<>();
+        for (String programa : programasPendientes) {
+            programas.add(new ProgramaSinAdmitir(programa, 0));
+        }
+        for (Map.Entry<Long, List<String>> llegada : llegadasProgramadas.entrySet()) {
+            for (String programa : llegada.getValue()) {
+                programas.add(new ProgramaSinAdmitir(programa, llegada.getKey() - tickActual));
+            }
+        }
+        return programas;
+    }
+
+    public String getTipoEstrategia() {
+        return tipoEstrategia;
+    }
+
+    public Object getConfigEstrategia() {
+        return configEstrategia;
+    }
+
+    public int getTamanoMemoriaUsuario() {
+        return tamanoMemoriaUsuario;
+    }
+
     public List<BCP> getBCPsCargados() {
         List<BCP> bcps = new ArrayList<>();
         for (int i = 0; i < memoriaPrincipal.getMaxProcesos(); i++) {
@@ -733,7 +1790,7 @@ public class SistemaOperativoV2 {
         sb.append(String.format("CPUs: %d\n", cantidadCPUs));
         sb.append(String.format("Procesos activos: %d\n", memoriaPrincipal.getCantidadBCPsActivos()));
         sb.append(String.format("Procesos pendientes: %d\n", programasPendientes.size()));
-        sb.append(String.format("Procesos completados: %d\n", estadisticasCompletados.size()));
+        sb.append(String.format("Procesos completados: %d\n", getTotalProcesosCompletados()));
         sb.append("\n");
         
         // Información por CPU
@@ -743,9 +1800,32 @@ public class SistemaOperativoV2 {
                 i, planificadores[i].getNombre(), distribucionProcesos.get(i)));
         }
         
+        sb.append("\n--- MEZCLA DE INSTRUCCIONES ---\n");
+        sb.append("Todos los CPUs:\n");
+        sb.append(getMezclaInstrucciones().generarReporte());
+        if (cantidadCPUs > 1) {
+            for (int i = 0; i < cantidadCPUs; i++) {
+                sb.append(String.format("CPU %d:\n", i));
+                sb.append(getContadoresInstrucciones(i).generarReporte());
+            }
+        }
+        
+        sb.append("\n");
+        sb.append(metricas.generarReporte());
+        
         sb.append("\n");
         sb.append(memoriaPrincipal.generarReporte());
         
         return sb.toString();
     }
+    
+    // ========== LOGS ==========
+    
+    private PrintStream out() {
+        return salidaLog != null ? salidaLog : System.out;
+    }
+    
+    private PrintStream err() {
+        return salidaLog != null ? salidaLog : System.err;
+    }
 }
\ No newline at end of file
@@ -4,6 +4,12 @@ import so.instrucciones.Instruccion;
 import so.gestordeprocesos.BCP;
 import so.memoria.estrategias.IEstrategiaParticionamiento;
 import so.memoria.estrategias.IEstrategiaParticionamiento.InfoAsignacion;
+import so.persistencia.EntradaPuntoControl;
+import so.persistencia.IPersistible;
+import so.persistencia.SalidaPuntoControl;
+
+import java.io.IOException;
+import java.io.PrintStream;
 
 /**
  * Gestión de Memoria Principal unificada con soporte para múltiples estrategias.
@@ -19,7 +25,7 @@ import so.memoria.estrategias.IEstrategiaParticionamiento.InfoAsignacion;
  * 
  * @author dylan
  */
-public class MemoriaPrincipalV2 {
+public class MemoriaPrincipalV2 implements IPersistible {
     
     // ========== Variables de configuracion ===========
     private int tamanoTotal;
@@ -54,6 +60,9 @@ public class MemoriaPrincipalV2 {
     
     // ========== ESTRATEGIA DE PARTICIONAMIENTO ==========
     private IEstrategiaParticionamiento estrategia;
+
+    /** Destino de los logs (null: la salida estándar del proceso) */
+    private PrintStream salidaLog;
     
     /**
      * Constructor con estrategia de particionamiento
@@ -62,6 +71,18 @@ public class MemoriaPrincipalV2 {
      * @param tamanoUsuario
      */
     public MemoriaPrincipalV2(IEstrategiaParticionamiento estrategia, int tamanoUsuario) {
+        this(estrategia, tamanoUsuario, null);
+    }
+    
+    /**
+     * Constructor con estrategia de particionamiento y destino de los logs
+     * 
+     * @param estrategia estrategia de gestión de memoria a utilizar
+     * @param tamanoUsuario
+     * @param salidaLog destino de los logs (null para la salida estándar)
+     */
+    public MemoriaPrincipalV2(IEstrategiaParticionamiento estrategia, int tamanoUsuario, PrintStream salidaLog) {
+        this.salidaLog = salidaLog;
         this.tamanoSO = 1000; 
         this.tamanoUsuario = tamanoUsuario;
         this.tamanoTotal = tamanoSO + tamanoUsuario;
@@ -96,7 +117,7 @@ public class MemoriaPrincipalV2 {
         memoria[IDX_TAMANO_COLA_TRABAJOS] = 0;
         memoria[IDX_TAMANO_COLA_LISTOS] = 0;
         
-        System.out.println("[MEMORIA PRINCIPAL] Inicializada con estrategia: " + estrategia.getNombre());
+        out().println("[MEMORIA PRINCIPAL] Inicializada con estrategia: " + estrategia.getNombre());
     }
     
     /**
@@ -383,7 +404,7 @@ public class MemoriaPrincipalV2 {
      * @param nuevaEstrategia nueva estrategia a utilizar
      */
     public void cambiarEstrategia(IEstrategiaParticionamiento nuevaEstrategia) {
-        System.out.println("[MEMORIA PRINCIPAL] Cambiando estrategia de: " + 
+        out().println("[MEMORIA PRINCIPAL] Cambiando estrategia de: " + 
                          estrategia.getNombre() + " a: " + nuevaEstrategia.getNombre());
         
         // Limpiar área de usuario
@@ -433,6 +454,37 @@ public class MemoriaPrincipalV2 {
         return MAX_PROCESOS;
     }
     
+    // ========== PUNTO DE CONTROL ==========
+
+    /**
+     * Guarda todas las celdas (área SO y área de usuario) y el estado de la estrategia
+     */
+    @Override
+    public void guardarEstado(SalidaPuntoControl salida) throws IOException {
+        salida.writeInt(tamanoTotal);
+        for (int i = 0; i < tamanoTotal; i++) {
+            salida.escribirCelda(memoria[i]);
+        }
+        estrategia.guardarEstado(salida);
+    }
+
+    /**
+     * Restaura las celdas sobre el mismo arreglo, de modo que la estrategia
+     * conserva su referencia a la memoria
+     */
+    @Override
+    public void restaurarEstado(EntradaPuntoControl entrada) throws IOException {
+        int tamanoGuardado = entrada.readInt();
+        if (tamanoGuardado != tamanoTotal) {
+            throw new IllegalStateException("El punto de control tiene " + tamanoGuardado
+                + " celdas de memoria principal, se esperaban " + tamanoTotal);
+        }
+        for (int i = 0; i < tamanoTotal; i++) {
+            memoria[i] = entrada.leerCelda();
+        }
+        estrategia.restaurarEstado(entrada);
+    }
+
     /**
      * Genera un reporte completo del estado de la memoria
      */
@@ -460,7 +512,7 @@ public class MemoriaPrincipalV2 {
      * Reinicia toda la memoria a su estado inicial
      */
     public void reiniciar() {
-        System.out.println("[MEMORIA PRINCIPAL] Reiniciando...");
+        out().println("[MEMORIA PRINCIPAL] Reiniciando...");
         
         // Reiniciar estrategia
         estrategia.reiniciar();
@@ -480,6 +532,19 @@ public class MemoriaPrincipalV2 {
         memoria[IDX_TAMANO_COLA_TRABAJOS] = 0;
         memoria[IDX_TAMANO_COLA_LISTOS] = 0;
         
-        System.out.println("[MEMORIA PRINCIPAL] Reinicio completo");
+        out().println("[MEMORIA PRINCIPAL] Reinicio completo");
+    }
+
+    // ========== LOGS ==========
+
+    /**
+     * Indica dónde escribir los logs (null para la salida estándar)
+     */
+    public void setSalidaLog(PrintStream salidaLog) {
+        this.salidaLog = salidaLog;
+    }
+
+    private PrintStream out() {
+        return salidaLog != null ? salidaLog : System.out;
     }
 }
\ No newline at end of file
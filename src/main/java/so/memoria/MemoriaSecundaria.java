@@ -1,5 +1,11 @@
 package so.memoria;
 
+import so.persistencia.EntradaPuntoControl;
+import so.persistencia.IPersistible;
+import so.persistencia.SalidaPuntoControl;
+
+import java.io.IOException;
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -11,12 +17,15 @@ import java.util.List;
  * 
  * @author dylan
  */
-public class MemoriaSecundaria {
+public class MemoriaSecundaria implements IPersistible {
 
     private final int tamanoTotal;
     private final int TamanoMemVirtual;
     private final Object[] almacenamiento;
 
+    /** Destino de los logs (null: la salida estándar del proceso) */
+    private PrintStream salidaLog;
+
     public MemoriaSecundaria() {
         this(512, 64);
     }
@@ -77,7 +86,7 @@ public class MemoriaSecundaria {
                 programasValidos.add(lineas);
                 espacioDisponible -= lineas.size();
             } else {
-                System.err.println("No hay suficiente espacio para el programa " + nombres[i] + ", se omite.");
+                err().println("No hay suficiente espacio para el programa " + nombres[i] + ", se omite.");
                 indiceInicio--;
             }
         }
@@ -148,6 +157,28 @@ public class MemoriaSecundaria {
         }
     }
 
+    // ========== PUNTO DE CONTROL ==========
+
+    @Override
+    public void guardarEstado(SalidaPuntoControl salida) throws IOException {
+        salida.writeInt(tamanoTotal);
+        for (int i = 0; i < tamanoTotal; i++) {
+            salida.escribirCelda(almacenamiento[i]);
+        }
+    }
+
+    @Override
+    public void restaurarEstado(EntradaPuntoControl entrada) throws IOException {
+        int tamanoGuardado = entrada.readInt();
+        if (tamanoGuardado != tamanoTotal) {
+            throw new IllegalStateException("El punto de control tiene " + tamanoGuardado
+                + " celdas de memoria secundaria, se esperaban " + tamanoTotal);
+        }
+        for (int i = 0; i < tamanoTotal; i++) {
+            almacenamiento[i] = entrada.leerCelda();
+        }
+    }
+
     // Getters
 
     public int getTamanoTotal() {
@@ -161,4 +192,17 @@ public class MemoriaSecundaria {
     public Object[] getAlmacenamiento() {
         return almacenamiento;
     }
+
+    // ========== LOGS ==========
+
+    /**
+     * Indica dónde escribir los logs (null para la salida estándar)
+     */
+    public void setSalidaLog(PrintStream salidaLog) {
+        this.salidaLog = salidaLog;
+    }
+
+    private PrintStream err() {
+        return salidaLog != null ? salidaLog : System.err;
+    }
 }
@@ -0,0 +1,89 @@
+package so.memoria.estrategias;
+
+import so.persistencia.EntradaPuntoControl;
+import so.persistencia.IPersistible;
+import so.persistencia.SalidaPuntoControl;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de una estrategia de memoria que se actualizan en cada
+ * asignación y liberación, para poder leerlos desde otros hilos (JMX, métricas)
+ * sin recorrer las estructuras de la estrategia.
+ *
+ * @author dylan
+ */
+public class ContadoresMemoria implements IPersistible {
+
+    private final AtomicLong espacioLibre = new AtomicLong();
+    private final AtomicLong fragmentacionInterna = new AtomicLong();
+    private final AtomicLong asignaciones = new AtomicLong();
+    private final AtomicLong asignacionesFallidas = new AtomicLong();
+    private final AtomicLong liberaciones = new AtomicLong();
+
+    /**
+     * Vuelve a cero los contadores con todo el espacio libre
+     */
+    public void reiniciar(long espacioTotal) {
+        espacioLibre.set(espacioTotal);
+        fragmentacionInterna.set(0);
+        asignaciones.set(0);
+        asignacionesFallidas.set(0);
+        liberaciones.set(0);
+    }
+
+    public void registrarAsignacion(int tamanoAsignado, int fragmentacion) {
+        espacioLibre.addAndGet(-tamanoAsignado);
+        fragmentacionInterna.addAndGet(fragmentacion);
+        asignaciones.incrementAndGet();
+    }
+
+    public void registrarAsignacionFallida() {
+        asignacionesFallidas.incrementAndGet();
+    }
+
+    public void registrarLiberacion(int tamanoAsignado, int fragmentacion) {
+        espacioLibre.addAndGet(tamanoAsignado);
+        fragmentacionInterna.addAndGet(-fragmentacion);
+        liberaciones.incrementAndGet();
+    }
+
+    public long getEspacioLibre() {
+        return espacioLibre.get();
+    }
+
+    public long getFragmentacionInterna() {
+        return fragmentacionInterna.get();
+    }
+
+    public long getAsignaciones() {
+        return asignaciones.get();
+    }
+
+    public long getAsignacionesFallidas() {
+        return asignacionesFallidas.get();
+    }
+
+    public long getLiberaciones() {
+        return liberaciones.get();
+    }
+
+    @Override
+    public void guardarEstado(SalidaPuntoControl salida) throws IOException {
+        salida.writeLong(espacioLibre.get());
+        salida.writeLong(fragmentacionInterna.get());
+        salida.writeLong(asignaciones.get());
+        salida.writeLong(asignacionesFallidas.get());
+        salida.writeLong(liberaciones.get());
+    }
+
+    @Override
+    public void restaurarEstado(EntradaPuntoControl entrada) throws IOException {
+        espacioLibre.set(entrada.readLong());
+        fragmentacionInterna.set(entrada.readLong());
+        asignaciones.set(entrada.readLong());
+        asignacionesFallidas.set(entrada.readLong());
+        liberaciones.set(entrada.readLong());
+    }
+}
@@ -2,6 +2,12 @@ package so.memoria.estrategias;
 
 import so.instrucciones.Instruccion;
 import so.gestordeprocesos.BCP;
+import so.monitoreo.jfr.EventoAsignacionMemoria;
+import so.monitoreo.jfr.EventoLiberacionMemoria;
+import so.persistencia.EntradaPuntoControl;
+import so.persistencia.SalidaPuntoControl;
+import java.io.IOException;
+import java.io.PrintStream;
 import java.util.*;
 
 /**
@@ -25,6 +31,11 @@ public class EstrategiaParticionamientoDinamico implements IEstrategiaParticiona
     // Listas de bloques libres por nivel
     private List<BloqueBuddy>[] listasLibres;
     
+    private final ContadoresMemoria contadores = new ContadoresMemoria();
+
+    /** Destino de los logs (null: la salida estándar del proceso) */
+    private PrintStream salidaLog;
+    
     /**
      * Clase interna para representar un bloque buddy
      */
@@ -72,22 +83,27 @@ public class EstrategiaParticionamientoDinamico implements IEstrategiaParticiona
         // Crear bloque inicial del tamaño máximo
         BloqueBuddy bloqueInicial = new BloqueBuddy(inicioUsuario, TAMANO_BUDDY_USADO, U);
         listasLibres[U - L].add(bloqueInicial);
+        contadores.reiniciar(TAMANO_BUDDY_USADO);
         
-        System.out.println("[BUDDY SYSTEM] Inicializado:");
-        System.out.println("  - Tamaño total: " + TAMANO_BUDDY_USADO + " KB");
-        System.out.println("  - Bloque mínimo: " + (1 << L) + " KB (2^" + L + ")");
-        System.out.println("  - Bloque máximo: " + (1 << U) + " KB (2^" + U + ")");
-        System.out.println("  - Niveles: " + NUM_NIVELES + " (" + L + " a " + U + ")");
+        out().println("[BUDDY SYSTEM] Inicializado:");
+        out().println("  - Tamaño total: " + TAMANO_BUDDY_USADO + " KB");
+        out().println("  - Bloque mínimo: " + (1 << L) + " KB (2^" + L + ")");
+        out().println("  - Bloque máximo: " + (1 << U) + " KB (2^" + U + ")");
+        out().println("  - Niveles: " + NUM_NIVELES + " (" + L + " a " + U + ")");
     }
     
     @Override
     public InfoAsignacion cargarInstrucciones(Instruccion[] instrucciones) {
+        EventoAsignacionMemoria evento = new EventoAsignacionMemoria();
+        evento.begin();
         int tamanoRequerido = instrucciones.length;
         
         BloqueBuddy bloque = asignarBuddy(tamanoRequerido);
         
         if (bloque == null) {
-            System.out.println("[BUDDY SYSTEM] No hay espacio para " + tamanoRequerido + " instrucciones");
+            contadores.registrarAsignacionFallida();
+            out().println("[BUDDY SYSTEM] No hay espacio para " + tamanoRequerido + " instrucciones");
+            emitirAsignacion(evento, tamanoRequerido, null);
             return null;
         }
         
@@ -97,20 +113,34 @@ public class EstrategiaParticionamientoDinamico implements IEstrategiaParticiona
         }
         
         int fragmentacionInterna = bloque.tamano - tamanoRequerido;
+        contadores.registrarAsignacion(bloque.tamano, fragmentacionInterna);
         
-        System.out.println("[BUDDY SYSTEM] Instrucciones cargadas:");
-        System.out.println("  - Dirección: " + bloque.direccion);
-        System.out.println("  - Bloque: " + bloque.tamano + " KB (nivel " + bloque.nivel + ")");
-        System.out.println("  - Usado: " + tamanoRequerido + " KB");
-        System.out.println("  - Fragmentación interna: " + fragmentacionInterna + " KB");
+        out().println("[BUDDY SYSTEM] Instrucciones cargadas:");
+        out().println("  - Dirección: " + bloque.direccion);
+        out().println("  - Bloque: " + bloque.tamano + " KB (nivel " + bloque.nivel + ")");
+        out().println("  - Usado: " + tamanoRequerido + " KB");
+        out().println("  - Fragmentación interna: " + fragmentacionInterna + " KB");
         
         InfoAsignacion info = new InfoAsignacion(bloque.direccion, bloque.tamano, fragmentacionInterna);
         info.nivelBuddy = bloque.nivel;
         info.direccionBloque = bloque.direccion;
         
+        emitirAsignacion(evento, tamanoRequerido, info);
         return info;
     }
     
+    private void emitirAsignacion(EventoAsignacionMemoria evento, int tamanoRequerido, InfoAsignacion info) {
+        if (evento.shouldCommit()) {
+            evento.estrategia = getNombre();
+            evento.tamanoSolicitado = tamanoRequerido;
+            evento.exitosa = info != null;
+            evento.tamanoAsignado = info != null ? info.tamanoAsignado : 0;
+            evento.direccion = info != null ? info.direccionBase : -1;
+            evento.fragmentacionInterna = info != null ? info.fragmentacionInterna : 0;
+            evento.commit();
+        }
+    }
+    
     /**
      * Asigna un bloque usando el algoritmo Buddy System
      */
@@ -118,21 +148,21 @@ public class EstrategiaParticionamientoDinamico implements IEstrategiaParticiona
         int nivelRequerido = encontrarNivelAdecuado(tamanoRequerido);
         
         if (nivelRequerido < L || nivelRequerido > U) {
-            System.out.println("[BUDDY] Tamaño " + tamanoRequerido + " KB fuera de rango");
+            out().println("[BUDDY] Tamaño " + tamanoRequerido + " KB fuera de rango");
             return null;
         }
         
-        System.out.println("[BUDDY] Solicitando " + tamanoRequerido + " KB → Nivel " + 
+        out().println("[BUDDY] Solicitando " + tamanoRequerido + " KB → Nivel " + 
                          nivelRequerido + " (" + (1 << nivelRequerido) + " KB)");
         
         BloqueBuddy bloque = obtenerBloque(nivelRequerido);
         
         if (bloque != null) {
             bloque.ocupado = true;
-            System.out.println("[BUDDY] ✓ Bloque asignado: " + bloque.tamano + 
+            out().println("[BUDDY] ✓ Bloque asignado: " + bloque.tamano + 
                              " KB en dirección " + bloque.direccion);
         } else {
-            System.out.println("[BUDDY] ✗ No hay bloques disponibles");
+            out().println("[BUDDY] ✗ No hay bloques disponibles");
         }
         
         return bloque;
@@ -167,7 +197,7 @@ public class EstrategiaParticionamientoDinamico implements IEstrategiaParticiona
         // Agregar el segundo buddy a la lista del nivel i
         listasLibres[i - L].add(buddy2);
         
-        System.out.println("[BUDDY] División: Bloque de " + bloqueGrande.tamano + 
+        out().println("[BUDDY] División: Bloque de " + bloqueGrande.tamano + 
                          " KB → 2 bloques de " + (1 << i) + " KB");
         
         return buddy1;
@@ -193,8 +223,19 @@ public class EstrategiaParticionamientoDinamico implements IEstrategiaParticiona
         // Crear bloque y liberarlo
         BloqueBuddy bloque = new BloqueBuddy(direccion, tamano, nivel);
         liberarBuddy(bloque);
-        
-        System.out.println("[BUDDY SYSTEM] Bloque liberado: " + tamano + " KB en dirección " + direccion);
+        contadores.registrarLiberacion(tamano, bcp.getFragmentacionInterna());
+        
+        out().println("[BUDDY SYSTEM] Bloque liberado: " + tamano + " KB en dirección " + direccion);
+        
+        EventoLiberacionMemoria evento = new EventoLiberacionMemoria();
+        if (evento.shouldCommit()) {
+            evento.estrategia = getNombre();
+            evento.idProceso = bcp.getIdProceso();
+            evento.direccion = direccion;
+            evento.tamano = tamano;
+            evento.espacioLibre = contadores.getEspacioLibre();
+            evento.commit();
+        }
     }
     
     private void liberarBuddy(BloqueBuddy bloque) {
@@ -231,7 +272,7 @@ public class EstrategiaParticionamientoDinamico implements IEstrategiaParticiona
             
             BloqueBuddy bloqueGrande = new BloqueBuddy(nuevaDireccion, 1 << nuevoNivel, nuevoNivel);
             
-            System.out.println("[BUDDY] Coalescing: 2 bloques de " + bloque.tamano + 
+            out().println("[BUDDY] Coalescing: 2 bloques de " + bloque.tamano + 
                              " KB → 1 bloque de " + bloqueGrande.tamano + " KB");
             
             // Recursivamente intentar más coalescing
@@ -288,28 +329,25 @@ public class EstrategiaParticionamientoDinamico implements IEstrategiaParticiona
             throw new IllegalArgumentException("InfoAsignacion no contiene datos de buddy");
         }
         
-        bcp.asignarBloqueBuddy(-1, info.tamanoAsignado, info.nivelBuddy, info.direccionBloque);
+        // El índice es la posición del bloque en unidades del bloque mínimo; con
+        // -1 el BCP quedaba como "sin bloque" y la memoria nunca se liberaba
+        int indiceBloque = (info.direccionBloque - inicioUsuario) >> L;
+        bcp.asignarBloqueBuddy(indiceBloque, info.tamanoAsignado, info.nivelBuddy, info.direccionBloque);
     }
     
     @Override
     public int getEspacioLibreTotal() {
-        int libre = 0;
-        for (int nivel = L; nivel <= U; nivel++) {
-            List<BloqueBuddy> lista = listasLibres[nivel - L];
-            for (BloqueBuddy bloque : lista) {
-                if (!bloque.ocupado) {
-                    libre += bloque.tamano;
-                }
-            }
-        }
-        return libre;
+        return (int) contadores.getEspacioLibre();
     }
     
     @Override
     public int getFragmentacionInternaTotal() {
-        // La fragmentación se calcula desde los BCPs
-        // Aquí retornamos 0 porque no tenemos acceso directo a los BCPs
-        return 0;
+        return (int) contadores.getFragmentacionInterna();
+    }
+    
+    @Override
+    public ContadoresMemoria getContadores() {
+        return contadores;
     }
     
     @Override
@@ -338,6 +376,51 @@ public class EstrategiaParticionamientoDinamico implements IEstrategiaParticiona
         return "Particionamiento Dinámico (Buddy System)";
     }
     
+    /**
+     * Guarda las listas de bloques libres de cada nivel (en su orden, porque
+     * removerBloqueLibreDeLista toma siempre el primero)
+     */
+    @Override
+    public void guardarEstado(SalidaPuntoControl salida) throws IOException {
+        salida.writeInt(NUM_NIVELES);
+        for (int i = 0; i < NUM_NIVELES; i++) {
+            List<BloqueBuddy> lista = listasLibres[i];
+            salida.writeInt(lista.size());
+            for (BloqueBuddy bloque : lista) {
+                salida.writeInt(bloque.direccion);
+                salida.writeInt(bloque.nivel);
+                salida.writeBoolean(bloque.ocupado);
+                salida.writeInt(bloque.idProceso);
+                salida.writeInt(bloque.numeroBCP);
+            }
+        }
+        contadores.guardarEstado(salida);
+    }
+
+    @Override
+    public void restaurarEstado(EntradaPuntoControl entrada) throws IOException {
+        int niveles = entrada.readInt();
+        if (niveles != NUM_NIVELES) {
+            throw new IllegalStateException("El punto de control tiene " + niveles
+                + " niveles buddy, se esperaban " + NUM_NIVELES);
+        }
+        for (int i = 0; i < NUM_NIVELES; i++) {
+            List<BloqueBuddy> lista = listasLibres[i];
+            lista.clear();
+            int cantidad = entrada.readInt();
+            for (int j = 0; j < cantidad; j++) {
+                int direccion = entrada.readInt();
+                int nivel = entrada.readInt();
+                BloqueBuddy bloque = new BloqueBuddy(direccion, 1 << nivel, nivel);
+                bloque.ocupado = entrada.readBoolean();
+                bloque.idProceso = entrada.readInt();
+                bloque.numeroBCP = entrada.readInt();
+                lista.add(bloque);
+            }
+        }
+        contadores.restaurarEstado(entrada);
+    }
+    
     @Override
     public void reiniciar() {
         // Limpiar todas las listas
@@ -348,6 +431,17 @@ public class EstrategiaParticionamientoDinamico implements IEstrategiaParticiona
         // Reinicializar con bloque completo
         inicializarBuddySystem();
         
-        System.out.println("[BUDDY SYSTEM] Reiniciado");
+        out().println("[BUDDY SYSTEM] Reiniciado");
+    }
+
+    // ========== LOGS ==========
+
+    @Override
+    public void setSalidaLog(PrintStream salidaLog) {
+        this.salidaLog = salidaLog;
+    }
+
+    private PrintStream out() {
+        return salidaLog != null ? salidaLog : System.out;
     }
 }
\ No newline at end of file
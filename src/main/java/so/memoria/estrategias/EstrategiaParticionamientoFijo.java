@@ -2,6 +2,13 @@ package so.memoria.estrategias;
 
 import so.instrucciones.Instruccion;
 import so.gestordeprocesos.BCP;
+import so.monitoreo.jfr.EventoAsignacionMemoria;
+import so.monitoreo.jfr.EventoLiberacionMemoria;
+import so.persistencia.EntradaPuntoControl;
+import so.persistencia.SalidaPuntoControl;
+
+import java.io.IOException;
+import java.io.PrintStream;
 
 /**
  * Implementación de Particionamiento Fijo.
@@ -24,6 +31,11 @@ public class EstrategiaParticionamientoFijo implements IEstrategiaParticionamien
     private TipoParticionamiento tipo;
     private int tamanoParticionIgual;
     
+    private final ContadoresMemoria contadores = new ContadoresMemoria();
+
+    /** Destino de los logs (null: la salida estándar del proceso) */
+    private PrintStream salidaLog;
+    
     public enum TipoParticionamiento {
         IGUAL, DESIGUAL
     }
@@ -90,6 +102,7 @@ public class EstrategiaParticionamientoFijo implements IEstrategiaParticionamien
         } else {
             configurarParticionamientoDesigual();
         }
+        contadores.reiniciar(calcularEspacioLibre());
     }
     
     private void configurarParticionamientoIgual() {
@@ -105,10 +118,10 @@ public class EstrategiaParticionamientoFijo implements IEstrategiaParticionamien
             direccionActual += tamanoParticionIgual;
         }
         
-        System.out.println("[PARTICIONAMIENTO FIJO IGUAL] Configurado:");
-        System.out.println("  - Tamaño de partición: " + tamanoParticionIgual + " KB");
-        System.out.println("  - Número de particiones: " + numParticiones);
-        System.out.println("  - Espacio total usado: " + (numParticiones * tamanoParticionIgual) + " KB");
+        out().println("[PARTICIONAMIENTO FIJO IGUAL] Configurado:");
+        out().println("  - Tamaño de partición: " + tamanoParticionIgual + " KB");
+        out().println("  - Número de particiones: " + numParticiones);
+        out().println("  - Espacio total usado: " + (numParticiones * tamanoParticionIgual) + " KB");
     }
     
     private void configurarParticionamientoDesigual() {
@@ -126,20 +139,24 @@ public class EstrategiaParticionamientoFijo implements IEstrategiaParticionamien
             tamanoActual += 2; // Incrementar de 2 en 2
         }
         
-        System.out.println("[PARTICIONAMIENTO FIJO DESIGUAL] Configurado:");
-        System.out.println("  - Número de particiones: " + numParticiones);
-        System.out.println("  - Tamaños: 2, 4, 6, 8, ..., " + (2 + (numParticiones-1)*2) + " KB");
-        System.out.println("  - Espacio no utilizado: " + espacioRestante + " KB");
+        out().println("[PARTICIONAMIENTO FIJO DESIGUAL] Configurado:");
+        out().println("  - Número de particiones: " + numParticiones);
+        out().println("  - Tamaños: 2, 4, 6, 8, ..., " + (2 + (numParticiones-1)*2) + " KB");
+        out().println("  - Espacio no utilizado: " + espacioRestante + " KB");
     }
     
     @Override
     public InfoAsignacion cargarInstrucciones(Instruccion[] instrucciones) {
+        EventoAsignacionMemoria evento = new EventoAsignacionMemoria();
+        evento.begin();
         int tamanoRequerido = instrucciones.length;
         int indiceParticion = buscarParticionLibre(tamanoRequerido);
         
         if (indiceParticion < 0) {
-            System.out.println("[PARTICIONAMIENTO FIJO] No hay partición disponible para " + 
+            contadores.registrarAsignacionFallida();
+            out().println("[PARTICIONAMIENTO FIJO] No hay partición disponible para " + 
                              tamanoRequerido + " instrucciones");
+            emitirAsignacion(evento, tamanoRequerido, null);
             return null;
         }
         
@@ -152,18 +169,31 @@ public class EstrategiaParticionamientoFijo implements IEstrategiaParticionamien
         
         int fragmentacionInterna = particion.tamano - tamanoRequerido;
         
-        System.out.println("[PARTICIONAMIENTO FIJO] Instrucciones cargadas en partición " + indiceParticion);
-        System.out.println("  - Dirección base: " + particion.inicio);
-        System.out.println("  - Tamaño partición: " + particion.tamano + " KB");
-        System.out.println("  - Tamaño proceso: " + tamanoRequerido + " KB");
-        System.out.println("  - Fragmentación interna: " + fragmentacionInterna + " KB");
+        out().println("[PARTICIONAMIENTO FIJO] Instrucciones cargadas en partición " + indiceParticion);
+        out().println("  - Dirección base: " + particion.inicio);
+        out().println("  - Tamaño partición: " + particion.tamano + " KB");
+        out().println("  - Tamaño proceso: " + tamanoRequerido + " KB");
+        out().println("  - Fragmentación interna: " + fragmentacionInterna + " KB");
         
         InfoAsignacion info = new InfoAsignacion(particion.inicio, particion.tamano, fragmentacionInterna);
         info.indiceParticion = indiceParticion;
         
+        emitirAsignacion(evento, tamanoRequerido, info);
         return info;
     }
     
+    private void emitirAsignacion(EventoAsignacionMemoria evento, int tamanoRequerido, InfoAsignacion info) {
+        if (evento.shouldCommit()) {
+            evento.estrategia = getNombre();
+            evento.tamanoSolicitado = tamanoRequerido;
+            evento.exitosa = info != null;
+            evento.tamanoAsignado = info != null ? info.tamanoAsignado : 0;
+            evento.direccion = info != null ? info.direccionBase : -1;
+            evento.fragmentacionInterna = info != null ? info.fragmentacionInterna : 0;
+            evento.commit();
+        }
+    }
+    
     private int buscarParticionLibre(int tamanoRequerido) {
         int mejorParticion = -1;
         int menorDesperdicio = Integer.MAX_VALUE;
@@ -204,9 +234,22 @@ public class EstrategiaParticionamientoFijo implements IEstrategiaParticionamien
         }
         
         // Liberar partición
+        if (particion.ocupada) {
+            contadores.registrarLiberacion(particion.tamano, bcp.getFragmentacionInterna());
+        }
         particion.liberar();
         
-        System.out.println("[PARTICIONAMIENTO FIJO] Partición " + indiceParticion + " liberada");
+        out().println("[PARTICIONAMIENTO FIJO] Partición " + indiceParticion + " liberada");
+        
+        EventoLiberacionMemoria evento = new EventoLiberacionMemoria();
+        if (evento.shouldCommit()) {
+            evento.estrategia = getNombre();
+            evento.idProceso = bcp.getIdProceso();
+            evento.direccion = particion.inicio;
+            evento.tamano = particion.tamano;
+            evento.espacioLibre = contadores.getEspacioLibre();
+            evento.commit();
+        }
     }
     
     @Override
@@ -223,10 +266,15 @@ public class EstrategiaParticionamientoFijo implements IEstrategiaParticionamien
         
         // Actualizar BCP
         bcp.asignarParticion(indiceParticion, info.tamanoAsignado);
+        contadores.registrarAsignacion(particion.tamano, bcp.getFragmentacionInterna());
     }
     
     @Override
     public int getEspacioLibreTotal() {
+        return (int) contadores.getEspacioLibre();
+    }
+    
+    private int calcularEspacioLibre() {
         int libre = 0;
         for (int i = 0; i < numParticiones; i++) {
             if (!tablaParticiones[i].ocupada) {
@@ -238,16 +286,12 @@ public class EstrategiaParticionamientoFijo implements IEstrategiaParticionamien
     
     @Override
     public int getFragmentacionInternaTotal() {
-        int fragmentacion = 0;
-        for (int i = 0; i < numParticiones; i++) {
-            Particion p = tablaParticiones[i];
-            if (p.ocupada) {
-                // La fragmentación se calcula en tiempo de asignación
-                // Se necesitaría guardar el tamaño del proceso para calcularlo aquí
-                // Por ahora, asumimos que se calcula desde el BCP
-            }
-        }
-        return fragmentacion;
+        return (int) contadores.getFragmentacionInterna();
+    }
+    
+    @Override
+    public ContadoresMemoria getContadores() {
+        return contadores;
     }
     
     @Override
@@ -293,7 +337,49 @@ public class EstrategiaParticionamientoFijo implements IEstrategiaParticionamien
             }
         }
         
-        System.out.println("[PARTICIONAMIENTO FIJO] Reiniciado");
+        contadores.reiniciar(calcularEspacioLibre());
+        out().println("[PARTICIONAMIENTO FIJO] Reiniciado");
+    }
+    
+    /**
+     * Guarda la tabla de particiones; la distribución se valida al restaurar
+     * porque depende de la configuración con la que se construyó la estrategia
+     */
+    @Override
+    public void guardarEstado(SalidaPuntoControl salida) throws IOException {
+        salida.writeInt(numParticiones);
+        for (int i = 0; i < numParticiones; i++) {
+            Particion p = tablaParticiones[i];
+            salida.writeInt(p.inicio);
+            salida.writeInt(p.tamano);
+            salida.writeBoolean(p.ocupada);
+            salida.writeInt(p.idProceso);
+            salida.writeInt(p.numeroBCP);
+        }
+        contadores.guardarEstado(salida);
+    }
+
+    @Override
+    public void restaurarEstado(EntradaPuntoControl entrada) throws IOException {
+        int cantidad = entrada.readInt();
+        if (cantidad < 0 || cantidad > MAX_PARTICIONES) {
+            throw new IllegalStateException("Cantidad de particiones inválida en punto de control: " + cantidad);
+        }
+        numParticiones = cantidad;
+        for (int i = 0; i < numParticiones; i++) {
+            Particion p = new Particion(entrada.readInt(), entrada.readInt());
+            boolean ocupada = entrada.readBoolean();
+            int idProceso = entrada.readInt();
+            int numeroBCP = entrada.readInt();
+            if (ocupada) {
+                p.ocupar(idProceso, numeroBCP);
+            }
+            tablaParticiones[i] = p;
+        }
+        for (int i = numParticiones; i < MAX_PARTICIONES; i++) {
+            tablaParticiones[i] = null;
+        }
+        contadores.restaurarEstado(entrada);
     }
     
     // Métodos auxiliares para gestión externa
@@ -311,4 +397,15 @@ public class EstrategiaParticionamientoFijo implements IEstrategiaParticionamien
     public TipoParticionamiento getTipo() {
         return tipo;
     }
+
+    // ========== LOGS ==========
+
+    @Override
+    public void setSalidaLog(PrintStream salidaLog) {
+        this.salidaLog = salidaLog;
+    }
+
+    private PrintStream out() {
+        return salidaLog != null ? salidaLog : System.out;
+    }
 }
\ No newline at end of file
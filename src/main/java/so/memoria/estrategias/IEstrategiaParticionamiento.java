@@ -2,14 +2,20 @@ package so.memoria.estrategias;
 
 import so.instrucciones.Instruccion;
 import so.gestordeprocesos.BCP;
+import so.persistencia.IPersistible;
+
+import java.io.PrintStream;
 
 /**
  * Interfaz para implementar diferentes estrategias de particionamiento de memoria.
  * Permite cambiar dinámicamente la estrategia de gestión de memoria del usuario.
  * 
+ * Cada estrategia guarda en el punto de control solo su estado de ocupación;
+ * la memoria de usuario (las instrucciones) la guarda MemoriaPrincipalV2.
+ * 
  * @author dylan
  */
-public interface IEstrategiaParticionamiento {
+public interface IEstrategiaParticionamiento extends IPersistible {
     
     /**
      * Inicializa la estrategia de particionamiento
@@ -57,6 +63,12 @@ public interface IEstrategiaParticionamiento {
      */
     int getFragmentacionInternaTotal();
     
+    /**
+     * Contadores de asignaciones, liberaciones y espacio, actualizados en
+     * cada operación (se pueden leer desde cualquier hilo)
+     */
+    ContadoresMemoria getContadores();
+    
     /**
      * Genera un reporte detallado del estado de la memoria
      * 
@@ -76,6 +88,15 @@ public interface IEstrategiaParticionamiento {
      */
     void reiniciar();
     
+    /**
+     * Indica dónde escribir los logs de la estrategia (null para la salida
+     * estándar del proceso). Debe llamarse antes de inicializar().
+     * 
+     * @param salidaLog destino de los logs
+     */
+    default void setSalidaLog(PrintStream salidaLog) {
+    }
+    
     /**
      * Clase interna para encapsular información de asignación
      */
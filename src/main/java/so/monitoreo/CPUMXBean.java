@@ -0,0 +1,26 @@
+package so.monitoreo;
+
+/**
+ * Vista JMX de un CPU (so.simulador:type=CPU,id=n)
+ *
+ * @author dylan
+ */
+public interface CPUMXBean {
+
+    int getId();
+
+    long getInstruccionesRetiradas();
+
+    long getCiclosReloj();
+
+    long getCambiosContexto();
+
+    long getDesalojos();
+
+    long getTicksOciosos();
+
+    /**
+     * PID del proceso en ejecución o -1 si el CPU está libre
+     */
+    long getPidActual();
+}
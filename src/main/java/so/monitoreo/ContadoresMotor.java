@@ -0,0 +1,264 @@
+package so.monitoreo;
+
+import so.eventos.IObservadorMotor;
+import so.gestordeprocesos.BCP;
+import so.instrucciones.Instruccion;
+import so.persistencia.EntradaPuntoControl;
+import so.persistencia.IPersistible;
+import so.persistencia.SalidaPuntoControl;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contadores atómicos del motor de simulación, globales y por CPU.
+ *
+ * Se alimentan como observador del motor (más los ticks ociosos, que informa
+ * el propio motor) y se leen desde cualquier hilo sin tomar el candado del
+ * sistema, por lo que los MBeans y otras herramientas de monitoreo no
+ * interfieren con la simulación.
+ *
+ * Se guardan en el punto de control junto con el motor: un sistema
+ * restaurado ya tiene procesos en LISTO y en ejecución, y sin sus contadores
+ * los despachos y finalizaciones posteriores los dejarían desfasados.
+ *
+ * @author dylan
+ */
+public class ContadoresMotor implements IObservadorMotor, IPersistible {
+
+    private final int cantidadCPUs;
+
+    // ========== GLOBALES ==========
+    private final AtomicLong pasos = new AtomicLong();
+    private final AtomicLong procesosAdmitidos = new AtomicLong();
+    private final AtomicLong procesosFinalizados = new AtomicLong();
+    private final AtomicLong asignacionesFallidas = new AtomicLong();
+    private final AtomicLong colaListos = new AtomicLong();
+    private final AtomicLong programasPendientes = new AtomicLong();
+
+    // ========== POR CPU ==========
+    private final AtomicLongArray instruccionesRetiradas;
+    private final AtomicLongArray ticksOciosos;
+    private final AtomicLongArray cambiosContexto;
+    private final AtomicLongArray desalojos;
+    private final AtomicLongArray procesosAsignados;
+    private final AtomicLongArray pidActual;
+    private final AtomicLongArray listos;
+
+    public ContadoresMotor(int cantidadCPUs) {
+        this.cantidadCPUs = cantidadCPUs;
+        this.instruccionesRetiradas = new AtomicLongArray(cantidadCPUs);
+        this.ticksOciosos = new AtomicLongArray(cantidadCPUs);
+        this.cambiosContexto = new AtomicLongArray(cantidadCPUs);
+        this.desalojos = new AtomicLongArray(cantidadCPUs);
+        this.procesosAsignados = new AtomicLongArray(cantidadCPUs);
+        this.pidActual = new AtomicLongArray(cantidadCPUs);
+        this.listos = new AtomicLongArray(cantidadCPUs);
+        for (int i = 0; i < cantidadCPUs; i++) {
+            pidActual.set(i, -1);
+        }
+    }
+
+    // ========== ACTUALIZACIÓN DESDE EL MOTOR ==========
+
+    public void registrarPaso() {
+        pasos.incrementAndGet();
+    }
+
+    /**
+     * El CPU no tenía ningún proceso para ejecutar en este tick
+     */
+    public void registrarTickOcioso(int cpu) {
+        ticksOciosos.incrementAndGet(cpu);
+    }
+
+    /**
+     * Programas en memoria secundaria que esperan un BCP libre
+     */
+    public void setProgramasPendientes(int cantidad) {
+        programasPendientes.set(cantidad);
+    }
+
+    @Override
+    public void onAdmision(long tick, int cpu, int numeroBCP, BCP bcp) {
+        procesosAdmitidos.incrementAndGet();
+        colaListos.incrementAndGet();
+        if (valido(cpu)) {
+            procesosAsignados.incrementAndGet(cpu);
+            listos.incrementAndGet(cpu);
+        }
+    }
+
+    @Override
+    public void onDespacho(long tick, int cpu, int numeroBCP, BCP bcp) {
+        colaListos.decrementAndGet();
+        if (valido(cpu)) {
+            listos.decrementAndGet(cpu);
+            cambiosContexto.incrementAndGet(cpu);
+            pidActual.set(cpu, bcp.getIdProceso());
+        }
+    }
+
+    @Override
+    public void onInstruccionRetirada(long tick, int cpu, int numeroBCP, BCP bcp, int pc, Instruccion instruccion) {
+        if (valido(cpu)) {
+            instruccionesRetiradas.incrementAndGet(cpu);
+        }
+    }
+
+    @Override
+    public void onDesalojo(long tick, int cpu, int numeroBCP, BCP bcp) {
+        colaListos.incrementAndGet();
+        if (valido(cpu)) {
+            listos.incrementAndGet(cpu);
+            desalojos.incrementAndGet(cpu);
+            pidActual.set(cpu, -1);
+        }
+    }
+
+    @Override
+    public void onFinalizacion(long tick, int cpu, int numeroBCP, BCP bcp) {
+        procesosFinalizados.incrementAndGet();
+        if (valido(cpu)) {
+            procesosAsignados.decrementAndGet(cpu);
+            pidActual.set(cpu, -1);
+        }
+    }
+
+    @Override
+    public void onAsignacionFallida(long tick, String nombrePrograma, int tamanoRequerido) {
+        asignacionesFallidas.incrementAndGet();
+    }
+
+    private boolean valido(int cpu) {
+        return cpu >= 0 && cpu < cantidadCPUs;
+    }
+
+    // ========== LECTURA ==========
+
+    public int getCantidadCPUs() {
+        return cantidadCPUs;
+    }
+
+    public long getPasos() {
+        return pasos.get();
+    }
+
+    public long getProcesosAdmitidos() {
+        return procesosAdmitidos.get();
+    }
+
+    public long getProcesosFinalizados() {
+        return procesosFinalizados.get();
+    }
+
+    public long getAsignacionesFallidas() {
+        return asignacionesFallidas.get();
+    }
+
+    public long getColaListos() {
+        return colaListos.get();
+    }
+
+    public long getProgramasPendientes() {
+        return programasPendientes.get();
+    }
+
+    /**
+     * Procesos admitidos en el CPU que esperan en LISTO
+     */
+    public long getListos(int cpu) {
+        return listos.get(cpu);
+    }
+
+    public long getInstruccionesRetiradas(int cpu) {
+        return instruccionesRetiradas.get(cpu);
+    }
+
+    public long getTicksOciosos(int cpu) {
+        return ticksOciosos.get(cpu);
+    }
+
+    public long getCambiosContexto(int cpu) {
+        return cambiosContexto.get(cpu);
+    }
+
+    public long getDesalojos(int cpu) {
+        return desalojos.get(cpu);
+    }
+
+    public long getProcesosAsignados(int cpu) {
+        return procesosAsignados.get(cpu);
+    }
+
+    public long getPidActual(int cpu) {
+        return pidActual.get(cpu);
+    }
+
+    /**
+     * Suma de un contador por CPU en todos los CPUs
+     */
+    long sumar(AtomicLongArray contador) {
+        long total = 0;
+        for (int i = 0; i < cantidadCPUs; i++) {
+            total += contador.get(i);
+        }
+        return total;
+    }
+
+    public long getTotalInstruccionesRetiradas() {
+        return sumar(instruccionesRetiradas);
+    }
+
+    public long getTotalCambiosContexto() {
+        return sumar(cambiosContexto);
+    }
+
+    public long getTotalTicksOciosos() {
+        return sumar(ticksOciosos);
+    }
+
+    // ========== PUNTO DE CONTROL ==========
+
+    @Override
+    public void guardarEstado(SalidaPuntoControl salida) throws IOException {
+        salida.writeInt(cantidadCPUs);
+        salida.writeLong(pasos.get());
+        salida.writeLong(procesosAdmitidos.get());
+        salida.writeLong(procesosFinalizados.get());
+        salida.writeLong(asignacionesFallidas.get());
+        salida.writeLong(colaListos.get());
+        salida.writeLong(programasPendientes.get());
+        for (AtomicLongArray contador : porCPU()) {
+            for (int i = 0; i < cantidadCPUs; i++) {
+                salida.writeLong(contador.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void restaurarEstado(EntradaPuntoControl entrada) throws IOException {
+        int cpusGuardados = entrada.readInt();
+        if (cpusGuardados != cantidadCPUs) {
+            throw new IllegalStateException("El punto de control tiene contadores de " + cpusGuardados
+                + " CPUs, se esperaban " + cantidadCPUs);
+        }
+        pasos.set(entrada.readLong());
+        procesosAdmitidos.set(entrada.readLong());
+        procesosFinalizados.set(entrada.readLong());
+        asignacionesFallidas.set(entrada.readLong());
+        colaListos.set(entrada.readLong());
+        programasPendientes.set(entrada.readLong());
+        for (AtomicLongArray contador : porCPU()) {
+            for (int i = 0; i < cantidadCPUs; i++) {
+                contador.set(i, entrada.readLong());
+            }
+        }
+    }
+
+    private AtomicLongArray[] porCPU() {
+        return new AtomicLongArray[]{instruccionesRetiradas, ticksOciosos, cambiosContexto, desalojos,
+                                     procesosAsignados, pidActual, listos};
+    }
+}
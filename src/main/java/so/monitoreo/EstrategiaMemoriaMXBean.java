@@ -0,0 +1,21 @@
+package so.monitoreo;
+
+/**
+ * Vista JMX de la estrategia de memoria activa (so.simulador:type=EstrategiaMemoria)
+ *
+ * @author dylan
+ */
+public interface EstrategiaMemoriaMXBean {
+
+    String getEstrategia();
+
+    long getEspacioLibre();
+
+    long getFragmentacionInterna();
+
+    long getAsignaciones();
+
+    long getAsignacionesFallidas();
+
+    long getLiberaciones();
+}
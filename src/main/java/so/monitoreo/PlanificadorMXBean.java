@@ -0,0 +1,22 @@
+package so.monitoreo;
+
+/**
+ * Vista JMX del planificador de un CPU (so.simulador:type=Planificador,cpu=n)
+ *
+ * @author dylan
+ */
+public interface PlanificadorMXBean {
+
+    int getCPU();
+
+    String getAlgoritmo();
+
+    /**
+     * Procesos asignados al CPU que todavía no finalizaron
+     */
+    long getProcesosAsignados();
+
+    long getDespachos();
+
+    long getDesalojos();
+}
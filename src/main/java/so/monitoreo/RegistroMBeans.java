@@ -0,0 +1,298 @@
+package so.monitoreo;
+
+import so.cpu.CPU;
+import so.main.SistemaOperativoV2;
+import so.memoria.estrategias.ContadoresMemoria;
+import so.memoria.estrategias.IEstrategiaParticionamiento;
+import so.planificacion.IPlanificador;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registra en el servidor de MBeans de la plataforma las vistas JMX de un
+ * sistema: el sistema operativo, cada CPU, cada planificador y la estrategia
+ * de memoria. Se pueden observar con jconsole, VisualVM o cualquier cliente JMX.
+ *
+ * Nombres (dominio "so.simulador", con la clave sistema para distinguir
+ * varios sistemas en la misma JVM):
+ * - so.simulador:sistema=n,type=SistemaOperativo
+ * - so.simulador:sistema=n,type=CPU,id=i
+ * - so.simulador:sistema=n,type=Planificador,cpu=i
+ * - so.simulador:sistema=n,type=EstrategiaMemoria
+ *
+ * Todos los atributos se leen de contadores atómicos; ninguno arma reportes
+ * ni toma el candado del sistema.
+ *
+ * @author dylan
+ */
+public class RegistroMBeans implements AutoCloseable {
+
+    public static final String DOMINIO = "so.simulador";
+
+    private static final AtomicInteger SIGUIENTE_SISTEMA = new AtomicInteger(1);
+
+    private final MBeanServer servidor;
+    private final List<ObjectName> registrados;
+    private final int idSistema;
+
+    private RegistroMBeans(MBeanServer servidor, int idSistema) {
+        this.servidor = servidor;
+        this.registrados = new ArrayList<>();
+        this.idSistema = idSistema;
+    }
+
+    /**
+     * Registra los MBeans del sistema en el servidor de la plataforma
+     */
+    public static RegistroMBeans registrar(SistemaOperativoV2 sistema, ContadoresMotor contadores) {
+        RegistroMBeans registro = new RegistroMBeans(ManagementFactory.getPlatformMBeanServer(),
+                SIGUIENTE_SISTEMA.getAndIncrement());
+        try {
+            IEstrategiaParticionamiento estrategia = sistema.getMemoriaPrincipal().getEstrategia();
+            registro.registrar("type=SistemaOperativo",
+                    new MonitorSistema(sistema, contadores, estrategia.getContadores()));
+            registro.registrar("type=EstrategiaMemoria", new MonitorEstrategia(estrategia));
+            for (int i = 0; i < sistema.getCantidadCPUs(); i++) {
+                registro.registrar("type=CPU,id=" + i,
+                        new MonitorCPU(i, sistema.getEjecutor(i).getCPU(), contadores));
+                registro.registrar("type=Planificador,cpu=" + i,
+                        new MonitorPlanificador(i, sistema.getPlanificador(i), contadores));
+            }
+        } catch (JMException e) {
+            registro.close();
+            throw new IllegalStateException("No se pudieron registrar los MBeans del sistema", e);
+        }
+        System.out.println("[JMX] " + registro.registrados.size() + " MBeans registrados en "
+                + DOMINIO + ":sistema=" + registro.idSistema);
+        return registro;
+    }
+
+    private void registrar(String propiedades, Object mbean) throws JMException {
+        ObjectName nombre = new ObjectName(DOMINIO + ":sistema=" + idSistema + "," + propiedades);
+        servidor.registerMBean(mbean, nombre);
+        registrados.add(nombre);
+    }
+
+    public List<ObjectName> getNombres() {
+        return new ArrayList<>(registrados);
+    }
+
+    /**
+     * Quita del servidor todos los MBeans registrados
+     */
+    @Override
+    public void close() {
+        for (ObjectName nombre : registrados) {
+            try {
+                servidor.unregisterMBean(nombre);
+            } catch (JMException e) {
+                System.err.println("[JMX] No se pudo quitar " + nombre + ": " + e.getMessage());
+            }
+        }
+        registrados.clear();
+    }
+
+    // ========== IMPLEMENTACIONES ==========
+
+    private static final class MonitorSistema implements SistemaOperativoMXBean {
+        private final SistemaOperativoV2 sistema;
+        private final ContadoresMotor contadores;
+        private final ContadoresMemoria memoria;
+
+        MonitorSistema(SistemaOperativoV2 sistema, ContadoresMotor contadores, ContadoresMemoria memoria) {
+            this.sistema = sistema;
+            this.contadores = contadores;
+            this.memoria = memoria;
+        }
+
+        @Override
+        public long getTick() {
+            return sistema.getTickActual();
+        }
+
+        @Override
+        public int getCantidadCPUs() {
+            return contadores.getCantidadCPUs();
+        }
+
+        @Override
+        public long getProcesosAdmitidos() {
+            return contadores.getProcesosAdmitidos();
+        }
+
+        @Override
+        public long getProcesosFinalizados() {
+            return contadores.getProcesosFinalizados();
+        }
+
+        @Override
+        public long getProcesosActivos() {
+            return contadores.getProcesosAdmitidos() - contadores.getProcesosFinalizados();
+        }
+
+        @Override
+        public long getProcesosEnColaListos() {
+            return contadores.getColaListos();
+        }
+
+        @Override
+        public long getInstruccionesRetiradas() {
+            return contadores.getTotalInstruccionesRetiradas();
+        }
+
+        @Override
+        public long getCambiosContexto() {
+            return contadores.getTotalCambiosContexto();
+        }
+
+        @Override
+        public long getTicksOciosos() {
+            return contadores.getTotalTicksOciosos();
+        }
+
+        @Override
+        public long getAsignacionesFallidas() {
+            return contadores.getAsignacionesFallidas();
+        }
+
+        @Override
+        public long getMemoriaLibre() {
+            return memoria.getEspacioLibre();
+        }
+
+        @Override
+        public long getFragmentacionInterna() {
+            return memoria.getFragmentacionInterna();
+        }
+    }
+
+    private static final class MonitorCPU implements CPUMXBean {
+        private final int id;
+        private final CPU cpu;
+        private final ContadoresMotor contadores;
+
+        MonitorCPU(int id, CPU cpu, ContadoresMotor contadores) {
+            this.id = id;
+            this.cpu = cpu;
+            this.contadores = contadores;
+        }
+
+        @Override
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public long getInstruccionesRetiradas() {
+            return contadores.getInstruccionesRetiradas(id);
+        }
+
+        @Override
+        public long getCiclosReloj() {
+            return cpu.getCiclosReloj();
+        }
+
+        @Override
+        public long getCambiosContexto() {
+            return contadores.getCambiosContexto(id);
+        }
+
+        @Override
+        public long getDesalojos() {
+            return contadores.getDesalojos(id);
+        }
+
+        @Override
+        public long getTicksOciosos() {
+            return contadores.getTicksOciosos(id);
+        }
+
+        @Override
+        public long getPidActual() {
+            return contadores.getPidActual(id);
+        }
+    }
+
+    private static final class MonitorPlanificador implements PlanificadorMXBean {
+        private final int cpu;
+        private final String algoritmo;
+        private final ContadoresMotor contadores;
+
+        MonitorPlanificador(int cpu, IPlanificador planificador, ContadoresMotor contadores) {
+            this.cpu = cpu;
+            this.algoritmo = planificador.getNombre();
+            this.contadores = contadores;
+        }
+
+        @Override
+        public int getCPU() {
+            return cpu;
+        }
+
+        @Override
+        public String getAlgoritmo() {
+            return algoritmo;
+        }
+
+        @Override
+        public long getProcesosAsignados() {
+            return contadores.getProcesosAsignados(cpu);
+        }
+
+        @Override
+        public long getDespachos() {
+            return contadores.getCambiosContexto(cpu);
+        }
+
+        @Override
+        public long getDesalojos() {
+            return contadores.getDesalojos(cpu);
+        }
+    }
+
+    private static final class MonitorEstrategia implements EstrategiaMemoriaMXBean {
+        private final String nombre;
+        private final ContadoresMemoria contadores;
+
+        MonitorEstrategia(IEstrategiaParticionamiento estrategia) {
+            this.nombre = estrategia.getNombre();
+            this.contadores = estrategia.getContadores();
+        }
+
+        @Override
+        public String getEstrategia() {
+            return nombre;
+        }
+
+        @Override
+        public long getEspacioLibre() {
+            return contadores.getEspacioLibre();
+        }
+
+        @Override
+        public long getFragmentacionInterna() {
+            return contadores.getFragmentacionInterna();
+        }
+
+        @Override
+        public long getAsignaciones() {
+            return contadores.getAsignaciones();
+        }
+
+        @Override
+        public long getAsignacionesFallidas() {
+            return contadores.getAsignacionesFallidas();
+        }
+
+        @Override
+        public long getLiberaciones() {
+            return contadores.getLiberaciones();
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package so.monitoreo;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import so.estadisticas.AgregadorMetricas;
+import so.estadisticas.HistogramaLog;
+import so.main.SistemaOperativoV2;
+import so.memoria.estrategias.ContadoresMemoria;
+import so.memoria.estrategias.IEstrategiaParticionamiento;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Endpoint HTTP local (solo loopback) con las métricas del sistema en el
+ * formato de texto de Prometheus, para corridas largas sin interfaz.
+ *
+ * GET /metrics devuelve:
+ * - so_cpu_instrucciones_total y so_cpu_instrucciones_por_segundo por CPU
+ *   (la tasa se calcula contra la consulta anterior; en Prometheus conviene
+ *   usar rate() sobre el contador)
+ * - so_cpu_cola_listos por CPU y so_cola_listos global
+ * - so_bcps_activos y so_programas_pendientes
+ * - so_memoria_libre_kb y demás contadores de la estrategia de memoria
+ * - histogramas de retorno, espera y respuesta de los procesos finalizados
+ *
+ * Todo se lee de los contadores atómicos que mantienen el motor
+ * (ContadoresMotor, AgregadorMetricas) y la estrategia (ContadoresMemoria):
+ * una consulta no recorre la memoria ni toma el candado del sistema.
+ *
+ * @author dylan
+ */
+public class ServidorMetricas implements Closeable {
+
+    public static final String RUTA = "/metrics";
+
+    private static final String TIPO_CONTENIDO = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * Límites de las cubetas de los histogramas, en ticks
+     */
+    private static final long[] LIMITES_TICKS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000};
+
+    private final SistemaOperativoV2 sistema;
+    private final ContadoresMotor contadores;
+    private final AgregadorMetricas metricas;
+    private final ContadoresMemoria memoria;
+    private final String estrategia;
+    private final HttpServer servidor;
+    private final ExecutorService ejecutor;
+
+    // Muestra de la consulta anterior para la tasa de instrucciones
+    private long nanosAnterior;
+    private final long[] instruccionesAnteriores;
+
+    private ServidorMetricas(SistemaOperativoV2 sistema, HttpServer servidor) {
+        this.sistema = sistema;
+        this.contadores = sistema.getContadores();
+        this.metricas = sistema.getMetricas();
+        IEstrategiaParticionamiento estrategiaMemoria = sistema.getMemoriaPrincipal().getEstrategia();
+        this.memoria = estrategiaMemoria.getContadores();
+        this.estrategia = escaparEtiqueta(estrategiaMemoria.getNombre());
+        this.servidor = servidor;
+        this.instruccionesAnteriores = new long[contadores.getCantidadCPUs()];
+        this.ejecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread hilo = new Thread(r, "so-metricas-http");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Levanta el endpoint en 127.0.0.1
+     *
+     * @param puerto puerto TCP (0 para elegir uno libre; ver getPuerto())
+     */
+    public static ServidorMetricas iniciar(SistemaOperativoV2 sistema, int puerto) throws IOException {
+        if (puerto < 0 || puerto > 65535) {
+            throw new IllegalArgumentException("Puerto inválido: " + puerto);
+        }
+        HttpServer http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), puerto), 0);
+        ServidorMetricas servidor = new ServidorMetricas(sistema, http);
+        http.createContext(RUTA, servidor::atender);
+        http.setExecutor(servidor.ejecutor);
+        http.start();
+        System.out.println("[METRICAS] Endpoint en http://127.0.0.1:" + servidor.getPuerto() + RUTA);
+        return servidor;
+    }
+
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        ejecutor.shutdownNow();
+        System.out.println("[METRICAS] Endpoint detenido");
+    }
+
+    private void atender(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            if (!"GET".equals(intercambio.getRequestMethod()) && !"HEAD".equals(intercambio.getRequestMethod())) {
+                intercambio.getResponseHeaders().set("Allow", "GET, HEAD");
+                intercambio.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] cuerpo = generarMetricas().getBytes(StandardCharsets.UTF_8);
+            intercambio.getResponseHeaders().set("Content-Type", TIPO_CONTENIDO);
+            if ("HEAD".equals(intercambio.getRequestMethod())) {
+                intercambio.sendResponseHeaders(200, -1);
+                return;
+            }
+            intercambio.sendResponseHeaders(200, cuerpo.length);
+            try (OutputStream salida = intercambio.getResponseBody()) {
+                salida.write(cuerpo);
+            }
+        }
+    }
+
+    // ========== FORMATO ==========
+
+    /**
+     * Texto completo de la exposición (lo mismo que devuelve GET /metrics)
+     */
+    public synchronized String generarMetricas() {
+        StringBuilder sb = new StringBuilder(4096);
+        int cpus = contadores.getCantidadCPUs();
+
+        encabezado(sb, "so_tick", "gauge", "Tick lógico actual de la simulación");
+        muestra(sb, "so_tick", null, sistema.getTickActual());
+        encabezado(sb, "so_pasos_total", "counter", "Pasos de simulación ejecutados");
+        muestra(sb, "so_pasos_total", null, contadores.getPasos());
+
+        // Por CPU
+        long ahora = System.nanoTime();
+        double segundos = nanosAnterior == 0 ? 0 : (ahora - nanosAnterior) / 1e9;
+        encabezado(sb, "so_cpu_instrucciones_total", "counter", "Instrucciones retiradas por CPU");
+        long[] instrucciones = new long[cpus];
+        for (int cpu = 0; cpu < cpus; cpu++) {
+            instrucciones[cpu] = contadores.getInstruccionesRetiradas(cpu);
+            muestra(sb, "so_cpu_instrucciones_total", cpu, instrucciones[cpu]);
+        }
+        encabezado(sb, "so_cpu_instrucciones_por_segundo", "gauge",
+                "Instrucciones por segundo desde la consulta anterior");
+        for (int cpu = 0; cpu < cpus; cpu++) {
+            double tasa = segundos > 0 ? (instrucciones[cpu] - instruccionesAnteriores[cpu]) / segundos : 0;
+            muestra(sb, "so_cpu_instrucciones_por_segundo", cpu, tasa);
+            instruccionesAnteriores[cpu] = instrucciones[cpu];
+        }
+        nanosAnterior = ahora;
+        encabezado(sb, "so_cpu_cola_listos", "gauge", "Procesos en LISTO asignados a cada CPU");
+        for (int cpu = 0; cpu < cpus; cpu++) {
+            muestra(sb, "so_cpu_cola_listos", cpu, contadores.getListos(cpu));
+        }
+        encabezado(sb, "so_cpu_ticks_ociosos_total", "counter", "Ticks sin proceso para ejecutar");
+        for (int cpu = 0; cpu < cpus; cpu++) {
+            muestra(sb, "so_cpu_ticks_ociosos_total", cpu, contadores.getTicksOciosos(cpu));
+        }
+        encabezado(sb, "so_cpu_cambios_contexto_total", "counter", "Despachos por CPU");
+        for (int cpu = 0; cpu < cpus; cpu++) {
+            muestra(sb, "so_cpu_cambios_contexto_total", cpu, contadores.getCambiosContexto(cpu));
+        }
+        encabezado(sb, "so_cpu_desalojos_total", "counter", "Desalojos por CPU");
+        for (int cpu = 0; cpu < cpus; cpu++) {
+            muestra(sb, "so_cpu_desalojos_total", cpu, contadores.getDesalojos(cpu));
+        }
+
+        // Procesos
+        encabezado(sb, "so_cola_listos", "gauge", "Procesos en la cola de listos");
+        muestra(sb, "so_cola_listos", null, contadores.getColaListos());
+        encabezado(sb, "so_bcps_activos", "gauge", "BCPs ocupados por procesos admitidos y no finalizados");
+        muestra(sb, "so_bcps_activos", null,
+                contadores.getProcesosAdmitidos() - contadores.getProcesosFinalizados());
+        encabezado(sb, "so_programas_pendientes", "gauge", "Programas en memoria secundaria esperando un BCP");
+        muestra(sb, "so_programas_pendientes", null, contadores.getProgramasPendientes());
+        encabezado(sb, "so_procesos_admitidos_total", "counter", "Procesos admitidos");
+        muestra(sb, "so_procesos_admitidos_total", null, contadores.getProcesosAdmitidos());
+        encabezado(sb, "so_procesos_finalizados_total", "counter", "Procesos finalizados");
+        muestra(sb, "so_procesos_finalizados_total", null, contadores.getProcesosFinalizados());
+
+        // Memoria
+        encabezado(sb, "so_memoria_libre_kb", "gauge", "Espacio libre de la estrategia de memoria (KB)");
+        muestraEstrategia(sb, "so_memoria_libre_kb", memoria.getEspacioLibre());
+        encabezado(sb, "so_memoria_fragmentacion_interna_kb", "gauge", "Fragmentación interna (KB)");
+        muestraEstrategia(sb, "so_memoria_fragmentacion_interna_kb", memoria.getFragmentacionInterna());
+        encabezado(sb, "so_memoria_asignaciones_total", "counter", "Asignaciones exitosas");
+        muestraEstrategia(sb, "so_memoria_asignaciones_total", memoria.getAsignaciones());
+        encabezado(sb, "so_memoria_asignaciones_fallidas_total", "counter", "Asignaciones sin espacio");
+        muestraEstrategia(sb, "so_memoria_asignaciones_fallidas_total", memoria.getAsignacionesFallidas());
+        encabezado(sb, "so_memoria_liberaciones_total", "counter", "Liberaciones");
+        muestraEstrategia(sb, "so_memoria_liberaciones_total", memoria.getLiberaciones());
+
+        // Histogramas de los procesos finalizados
+        histograma(sb, "so_proceso_retorno_ticks", "Tiempo de retorno de los procesos finalizados",
+                metricas.getRetorno());
+        histograma(sb, "so_proceso_espera_ticks", "Tiempo de espera de los procesos finalizados",
+                metricas.getEspera());
+        histograma(sb, "so_proceso_respuesta_ticks", "Tiempo de respuesta de los procesos finalizados",
+                metricas.getRespuesta());
+        return sb.toString();
+    }
+
+    private static void encabezado(StringBuilder sb, String nombre, String tipo, String ayuda) {
+        sb.append("# HELP ").append(nombre).append(' ').append(ayuda).append('\n');
+        sb.append("# TYPE ").append(nombre).append(' ').append(tipo).append('\n');
+    }
+
+    private static void muestra(StringBuilder sb, String nombre, Integer cpu, long valor) {
+        sb.append(nombre);
+        if (cpu != null) {
+            sb.append("{cpu=\"").append(cpu).append("\"}");
+        }
+        sb.append(' ').append(valor).append('\n');
+    }
+
+    private static void muestra(StringBuilder sb, String nombre, Integer cpu, double valor) {
+        sb.append(nombre);
+        if (cpu != null) {
+            sb.append("{cpu=\"").append(cpu).append("\"}");
+        }
+        sb.append(' ').append(String.format(Locale.ROOT, "%.3f", valor)).append('\n');
+    }
+
+    private void muestraEstrategia(StringBuilder sb, String nombre, long valor) {
+        sb.append(nombre).append("{estrategia=\"").append(estrategia).append("\"} ").append(valor).append('\n');
+    }
+
+    private static void histograma(StringBuilder sb, String nombre, String ayuda, HistogramaLog histograma) {
+        encabezado(sb, nombre, "histogram", ayuda);
+        // Las cubetas se leen antes que la cantidad para que +Inf no quede por
+        // debajo de ellas si el hilo de simulación registra algo en el medio
+        long[] acumuladas = new long[LIMITES_TICKS.length];
+        histograma.acumularHasta(LIMITES_TICKS, acumuladas);
+        long cantidad = histograma.getCantidad();
+        long suma = histograma.getSuma();
+        for (int i = 0; i < LIMITES_TICKS.length; i++) {
+            sb.append(nombre).append("_bucket{le=\"").append(LIMITES_TICKS[i]).append("\"} ")
+                    .append(Math.min(acumuladas[i], cantidad)).append('\n');
+        }
+        sb.append(nombre).append("_bucket{le=\"+Inf\"} ").append(cantidad).append('\n');
+        sb.append(nombre).append("_sum ").append(suma).append('\n');
+        sb.append(nombre).append("_count ").append(cantidad).append('\n');
+    }
+
+    private static String escaparEtiqueta(String valor) {
+        return valor.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
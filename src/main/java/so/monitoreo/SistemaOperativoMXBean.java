@@ -0,0 +1,33 @@
+package so.monitoreo;
+
+/**
+ * Vista JMX del sistema operativo simulado (so.simulador:type=SistemaOperativo)
+ *
+ * @author dylan
+ */
+public interface SistemaOperativoMXBean {
+
+    long getTick();
+
+    int getCantidadCPUs();
+
+    long getProcesosAdmitidos();
+
+    long getProcesosFinalizados();
+
+    long getProcesosActivos();
+
+    long getProcesosEnColaListos();
+
+    long getInstruccionesRetiradas();
+
+    long getCambiosContexto();
+
+    long getTicksOciosos();
+
+    long getAsignacionesFallidas();
+
+    long getMemoriaLibre();
+
+    long getFragmentacionInterna();
+}
@@ -0,0 +1,39 @@
+package so.monitoreo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Un programa fue admitido: tiene memoria asignada, BCP y CPU
+ *
+ * @author dylan
+ */
+@Name("so.simulador.Admision")
+@Label("Admisión de proceso")
+@Category({"Simulador SO", "Procesos"})
+@Description("Un programa pasa de memoria secundaria a la cola de listos de un CPU")
+@StackTrace(false)
+public class EventoAdmision extends Event {
+
+    @Label("Tick")
+    public long tick;
+
+    @Label("PID")
+    public int idProceso;
+
+    @Label("Programa")
+    public String nombre;
+
+    @Label("CPU")
+    public int cpu;
+
+    @Label("BCP")
+    public int numeroBCP;
+
+    @Label("Instrucciones")
+    public int instrucciones;
+}
@@ -0,0 +1,42 @@
+package so.monitoreo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Búsqueda de espacio para un programa en una estrategia de memoria; la
+ * duración del evento es la de la búsqueda y la carga de las instrucciones
+ *
+ * @author dylan
+ */
+@Name("so.simulador.AsignacionMemoria")
+@Label("Asignación de memoria")
+@Category({"Simulador SO", "Memoria"})
+@Description("IEstrategiaParticionamiento.cargarInstrucciones")
+@StackTrace(false)
+public class EventoAsignacionMemoria extends Event {
+
+    @Label("Estrategia")
+    public String estrategia;
+
+    @Label("Solicitado (KB)")
+    public int tamanoSolicitado;
+
+    @Label("Asignado (KB)")
+    @Description("0 si la asignación falló")
+    public int tamanoAsignado;
+
+    @Label("Dirección")
+    @Description("-1 si la asignación falló")
+    public int direccion;
+
+    @Label("Fragmentación interna (KB)")
+    public int fragmentacionInterna;
+
+    @Label("Exitosa")
+    public boolean exitosa;
+}
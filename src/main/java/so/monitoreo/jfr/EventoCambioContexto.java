@@ -0,0 +1,33 @@
+package so.monitoreo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Copia de registros entre el CPU y un BCP (guardar o cargar contexto)
+ *
+ * @author dylan
+ */
+@Name("so.simulador.CambioContexto")
+@Label("Cambio de contexto")
+@Category({"Simulador SO", "CPU"})
+@Description("CPU.guardarContexto / CPU.cargarContexto")
+@StackTrace(false)
+public class EventoCambioContexto extends Event {
+
+    public static final String GUARDAR = "GUARDAR";
+    public static final String CARGAR = "CARGAR";
+
+    @Label("Operación")
+    public String operacion;
+
+    @Label("PID")
+    public int idProceso;
+
+    @Label("PC")
+    public int pc;
+}
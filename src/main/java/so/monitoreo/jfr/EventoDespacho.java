@@ -0,0 +1,33 @@
+package so.monitoreo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * El despachador puso un proceso en EJECUCION
+ *
+ * @author dylan
+ */
+@Name("so.simulador.Despacho")
+@Label("Despacho")
+@Category({"Simulador SO", "Planificación"})
+@Description("Despachador.despachar: el proceso pasa a EJECUCION")
+@StackTrace(false)
+public class EventoDespacho extends Event {
+
+    @Label("PID")
+    public int idProceso;
+
+    @Label("Programa")
+    public String nombre;
+
+    @Label("BCP")
+    public int numeroBCP;
+
+    @Label("PC")
+    public int pc;
+}
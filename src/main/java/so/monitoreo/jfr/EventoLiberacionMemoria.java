@@ -0,0 +1,37 @@
+package so.monitoreo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Liberación de la memoria de un proceso en una estrategia de memoria
+ *
+ * @author dylan
+ */
+@Name("so.simulador.LiberacionMemoria")
+@Label("Liberación de memoria")
+@Category({"Simulador SO", "Memoria"})
+@Description("IEstrategiaParticionamiento.liberarEspacio")
+@StackTrace(false)
+public class EventoLiberacionMemoria extends Event {
+
+    @Label("Estrategia")
+    public String estrategia;
+
+    @Label("PID")
+    public int idProceso;
+
+    @Label("Dirección")
+    public int direccion;
+
+    @Label("Liberado (KB)")
+    public int tamano;
+
+    @Label("Espacio libre (KB)")
+    @Description("Espacio libre después de la operación, en KB")
+    public long espacioLibre;
+}
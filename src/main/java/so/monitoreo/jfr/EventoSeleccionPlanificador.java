@@ -0,0 +1,38 @@
+package so.monitoreo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Una llamada a IPlanificador.seleccionarSiguiente; la duración del evento es
+ * la latencia de la selección
+ *
+ * @author dylan
+ */
+@Name("so.simulador.SeleccionPlanificador")
+@Label("Selección del planificador")
+@Category({"Simulador SO", "Planificación"})
+@Description("Latencia de IPlanificador.seleccionarSiguiente")
+@StackTrace(false)
+public class EventoSeleccionPlanificador extends Event {
+
+    @Label("Tick")
+    public long tick;
+
+    @Label("CPU")
+    public int cpu;
+
+    @Label("Algoritmo")
+    public String algoritmo;
+
+    @Label("Procesos listos")
+    public int listos;
+
+    @Label("BCP seleccionado")
+    @Description("-1 si no había ningún proceso para ejecutar, -2 si se sigue con el actual (RR, SRT)")
+    public int seleccionado;
+}
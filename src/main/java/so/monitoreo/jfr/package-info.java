@@ -0,0 +1,27 @@
+/**
+ * Eventos de Java Flight Recorder del simulador (categoría "Simulador SO").
+ *
+ * Se emiten siempre con el mismo patrón:
+ *
+ *   EventoX evento = new EventoX();
+ *   evento.begin();
+ *   ... trabajo medido ...
+ *   if (evento.shouldCommit()) {
+ *       evento.campo = ...;
+ *       evento.commit();
+ *   }
+ *
+ * Con el evento deshabilitado shouldCommit() devuelve false sin más trabajo y
+ * el JIT elimina la instancia (no escapa del método), así que los campos, y
+ * en especial los String, solo se calculan cuando alguien está grabando.
+ *
+ * Los eventos que emite el motor llevan el tick lógico; el resto se ubica en
+ * la simulación por su hora de inicio, junto a la de la selección del
+ * planificador del mismo CPU.
+ *
+ * Grabación: java -XX:StartFlightRecording:filename=so.jfr ... y
+ * jfr print --categories "Simulador SO" so.jfr
+ *
+ * @author dylan
+ */
+package so.monitoreo.jfr;
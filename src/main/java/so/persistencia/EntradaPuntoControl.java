@@ -0,0 +1,87 @@
+package so.persistencia;
+
+import so.instrucciones.CodigoOperacion;
+import so.instrucciones.Instruccion;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flujo de lectura de un punto de control (contraparte de SalidaPuntoControl)
+ *
+ * @author dylan
+ */
+public class EntradaPuntoControl extends DataInputStream {
+
+    private static final CodigoOperacion[] CODIGOS = CodigoOperacion.values();
+
+    private final List<Instruccion> tablaInstrucciones;
+
+    public EntradaPuntoControl(InputStream entrada) {
+        super(new BufferedInputStream(entrada, 1 << 16));
+        this.tablaInstrucciones = new ArrayList<>();
+    }
+
+    /**
+     * Lee una celda de memoria escrita con escribirCelda
+     */
+    public Object leerCelda() throws IOException {
+        byte tipo = readByte();
+        return switch (tipo) {
+            case SalidaPuntoControl.CELDA_NULA -> null;
+            case SalidaPuntoControl.CELDA_ENTERO -> readInt();
+            case SalidaPuntoControl.CELDA_LARGO -> readLong();
+            case SalidaPuntoControl.CELDA_TEXTO -> readUTF();
+            case SalidaPuntoControl.CELDA_INSTRUCCION -> leerInstruccion();
+            case SalidaPuntoControl.CELDA_LISTA_TEXTO -> {
+                int tamano = readInt();
+                List<String> lista = new ArrayList<>(tamano);
+                for (int i = 0; i < tamano; i++) {
+                    lista.add(readUTF());
+                }
+                yield lista;
+            }
+            default -> throw new IOException("Tipo de celda desconocido en punto de control: " + tipo);
+        };
+    }
+
+    /**
+     * Lee una instrucción (nueva o referencia a una ya leída)
+     */
+    public Instruccion leerInstruccion() throws IOException {
+        byte marca = readByte();
+        if (marca == SalidaPuntoControl.INSTRUCCION_REFERENCIA) {
+            int indice = readInt();
+            if (indice < 0 || indice >= tablaInstrucciones.size()) {
+                throw new IOException("Referencia a instrucción inválida: " + indice);
+            }
+            return tablaInstrucciones.get(indice);
+        }
+
+        int ordinal = readUnsignedByte();
+        if (ordinal >= CODIGOS.length) {
+            throw new IOException("Código de operación inválido: " + ordinal);
+        }
+        int cantidadOperandos = readUnsignedByte();
+        List<String> operandos = new ArrayList<>(cantidadOperandos);
+        for (int i = 0; i < cantidadOperandos; i++) {
+            operandos.add(readUTF());
+        }
+
+        Instruccion instruccion = new Instruccion(CODIGOS[ordinal], operandos);
+        tablaInstrucciones.add(instruccion);
+        return instruccion;
+    }
+
+    public Instruccion leerInstruccionOpcional() throws IOException {
+        return readBoolean() ? leerInstruccion() : null;
+    }
+
+    public String leerTexto() throws IOException {
+        return readBoolean() ? readUTF() : null;
+    }
+}
@@ -0,0 +1,31 @@
+package so.persistencia;
+
+import java.io.IOException;
+
+/**
+ * Componente del sistema cuyo estado interno puede guardarse en un punto de
+ * control binario y restaurarse después.
+ *
+ * Cada componente escribe y lee sus propios campos en el mismo orden; el
+ * formato general del archivo lo define SistemaOperativoV2.
+ *
+ * @author dylan
+ */
+public interface IPersistible {
+
+    /**
+     * Escribe el estado interno del componente
+     *
+     * @param salida flujo del punto de control
+     * @throws IOException si falla la escritura
+     */
+    void guardarEstado(SalidaPuntoControl salida) throws IOException;
+
+    /**
+     * Reemplaza el estado interno del componente por el leído del flujo
+     *
+     * @param entrada flujo del punto de control
+     * @throws IOException si falla la lectura o el formato es inválido
+     */
+    void restaurarEstado(EntradaPuntoControl entrada) throws IOException;
+}
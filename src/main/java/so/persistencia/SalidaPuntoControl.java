@@ -0,0 +1,112 @@
+package so.persistencia;
+
+import so.instrucciones.Instruccion;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flujo de escritura de un punto de control.
+ *
+ * Agrega a DataOutputStream la codificación de las celdas de memoria (que
+ * pueden ser Integer, Long, String, Instruccion, List de String o null) y una
+ * tabla de instrucciones: cada objeto Instruccion se escribe completo la
+ * primera vez y después solo como referencia a su índice.
+ *
+ * @author dylan
+ */
+public class SalidaPuntoControl extends DataOutputStream {
+
+    // ========== ETIQUETAS DE CELDA ==========
+    static final byte CELDA_NULA = 0;
+    static final byte CELDA_ENTERO = 1;
+    static final byte CELDA_LARGO = 2;
+    static final byte CELDA_TEXTO = 3;
+    static final byte CELDA_INSTRUCCION = 4;
+    static final byte CELDA_LISTA_TEXTO = 5;
+
+    static final byte INSTRUCCION_NUEVA = 0;
+    static final byte INSTRUCCION_REFERENCIA = 1;
+
+    private final Map<Instruccion, Integer> tablaInstrucciones;
+
+    public SalidaPuntoControl(OutputStream salida) {
+        super(new BufferedOutputStream(salida, 1 << 16));
+        this.tablaInstrucciones = new IdentityHashMap<>();
+    }
+
+    /**
+     * Escribe una celda de memoria con su etiqueta de tipo
+     */
+    public void escribirCelda(Object celda) throws IOException {
+        if (celda == null) {
+            writeByte(CELDA_NULA);
+        } else if (celda instanceof Integer valor) {
+            writeByte(CELDA_ENTERO);
+            writeInt(valor);
+        } else if (celda instanceof Long valor) {
+            writeByte(CELDA_LARGO);
+            writeLong(valor);
+        } else if (celda instanceof String texto) {
+            writeByte(CELDA_TEXTO);
+            writeUTF(texto);
+        } else if (celda instanceof Instruccion instruccion) {
+            writeByte(CELDA_INSTRUCCION);
+            escribirInstruccion(instruccion);
+        } else if (celda instanceof List<?> lista) {
+            writeByte(CELDA_LISTA_TEXTO);
+            writeInt(lista.size());
+            for (Object elemento : lista) {
+                writeUTF(String.valueOf(elemento));
+            }
+        } else {
+            throw new IllegalStateException("Tipo de celda no soportado: " + celda.getClass().getName());
+        }
+    }
+
+    /**
+     * Escribe una instrucción (o una referencia si ya fue escrita)
+     */
+    public void escribirInstruccion(Instruccion instruccion) throws IOException {
+        Integer indice = tablaInstrucciones.get(instruccion);
+        if (indice != null) {
+            writeByte(INSTRUCCION_REFERENCIA);
+            writeInt(indice);
+            return;
+        }
+
+        tablaInstrucciones.put(instruccion, tablaInstrucciones.size());
+        writeByte(INSTRUCCION_NUEVA);
+        writeByte(instruccion.getCodigoOperacion().ordinal());
+        List<String> operandos = instruccion.getOperandos();
+        writeByte(operandos.size());
+        for (String operando : operandos) {
+            writeUTF(operando);
+        }
+    }
+
+    /**
+     * Escribe una instrucción que puede ser nula (por ejemplo el IR)
+     */
+    public void escribirInstruccionOpcional(Instruccion instruccion) throws IOException {
+        writeBoolean(instruccion != null);
+        if (instruccion != null) {
+            escribirInstruccion(instruccion);
+        }
+    }
+
+    /**
+     * Escribe un texto que puede ser nulo
+     */
+    public void escribirTexto(String texto) throws IOException {
+        writeBoolean(texto != null);
+        if (texto != null) {
+            writeUTF(texto);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package so.planificacion;
+
+/**
+ * Crea planificadores a partir de una especificación de texto, para poder
+ * describir configuraciones en archivos y argumentos de línea de comandos.
+ *
+ * Especificaciones: FIFO, SJF, SRT, HRRN, RR (quantum por defecto) y
+ * RR:n (quantum n). No distingue mayúsculas.
+ *
+ * @author dylan
+ */
+public final class FabricaPlanificadores {
+
+    private FabricaPlanificadores() {
+    }
+
+    public static IPlanificador crear(String especificacion) {
+        if (especificacion == null || especificacion.isBlank()) {
+            throw new IllegalArgumentException("Falta la especificación del planificador");
+        }
+        String[] partes = especificacion.trim().toUpperCase().split(":", 2);
+        if (partes.length == 2 && !partes[0].equals("RR")) {
+            throw new IllegalArgumentException("Solo RR acepta parámetro: " + especificacion);
+        }
+        return switch (partes[0]) {
+            case "FIFO" -> new PlanificadorFIFO();
+            case "SJF" -> new PlanificadorSJF();
+            case "SRT" -> new PlanificadorSRT();
+            case "HRRN" -> new PlanificadorHRRN();
+            case "RR" -> partes.length == 2 ? new PlanificadorRR(leerQuantum(partes[1])) : new PlanificadorRR();
+            default -> throw new IllegalArgumentException("Planificador desconocido: " + especificacion);
+        };
+    }
+
+    /**
+     * Un planificador nuevo por cada especificación (uno por CPU)
+     */
+    public static IPlanificador[] crear(String[] especificaciones) {
+        IPlanificador[] planificadores = new IPlanificador[especificaciones.length];
+        for (int i = 0; i < especificaciones.length; i++) {
+            planificadores[i] = crear(especificaciones[i]);
+        }
+        return planificadores;
+    }
+
+    private static int leerQuantum(String texto) {
+        try {
+            return Integer.parseInt(texto.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Quantum inválido: " + texto);
+        }
+    }
+}
@@ -2,6 +2,13 @@ package so.planificacion;
 
 import so.memoria.MemoriaPrincipalV2;
 import so.gestordeprocesos.BCP;
+import so.persistencia.EntradaPuntoControl;
+import so.persistencia.IPersistible;
+import so.persistencia.SalidaPuntoControl;
+import so.reproduccion.IFuenteEntradas;
+
+import java.io.IOException;
+import java.io.PrintStream;
 
 /**
  * Interface para implementar diferentes algoritmos de planificación de CPU.
@@ -9,7 +16,7 @@ import so.gestordeprocesos.BCP;
  * 
  * @author dylan
  */
-public interface IPlanificador {
+public interface IPlanificador extends IPersistible {
     
     /**
      * Selecciona el siguiente proceso a ejecutar de la cola de listos
@@ -47,4 +54,38 @@ public interface IPlanificador {
      * Útil cuando se cambia de algoritmo o se reinicia el sistema
      */
     void reiniciar();
+    
+    /**
+     * Indica la fuente de la que el planificador debe obtener la hora actual
+     * (y cualquier otra entrada no determinista). Solo la usan los
+     * planificadores que dependen del reloj, como HRRN.
+     * 
+     * @param fuente fuente de entradas del sistema
+     */
+    default void setFuenteEntradas(IFuenteEntradas fuente) {
+    }
+    
+    /**
+     * Indica dónde escribir los logs del planificador. Con null se escriben
+     * en la salida estándar del proceso; el sistema le pasa la suya.
+     * 
+     * @param salidaLog destino de los logs
+     */
+    default void setSalidaLog(PrintStream salidaLog) {
+    }
+    
+    /**
+     * Guarda el estado interno del planificador en un punto de control.
+     * Los planificadores sin estado (FIFO, SJF) no escriben nada.
+     * 
+     * Al restaurar, el planificador se crea con su constructor sin argumentos,
+     * por lo que cualquier parámetro configurable debe guardarse aquí.
+     */
+    @Override
+    default void guardarEstado(SalidaPuntoControl salida) throws IOException {
+    }
+    
+    @Override
+    default void restaurarEstado(EntradaPuntoControl entrada) throws IOException {
+    }
 }
\ No newline at end of file
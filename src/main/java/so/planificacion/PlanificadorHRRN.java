@@ -3,6 +3,12 @@ package so.planificacion;
 import so.memoria.MemoriaPrincipalV2;
 import so.gestordeprocesos.BCP;
 import so.gestordeprocesos.EstadoProceso;
+import so.persistencia.EntradaPuntoControl;
+import so.persistencia.SalidaPuntoControl;
+import so.reproduccion.FuenteEntradasSistema;
+import so.reproduccion.IFuenteEntradas;
+import java.io.IOException;
+import java.io.PrintStream;
 import java.util.*;
 
 /**
@@ -28,8 +34,20 @@ public class PlanificadorHRRN implements IPlanificador {
     // Mapa para trackear el tiempo de llegada de cada proceso a la cola
     private final Map<Integer, Long> tiemposLlegada;
     
+    // Origen de la hora actual (el sistema la reemplaza al grabar o reproducir)
+    private IFuenteEntradas fuenteEntradas;
+
+    /** Destino de los logs (null: la salida estándar del proceso) */
+    private PrintStream salidaLog;
+    
     public PlanificadorHRRN() {
         this.tiemposLlegada = new HashMap<>();
+        this.fuenteEntradas = new FuenteEntradasSistema();
+    }
+    
+    @Override
+    public void setFuenteEntradas(IFuenteEntradas fuente) {
+        this.fuenteEntradas = fuente;
     }
     
     @Override
@@ -44,9 +62,9 @@ public class PlanificadorHRRN implements IPlanificador {
         int mejorNumeroBCP = -1;
         double mayorRatio = -1;
         int mejorIndice = -1;
-        long tiempoActual = System.currentTimeMillis();
+        long tiempoActual = fuenteEntradas.tiempoActualMillis();
         
-        System.out.println("[HRRN] Calculando Response Ratios:");
+        out().println("[HRRN] Calculando Response Ratios:");
         
         for (int i = 0; i < colaListos.length; i++) {
             int numeroBCP = colaListos[i];
@@ -70,7 +88,7 @@ public class PlanificadorHRRN implements IPlanificador {
                 // Calcular Response Ratio
                 double responseRatio = (double)(tiempoEspera + tiempoServicio) / tiempoServicio;
                 
-                System.out.println(String.format("[HRRN]   %s: W=%d, S=%d, RR=%.3f", 
+                out().println(String.format("[HRRN]   %s: W=%d, S=%d, RR=%.3f", 
                     bcp.getNombreProceso(), tiempoEspera, tiempoServicio, responseRatio));
                 
                 // Seleccionar el proceso con mayor ratio
@@ -84,7 +102,7 @@ public class PlanificadorHRRN implements IPlanificador {
         
         if (mejorNumeroBCP >= 0) {
             BCP bcp = memoria.obtenerBCP(mejorNumeroBCP);
-            System.out.println(String.format("[HRRN] Seleccionado: %s (RR=%.3f)", 
+            out().println(String.format("[HRRN] Seleccionado: %s (RR=%.3f)", 
                 bcp.getNombreProceso(), mayorRatio));
             
             // Remover de la cola y limpiar tiempo de llegada
@@ -123,9 +141,9 @@ public class PlanificadorHRRN implements IPlanificador {
     @Override
     public void onProcesoAgregado(BCP bcp) {
         // Registrar el tiempo de llegada del proceso
-        tiemposLlegada.put(bcp.getIdProceso(), System.currentTimeMillis());
+        tiemposLlegada.put(bcp.getIdProceso(), fuenteEntradas.tiempoActualMillis());
         
-        System.out.println("[HRRN] Proceso agregado: " + bcp.getNombreProceso() + 
+        out().println("[HRRN] Proceso agregado: " + bcp.getNombreProceso() + 
                          " (ráfaga: " + bcp.getTamanoProceso() + ")");
     }
     
@@ -140,8 +158,38 @@ public class PlanificadorHRRN implements IPlanificador {
         tiemposLlegada.clear();
     }
     
+    /**
+     * Guarda los tiempos de llegada registrados (marcas absolutas en milisegundos)
+     */
+    @Override
+    public void guardarEstado(SalidaPuntoControl salida) throws IOException {
+        salida.writeInt(tiemposLlegada.size());
+        for (Map.Entry<Integer, Long> entrada : tiemposLlegada.entrySet()) {
+            salida.writeInt(entrada.getKey());
+            salida.writeLong(entrada.getValue());
+        }
+    }
+    
+    @Override
+    public void restaurarEstado(EntradaPuntoControl entrada) throws IOException {
+        tiemposLlegada.clear();
+        int cantidad = entrada.readInt();
+        for (int i = 0; i < cantidad; i++) {
+            tiemposLlegada.put(entrada.readInt(), entrada.readLong());
+        }
+    }
+    
     @Override
     public String toString() {
         return getNombre();
     }
+
+    @Override
+    public void setSalidaLog(PrintStream salidaLog) {
+        this.salidaLog = salidaLog;
+    }
+
+    private PrintStream out() {
+        return salidaLog != null ? salidaLog : System.out;
+    }
 }
\ No newline at end of file
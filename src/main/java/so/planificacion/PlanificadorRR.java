@@ -3,6 +3,11 @@ package so.planificacion;
 import so.memoria.MemoriaPrincipalV2;
 import so.gestordeprocesos.BCP;
 import so.gestordeprocesos.EstadoProceso;
+import so.persistencia.EntradaPuntoControl;
+import so.persistencia.SalidaPuntoControl;
+
+import java.io.IOException;
+import java.io.PrintStream;
 
 /**
  * Implementación del algoritmo Round Robin (RR).
@@ -21,6 +26,9 @@ public class PlanificadorRR implements IPlanificador {
     private int quantum;
     private int tiempoEjecutado;
     private int procesoActual;
+
+    /** Destino de los logs (null: la salida estándar del proceso) */
+    private PrintStream salidaLog;
     
     /**
      * Constructor con quantum por defecto de 3 segundos
@@ -59,7 +67,7 @@ public class PlanificadorRR implements IPlanificador {
                 }
                 
                 // Quantum agotado, desalojar proceso
-                System.out.println("[RR] Quantum agotado para " + bcp.getNombreProceso() + 
+                out().println("[RR] Quantum agotado para " + bcp.getNombreProceso() + 
                                  " (ejecutó " + tiempoEjecutado + " segundos)");
                 
                 bcp.setEstado(EstadoProceso.LISTO);
@@ -83,7 +91,7 @@ public class PlanificadorRR implements IPlanificador {
                 tiempoEjecutado = 0;
                 procesoActual = siguiente;
                 
-                System.out.println("[RR] Seleccionado: " + bcp.getNombreProceso() + 
+                out().println("[RR] Seleccionado: " + bcp.getNombreProceso() + 
                                  " (quantum: " + quantum + " segundos)");
             }
         }
@@ -99,7 +107,7 @@ public class PlanificadorRR implements IPlanificador {
     @Override
     public void onProcesoAgregado(BCP bcp) {
         bcp.reiniciarQuantum(quantum);
-        System.out.println("[RR] Proceso " + bcp.getNombreProceso() + 
+        out().println("[RR] Proceso " + bcp.getNombreProceso() + 
                          " agregado con quantum de " + quantum + " segundos");
     }
     
@@ -117,6 +125,20 @@ public class PlanificadorRR implements IPlanificador {
         procesoActual = -1;
     }
     
+    @Override
+    public void guardarEstado(SalidaPuntoControl salida) throws IOException {
+        salida.writeInt(quantum);
+        salida.writeInt(tiempoEjecutado);
+        salida.writeInt(procesoActual);
+    }
+    
+    @Override
+    public void restaurarEstado(EntradaPuntoControl entrada) throws IOException {
+        quantum = entrada.readInt();
+        tiempoEjecutado = entrada.readInt();
+        procesoActual = entrada.readInt();
+    }
+    
     /**
      * Cambia el quantum dinámicamente
      * @param nuevoQuantum nuevo valor del quantum
@@ -126,7 +148,7 @@ public class PlanificadorRR implements IPlanificador {
             throw new IllegalArgumentException("El quantum debe ser al menos 1");
         }
         this.quantum = nuevoQuantum;
-        System.out.println("[RR] Quantum cambiado a " + quantum + " segundos");
+        out().println("[RR] Quantum cambiado a " + quantum + " segundos");
     }
     
     public int getQuantum() {
@@ -137,4 +159,13 @@ public class PlanificadorRR implements IPlanificador {
     public String toString() {
         return getNombre();
     }
+
+    @Override
+    public void setSalidaLog(PrintStream salidaLog) {
+        this.salidaLog = salidaLog;
+    }
+
+    private PrintStream out() {
+        return salidaLog != null ? salidaLog : System.out;
+    }
 }
\ No newline at end of file
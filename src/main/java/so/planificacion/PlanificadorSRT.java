@@ -3,6 +3,10 @@ package so.planificacion;
 import so.memoria.MemoriaPrincipalV2;
 import so.gestordeprocesos.BCP;
 import so.gestordeprocesos.EstadoProceso;
+import so.persistencia.EntradaPuntoControl;
+import so.persistencia.SalidaPuntoControl;
+import java.io.IOException;
+import java.io.PrintStream;
 import java.util.*;
 
 /**
@@ -19,6 +23,9 @@ import java.util.*;
 public class PlanificadorSRT implements IPlanificador {
     
     private int procesoAnterior = -1;
+
+    /** Destino de los logs (null: la salida estándar del proceso) */
+    private PrintStream salidaLog;
     
     @Override
     public int seleccionarSiguiente(MemoriaPrincipalV2 memoria) {
@@ -69,7 +76,7 @@ public class PlanificadorSRT implements IPlanificador {
                     bcpActual.setEstado(EstadoProceso.LISTO);
                     memoria.actualizarBCP(procesoActual, bcpActual);
                     memoria.encolarListo(procesoActual);
-                    System.out.println("[SRT] Proceso " + bcpActual.getNombreProceso() + 
+                    out().println("[SRT] Proceso " + bcpActual.getNombreProceso() + 
                                      " desalojado (tiempo restante: " + 
                                      (bcpActual.getTamanoProceso() - bcpActual.getPC()) + ")");
                 }
@@ -118,7 +125,7 @@ public class PlanificadorSRT implements IPlanificador {
     
     @Override
     public void onProcesoAgregado(BCP bcp) {
-        System.out.println("[SRT] Nuevo proceso agregado: " + bcp.getNombreProceso() + 
+        out().println("[SRT] Nuevo proceso agregado: " + bcp.getNombreProceso() + 
                          " (ráfaga: " + bcp.getTamanoProceso() + ")");
     }
     
@@ -134,8 +141,27 @@ public class PlanificadorSRT implements IPlanificador {
         procesoAnterior = -1;
     }
     
+    @Override
+    public void guardarEstado(SalidaPuntoControl salida) throws IOException {
+        salida.writeInt(procesoAnterior);
+    }
+    
+    @Override
+    public void restaurarEstado(EntradaPuntoControl entrada) throws IOException {
+        procesoAnterior = entrada.readInt();
+    }
+    
     @Override
     public String toString() {
         return getNombre();
     }
+
+    @Override
+    public void setSalidaLog(PrintStream salidaLog) {
+        this.salidaLog = salidaLog;
+    }
+
+    private PrintStream out() {
+        return salidaLog != null ? salidaLog : System.out;
+    }
 }
\ No newline at end of file
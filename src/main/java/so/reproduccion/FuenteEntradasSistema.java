@@ -0,0 +1,39 @@
+package so.reproduccion;
+
+import java.util.Random;
+
+/**
+ * Fuente de entradas real: generador aleatorio y reloj del sistema.
+ * Es la fuente por defecto del motor cuando no se graba ni se reproduce.
+ *
+ * @author dylan
+ */
+public class FuenteEntradasSistema implements IFuenteEntradas {
+
+    private final Random random;
+
+    public FuenteEntradasSistema() {
+        this(new Random());
+    }
+
+    /**
+     * @param random generador a usar (el motor comparte el suyo para que el
+     *               punto de control pueda guardar su estado)
+     */
+    public FuenteEntradasSistema(Random random) {
+        if (random == null) {
+            throw new IllegalArgumentException("El generador aleatorio no puede ser nulo");
+        }
+        this.random = random;
+    }
+
+    @Override
+    public int siguienteEntero(int limite) {
+        return random.nextInt(limite);
+    }
+
+    @Override
+    public long tiempoActualMillis() {
+        return System.currentTimeMillis();
+    }
+}
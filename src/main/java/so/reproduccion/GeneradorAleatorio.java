@@ -0,0 +1,89 @@
+package so.reproduccion;
+
+import so.persistencia.EntradaPuntoControl;
+import so.persistencia.IPersistible;
+import so.persistencia.SalidaPuntoControl;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Random con estado legible para el punto de control.
+ *
+ * Implementa el mismo generador lineal congruencial de java.util.Random (y
+ * el mismo nextGaussian), así que con la misma semilla produce exactamente
+ * la misma secuencia. La diferencia es que guardarEstado() lee la semilla
+ * interna sin consumir valores: tomar un punto de control no altera los
+ * números que el sistema sigue generando.
+ *
+ * @author dylan
+ */
+public class GeneradorAleatorio extends Random implements IPersistible {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final long MULTIPLICADOR = 0x5DEECE66DL;
+    private static final long INCREMENTO = 0xBL;
+    private static final long MASCARA = (1L << 48) - 1;
+
+    private long semilla;
+    private double siguienteGaussiano;
+    private boolean haySiguienteGaussiano;
+
+    public GeneradorAleatorio() {
+        super();
+    }
+
+    public GeneradorAleatorio(long semilla) {
+        super(semilla);
+    }
+
+    @Override
+    public synchronized void setSeed(long semilla) {
+        super.setSeed(semilla);
+        this.semilla = (semilla ^ MULTIPLICADOR) & MASCARA;
+        this.haySiguienteGaussiano = false;
+    }
+
+    @Override
+    protected synchronized int next(int bits) {
+        semilla = (semilla * MULTIPLICADOR + INCREMENTO) & MASCARA;
+        return (int) (semilla >>> (48 - bits));
+    }
+
+    @Override
+    public synchronized double nextGaussian() {
+        if (haySiguienteGaussiano) {
+            haySiguienteGaussiano = false;
+            return siguienteGaussiano;
+        }
+        double v1;
+        double v2;
+        double s;
+        do {
+            v1 = 2 * nextDouble() - 1;
+            v2 = 2 * nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while (s >= 1 || s == 0);
+        double multiplicador = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+        siguienteGaussiano = v2 * multiplicador;
+        haySiguienteGaussiano = true;
+        return v1 * multiplicador;
+    }
+
+    // ========== PUNTO DE CONTROL ==========
+
+    @Override
+    public synchronized void guardarEstado(SalidaPuntoControl salida) throws IOException {
+        salida.writeLong(semilla);
+        salida.writeBoolean(haySiguienteGaussiano);
+        salida.writeDouble(siguienteGaussiano);
+    }
+
+    @Override
+    public synchronized void restaurarEstado(EntradaPuntoControl entrada) throws IOException {
+        semilla = entrada.readLong() & MASCARA;
+        haySiguienteGaussiano = entrada.readBoolean();
+        siguienteGaussiano = entrada.readDouble();
+    }
+}
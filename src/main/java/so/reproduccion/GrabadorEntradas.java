@@ -0,0 +1,249 @@
+package so.reproduccion;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Fuente de entradas que delega en otra (normalmente la del sistema) y anota
+ * cada valor entregado en una bitácora binaria compacta.
+ *
+ * Formato de la bitácora:
+ * - Cabecera: mágico "SOJR", versión y un punto de control del sistema al
+ *   iniciar la grabación (longitud + bytes).
+ * - Entradas: un byte de etiqueta seguido de su contenido en varint.
+ *   ENTERO lleva el valor, TIEMPO la diferencia con la lectura anterior
+ *   (zigzag), PASOS la cantidad de pasos consecutivos sin otras entradas.
+ *
+ * Los pasos se acumulan y solo se escriben cuando aparece otra entrada, así
+ * que una corrida larga sin entradas no deterministas ocupa unos pocos bytes.
+ * Todo se escribe a un búfer en memoria y se vuelca a disco al llenarse, al
+ * llamar a sincronizar() o al cerrar.
+ *
+ * @author dylan
+ */
+public class GrabadorEntradas implements IFuenteEntradas, Closeable {
+
+    // ========== FORMATO ==========
+    static final int MAGICO = 0x534F4A52; // "SOJR"
+    static final int VERSION = 1;
+
+    static final byte ENTRADA_ENTERO = 1;
+    static final byte ENTRADA_TIEMPO = 2;
+    static final byte ENTRADA_PASOS = 3;
+    static final byte ENTRADA_PROGRAMAS = 4;
+    static final byte ENTRADA_CARGA = 5;
+    static final byte ENTRADA_LLEGADAS = 6;
+    static final byte ENTRADA_PAUSA = 7;
+    static final byte ENTRADA_DETENCION = 8;
+
+    private static final int TAMANO_BUFER = 1 << 16;
+
+    private final IFuenteEntradas fuenteOriginal;
+    private final DataOutputStream salida;
+    private final Path archivo;
+
+    private long ultimoTiempo;
+    private long pasosPendientes;
+    private long entradasEscritas;
+    private boolean cerrado;
+
+    /**
+     * @param archivo ruta de la bitácora (se sobrescribe)
+     * @param estadoInicial punto de control del sistema al iniciar la grabación
+     * @param fuenteOriginal fuente que produce los valores reales
+     */
+    public GrabadorEntradas(Path archivo, byte[] estadoInicial, IFuenteEntradas fuenteOriginal) throws IOException {
+        if (fuenteOriginal == null) {
+            throw new IllegalArgumentException("La fuente original no puede ser nula");
+        }
+        this.archivo = archivo;
+        this.fuenteOriginal = fuenteOriginal;
+        this.salida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(archivo), TAMANO_BUFER));
+
+        salida.writeInt(MAGICO);
+        salida.writeInt(VERSION);
+        salida.writeInt(estadoInicial.length);
+        salida.write(estadoInicial);
+        salida.flush();
+
+        System.out.println("[GRABADOR] Grabando entradas en " + archivo);
+    }
+
+    // ========== FUENTE DE ENTRADAS ==========
+
+    @Override
+    public synchronized int siguienteEntero(int limite) {
+        int valor = fuenteOriginal.siguienteEntero(limite);
+        escribir(ENTRADA_ENTERO, valor);
+        return valor;
+    }
+
+    @Override
+    public synchronized long tiempoActualMillis() {
+        long tiempo = fuenteOriginal.tiempoActualMillis();
+        long delta = tiempo - ultimoTiempo;
+        ultimoTiempo = tiempo;
+        escribir(ENTRADA_TIEMPO, (delta << 1) ^ (delta >> 63));
+        return tiempo;
+    }
+
+    @Override
+    public synchronized void registrarProgramas(String[] nombres, List<String>[] programas) {
+        if (cerrado) {
+            return;
+        }
+        try {
+            escribirPasosPendientes();
+            salida.writeByte(ENTRADA_PROGRAMAS);
+            escribirVarint(nombres.length);
+            for (int i = 0; i < nombres.length; i++) {
+                salida.writeUTF(nombres[i]);
+                escribirVarint(programas[i].size());
+                for (String linea : programas[i]) {
+                    salida.writeUTF(linea);
+                }
+            }
+            entradasEscritas++;
+        } catch (IOException e) {
+            fallo(e);
+        }
+    }
+
+    @Override
+    public synchronized void registrarLlegadas(String[] nombres, long[] llegadas) {
+        if (cerrado) {
+            return;
+        }
+        try {
+            escribirPasosPendientes();
+            salida.writeByte(ENTRADA_LLEGADAS);
+            escribirVarint(nombres.length);
+            for (int i = 0; i < nombres.length; i++) {
+                salida.writeUTF(nombres[i]);
+                escribirVarint(llegadas[i]);
+            }
+            entradasEscritas++;
+        } catch (IOException e) {
+            fallo(e);
+        }
+    }
+
+    @Override
+    public synchronized void registrarCargaProgramas() {
+        escribirOrden(ENTRADA_CARGA);
+    }
+
+    @Override
+    public synchronized void registrarPausa() {
+        escribirOrden(ENTRADA_PAUSA);
+    }
+
+    @Override
+    public synchronized void registrarDetencion() {
+        escribirOrden(ENTRADA_DETENCION);
+    }
+
+    @Override
+    public synchronized void registrarPaso() {
+        pasosPendientes++;
+    }
+
+    // ========== ESCRITURA ==========
+
+    private void escribir(byte etiqueta, long valor) {
+        if (cerrado) {
+            return;
+        }
+        try {
+            escribirPasosPendientes();
+            salida.writeByte(etiqueta);
+            escribirVarint(valor);
+            entradasEscritas++;
+        } catch (IOException e) {
+            fallo(e);
+        }
+    }
+
+    /**
+     * Escribe una orden sin contenido (solo la etiqueta)
+     */
+    private void escribirOrden(byte etiqueta) {
+        if (cerrado) {
+            return;
+        }
+        try {
+            escribirPasosPendientes();
+            salida.writeByte(etiqueta);
+            entradasEscritas++;
+        } catch (IOException e) {
+            fallo(e);
+        }
+    }
+
+    private void escribirPasosPendientes() throws IOException {
+        if (pasosPendientes > 0) {
+            salida.writeByte(ENTRADA_PASOS);
+            escribirVarint(pasosPendientes);
+            pasosPendientes = 0;
+            entradasEscritas++;
+        }
+    }
+
+    private void escribirVarint(long valor) throws IOException {
+        while ((valor & ~0x7FL) != 0) {
+            salida.writeByte((int) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        salida.writeByte((int) valor);
+    }
+
+    /**
+     * Un error de disco no debe detener la simulación: se informa y se deja
+     * de grabar
+     */
+    private void fallo(IOException e) {
+        System.err.println("[GRABADOR] Error al escribir la bitácora, se detiene la grabación: " + e.getMessage());
+        cerrado = true;
+    }
+
+    /**
+     * Vuelca a disco todo lo grabado hasta ahora
+     */
+    public synchronized void sincronizar() throws IOException {
+        if (!cerrado) {
+            escribirPasosPendientes();
+            salida.flush();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (cerrado) {
+            salida.close();
+            return;
+        }
+        escribirPasosPendientes();
+        cerrado = true;
+        salida.close();
+        System.out.println("[GRABADOR] Grabación finalizada: " + entradasEscritas + " entradas en " + archivo);
+    }
+
+    // ========== CONSULTAS ==========
+
+    public IFuenteEntradas getFuenteOriginal() {
+        return fuenteOriginal;
+    }
+
+    public synchronized long getEntradasEscritas() {
+        return entradasEscritas;
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+}
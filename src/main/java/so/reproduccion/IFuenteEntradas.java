@@ -0,0 +1,68 @@
+package so.reproduccion;
+
+import java.util.List;
+
+/**
+ * Origen de todas las entradas no deterministas de la simulación.
+ *
+ * El motor y los planificadores nunca leen el reloj ni generan números
+ * aleatorios directamente: se los piden a la fuente de entradas activa. Así
+ * una ejecución puede grabarse (GrabadorEntradas) y volver a producirse de
+ * forma idéntica (ReproductorEntradas).
+ *
+ * Los métodos registrar* marcan las órdenes externas que recibe el motor
+ * (cargar programas, avanzar un paso, pausar o detener). Solo el grabador
+ * las usa; el resto de fuentes las ignora.
+ *
+ * @author dylan
+ */
+public interface IFuenteEntradas {
+
+    /**
+     * Obtiene un entero aleatorio en el rango [0, limite)
+     *
+     * @param limite cota superior exclusiva (mayor que 0)
+     */
+    int siguienteEntero(int limite);
+
+    /**
+     * Obtiene la hora actual en milisegundos (equivalente a System.currentTimeMillis)
+     */
+    long tiempoActualMillis();
+
+    /**
+     * Se cargaron programas en memoria secundaria
+     */
+    default void registrarProgramas(String[] nombres, List<String>[] programas) {
+    }
+
+    /**
+     * Se programó la llegada diferida de programas ya cargados
+     */
+    default void registrarLlegadas(String[] nombres, long[] llegadas) {
+    }
+
+    /**
+     * Se pidió explícitamente cargar programas a memoria principal
+     */
+    default void registrarCargaProgramas() {
+    }
+
+    /**
+     * Comienza un paso de ejecución (una instrucción por CPU)
+     */
+    default void registrarPaso() {
+    }
+
+    /**
+     * Se pausó la ejecución automática (guarda el contexto de los CPUs)
+     */
+    default void registrarPausa() {
+    }
+
+    /**
+     * Se detuvo la ejecución automática (los CPUs quedan sin proceso)
+     */
+    default void registrarDetencion() {
+    }
+}
@@ -0,0 +1,212 @@
+package so.reproduccion;
+
+import so.main.SistemaOperativoV2;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reproduce una ejecución grabada por GrabadorEntradas.
+ *
+ * Restaura el sistema desde el punto de control de la cabecera, se instala
+ * como su fuente de entradas y vuelve a aplicar las órdenes en el mismo orden
+ * (cargar programas, avanzar pasos, pausar o detener la ejecución). Cada vez que el motor pide un número
+ * aleatorio o la hora, se le entrega el valor grabado; si el motor pide algo
+ * distinto de lo que sigue en la bitácora, la ejecución divergió y se lanza
+ * IllegalStateException.
+ *
+ * @author dylan
+ */
+public class ReproductorEntradas implements IFuenteEntradas, Closeable {
+
+    private final DataInputStream entrada;
+    private SistemaOperativoV2 sistema;
+
+    private long ultimoTiempo;
+    private long pasosPorEjecutar;
+    private long pasosReproducidos;
+
+    private ReproductorEntradas(DataInputStream entrada) {
+        this.entrada = entrada;
+    }
+
+    /**
+     * Abre una bitácora y restaura el sistema al estado en que empezó la grabación
+     *
+     * @param archivo bitácora generada por GrabadorEntradas
+     * @return reproductor listo para avanzar; el sistema se obtiene con getSistema()
+     */
+    public static ReproductorEntradas abrir(Path archivo) throws IOException {
+        DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(archivo), 1 << 16));
+        try {
+            if (entrada.readInt() != GrabadorEntradas.MAGICO) {
+                throw new IOException("El archivo no es una bitácora de entradas: " + archivo);
+            }
+            int version = entrada.readInt();
+            if (version != GrabadorEntradas.VERSION) {
+                throw new IOException("Versión de bitácora no soportada: " + version);
+            }
+            byte[] estadoInicial = new byte[entrada.readInt()];
+            entrada.readFully(estadoInicial);
+
+            ReproductorEntradas reproductor = new ReproductorEntradas(entrada);
+            reproductor.sistema = SistemaOperativoV2.restaurarPuntoControl(new ByteArrayInputStream(estadoInicial));
+            reproductor.sistema.setFuenteEntradas(reproductor);
+
+            System.out.println("[REPRODUCTOR] Bitácora abierta: " + archivo);
+            return reproductor;
+        } catch (IOException | RuntimeException e) {
+            entrada.close();
+            throw e;
+        }
+    }
+
+    // ========== REPRODUCCIÓN ==========
+
+    /**
+     * Aplica la siguiente orden grabada (un paso, una carga de programas...)
+     *
+     * @return false si la bitácora terminó
+     */
+    public synchronized boolean reproducirSiguiente() throws IOException {
+        if (pasosPorEjecutar > 0) {
+            ejecutarPaso();
+            return true;
+        }
+
+        int etiqueta = entrada.read();
+        switch (etiqueta) {
+            case -1 -> {
+                return false;
+            }
+            case GrabadorEntradas.ENTRADA_PASOS -> {
+                pasosPorEjecutar = leerVarint();
+                ejecutarPaso();
+            }
+            case GrabadorEntradas.ENTRADA_PROGRAMAS -> {
+                int cantidad = (int) leerVarint();
+                String[] nombres = new String[cantidad];
+                @SuppressWarnings("unchecked")
+                List<String>[] programas = (List<String>[]) new List<?>[cantidad];
+                for (int i = 0; i < cantidad; i++) {
+                    nombres[i] = entrada.readUTF();
+                    int lineas = (int) leerVarint();
+                    programas[i] = new ArrayList<>(lineas);
+                    for (int j = 0; j < lineas; j++) {
+                        programas[i].add(entrada.readUTF());
+                    }
+                }
+                sistema.cargarArchivosMemoriaSecundaria(nombres, programas);
+            }
+            case GrabadorEntradas.ENTRADA_LLEGADAS -> {
+                int cantidad = (int) leerVarint();
+                String[] nombres = new String[cantidad];
+                long[] llegadas = new long[cantidad];
+                for (int i = 0; i < cantidad; i++) {
+                    nombres[i] = entrada.readUTF();
+                    llegadas[i] = leerVarint();
+                }
+                sistema.programarLlegadas(nombres, llegadas);
+            }
+            case GrabadorEntradas.ENTRADA_CARGA -> sistema.cargarProgramasMemoriaPrincipal();
+            case GrabadorEntradas.ENTRADA_PAUSA -> sistema.pausarEjecucionAutomatica();
+            case GrabadorEntradas.ENTRADA_DETENCION -> sistema.detenerEjecucionAutomatica();
+            default -> throw new IllegalStateException("Divergencia en la reproducción: se esperaba una orden y "
+                + "la bitácora contiene la entrada " + etiqueta + " (paso " + pasosReproducidos + ")");
+        }
+        return true;
+    }
+
+    /**
+     * Reproduce la bitácora completa
+     *
+     * @return cantidad de pasos reproducidos
+     */
+    public synchronized long reproducirTodo() throws IOException {
+        while (reproducirSiguiente()) {
+            // continuar hasta el final de la bitácora
+        }
+        return pasosReproducidos;
+    }
+
+    private void ejecutarPaso() {
+        pasosPorEjecutar--;
+        pasosReproducidos++;
+        sistema.ejecutarPasoAPaso();
+    }
+
+    // ========== FUENTE DE ENTRADAS ==========
+
+    @Override
+    public synchronized int siguienteEntero(int limite) {
+        long valor = leerEntrada(GrabadorEntradas.ENTRADA_ENTERO, "entero aleatorio");
+        if (valor < 0 || valor >= limite) {
+            throw new IllegalStateException("Divergencia en la reproducción: el entero grabado " + valor
+                + " está fuera del rango solicitado [0, " + limite + ")");
+        }
+        return (int) valor;
+    }
+
+    @Override
+    public synchronized long tiempoActualMillis() {
+        long zigzag = leerEntrada(GrabadorEntradas.ENTRADA_TIEMPO, "lectura de reloj");
+        ultimoTiempo += (zigzag >>> 1) ^ -(zigzag & 1);
+        return ultimoTiempo;
+    }
+
+    private long leerEntrada(byte esperada, String descripcion) {
+        try {
+            if (pasosPorEjecutar > 0) {
+                throw new IllegalStateException("Divergencia en la reproducción: el motor pidió una "
+                    + descripcion + " en un paso que no la tenía grabada (paso " + pasosReproducidos + ")");
+            }
+            int etiqueta = entrada.read();
+            if (etiqueta != esperada) {
+                throw new IllegalStateException("Divergencia en la reproducción: el motor pidió una "
+                    + descripcion + " y la bitácora contiene " + (etiqueta < 0 ? "el final" : "la entrada " + etiqueta)
+                    + " (paso " + pasosReproducidos + ")");
+            }
+            return leerVarint();
+        } catch (IOException e) {
+            throw new IllegalStateException("Error al leer la bitácora: " + e.getMessage(), e);
+        }
+    }
+
+    private long leerVarint() throws IOException {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            int b = entrada.read();
+            if (b < 0) {
+                throw new EOFException("Bitácora truncada");
+            }
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IOException("Varint demasiado largo en la bitácora");
+    }
+
+    // ========== CONSULTAS ==========
+
+    public SistemaOperativoV2 getSistema() {
+        return sistema;
+    }
+
+    public synchronized long getPasosReproducidos() {
+        return pasosReproducidos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        entrada.close();
+    }
+}
@@ -0,0 +1,131 @@
+package so.traza;
+
+import so.cpu.CPU;
+import so.instrucciones.CodigoOperacion;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Búfer de traza de un CPU. Lo usa únicamente el hilo de simulación, por lo
+ * que no necesita sincronización: cuando el búfer se llena se entrega al
+ * EscritorTraza y se continúa con uno vacío.
+ *
+ * Cada registro se codifica respecto al anterior del mismo bloque:
+ * - tick: diferencia (varint)
+ * - PID y PC: diferencia con signo (zigzag varint)
+ * - código de operación: 1 byte
+ * - máscara de registros modificados: 1 byte
+ * - por cada registro modificado: diferencia con su valor previo (zigzag varint)
+ *
+ * Al iniciar un bloque las referencias vuelven a 0, así cada bloque puede
+ * decodificarse por sí solo.
+ *
+ * @author dylan
+ */
+public final class CanalTraza {
+
+    // Peor caso: 3 varint de 64 bits + 2 bytes + 6 varint de 32 bits
+    static final int TAMANO_MAXIMO_REGISTRO = 3 * CodificacionVarint.MAXIMO_BYTES_LARGO + 2
+            + RegistroTraza.CANTIDAD_REGISTROS * 5;
+
+    private final EscritorTraza escritor;
+    private final int cpu;
+    private ByteBuffer bufer;
+
+    // Referencias para la codificación delta (se reinician en cada bloque)
+    private long ultimoTick;
+    private int ultimoIdProceso;
+    private int ultimoPC;
+
+    // Registros del CPU antes de ejecutar la instrucción actual
+    private final int[] registrosAntes;
+
+    private long registrosEscritos;
+
+    CanalTraza(EscritorTraza escritor, int cpu, ByteBuffer bufer) {
+        this.escritor = escritor;
+        this.cpu = cpu;
+        this.bufer = bufer;
+        this.registrosAntes = new int[RegistroTraza.CANTIDAD_REGISTROS];
+    }
+
+    /**
+     * Toma los registros del CPU antes de ejecutar una instrucción
+     */
+    public void capturarAntes(CPU procesador) {
+        registrosAntes[RegistroTraza.AC] = procesador.getAC();
+        registrosAntes[RegistroTraza.AX] = procesador.getAX();
+        registrosAntes[RegistroTraza.BX] = procesador.getBX();
+        registrosAntes[RegistroTraza.CX] = procesador.getCX();
+        registrosAntes[RegistroTraza.DX] = procesador.getDX();
+        registrosAntes[RegistroTraza.FLAG] = procesador.getFlagComparacion();
+    }
+
+    /**
+     * Registra la instrucción recién ejecutada comparando los registros del
+     * CPU con los capturados en capturarAntes
+     *
+     * @param idProceso proceso que ejecutó la instrucción
+     * @param pc PC de la instrucción (antes de avanzar)
+     * @param codigo código de operación ejecutado
+     * @param procesador CPU con los registros ya actualizados
+     */
+    public void registrar(int idProceso, int pc, CodigoOperacion codigo, CPU procesador) {
+        if (bufer.remaining() < TAMANO_MAXIMO_REGISTRO) {
+            vaciar();
+        }
+
+        long tick = escritor.tickActual();
+        CodificacionVarint.escribir(bufer, tick - ultimoTick);
+        CodificacionVarint.escribirConSigno(bufer, idProceso - ultimoIdProceso);
+        CodificacionVarint.escribirConSigno(bufer, pc - ultimoPC);
+        bufer.put((byte) codigo.ordinal());
+        ultimoTick = tick;
+        ultimoIdProceso = idProceso;
+        ultimoPC = pc;
+
+        int mascaraPosicion = bufer.position();
+        bufer.put((byte) 0);
+        int mascara = 0;
+        mascara |= escribirDelta(RegistroTraza.AC, procesador.getAC());
+        mascara |= escribirDelta(RegistroTraza.AX, procesador.getAX());
+        mascara |= escribirDelta(RegistroTraza.BX, procesador.getBX());
+        mascara |= escribirDelta(RegistroTraza.CX, procesador.getCX());
+        mascara |= escribirDelta(RegistroTraza.DX, procesador.getDX());
+        mascara |= escribirDelta(RegistroTraza.FLAG, procesador.getFlagComparacion());
+        bufer.put(mascaraPosicion, (byte) mascara);
+
+        registrosEscritos++;
+    }
+
+    private int escribirDelta(int registro, int valorNuevo) {
+        int delta = valorNuevo - registrosAntes[registro];
+        if (delta == 0) {
+            return 0;
+        }
+        CodificacionVarint.escribirConSigno(bufer, delta);
+        return 1 << registro;
+    }
+
+    /**
+     * Entrega el bloque actual al escritor (si tiene datos) y reinicia las
+     * referencias delta
+     */
+    void vaciar() {
+        if (bufer.position() == 0) {
+            return;
+        }
+        bufer = escritor.entregar(cpu, bufer);
+        ultimoTick = 0;
+        ultimoIdProceso = 0;
+        ultimoPC = 0;
+    }
+
+    public int getCpu() {
+        return cpu;
+    }
+
+    public long getRegistrosEscritos() {
+        return registrosEscritos;
+    }
+}
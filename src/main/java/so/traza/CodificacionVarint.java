@@ -0,0 +1,49 @@
+package so.traza;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codificación varint (7 bits por byte) y zigzag sobre ByteBuffer, usada por
+ * la traza para que los valores pequeños ocupen un solo byte.
+ *
+ * @author dylan
+ */
+final class CodificacionVarint {
+
+    /**
+     * Tamaño máximo de un varint de 64 bits
+     */
+    static final int MAXIMO_BYTES_LARGO = 10;
+
+    private CodificacionVarint() {
+    }
+
+    static void escribir(ByteBuffer destino, long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            destino.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        destino.put((byte) valor);
+    }
+
+    static void escribirConSigno(ByteBuffer destino, long valor) {
+        escribir(destino, (valor << 1) ^ (valor >> 63));
+    }
+
+    static long leer(ByteBuffer origen) {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            byte b = origen.get();
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IllegalStateException("Varint demasiado largo en la traza");
+    }
+
+    static long leerConSigno(ByteBuffer origen) {
+        long zigzag = leer(origen);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
@@ -0,0 +1,231 @@
+package so.traza;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Escritor de la traza binaria de ejecución.
+ *
+ * Cada CPU escribe en su propio CanalTraza (un ByteBuffer directo). Los
+ * bloques llenos se encolan y un hilo en segundo plano los escribe en el
+ * archivo con un FileChannel, de modo que el hilo de simulación nunca espera
+ * al disco salvo que el escritor se quede atrás y se agoten los búferes libres.
+ *
+ * Formato del archivo:
+ * - Cabecera: mágico "SOTR" (int), versión (int), cantidad de CPUs (int)
+ * - Bloques: CPU (1 byte), longitud (int), registros codificados (ver CanalTraza)
+ *
+ * Los bloques de un mismo CPU aparecen en orden; los de distintos CPUs se
+ * intercalan según se fueron llenando.
+ *
+ * @author dylan
+ */
+public final class EscritorTraza implements Closeable {
+
+    // ========== FORMATO ==========
+    static final int MAGICO = 0x534F5452; // "SOTR"
+    static final int VERSION = 1;
+    static final int TAMANO_CABECERA_BLOQUE = 5;
+    static final int TAMANO_BLOQUE = 64 * 1024;
+
+    private static final int BUFERES_EXTRA_POR_CPU = 2;
+
+    /**
+     * Bloque pendiente de escritura
+     */
+    private static final class Bloque {
+        final int cpu;
+        final ByteBuffer datos;
+
+        Bloque(int cpu, ByteBuffer datos) {
+            this.cpu = cpu;
+            this.datos = datos;
+        }
+    }
+
+    private static final Bloque FIN = new Bloque(-1, null);
+
+    private final Path archivo;
+    private final FileChannel canalArchivo;
+    private final LongSupplier reloj;
+    private final CanalTraza[] canales;
+    private final BlockingQueue<ByteBuffer> libres;
+    private final BlockingQueue<Bloque> pendientes;
+    private final Thread hilo;
+
+    private final AtomicLong bytesEscritos;
+    private final AtomicLong bloquesEscritos;
+    private volatile IOException error;
+    private boolean cerrado;
+
+    /**
+     * Crea el archivo de traza e inicia el hilo escritor
+     *
+     * @param archivo ruta del archivo (se sobrescribe)
+     * @param cantidadCPUs cantidad de CPUs del sistema
+     * @param reloj proveedor del tick lógico actual
+     */
+    public EscritorTraza(Path archivo, int cantidadCPUs, LongSupplier reloj) throws IOException {
+        if (cantidadCPUs <= 0 || cantidadCPUs > 127) {
+            throw new IllegalArgumentException("Cantidad de CPUs inválida para la traza: " + cantidadCPUs);
+        }
+        this.archivo = archivo;
+        this.reloj = reloj;
+        this.canalArchivo = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+
+        ByteBuffer cabecera = ByteBuffer.allocate(12).order(ByteOrder.BIG_ENDIAN);
+        cabecera.putInt(MAGICO).putInt(VERSION).putInt(cantidadCPUs).flip();
+        while (cabecera.hasRemaining()) {
+            canalArchivo.write(cabecera);
+        }
+
+        int totalBuferes = cantidadCPUs * (1 + BUFERES_EXTRA_POR_CPU);
+        this.libres = new ArrayBlockingQueue<>(totalBuferes);
+        this.pendientes = new ArrayBlockingQueue<>(totalBuferes + 1);
+        for (int i = 0; i < totalBuferes - cantidadCPUs; i++) {
+            libres.add(ByteBuffer.allocateDirect(TAMANO_BLOQUE));
+        }
+
+        this.canales = new CanalTraza[cantidadCPUs];
+        for (int i = 0; i < cantidadCPUs; i++) {
+            canales[i] = new CanalTraza(this, i, ByteBuffer.allocateDirect(TAMANO_BLOQUE));
+        }
+
+        this.bytesEscritos = new AtomicLong(cabecera.capacity());
+        this.bloquesEscritos = new AtomicLong();
+
+        this.hilo = new Thread(this::escribirBloques, "escritor-traza");
+        this.hilo.setDaemon(true);
+        this.hilo.start();
+
+        System.out.println("[TRAZA] Escribiendo traza de ejecución en " + archivo);
+    }
+
+    public CanalTraza getCanal(int cpu) {
+        return canales[cpu];
+    }
+
+    long tickActual() {
+        return reloj.getAsLong();
+    }
+
+    /**
+     * Encola un bloque lleno y devuelve un búfer vacío para seguir escribiendo.
+     * Solo bloquea si el hilo escritor tiene todos los búferes pendientes.
+     */
+    ByteBuffer entregar(int cpu, ByteBuffer lleno) {
+        lleno.flip();
+        try {
+            pendientes.put(new Bloque(cpu, lleno));
+            return libres.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido al entregar un bloque de traza", e);
+        }
+    }
+
+    // ========== HILO ESCRITOR ==========
+
+    private void escribirBloques() {
+        ByteBuffer cabecera = ByteBuffer.allocate(TAMANO_CABECERA_BLOQUE);
+        ByteBuffer[] escritura = new ByteBuffer[2];
+
+        while (true) {
+            Bloque bloque;
+            try {
+                bloque = pendientes.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (bloque == FIN) {
+                return;
+            }
+
+            if (error == null) {
+                try {
+                    int longitud = bloque.datos.remaining();
+                    cabecera.clear();
+                    cabecera.put((byte) bloque.cpu).putInt(longitud).flip();
+                    escritura[0] = cabecera;
+                    escritura[1] = bloque.datos;
+                    while (bloque.datos.hasRemaining()) {
+                        canalArchivo.write(escritura);
+                    }
+                    bytesEscritos.addAndGet(TAMANO_CABECERA_BLOQUE + longitud);
+                    bloquesEscritos.incrementAndGet();
+                } catch (IOException e) {
+                    // Se sigue reciclando búferes para no bloquear la simulación
+                    error = e;
+                    System.err.println("[TRAZA] Error al escribir la traza: " + e.getMessage());
+                }
+            }
+
+            bloque.datos.clear();
+            libres.offer(bloque.datos);
+        }
+    }
+
+    // ========== CIERRE ==========
+
+    /**
+     * Entrega los bloques parciales de todos los CPUs, espera a que se
+     * escriban y cierra el archivo. Debe llamarse desde el hilo de simulación
+     * (o con la simulación detenida).
+     */
+    @Override
+    public void close() throws IOException {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+
+        for (CanalTraza canal : canales) {
+            canal.vaciar();
+        }
+        try {
+            pendientes.put(FIN);
+            hilo.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        canalArchivo.close();
+
+        System.out.println("[TRAZA] Traza cerrada: " + getRegistrosEscritos() + " registros, "
+                + bytesEscritos.get() + " bytes en " + archivo);
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    // ========== ESTADÍSTICAS ==========
+
+    public long getRegistrosEscritos() {
+        long total = 0;
+        for (CanalTraza canal : canales) {
+            total += canal.getRegistrosEscritos();
+        }
+        return total;
+    }
+
+    public long getBytesEscritos() {
+        return bytesEscritos.get();
+    }
+
+    public long getBloquesEscritos() {
+        return bloquesEscritos.get();
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+}
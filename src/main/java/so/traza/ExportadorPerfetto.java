@@ -0,0 +1,225 @@
+package so.traza;
+
+import so.eventos.IObservadorMotor;
+import so.gestordeprocesos.BCP;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Exporta la planificación de los CPUs en formato Chrome Trace Event (JSON),
+ * que se puede abrir en https://ui.perfetto.dev o en chrome://tracing.
+ *
+ * Cada CPU es un hilo (tid) del proceso "Sistema Operativo" y cada ráfaga de
+ * un proceso es un segmento (eventos B/E) con el nombre del BCP y su PID. El
+ * segmento empieza al despachar el proceso y termina cuando es desalojado o
+ * finaliza. El eje de tiempo usa el tick lógico: por defecto 1 tick = 1 ms.
+ *
+ * Los eventos se escriben en cuanto ocurren (formato de arreglo JSON), así que
+ * la memoria usada no crece con la duración de la simulación. Si el archivo no
+ * se cierra, los visores igualmente aceptan el arreglo sin el corchete final.
+ *
+ * Uso: sistema.iniciarExportacionPerfetto(ruta) y al terminar
+ * sistema.detenerExportacionPerfetto().
+ *
+ * @author dylan
+ */
+public class ExportadorPerfetto implements IObservadorMotor, Closeable {
+
+    private static final int PID_SISTEMA = 1;
+    private static final long MICROS_POR_TICK_DEFECTO = 1000;
+
+    private final Writer salida;
+    private final long microsPorTick;
+
+    // Por CPU: número de BCP con un segmento abierto (-1 si está libre)
+    private int[] segmentoAbierto;
+    private boolean[] cpuNombrado;
+
+    private long ultimoTick;
+    private long eventosEscritos;
+    private boolean primerEvento;
+    private boolean cerrado;
+
+    public ExportadorPerfetto(Path archivo) throws IOException {
+        this(archivo, MICROS_POR_TICK_DEFECTO);
+    }
+
+    /**
+     * @param archivo ruta del JSON (se sobrescribe)
+     * @param microsPorTick duración de un tick en el eje de tiempo, en microsegundos
+     */
+    public ExportadorPerfetto(Path archivo, long microsPorTick) throws IOException {
+        if (microsPorTick <= 0) {
+            throw new IllegalArgumentException("La duración de un tick debe ser positiva");
+        }
+        this.salida = new BufferedWriter(Files.newBufferedWriter(archivo, StandardCharsets.UTF_8), 1 << 16);
+        this.microsPorTick = microsPorTick;
+        this.segmentoAbierto = new int[0];
+        this.cpuNombrado = new boolean[0];
+        this.primerEvento = true;
+
+        salida.write("[\n");
+        escribirEvento("{\"name\":\"process_name\",\"ph\":\"M\",\"pid\":" + PID_SISTEMA
+                + ",\"tid\":0,\"args\":{\"name\":\"Sistema Operativo\"}}");
+    }
+
+    // ========== OBSERVADOR DEL MOTOR ==========
+
+    @Override
+    public synchronized void onDespacho(long tick, int cpu, int numeroBCP, BCP bcp) {
+        if (cpu < 0) {
+            return;
+        }
+        asegurarCPU(cpu);
+        ultimoTick = tick;
+
+        // Un despacho sobre un CPU ocupado cierra el segmento anterior
+        if (segmentoAbierto[cpu] >= 0) {
+            cerrarSegmento(cpu, tick);
+        }
+
+        segmentoAbierto[cpu] = numeroBCP;
+        escribirEvento("{\"name\":\"" + escapar(bcp.getNombreProceso()) + " (PID " + bcp.getIdProceso()
+                + ")\",\"cat\":\"planificacion\",\"ph\":\"B\",\"ts\":" + tick * microsPorTick
+                + ",\"pid\":" + PID_SISTEMA + ",\"tid\":" + cpu
+                + ",\"args\":{\"pid\":" + bcp.getIdProceso() + ",\"bcp\":" + numeroBCP
+                + ",\"pc\":" + bcp.getPC() + ",\"rafaga\":" + bcp.getTamanoProceso() + "}}");
+    }
+
+    @Override
+    public synchronized void onDesalojo(long tick, int cpu, int numeroBCP, BCP bcp) {
+        ultimoTick = tick;
+        int cpuSegmento = buscarSegmento(cpu, numeroBCP);
+        if (cpuSegmento >= 0) {
+            cerrarSegmento(cpuSegmento, tick);
+            escribirEvento("{\"name\":\"desalojo\",\"cat\":\"planificacion\",\"ph\":\"i\",\"s\":\"t\",\"ts\":"
+                    + tick * microsPorTick + ",\"pid\":" + PID_SISTEMA + ",\"tid\":" + cpuSegmento
+                    + ",\"args\":{\"pid\":" + bcp.getIdProceso() + "}}");
+        }
+    }
+
+    @Override
+    public synchronized void onFinalizacion(long tick, int cpu, int numeroBCP, BCP bcp) {
+        ultimoTick = tick;
+        int cpuSegmento = buscarSegmento(cpu, numeroBCP);
+        if (cpuSegmento >= 0) {
+            // La instrucción de este tick también cuenta dentro de la ráfaga
+            cerrarSegmento(cpuSegmento, tick + 1);
+        }
+    }
+
+    // ========== ESCRITURA ==========
+
+    /**
+     * Devuelve el CPU que tiene abierto el segmento del BCP (o -1)
+     */
+    private int buscarSegmento(int cpu, int numeroBCP) {
+        if (cpu >= 0 && cpu < segmentoAbierto.length && segmentoAbierto[cpu] == numeroBCP) {
+            return cpu;
+        }
+        for (int i = 0; i < segmentoAbierto.length; i++) {
+            if (segmentoAbierto[i] == numeroBCP) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void cerrarSegmento(int cpu, long tick) {
+        segmentoAbierto[cpu] = -1;
+        escribirEvento("{\"ph\":\"E\",\"ts\":" + tick * microsPorTick
+                + ",\"pid\":" + PID_SISTEMA + ",\"tid\":" + cpu + "}");
+    }
+
+    /**
+     * Crece las tablas por CPU y escribe el nombre del hilo la primera vez
+     */
+    private void asegurarCPU(int cpu) {
+        if (cpu >= segmentoAbierto.length) {
+            int anterior = segmentoAbierto.length;
+            segmentoAbierto = Arrays.copyOf(segmentoAbierto, cpu + 1);
+            Arrays.fill(segmentoAbierto, anterior, cpu + 1, -1);
+            cpuNombrado = Arrays.copyOf(cpuNombrado, cpu + 1);
+        }
+        if (!cpuNombrado[cpu]) {
+            cpuNombrado[cpu] = true;
+            escribirEvento("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":" + PID_SISTEMA
+                    + ",\"tid\":" + cpu + ",\"args\":{\"name\":\"CPU " + cpu + "\"}}");
+            escribirEvento("{\"name\":\"thread_sort_index\",\"ph\":\"M\",\"pid\":" + PID_SISTEMA
+                    + ",\"tid\":" + cpu + ",\"args\":{\"sort_index\":" + cpu + "}}");
+        }
+    }
+
+    private void escribirEvento(String json) {
+        if (cerrado) {
+            return;
+        }
+        try {
+            if (!primerEvento) {
+                salida.write(",\n");
+            }
+            salida.write(json);
+            primerEvento = false;
+            eventosEscritos++;
+        } catch (IOException e) {
+            // El observador no puede lanzar excepciones al motor
+            System.err.println("[PERFETTO] Error al escribir la traza, se detiene la exportación: " + e.getMessage());
+            cerrado = true;
+        }
+    }
+
+    private static String escapar(String texto) {
+        StringBuilder sb = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    // ========== CIERRE ==========
+
+    /**
+     * Cierra los segmentos abiertos en el último tick observado y termina el JSON
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (cerrado) {
+            salida.close();
+            return;
+        }
+        for (int cpu = 0; cpu < segmentoAbierto.length; cpu++) {
+            if (segmentoAbierto[cpu] >= 0) {
+                cerrarSegmento(cpu, ultimoTick + 1);
+            }
+        }
+        salida.write("\n]\n");
+        cerrado = true;
+        salida.close();
+        System.out.println("[PERFETTO] Exportación finalizada: " + eventosEscritos + " eventos");
+    }
+
+    public synchronized long getEventosEscritos() {
+        return eventosEscritos;
+    }
+}
@@ -0,0 +1,169 @@
+package so.traza;
+
+import so.instrucciones.CodigoOperacion;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lector en streaming de una traza generada por EscritorTraza.
+ *
+ * Lee el archivo bloque por bloque, por lo que la memoria usada no depende del
+ * tamaño de la traza. Un bloque final incompleto (por ejemplo si el proceso
+ * terminó sin cerrar la traza) se ignora y se marca con isTruncada().
+ *
+ * Uso típico:
+ * <pre>
+ * try (LectorTraza lector = LectorTraza.abrir(ruta)) {
+ *     RegistroTraza registro = new RegistroTraza();
+ *     while (lector.siguiente(registro)) { ... }
+ * }
+ * </pre>
+ *
+ * @author dylan
+ */
+public class LectorTraza implements Closeable {
+
+    private static final CodigoOperacion[] CODIGOS = CodigoOperacion.values();
+
+    private final FileChannel canalArchivo;
+    private final int cantidadCPUs;
+    private final ByteBuffer cabeceraBloque;
+    private ByteBuffer bloque;
+
+    // Estado de decodificación del bloque actual
+    private int cpuBloque;
+    private long ultimoTick;
+    private int ultimoIdProceso;
+    private int ultimoPC;
+
+    private long registrosLeidos;
+    private boolean truncada;
+
+    private LectorTraza(FileChannel canalArchivo, int cantidadCPUs) {
+        this.canalArchivo = canalArchivo;
+        this.cantidadCPUs = cantidadCPUs;
+        this.cabeceraBloque = ByteBuffer.allocate(EscritorTraza.TAMANO_CABECERA_BLOQUE);
+        this.bloque = ByteBuffer.allocate(EscritorTraza.TAMANO_BLOQUE);
+        this.bloque.limit(0);
+    }
+
+    public static LectorTraza abrir(Path archivo) throws IOException {
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ);
+        try {
+            ByteBuffer cabecera = ByteBuffer.allocate(12);
+            if (!leerCompleto(canal, cabecera)) {
+                throw new IOException("Archivo de traza vacío o incompleto: " + archivo);
+            }
+            cabecera.flip();
+            if (cabecera.getInt() != EscritorTraza.MAGICO) {
+                throw new IOException("El archivo no es una traza de ejecución: " + archivo);
+            }
+            int version = cabecera.getInt();
+            if (version != EscritorTraza.VERSION) {
+                throw new IOException("Versión de traza no soportada: " + version);
+            }
+            return new LectorTraza(canal, cabecera.getInt());
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Decodifica el siguiente registro en destino
+     *
+     * @param destino registro a completar (se reutiliza)
+     * @return false si no hay más registros
+     */
+    public boolean siguiente(RegistroTraza destino) throws IOException {
+        if (!bloque.hasRemaining() && !cargarBloque()) {
+            return false;
+        }
+
+        ultimoTick += CodificacionVarint.leer(bloque);
+        ultimoIdProceso += (int) CodificacionVarint.leerConSigno(bloque);
+        ultimoPC += (int) CodificacionVarint.leerConSigno(bloque);
+        int codigo = bloque.get() & 0xFF;
+        if (codigo >= CODIGOS.length) {
+            throw new IOException("Código de operación inválido en la traza: " + codigo);
+        }
+        int mascara = bloque.get() & 0xFF;
+
+        destino.tick = ultimoTick;
+        destino.cpu = cpuBloque;
+        destino.idProceso = ultimoIdProceso;
+        destino.pc = ultimoPC;
+        destino.codigoOperacion = CODIGOS[codigo];
+        destino.mascaraRegistros = mascara;
+        for (int i = 0; i < RegistroTraza.CANTIDAD_REGISTROS; i++) {
+            destino.deltas[i] = (mascara & (1 << i)) != 0 ? (int) CodificacionVarint.leerConSigno(bloque) : 0;
+        }
+
+        registrosLeidos++;
+        return true;
+    }
+
+    private boolean cargarBloque() throws IOException {
+        cabeceraBloque.clear();
+        if (!leerCompleto(canalArchivo, cabeceraBloque)) {
+            truncada = cabeceraBloque.position() > 0;
+            return false;
+        }
+        cabeceraBloque.flip();
+        cpuBloque = cabeceraBloque.get();
+        int longitud = cabeceraBloque.getInt();
+        if (cpuBloque < 0 || cpuBloque >= cantidadCPUs || longitud < 0) {
+            throw new IOException("Cabecera de bloque inválida en la traza (CPU " + cpuBloque + ", longitud " + longitud + ")");
+        }
+
+        if (bloque.capacity() < longitud) {
+            bloque = ByteBuffer.allocate(longitud);
+        }
+        bloque.clear().limit(longitud);
+        if (!leerCompleto(canalArchivo, bloque)) {
+            truncada = true;
+            bloque.limit(0);
+            return false;
+        }
+        bloque.flip();
+
+        ultimoTick = 0;
+        ultimoIdProceso = 0;
+        ultimoPC = 0;
+        return bloque.hasRemaining() || cargarBloque();
+    }
+
+    private static boolean leerCompleto(FileChannel canal, ByteBuffer destino) throws IOException {
+        while (destino.hasRemaining()) {
+            if (canal.read(destino) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getCantidadCPUs() {
+        return cantidadCPUs;
+    }
+
+    public long getRegistrosLeidos() {
+        return registrosLeidos;
+    }
+
+    /**
+     * Indica si la traza terminaba en un bloque incompleto
+     */
+    public boolean isTruncada() {
+        return truncada;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canalArchivo.close();
+    }
+}
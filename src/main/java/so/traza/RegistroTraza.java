@@ -0,0 +1,57 @@
+package so.traza;
+
+import so.instrucciones.CodigoOperacion;
+
+/**
+ * Un registro de la traza de ejecución: una instrucción retirada por un CPU.
+ *
+ * LectorTraza reutiliza la misma instancia para todos los registros, así que
+ * quien necesite conservarlo debe copiar los campos.
+ *
+ * @author dylan
+ */
+public class RegistroTraza {
+
+    // Bits de la máscara de registros modificados (mismo orden que deltas)
+    public static final int AC = 0;
+    public static final int AX = 1;
+    public static final int BX = 2;
+    public static final int CX = 3;
+    public static final int DX = 4;
+    public static final int FLAG = 5;
+    public static final int CANTIDAD_REGISTROS = 6;
+
+    static final String[] NOMBRES_REGISTROS = {"AC", "AX", "BX", "CX", "DX", "FLAG"};
+
+    public long tick;
+    public int cpu;
+    public int idProceso;
+    public int pc;
+    public CodigoOperacion codigoOperacion;
+
+    /**
+     * Bit i encendido si el registro i cambió con esta instrucción
+     */
+    public int mascaraRegistros;
+
+    /**
+     * Cambio (valor nuevo - valor anterior) de cada registro; 0 si no cambió
+     */
+    public final int[] deltas = new int[CANTIDAD_REGISTROS];
+
+    public boolean cambio(int registro) {
+        return (mascaraRegistros & (1 << registro)) != 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("[t=%d] CPU %d PID %d PC=%d %s", tick, cpu, idProceso, pc, codigoOperacion));
+        for (int i = 0; i < CANTIDAD_REGISTROS; i++) {
+            if (cambio(i)) {
+                sb.append(' ').append(NOMBRES_REGISTROS[i]).append(deltas[i] >= 0 ? "+" : "").append(deltas[i]);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,124 @@
+package so.test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import so.main.SistemaOperativoV2;
+import so.planificacion.IPlanificador;
+import so.planificacion.PlanificadorFIFO;
+
+/**
+ * Regresiones de la admisión de programas pendientes a memoria principal.
+ *
+ * @author dylan
+ */
+public class AdmisionProgramasTest {
+
+    private static final PrintStream SIN_LOGS = new PrintStream(OutputStream.nullOutputStream());
+    private static final long ESPERA_MAXIMA_MS = 2000;
+
+    private static int fallas = 0;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== PRUEBAS DE ADMISIÓN DE PROGRAMAS ===\n");
+
+        ningunProgramaSePierdePorLimiteDeCPU();
+        sinEspacioLaAdmisionTermina();
+        programaMayorQueLaMemoriaSeDescarta();
+
+        System.out.println("\nTodas las pruebas pasaron: " + (fallas == 0));
+    }
+
+    /**
+     * Un CPU admite a lo sumo 5 procesos: los programas que sobran deben
+     * quedar pendientes y ejecutarse después, no descartarse
+     */
+    private static void ningunProgramaSePierdePorLimiteDeCPU() {
+        SistemaOperativoV2 sistema = crearSistema(1000, 50, 7, 3);
+
+        sistema.cargarProgramasMemoriaPrincipal();
+        verificar("pendientes tras llenar el CPU", String.valueOf(sistema.getProcesosPendientes()), "2");
+
+        sistema.ejecutarHastaFinalizar(500);
+        verificar("procesos completados", String.valueOf(sistema.getTotalProcesosCompletados()), "7");
+    }
+
+    /**
+     * Con dos particiones y cuatro programas, los que no caben vuelven a la
+     * cola: la admisión debe terminar en lugar de reintentarlos en el mismo
+     * ciclo para siempre
+     */
+    private static void sinEspacioLaAdmisionTermina() throws InterruptedException {
+        SistemaOperativoV2 sistema = crearSistema(20, 10, 4, 6);
+
+        Thread admision = new Thread(sistema::cargarProgramasMemoriaPrincipal, "admision");
+        admision.setDaemon(true);
+        admision.start();
+        admision.join(ESPERA_MAXIMA_MS);
+        verificar("la admisión termina", String.valueOf(!admision.isAlive()), "true");
+        if (admision.isAlive()) {
+            // El hilo quedó en el ciclo con el monitor del sistema tomado
+            return;
+        }
+
+        verificar("pendientes sin espacio", String.valueOf(sistema.getProcesosPendientes()), "2");
+        sistema.ejecutarHastaFinalizar(500);
+        verificar("procesos completados", String.valueOf(sistema.getTotalProcesosCompletados()), "4");
+    }
+
+    /**
+     * Un programa más grande que una partición no cabe ni con la memoria
+     * vacía: se descarta y el resto de programas se ejecuta, en lugar de
+     * quedar pendiente para siempre
+     */
+    private static void programaMayorQueLaMemoriaSeDescarta() {
+        SistemaOperativoV2 sistema = crearSistema(20, 10, new int[]{12, 6, 6});
+
+        sistema.cargarProgramasMemoriaPrincipal();
+        long ticks = sistema.ejecutarHastaFinalizar(500);
+        verificar("termina antes del tope", String.valueOf(ticks < 500), "true");
+        verificar("pendientes al terminar", String.valueOf(sistema.getProcesosPendientes()), "0");
+        verificar("procesos completados", String.valueOf(sistema.getTotalProcesosCompletados()), "2");
+    }
+
+    /**
+     * Sistema de un CPU FIFO con particiones fijas y programas de igual
+     * tamaño ya cargados en memoria secundaria
+     */
+    private static SistemaOperativoV2 crearSistema(int memoriaUsuario, int particion, int programas, int instrucciones) {
+        int[] tamanos = new int[programas];
+        Arrays.fill(tamanos, instrucciones);
+        return crearSistema(memoriaUsuario, particion, tamanos);
+    }
+
+    /**
+     * Igual que el anterior, con la cantidad de instrucciones de cada programa
+     */
+    private static SistemaOperativoV2 crearSistema(int memoriaUsuario, int particion, int[] instrucciones) {
+        String[] nombres = new String[instrucciones.length];
+        @SuppressWarnings("unchecked")
+        List<String>[] contenidos = (List<String>[]) new List<?>[instrucciones.length];
+        for (int i = 0; i < instrucciones.length; i++) {
+            List<String> programa = new ArrayList<>(Collections.nCopies(instrucciones[i] - 1, "INC AX"));
+            programa.add("INT 20H");
+            nombres[i] = "p" + (i + 1);
+            contenidos[i] = programa;
+        }
+
+        SistemaOperativoV2 sistema = new SistemaOperativoV2(512, 64, memoriaUsuario, "FIJO_IGUAL", particion, 1,
+            new IPlanificador[]{new PlanificadorFIFO()}, SIN_LOGS);
+        sistema.cargarArchivosMemoriaSecundaria(nombres, contenidos);
+        return sistema;
+    }
+
+    private static void verificar(String nombre, String obtenido, String esperado) {
+        boolean ok = esperado.equals(obtenido);
+        if (!ok) {
+            fallas++;
+        }
+        System.out.printf("%s %s -> %s%n", ok ? "✅" : "❌", nombre, ok ? obtenido : obtenido + " (se esperaba " + esperado + ")");
+    }
+}
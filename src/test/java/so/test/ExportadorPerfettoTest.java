@@ -0,0 +1,255 @@
+package so.test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import so.main.SistemaOperativoV2;
+import so.planificacion.IPlanificador;
+import so.planificacion.PlanificadorFIFO;
+import so.planificacion.PlanificadorRR;
+
+/**
+ * Exporta a Perfetto una simulación con dos CPUs, lee el JSON generado y
+ * verifica que sea un arreglo de eventos válido: cada CPU tiene nombre y
+ * cada segmento abierto (B) se cierra (E) en el mismo CPU sin retroceder en
+ * el tiempo.
+ *
+ * @author dylan
+ */
+public class ExportadorPerfettoTest {
+
+    private static int fallas = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== PRUEBA DE EXPORTACIÓN A PERFETTO ===\n");
+
+        List<String> largo = Arrays.asList("MOV CX, 4", "DEC CX", "MOV DX, CX", "CMP CX, AX", "JNE -3", "INT 20H");
+        List<String> corto = Arrays.asList("INC AX", "INT 20H");
+        @SuppressWarnings("unchecked")
+        List<String>[] programas = (List<String>[]) new List<?>[]{largo, corto, largo, corto};
+
+        SistemaOperativoV2 sistema = new SistemaOperativoV2(512, 64, 1000, "FIJO_IGUAL", 50, 2,
+            new IPlanificador[]{new PlanificadorFIFO(), new PlanificadorRR(2)},
+            new PrintStream(OutputStream.nullOutputStream()));
+        sistema.cargarArchivosMemoriaSecundaria(new String[]{"l1", "c1", "l2", "c2"}, programas);
+
+        Path archivo = Files.createTempFile("so-perfetto", ".json");
+        sistema.iniciarExportacionPerfetto(archivo);
+        sistema.cargarProgramasMemoriaPrincipal();
+        sistema.ejecutarHastaFinalizar(500);
+        sistema.detenerExportacionPerfetto();
+
+        Object json = new LectorJson(Files.readString(archivo, StandardCharsets.UTF_8)).leerDocumento();
+        Files.deleteIfExists(archivo);
+
+        verificar("el documento es un arreglo", String.valueOf(json instanceof List<?>), "true");
+        if (!(json instanceof List<?> eventos)) {
+            return;
+        }
+
+        int nombresCPU = 0;
+        int segmentos = 0;
+        boolean ordenado = true;
+        Map<Long, Integer> abiertosPorCPU = new HashMap<>();
+        Map<Long, Long> ultimoTsPorCPU = new HashMap<>();
+        for (Object elemento : eventos) {
+            Map<?, ?> evento = (Map<?, ?>) elemento;
+            String fase = (String) evento.get("ph");
+            long tid = ((Number) evento.get("tid")).longValue();
+            if ("M".equals(fase) && "thread_name".equals(evento.get("name"))) {
+                nombresCPU++;
+                continue;
+            }
+            if (!"B".equals(fase) && !"E".equals(fase) && !"i".equals(fase)) {
+                continue;
+            }
+            long ts = ((Number) evento.get("ts")).longValue();
+            if (ts < ultimoTsPorCPU.getOrDefault(tid, Long.MIN_VALUE)) {
+                ordenado = false;
+            }
+            ultimoTsPorCPU.put(tid, ts);
+            if ("B".equals(fase)) {
+                segmentos++;
+                abiertosPorCPU.merge(tid, 1, Integer::sum);
+            } else if ("E".equals(fase)) {
+                abiertosPorCPU.merge(tid, -1, Integer::sum);
+            }
+        }
+        boolean balanceado = abiertosPorCPU.values().stream().allMatch(abiertos -> abiertos == 0);
+
+        verificar("CPUs con nombre", String.valueOf(nombresCPU), "2");
+        verificar("hay segmentos de procesos", String.valueOf(segmentos >= 4), "true");
+        verificar("cada B tiene su E", String.valueOf(balanceado), "true");
+        verificar("tiempo no decreciente por CPU", String.valueOf(ordenado), "true");
+
+        System.out.println("\nTodas las pruebas pasaron: " + (fallas == 0));
+    }
+
+    private static void verificar(String nombre, String obtenido, String esperado) {
+        boolean ok = esperado.equals(obtenido);
+        if (!ok) {
+            fallas++;
+        }
+        System.out.printf("%s %s -> %s%n", ok ? "✅" : "❌", nombre, ok ? obtenido : obtenido + " (se esperaba " + esperado + ")");
+    }
+
+    /**
+     * Lector JSON mínimo (objetos, arreglos, textos, números, true/false/null);
+     * lanza IllegalArgumentException ante cualquier error de sintaxis
+     */
+    private static final class LectorJson {
+
+        private final String texto;
+        private int posicion;
+
+        LectorJson(String texto) {
+            this.texto = texto;
+        }
+
+        Object leerDocumento() {
+            Object valor = leerValor();
+            saltarEspacios();
+            if (posicion != texto.length()) {
+                throw error("contenido después del documento");
+            }
+            return valor;
+        }
+
+        private Object leerValor() {
+            saltarEspacios();
+            if (posicion >= texto.length()) {
+                throw error("fin inesperado");
+            }
+            char c = texto.charAt(posicion);
+            return switch (c) {
+                case '{' -> leerObjeto();
+                case '[' -> leerArreglo();
+                case '"' -> leerTexto();
+                case 't' -> leerLiteral("true", Boolean.TRUE);
+                case 'f' -> leerLiteral("false", Boolean.FALSE);
+                case 'n' -> leerLiteral("null", null);
+                default -> leerNumero();
+            };
+        }
+
+        private Map<String, Object> leerObjeto() {
+            Map<String, Object> objeto = new LinkedHashMap<>();
+            esperar('{');
+            saltarEspacios();
+            if (consumir('}')) {
+                return objeto;
+            }
+            do {
+                saltarEspacios();
+                String clave = leerTexto();
+                saltarEspacios();
+                esperar(':');
+                objeto.put(clave, leerValor());
+                saltarEspacios();
+            } while (consumir(','));
+            esperar('}');
+            return objeto;
+        }
+
+        private List<Object> leerArreglo() {
+            List<Object> arreglo = new ArrayList<>();
+            esperar('[');
+            saltarEspacios();
+            if (consumir(']')) {
+                return arreglo;
+            }
+            do {
+                arreglo.add(leerValor());
+                saltarEspacios();
+            } while (consumir(','));
+            esperar(']');
+            return arreglo;
+        }
+
+        private String leerTexto() {
+            esperar('"');
+            StringBuilder sb = new StringBuilder();
+            while (posicion < texto.length()) {
+                char c = texto.charAt(posicion++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c < 0x20) {
+                    throw error("carácter de control sin escapar");
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char escape = texto.charAt(posicion++);
+                switch (escape) {
+                    case '"', '\\', '/' -> sb.append(escape);
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        sb.append((char) Integer.parseInt(texto.substring(posicion, posicion + 4), 16));
+                        posicion += 4;
+                    }
+                    default -> throw error("escape inválido \\" + escape);
+                }
+            }
+            throw error("texto sin cerrar");
+        }
+
+        private Number leerNumero() {
+            int inicio = posicion;
+            while (posicion < texto.length() && "+-0123456789.eE".indexOf(texto.charAt(posicion)) >= 0) {
+                posicion++;
+            }
+            String numero = texto.substring(inicio, posicion);
+            try {
+                return numero.matches("-?\\d+") ? (Number) Long.parseLong(numero) : (Number) Double.parseDouble(numero);
+            } catch (NumberFormatException e) {
+                throw error("valor inválido '" + numero + "'");
+            }
+        }
+
+        private Object leerLiteral(String literal, Object valor) {
+            if (!texto.startsWith(literal, posicion)) {
+                throw error("literal inválido");
+            }
+            posicion += literal.length();
+            return valor;
+        }
+
+        private void saltarEspacios() {
+            while (posicion < texto.length() && Character.isWhitespace(texto.charAt(posicion))) {
+                posicion++;
+            }
+        }
+
+        private boolean consumir(char c) {
+            if (posicion < texto.length() && texto.charAt(posicion) == c) {
+                posicion++;
+                return true;
+            }
+            return false;
+        }
+
+        private void esperar(char c) {
+            if (!consumir(c)) {
+                throw error("se esperaba '" + c + "'");
+            }
+        }
+
+        private IllegalArgumentException error(String mensaje) {
+            return new IllegalArgumentException("JSON inválido en la posición " + posicion + ": " + mensaje);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package so.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import so.instrucciones.CodigoOperacion;
+import so.instrucciones.Instruccion;
+import so.instrucciones.InstruccionParser;
+import so.instrucciones.Registro;
+
+/**
+ * Pruebas del analizador de una pasada: rangos dentro de un texto más largo,
+ * mayúsculas y minúsculas, tabuladores y separadores raros, operandos
+ * compartidos y una comparación contra el analizador anterior (split y
+ * expresiones regulares) sobre líneas aleatorias con semilla fija.
+ *
+ * @author dylan
+ */
+public class InstruccionParserTest {
+
+    private static int fallas = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== PRUEBAS DEL ANALIZADOR DE INSTRUCCIONES ===\n");
+
+        // --- Rango dentro de un texto más largo ---
+        String texto = "xxMOV AX, 5yy";
+        verificar("rango de un String", describir(InstruccionParser.parse(texto, 2, 11)), "MOV|[AX, 5]|1");
+        StringBuilder buffer = new StringBuilder("  inc\tbx ;resto");
+        verificar("rango de un StringBuilder", describir(InstruccionParser.parse(buffer, 0, 8)), "INC|[bx]|1");
+        verificar("rango vacío", describir(InstruccionParser.parse(texto, 4, 4)), "null");
+        verificar("rango de solo blancos", describir(InstruccionParser.parse("a   b", 1, 4)), "null");
+
+        // Varias líneas en un mismo búfer, sin partirlo en cadenas
+        String programa = "MOV AX, 1\r\nINC AX\n; comentario\n\nbucle:\nINT 20H";
+        List<String> leidas = new ArrayList<>();
+        int inicio = 0;
+        for (int i = 0; i <= programa.length(); i++) {
+            if (i == programa.length() || programa.charAt(i) == '\n') {
+                Instruccion instruccion = InstruccionParser.parse(programa, inicio, i);
+                if (instruccion != null) {
+                    leidas.add(instruccion.toString());
+                }
+                inicio = i + 1;
+            }
+        }
+        verificar("líneas de un búfer", leidas.toString(), "[MOV AX, 1, INC AX, INT 20H]");
+
+        // --- Mayúsculas, tabuladores y separadores ---
+        verificar("minúsculas", analizar("mov ax, bx"), "MOV|[ax, bx]|1");
+        verificar("mezcla de mayúsculas", analizar("sWaP Ax, bX"), "SWAP|[Ax, bX]|1");
+        verificar("interrupción en minúscula", analizar("int 21h"), "INT|[21h]|5");
+        verificar("interrupción sin cero", analizar("INT 9H"), "INT|[9H]|3");
+        verificar("tabuladores", analizar("\tMOV\tAX,\t-7\t"), "MOV|[AX, -7]|1");
+        verificar("tab vertical y avance de página", analizar("PUSH\u000B\fCX"), "PUSH|[CX]|1");
+        verificar("comas repetidas", analizar("PARAM 1,,2 , ,3,"), "PARAM|[1, 2, 3]|3");
+        verificar("salto con signo más", analizar("JNE +3"), "JNE|[+3]|2");
+        verificar("etiqueta", analizar("  fin:  "), "null");
+        verificar("comentario", analizar(" ; MOV AX, 1"), "null");
+        verificar("código pegado a la coma", analizar("MOV,AX"),
+            "error: Instrucción desconocida: MOV,AX");
+        verificar("registro inválido", analizar("pop ay"),
+            "error: Registro desconocido: AY");
+        verificar("interrupción inválida", analizar("INT 19h"),
+            "error: Interrupción no válida: 19H");
+        verificar("salto incompleto", analizar("JMP -"), "error: Salto inválido: [-]");
+
+        // --- Operandos compartidos ---
+        Instruccion mov = InstruccionParser.parse("MOV AX, 5");
+        Instruccion push = InstruccionParser.parse("PUSH AX");
+        verificar("registro compartido", String.valueOf(mov.getOperandos().get(0) == push.getOperandos().get(0)), "true");
+        verificar("registro canónico", String.valueOf(mov.getOperandos().get(0) == Registro.AX.name()), "true");
+        verificar("número compartido",
+            String.valueOf(mov.getOperandos().get(1) == InstruccionParser.parse("PARAM 5").getOperandos().get(0)), "true");
+        verificar("número con ceros conserva el texto", InstruccionParser.parse("PARAM 007").getOperandos().get(0), "007");
+        verificar("registro en minúscula conserva el texto", InstruccionParser.parse("PUSH ax").getOperandos().get(0), "ax");
+
+        // --- Comparación contra el analizador anterior ---
+        int diferencias = compararConReferencia(200_000, 42);
+        verificar("200000 líneas aleatorias iguales al analizador anterior", String.valueOf(diferencias), "0");
+
+        System.out.println("\nTodas las pruebas pasaron: " + (fallas == 0));
+    }
+
+    private static void verificar(String nombre, String obtenido, String esperado) {
+        boolean ok = esperado.equals(obtenido);
+        if (!ok) {
+            fallas++;
+        }
+        System.out.printf("%s %s -> %s%n", ok ? "✅" : "❌", nombre, ok ? obtenido : obtenido + " (se esperaba " + esperado + ")");
+    }
+
+    private static String describir(Instruccion instruccion) {
+        if (instruccion == null) {
+            return "null";
+        }
+        return instruccion.getCodigoOperacion() + "|" + instruccion.getOperandos() + "|" + instruccion.getPeso();
+    }
+
+    private static String analizar(String linea) {
+        return describir(linea, false);
+    }
+
+    private static String describir(String linea, boolean referencia) {
+        try {
+            return describir(referencia ? AnalizadorReferencia.parse(linea) : InstruccionParser.parse(linea));
+        } catch (Exception e) {
+            return "error: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Arma líneas con fragmentos de instrucciones, operandos, separadores y
+     * blancos, y cuenta las que no dan el mismo resultado en ambos analizadores
+     */
+    private static int compararConReferencia(int cantidad, long semilla) {
+        String[] fragmentos = {"MOV", "mov", "ADD", "sub", "INC", "DEC", "SWAP", "INT", "JMP", "je", "JNE", "CMP",
+            "PARAM", "PUSH", "POP", "LOAD", "STORE", "FOO", "AX", "ax", "Bx", "CX", "DX", "AC", "AY", "5", "-5",
+            "+5", "007", "-0", "0", "1023", "1024", "-128", "-129", "99999999999", "09H", "9h", "10H", "20h",
+            "21H", "22H", "19H", "0H", " ", ",", ", ", "  ", ";", ":", "\t", "\u000B", "\u0001", "x", "-", "+"};
+        Random random = new Random(semilla);
+        int diferencias = 0;
+        for (int i = 0; i < cantidad; i++) {
+            StringBuilder sb = new StringBuilder();
+            int partes = random.nextInt(7);
+            for (int j = 0; j < partes; j++) {
+                sb.append(fragmentos[random.nextInt(fragmentos.length)]);
+                if (random.nextInt(3) > 0) {
+                    sb.append(random.nextBoolean() ? " " : ", ");
+                }
+            }
+            String linea = sb.toString();
+            String esperado = describir(linea, true);
+            String obtenido = describir(linea, false);
+            if (!esperado.equals(obtenido)) {
+                if (diferencias < 10) {
+                    System.out.println("   diferencia en [" + linea + "]: antes " + esperado + ", ahora " + obtenido);
+                }
+                diferencias++;
+            }
+        }
+        return diferencias;
+    }
+
+    /**
+     * El analizador anterior (split, trim y expresiones regulares), como
+     * referencia del comportamiento esperado
+     */
+    private static class AnalizadorReferencia {
+
+        static Instruccion parse(String line) {
+            if (line == null) {
+                return null;
+            }
+            line = line.trim();
+            if (line.isEmpty() || line.endsWith(":") || line.startsWith(";")) {
+                return null;
+            }
+            String[] parts = line.split("\\s+", 2);
+            CodigoOperacion opcode = CodigoOperacion.fromString(parts[0]);
+            List<String> operands = new ArrayList<>();
+            if (parts.length > 1) {
+                for (String op : parts[1].trim().split(",")) {
+                    op = op.trim();
+                    if (!op.isEmpty()) {
+                        operands.add(op);
+                    }
+                }
+            }
+            validate(opcode, operands);
+            return new Instruccion(opcode, operands);
+        }
+
+        private static void validate(CodigoOperacion opcode, List<String> ops) {
+            int count = ops.size();
+            if (opcode.getOperandos() >= 0 && opcode.getOperandos() != count) {
+                throw new IllegalArgumentException("Número inválido de operandos para " + opcode + ": se esperaban " + opcode.getOperandos() + ", se recibieron " + count);
+            }
+            switch (opcode) {
+                case MOV -> {
+                    Registro.fromString(ops.get(0));
+                    String src = ops.get(1);
+                    if (!isRegister(src) && !src.matches("-?\\d+")) {
+                        throw new IllegalArgumentException("Operando fuente inválido: " + src);
+                    }
+                }
+                case ADD, SUB, LOAD, STORE, PUSH, POP ->
+                    Registro.fromString(ops.get(0));
+                case INC, DEC -> {
+                    if (count > 1) {
+                        throw new IllegalArgumentException(opcode + " solo acepta 0 o 1 operando.");
+                    }
+                    if (count == 1) {
+                        Registro.fromString(ops.get(0));
+                    }
+                }
+                case CMP, SWAP -> {
+                    for (String op : ops) {
+                        Registro.fromString(op);
+                    }
+                }
+                case INT -> {
+                    String code = ops.get(0).toUpperCase();
+                    if (!code.matches("0?9H|10H|20H|21H")) {
+                        throw new IllegalArgumentException("Interrupción no válida: " + code);
+                    }
+                }
+                case JMP, JE, JNE -> {
+                    if (!ops.get(0).matches("[+-]?\\d+")) {
+                        throw new IllegalArgumentException("Salto inválido: " + ops);
+                    }
+                }
+                case PARAM -> {
+                    if (count < 1 || count > 3) {
+                        throw new IllegalArgumentException("PARAM acepta de 1 a 3 parámetros.");
+                    }
+                    for (String op : ops) {
+                        if (!op.matches("-?\\d+")) {
+                            throw new IllegalArgumentException("Parámetro no numérico: " + op);
+                        }
+                    }
+                }
+            }
+        }
+
+        private static boolean isRegister(String op) {
+            try {
+                Registro.fromString(op);
+                return true;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+}
@@ -76,7 +76,7 @@ public class InstruccionTest {
             try {
                 Instruccion instr = InstruccionParser.parse(line);
                 if (instr != null) {
-                    System.out.printf("%02d ✅ %s -> instruction:%s weight:%s%n", lineNumber, line, instr, instr.getCodigoOperacion().getPeso());
+                    System.out.printf("%02d ✅ %s -> instruction:%s weight:%s%n", lineNumber, line, instr, instr.getPeso());
                 } else {
                     System.out.printf("%02d ⚪ (ignorada) %s%n", lineNumber, line);
                 }
@@ -0,0 +1,95 @@
+package so.test;
+
+import java.util.Arrays;
+import java.util.List;
+import so.gestordeprocesos.BCP;
+import so.main.SistemaOperativoV2;
+import so.planificacion.IPlanificador;
+import so.planificacion.PlanificadorFIFO;
+import so.planificacion.PlanificadorRR;
+
+/**
+ * Regresiones de la planificación con varios CPUs, que comparten un único
+ * BCP en ejecución en memoria principal.
+ *
+ * @author dylan
+ */
+public class PlanificacionMultiCPUTest {
+
+    private static int fallas = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== PRUEBAS DE PLANIFICACIÓN CON VARIOS CPUs ===\n");
+
+        cadaCPUEjecutaSuProceso();
+        ningunProcesoEnDosCPUs();
+
+        System.out.println("\nTodas las pruebas pasaron: " + (fallas == 0));
+    }
+
+    /**
+     * Dos CPUs con dos programas iguales: en cada paso cada CPU ejecuta una
+     * instrucción de su propio proceso, así que ambos avanzan a la par
+     */
+    private static void cadaCPUEjecutaSuProceso() {
+        List<String> programa = Arrays.asList("INC AX", "INC AX", "INC AX", "INC AX", "INC AX", "INT 20H");
+        @SuppressWarnings("unchecked")
+        List<String>[] programas = (List<String>[]) new List<?>[]{programa, programa};
+
+        SistemaOperativoV2 sistema = new SistemaOperativoV2(512, 64, 1000, "FIJO_IGUAL", 50, 2,
+            new IPlanificador[]{new PlanificadorFIFO(), new PlanificadorFIFO()});
+        sistema.cargarArchivosMemoriaSecundaria(new String[]{"p1", "p2"}, programas);
+        sistema.cargarProgramasMemoriaPrincipal();
+
+        StringBuilder avance = new StringBuilder();
+        for (int paso = 1; paso <= 4; paso++) {
+            sistema.ejecutarPasoAPaso();
+            avance.append(paso == 1 ? "" : " ").append(pc(sistema, 0)).append('/').append(pc(sistema, 1));
+        }
+        verificar("cada CPU ejecuta su propio proceso", avance.toString(), "1/1 2/2 3/3 4/4");
+    }
+
+    /**
+     * Con Round Robin en ambos CPUs, un CPU libre puede tomar de la cola de
+     * listos el proceso que otro CPU acaba de dejar por quantum; después de
+     * cada paso ningún proceso debe quedar asignado a dos CPUs a la vez
+     */
+    private static void ningunProcesoEnDosCPUs() {
+        List<String> largo = Arrays.asList("MOV CX, 6", "DEC CX", "MOV DX, CX", "CMP CX, AX", "JNE -3", "INT 20H");
+        List<String> corto = Arrays.asList("INC AX", "INT 20H");
+        @SuppressWarnings("unchecked")
+        List<String>[] programas = (List<String>[]) new List<?>[]{largo, corto, largo, corto, largo, largo};
+
+        SistemaOperativoV2 sistema = new SistemaOperativoV2(512, 64, 1000, "FIJO_IGUAL", 50, 2,
+            new IPlanificador[]{new PlanificadorRR(1), new PlanificadorRR(2)});
+        sistema.cargarArchivosMemoriaSecundaria(new String[]{"l1", "c1", "l2", "c2", "l3", "l4"}, programas);
+        sistema.cargarProgramasMemoriaPrincipal();
+
+        int compartidos = 0;
+        int pasos = 0;
+        while (sistema.hayProcesosPorEjecutar() && pasos < 500) {
+            sistema.ejecutarPasoAPaso();
+            pasos++;
+            BCP cpu0 = sistema.getBCPEnCPU(0);
+            BCP cpu1 = sistema.getBCPEnCPU(1);
+            if (cpu0 != null && cpu1 != null && cpu0.getIdProceso() == cpu1.getIdProceso()) {
+                compartidos++;
+            }
+        }
+        verificar("pasos con un proceso en dos CPUs", String.valueOf(compartidos), "0");
+        verificar("procesos completados", String.valueOf(sistema.getTotalProcesosCompletados()), "6");
+    }
+
+    private static String pc(SistemaOperativoV2 sistema, int cpu) {
+        BCP bcp = sistema.getBCPEnCPU(cpu);
+        return bcp == null ? "-" : String.valueOf(bcp.getPC());
+    }
+
+    private static void verificar(String nombre, String obtenido, String esperado) {
+        boolean ok = esperado.equals(obtenido);
+        if (!ok) {
+            fallas++;
+        }
+        System.out.printf("%s %s -> %s%n", ok ? "✅" : "❌", nombre, ok ? obtenido : obtenido + " (se esperaba " + esperado + ")");
+    }
+}
@@ -0,0 +1,126 @@
+package so.test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import so.gestordeprocesos.BCP;
+import so.main.SistemaOperativoV2;
+import so.monitoreo.ContadoresMotor;
+import so.planificacion.IPlanificador;
+import so.planificacion.PlanificadorFIFO;
+import so.planificacion.PlanificadorRR;
+
+/**
+ * Guarda un punto de control a mitad de la simulación, restaura una copia y
+ * verifica que ambos sistemas continúan exactamente igual.
+ *
+ * @author dylan
+ */
+public class PuntoControlTest {
+
+    public static void main(String[] args) throws Exception {
+        List<String> contador = Arrays.asList(
+            "MOV AX, 0",
+            "MOV CX, 4",
+            "DEC CX",
+            "MOV DX, CX",
+            "INT 10H",
+            "CMP CX, AX",
+            "JNE -4",
+            "INT 20H"
+        );
+        List<String> suma = Arrays.asList(
+            "MOV AX, 7",
+            "MOV BX, 5",
+            "ADD BX",
+            "MOV DX, AC",
+            "INT 10H",
+            "INT 20H"
+        );
+
+        @SuppressWarnings("unchecked")
+        List<String>[] programas = (List<String>[]) new List<?>[]{contador, suma, contador};
+
+        SistemaOperativoV2 original = new SistemaOperativoV2(512, 64, 1000, "FIJO_IGUAL", 50, 2,
+            new IPlanificador[]{new PlanificadorFIFO(), new PlanificadorRR(2)});
+        original.cargarArchivosMemoriaSecundaria(new String[]{"contador", "suma", "contador2"}, programas);
+        original.cargarProgramasMemoriaPrincipal();
+
+        for (int i = 0; i < 6; i++) {
+            original.ejecutarPasoAPaso();
+        }
+
+        // Guardar no debe consumir del generador aleatorio: dos puntos seguidos son idénticos
+        ByteArrayOutputStream primero = new ByteArrayOutputStream();
+        ByteArrayOutputStream segundo = new ByteArrayOutputStream();
+        original.guardarPuntoControl(primero);
+        original.guardarPuntoControl(segundo);
+        System.out.println("Guardar no altera el sistema: " + Arrays.equals(primero.toByteArray(), segundo.toByteArray()));
+
+        Path archivo = Files.createTempFile("so-punto-control", ".bin");
+        original.guardarPuntoControl(archivo);
+        SistemaOperativoV2 restaurado = SistemaOperativoV2.restaurarPuntoControl(archivo);
+        System.out.println("Tamaño del punto de control: " + Files.size(archivo) + " bytes");
+
+        String antes = resumen(original);
+        String despuesRestaurar = resumen(restaurado);
+        System.out.println("Estado al guardar:    " + antes);
+        System.out.println("Estado al restaurar:  " + despuesRestaurar);
+        System.out.println("Estado igual: " + antes.equals(despuesRestaurar));
+
+        String contadoresAntes = contadores(original);
+        String contadoresRestaurados = contadores(restaurado);
+        System.out.println("Contadores al guardar:   " + contadoresAntes);
+        System.out.println("Contadores al restaurar: " + contadoresRestaurados);
+        System.out.println("Contadores iguales: " + contadoresAntes.equals(contadoresRestaurados));
+
+        int pasos = 0;
+        while (original.hayProcesosPorEjecutar() && pasos < 200) {
+            original.ejecutarPasoAPaso();
+            restaurado.ejecutarPasoAPaso();
+            pasos++;
+        }
+
+        String finalOriginal = resumen(original);
+        String finalRestaurado = resumen(restaurado);
+        System.out.println("Final original:   " + finalOriginal);
+        System.out.println("Final restaurado: " + finalRestaurado);
+        System.out.println("Continuación idéntica: " + finalOriginal.equals(finalRestaurado));
+        System.out.println("Contadores finales iguales: " + contadores(original).equals(contadores(restaurado)));
+        System.out.println("Métricas finales iguales: "
+            + original.getMetricas().generarReporte().equals(restaurado.getMetricas().generarReporte()));
+
+        Files.deleteIfExists(archivo);
+    }
+
+    private static String resumen(SistemaOperativoV2 sistema) {
+        List<String> partes = new ArrayList<>();
+        partes.add("tick=" + sistema.getTickActual());
+        for (BCP bcp : sistema.getBCPsCargados()) {
+            partes.add(bcp.getNombreProceso() + ":PC=" + bcp.getPC() + ",AX=" + bcp.getAX()
+                + ",CX=" + bcp.getCX() + "," + bcp.getEstado());
+        }
+        for (int cpu = 0; cpu < sistema.getCantidadCPUs(); cpu++) {
+            partes.add("CPU" + cpu + "=" + sistema.getEjecutor(cpu).getPantalla());
+        }
+        partes.add("completados=" + sistema.getEstadisticasCompletados().size());
+        return String.join(" ", partes);
+    }
+
+    private static String contadores(SistemaOperativoV2 sistema) {
+        ContadoresMotor c = sistema.getContadores();
+        List<String> partes = new ArrayList<>();
+        partes.add("pasos=" + c.getPasos());
+        partes.add("admitidos=" + c.getProcesosAdmitidos());
+        partes.add("finalizados=" + c.getProcesosFinalizados());
+        partes.add("listos=" + c.getColaListos());
+        for (int cpu = 0; cpu < c.getCantidadCPUs(); cpu++) {
+            partes.add("CPU" + cpu + "=" + c.getListos(cpu) + "/" + c.getProcesosAsignados(cpu)
+                + "/" + c.getCambiosContexto(cpu) + "/" + c.getPidActual(cpu));
+        }
+        return String.join(" ", partes);
+    }
+}